@@ -45,11 +45,11 @@ public final class AndroidDiscoveryController {
     }
 
     @GetMapping("/home")
-    public ResponseEntity<AndroidDiscoveryHomeResponse> home(HttpServletRequest request) {
+    public ResponseEntity<byte[]> home(HttpServletRequest request) {
         DiscoveryRateLimitDecision rateLimit = requestGuard.check(request, "home");
         ValidatedDiscoveryQuery query = validator.home(request);
-        return responses.cacheable(
-                service.home(query), request.getHeader(HttpHeaders.IF_NONE_MATCH), rateLimit);
+        AndroidDiscoveryHomeResponse home = service.home(query);
+        return responses.cacheableEncoded("home", String.valueOf(request.getQueryString()), home, request, rateLimit);
     }
 
     @GetMapping("/search")
@@ -61,7 +61,7 @@ public final class AndroidDiscoveryController {
     }
 
     @GetMapping("/merchants/{merchantId}")
-    public ResponseEntity<AndroidMerchantDetailResponse> detail(
+    public ResponseEntity<byte[]> detail(
             @PathVariable String merchantId, HttpServletRequest request) {
         DiscoveryRateLimitDecision rateLimit = requestGuard.check(request, "detail");
         validator.noQueryParameters(request);
@@ -77,7 +77,7 @@ public final class AndroidDiscoveryController {
                     List.of(new AndroidPublicFieldError(
                             "/merchantId", "INVALID_UUID", "merchantId deve ser UUID v4 canónico.")));
         }
-        return responses.cacheable(
-                service.detail(publicId), request.getHeader(HttpHeaders.IF_NONE_MATCH), rateLimit);
+        AndroidMerchantDetailResponse detail = service.detail(publicId);
+        return responses.cacheableEncoded("detail", publicId.toString(), detail, request, rateLimit);
     }
 }
@@ -2,10 +2,11 @@ package com.restaurante.android.discovery.http;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurante.security.crypto.CryptoPrimitives;
+import com.restaurante.service.http.EncodedJsonResponseCache;
+import jakarta.servlet.http.HttpServletRequest;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.HexFormat;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,9 +17,16 @@ public final class AndroidDiscoveryHttpResponseFactory {
 
     static final String CACHE_CONTROL = "public, max-age=60";
     private final ObjectMapper objectMapper;
+    private final EncodedJsonResponseCache encodedCache;
 
     public AndroidDiscoveryHttpResponseFactory(ObjectMapper objectMapper) {
+        this(objectMapper, EncodedJsonResponseCache.uncached(objectMapper));
+    }
+
+    @Autowired
+    public AndroidDiscoveryHttpResponseFactory(ObjectMapper objectMapper, EncodedJsonResponseCache encodedCache) {
         this.objectMapper = objectMapper;
+        this.encodedCache = encodedCache;
     }
 
     public <T> ResponseEntity<T> cacheable(
@@ -31,12 +39,36 @@ public final class AndroidDiscoveryHttpResponseFactory {
         return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 
+    /**
+     * Same contract as {@link #cacheable}, but the body is serialized once: the bytes hashed for the ETag
+     * are the bytes sent, and the pre-gzipped copy is reused while the slot keeps the same ETag.
+     *
+     * Serialization and hashing still run on every request: the ETag is the hash of the content, and the
+     * home and detail bodies have no version that is known before they are built (the home
+     * snapshot generation is per node, and the detail also reads catalog data). A hit therefore saves only
+     * the gzip and is reported as such by {@link EncodedJsonResponseCache#encoded}.
+     */
+    public ResponseEntity<byte[]> cacheableEncoded(
+            String resource, String slot, Object body, HttpServletRequest request,
+            DiscoveryRateLimitDecision rateLimit) {
+        byte[] json = json(body);
+        EncodedJsonResponseCache.EncodedJson encoded =
+                encodedCache.encoded("discovery." + resource, slot, etag(json), json);
+        return encodedCache.respond(encoded, request, headers(encoded.etag(), rateLimit));
+    }
+
     String etag(Object representation) {
+        return etag(json(representation));
+    }
+
+    private String etag(byte[] json) {
+        return "\"" + CryptoPrimitives.hex(CryptoPrimitives.sha256("android.discovery.etag", json)) + "\"";
+    }
+
+    private byte[] json(Object representation) {
         try {
-            byte[] json = objectMapper.writeValueAsString(representation).getBytes(StandardCharsets.UTF_8);
-            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
-            return "\"" + HexFormat.of().formatHex(hash) + "\"";
-        } catch (JsonProcessingException | NoSuchAlgorithmException exception) {
+            return objectMapper.writeValueAsString(representation).getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException exception) {
             throw new IllegalStateException("Could not generate deterministic Discovery ETag.", exception);
         }
     }
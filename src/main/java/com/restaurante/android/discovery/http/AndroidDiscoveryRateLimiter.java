@@ -1,22 +1,22 @@
 package com.restaurante.android.discovery.http;
 
+import com.restaurante.security.ratelimit.ConcurrentRateLimiter;
+import com.restaurante.security.ratelimit.RateLimitDecision;
+import com.restaurante.security.ratelimit.RateLimitMode;
 import java.time.Clock;
-import java.time.Instant;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.time.Duration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-/** Bounded per-instance fixed-window limit; no client-provided IP header is trusted. */
+/**
+ * Bounded per-instance fixed-window limit; no client-provided IP header is trusted.
+ * Backed by the lock-free {@link ConcurrentRateLimiter}: no global monitor, amortized expiry.
+ */
 @Component
 public final class AndroidDiscoveryRateLimiter {
 
-    private final int requestsPerMinute;
-    private final int maxTrackedKeys;
-    private final Clock clock;
-    private final Map<String, Window> windows = new LinkedHashMap<>(128, 0.75f, true);
+    private final ConcurrentRateLimiter limiter;
 
     @Autowired
     public AndroidDiscoveryRateLimiter(
@@ -29,43 +29,13 @@ public final class AndroidDiscoveryRateLimiter {
         if (requestsPerMinute < 1 || maxTrackedKeys < 1) {
             throw new IllegalArgumentException("Discovery rate-limit configuration must be positive.");
         }
-        this.requestsPerMinute = requestsPerMinute;
-        this.maxTrackedKeys = maxTrackedKeys;
-        this.clock = clock;
+        this.limiter = new ConcurrentRateLimiter(
+                RateLimitMode.FIXED_WINDOW, requestsPerMinute, Duration.ofMinutes(1), maxTrackedKeys, clock);
     }
 
-    public synchronized DiscoveryRateLimitDecision acquire(String key) {
-        long epochSecond = Instant.now(clock).getEpochSecond();
-        long minute = Math.floorDiv(epochSecond, 60);
-        long retryAfter = 60 - Math.floorMod(epochSecond, 60);
-        Window current = windows.get(key);
-        if (current == null || current.minute() != minute) {
-            trimExpired(minute);
-            current = new Window(minute, 0);
-        }
-        if (current.count() >= requestsPerMinute) {
-            windows.put(key, current);
-            return new DiscoveryRateLimitDecision(requestsPerMinute, 0, retryAfter, false);
-        }
-        Window updated = new Window(minute, current.count() + 1);
-        windows.put(key, updated);
-        trimSize();
+    public DiscoveryRateLimitDecision acquire(String key) {
+        RateLimitDecision decision = limiter.acquire(key);
         return new DiscoveryRateLimitDecision(
-                requestsPerMinute, requestsPerMinute - updated.count(), retryAfter, true);
-    }
-
-    private void trimExpired(long minute) {
-        windows.entrySet().removeIf(entry -> entry.getValue().minute() < minute);
-    }
-
-    private void trimSize() {
-        Iterator<String> keys = windows.keySet().iterator();
-        while (windows.size() > maxTrackedKeys && keys.hasNext()) {
-            keys.next();
-            keys.remove();
-        }
-    }
-
-    private record Window(long minute, int count) {
+                decision.limit(), decision.remaining(), decision.retryAfterSeconds(), decision.allowed());
     }
 }
@@ -1,117 +1,77 @@
 package com.restaurante.android.discovery.repository;
 
-import com.restaurante.model.entity.Tenant;
-import com.restaurante.model.enums.BusinessAccountEstado;
-import com.restaurante.model.enums.SubscricaoEstado;
-import com.restaurante.model.enums.TenantEstado;
+import com.restaurante.model.entity.MerchantDiscoveryProjection;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.query.Param;
 
-/** Persisted, publication-safe read model for the Android public Discovery. */
-public interface AndroidDiscoveryReadRepository extends Repository<Tenant, Long> {
+/**
+ * Persisted, publication-safe read model for the Android public Discovery. Every row of
+ * {@code merchant_discovery_projection} is already eligible, so reads are single-table and ordered by
+ * the {@code (sort_name, merchant_public_id)} index.
+ *
+ * Search terms arrive normalized by {@code SearchText} (no accents, no LIKE metacharacters) and match
+ * {@code search_name}, which is backed by a pg_trgm GIN index, or the slug.
+ */
+public interface AndroidDiscoveryReadRepository extends Repository<MerchantDiscoveryProjection, Long> {
 
-    @Query(
-            value = """
-                    select t.merchantPublicId as merchantId,
-                           t.nome as name,
-                           cardapio.cardapioPublicado as catalogPublished,
-                           (select count(product.id)
-                            from Produto product
-                            where product.tenant = t
-                              and product.ativo = true
-                              and product.disponivel = true
-                              and product.categoriaProduto.ativo = true) as activeCatalogItemCount
-                    from Tenant t
-                    join TenantCardapioConfig cardapio on cardapio.tenant = t
-                    left join t.businessAccount account
-                    where t.discoveryPublished = true
-                      and t.estado = :tenantState
-                      and cardapio.cardapioPublicado = true
-                      and trim(t.nome) <> ''
-                      and length(trim(t.nome)) <= 120
-                      and (account is null or (
-                            account.estado = :accountState
-                            and exists (select subscription.id
-                                        from Subscricao subscription
-                                        where subscription.tenant = t
-                                          and subscription.estado = :subscriptionState)))
-                      and (:query = ''
-                           or lower(t.nome) like lower(concat('%', :query, '%')) escape '!'
-                           or lower(t.slug) like lower(concat('%', :query, '%')) escape '!')
-                      and (:municipality is null or exists (
-                            select fiscal.id
-                            from TenantFiscalProfile fiscal
-                            where fiscal.tenant = t
-                              and lower(fiscal.municipality) = :municipality))
-                    order by lower(t.nome) asc, t.merchantPublicId asc
-                    """,
-            countQuery = """
-                    select count(t.id)
-                    from Tenant t
-                    join TenantCardapioConfig cardapio on cardapio.tenant = t
-                    left join t.businessAccount account
-                    where t.discoveryPublished = true
-                      and t.estado = :tenantState
-                      and cardapio.cardapioPublicado = true
-                      and trim(t.nome) <> ''
-                      and length(trim(t.nome)) <= 120
-                      and (account is null or (
-                            account.estado = :accountState
-                            and exists (select subscription.id
-                                        from Subscricao subscription
-                                        where subscription.tenant = t
-                                          and subscription.estado = :subscriptionState)))
-                      and (:query = ''
-                           or lower(t.nome) like lower(concat('%', :query, '%')) escape '!'
-                           or lower(t.slug) like lower(concat('%', :query, '%')) escape '!')
-                      and (:municipality is null or exists (
-                            select fiscal.id
-                            from TenantFiscalProfile fiscal
-                            where fiscal.tenant = t
-                              and lower(fiscal.municipality) = :municipality))
-                    """)
+    String SUMMARY = """
+            select p.merchantPublicId as merchantId,
+                   p.name as name,
+                   p.catalogPublished as catalogPublished,
+                   p.activeCatalogItemCount as activeCatalogItemCount
+            from MerchantDiscoveryProjection p
+            """;
+
+    String SEARCH_FILTER = """
+            where (:query = ''
+                   or p.searchName like concat('%', :query, '%')
+                   or p.slug like concat('%', replace(:query, ' ', '-'), '%'))
+              and (:municipality is null or p.municipality = :municipality)
+            """;
+
+    String ORDER = " order by p.sortName asc, p.merchantPublicId asc";
+
+    /**
+     * Name match tier (exact, prefix, word prefix, substring), then merchants whose catalog can take
+     * orders, then larger catalogs; name order breaks ties.
+     */
+    String RELEVANCE = """
+             order by case when p.searchName = :query then 0
+                           when p.searchName like concat(:query, '%') then 1
+                           when p.searchName like concat('% ', :query, '%') then 2
+                           else 3 end asc,
+                      p.catalogPublished desc,
+                      p.activeCatalogItemCount desc,
+                      p.sortName asc, p.merchantPublicId asc
+            """;
+
+    String COUNT = "select count(p.tenantId) from MerchantDiscoveryProjection p ";
+
+    @Query(value = SUMMARY + SEARCH_FILTER + ORDER, countQuery = COUNT + SEARCH_FILTER)
     Page<AndroidDiscoveryMerchantProjection> findPublicMerchants(
-            @Param("tenantState") TenantEstado tenantState,
-            @Param("accountState") BusinessAccountEstado accountState,
-            @Param("subscriptionState") SubscricaoEstado subscriptionState,
             @Param("query") String query,
             @Param("municipality") String municipality,
             Pageable pageable);
 
-    @Query("""
-            select t.merchantPublicId as merchantId,
-                   t.nome as name,
-                   cardapio.cardapioPublicado as catalogPublished,
-                   (select count(product.id)
-                    from Produto product
-                    where product.tenant = t
-                      and product.ativo = true
-                      and product.disponivel = true
-                      and product.categoriaProduto.ativo = true) as activeCatalogItemCount
-            from Tenant t
-            join TenantCardapioConfig cardapio on cardapio.tenant = t
-            left join t.businessAccount account
-            where t.merchantPublicId = :merchantPublicId
-              and t.discoveryPublished = true
-              and t.estado = :tenantState
-              and cardapio.cardapioPublicado = true
-              and trim(t.nome) <> ''
-              and length(trim(t.nome)) <= 120
-              and (account is null or (
-                    account.estado = :accountState
-                    and exists (select subscription.id
-                                from Subscricao subscription
-                                where subscription.tenant = t
-                                  and subscription.estado = :subscriptionState)))
-            """)
+    @Query(value = SUMMARY + SEARCH_FILTER + RELEVANCE, countQuery = COUNT + SEARCH_FILTER)
+    Page<AndroidDiscoveryMerchantProjection> findRankedMerchants(
+            @Param("query") String query,
+            @Param("municipality") String municipality,
+            Pageable pageable);
+
+    /** Home feed page without the pagination count: the response only needs {@code hasMore}. */
+    @Query(SUMMARY + " where (:municipality is null or p.municipality = :municipality)" + ORDER)
+    Slice<AndroidDiscoveryMerchantProjection> findHomeMerchants(
+            @Param("municipality") String municipality,
+            Pageable pageable);
+
+    @Query(SUMMARY + " where p.merchantPublicId = :merchantPublicId")
     Optional<AndroidDiscoveryMerchantProjection> findPublicMerchant(
-            @Param("merchantPublicId") UUID merchantPublicId,
-            @Param("tenantState") TenantEstado tenantState,
-            @Param("accountState") BusinessAccountEstado accountState,
-            @Param("subscriptionState") SubscricaoEstado subscriptionState);
+            @Param("merchantPublicId") UUID merchantPublicId);
 }
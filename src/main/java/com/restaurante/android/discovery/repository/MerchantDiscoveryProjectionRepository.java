@@ -0,0 +1,114 @@
+package com.restaurante.android.discovery.repository;
+
+import com.restaurante.model.entity.MerchantDiscoveryProjection;
+import com.restaurante.model.enums.BusinessAccountEstado;
+import com.restaurante.model.enums.SubscricaoEstado;
+import com.restaurante.model.enums.TenantEstado;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Maintenance side of the Discovery read model: evaluates publication eligibility against the
+ * normalized tables (the former per-request query) and stores the result per tenant.
+ */
+public interface MerchantDiscoveryProjectionRepository extends JpaRepository<MerchantDiscoveryProjection, Long> {
+
+    String ELIGIBLE_SOURCES = """
+            select t.id as tenantId,
+                   t.merchantPublicId as merchantId,
+                   t.nome as name,
+                   lower(t.nome) as sortName,
+                   t.slug as slug,
+                   lower(fiscal.municipality) as municipality,
+                   cardapio.cardapioPublicado as catalogPublished,
+                   (select count(product.id)
+                    from Produto product
+                    where product.tenant = t
+                      and product.ativo = true
+                      and product.disponivel = true
+                      and product.categoriaProduto.ativo = true) as activeCatalogItemCount
+            from Tenant t
+            join TenantCardapioConfig cardapio on cardapio.tenant = t
+            left join t.businessAccount account
+            left join TenantFiscalProfile fiscal on fiscal.tenant = t
+            where t.discoveryPublished = true
+              and t.estado = :tenantState
+              and cardapio.cardapioPublicado = true
+              and trim(t.nome) <> ''
+              and length(trim(t.nome)) <= 120
+              and (account is null or (
+                    account.estado = :accountState
+                    and exists (select subscription.id
+                                from Subscricao subscription
+                                where subscription.tenant = t
+                                  and subscription.estado = :subscriptionState)))
+            """;
+
+    @Query(ELIGIBLE_SOURCES)
+    List<MerchantDiscoverySource> findEligibleSources(
+            @Param("tenantState") TenantEstado tenantState,
+            @Param("accountState") BusinessAccountEstado accountState,
+            @Param("subscriptionState") SubscricaoEstado subscriptionState);
+
+    @Query(ELIGIBLE_SOURCES + " and t.id in :tenantIds")
+    List<MerchantDiscoverySource> findEligibleSources(
+            @Param("tenantState") TenantEstado tenantState,
+            @Param("accountState") BusinessAccountEstado accountState,
+            @Param("subscriptionState") SubscricaoEstado subscriptionState,
+            @Param("tenantIds") Collection<Long> tenantIds);
+
+    @Query("select t.id from Tenant t where t.businessAccount.id in :businessAccountIds")
+    List<Long> findTenantIdsByBusinessAccountIds(@Param("businessAccountIds") Collection<Long> businessAccountIds);
+
+    /**
+     * Transaction-scoped advisory lock of the full reconcile; false when another node already holds it.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(hashtextextended('merchant_discovery_projection.reconcile', 0))",
+            nativeQuery = true)
+    boolean tryLockReconcile();
+
+    /**
+     * Insert-or-update of one row, safe against a concurrent refresh inserting the same tenant.
+     */
+    default void upsert(MerchantDiscoveryProjection row) {
+        upsert(row.getTenantId(), row.getMerchantPublicId(), row.getName(), row.getSortName(), row.getSearchName(),
+                row.getSlug(), row.getMunicipality(), row.isCatalogPublished(), row.getActiveCatalogItemCount(),
+                row.getRefreshedAt());
+    }
+
+    @Modifying
+    @Query(value = """
+            insert into merchant_discovery_projection
+                (tenant_id, merchant_public_id, name, sort_name, search_name, slug, municipality,
+                 catalog_published, active_catalog_item_count, refreshed_at)
+            values (:tenantId, :merchantPublicId, :name, :sortName, :searchName, :slug, :municipality,
+                    :catalogPublished, :activeCatalogItemCount, :refreshedAt)
+            on conflict (tenant_id) do update set
+                merchant_public_id = excluded.merchant_public_id,
+                name = excluded.name,
+                sort_name = excluded.sort_name,
+                search_name = excluded.search_name,
+                slug = excluded.slug,
+                municipality = excluded.municipality,
+                catalog_published = excluded.catalog_published,
+                active_catalog_item_count = excluded.active_catalog_item_count,
+                refreshed_at = excluded.refreshed_at
+            """, nativeQuery = true)
+    void upsert(
+            @Param("tenantId") Long tenantId,
+            @Param("merchantPublicId") UUID merchantPublicId,
+            @Param("name") String name,
+            @Param("sortName") String sortName,
+            @Param("searchName") String searchName,
+            @Param("slug") String slug,
+            @Param("municipality") String municipality,
+            @Param("catalogPublished") boolean catalogPublished,
+            @Param("activeCatalogItemCount") long activeCatalogItemCount,
+            @Param("refreshedAt") LocalDateTime refreshedAt);
+}
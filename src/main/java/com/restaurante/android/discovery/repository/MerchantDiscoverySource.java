@@ -0,0 +1,23 @@
+package com.restaurante.android.discovery.repository;
+
+import java.util.UUID;
+
+/** Current eligibility row of one merchant, read from the normalized tables to refresh the read model. */
+public interface MerchantDiscoverySource {
+
+    Long getTenantId();
+
+    UUID getMerchantId();
+
+    String getName();
+
+    String getSortName();
+
+    String getSlug();
+
+    String getMunicipality();
+
+    Boolean getCatalogPublished();
+
+    Long getActiveCatalogItemCount();
+}
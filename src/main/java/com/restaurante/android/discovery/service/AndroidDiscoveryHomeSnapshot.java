@@ -0,0 +1,111 @@
+package com.restaurante.android.discovery.service;
+
+import com.restaurante.android.discovery.dto.AndroidMerchantSectionResponse;
+import com.restaurante.android.discovery.dto.AndroidMerchantSummaryResponse;
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory (per node) copy of the unfiltered home feed: the first {@code maxMerchants} rows of the
+ * Discovery read model in public order, already mapped to summaries.
+ *
+ * Local refreshes of the read model invalidate it immediately and again after completion; a generation
+ * keeps an in-flight load from publishing rows read before the invalidation. Changes applied by another
+ * node become visible after {@code consuma.android.discovery.home-snapshot-ttl-seconds}, below the
+ * {@code max-age} the home response already advertises.
+ */
+@Component
+public final class AndroidDiscoveryHomeSnapshot {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxMerchants;
+    private final Clock clock;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot current;
+
+    @Autowired
+    public AndroidDiscoveryHomeSnapshot(
+            @Value("${consuma.android.discovery.home-snapshot-ttl-seconds:30}") long ttlSeconds,
+            @Value("${consuma.android.discovery.home-snapshot-max-merchants:5000}") int maxMerchants) {
+        this(ttlSeconds, maxMerchants, Clock.systemUTC());
+    }
+
+    AndroidDiscoveryHomeSnapshot(long ttlSeconds, int maxMerchants, Clock clock) {
+        this.enabled = ttlSeconds > 0 && maxMerchants > 0;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxMerchants = Math.max(1, maxMerchants);
+        this.clock = clock;
+    }
+
+    public int maxMerchants() {
+        return maxMerchants;
+    }
+
+    /**
+     * Page of the home feed served from memory, or empty when the page reaches past a truncated snapshot
+     * (more eligible merchants than {@code maxMerchants}) and must be read from the database.
+     *
+     * @param loader first {@code maxMerchants} summaries in public order, plus whether more exist
+     */
+    public Optional<AndroidMerchantSectionResponse> page(int page, int pageSize, Supplier<Rows> loader) {
+        if (!enabled) return Optional.empty();
+        Snapshot snapshot = current(loader);
+        List<AndroidMerchantSummaryResponse> rows = snapshot.rows().merchants();
+        long from = (long) page * pageSize;
+        long to = from + pageSize;
+        if (snapshot.rows().truncated() && to > rows.size()) return Optional.empty();
+        if (from >= rows.size()) return Optional.of(new AndroidMerchantSectionResponse(List.of(), false));
+        boolean hasMore = to < rows.size() || snapshot.rows().truncated();
+        return Optional.of(new AndroidMerchantSectionResponse(
+                rows.subList((int) from, (int) Math.min(to, rows.size())), hasMore));
+    }
+
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private Snapshot current(Supplier<Rows> loader) {
+        Snapshot snapshot = current;
+        long now = clock.millis();
+        if (snapshot != null && now - snapshot.loadedAtMillis() < ttlMillis) return snapshot;
+
+        long loadedAtGeneration = generation.get();
+        Snapshot loaded = new Snapshot(loader.get(), now);
+        if (generation.get() == loadedAtGeneration) {
+            current = loaded;
+        }
+        return loaded;
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        current = null;
+    }
+
+    public record Rows(List<AndroidMerchantSummaryResponse> merchants, boolean truncated) {
+
+        public Rows {
+            merchants = List.copyOf(merchants);
+        }
+    }
+
+    private record Snapshot(Rows rows, long loadedAtMillis) {
+    }
+}
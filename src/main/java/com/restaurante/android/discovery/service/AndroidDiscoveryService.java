@@ -11,12 +11,14 @@ import com.restaurante.android.discovery.dto.AndroidMerchantSummaryResponse;
 import com.restaurante.android.discovery.repository.AndroidDiscoveryMerchantProjection;
 import com.restaurante.android.discovery.repository.AndroidDiscoveryReadRepository;
 import com.restaurante.android.discovery.validation.ValidatedDiscoveryQuery;
+import com.restaurante.util.SearchText;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,24 +27,27 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class AndroidDiscoveryService {
 
+    private static final String RELEVANCE = "RELEVANCE";
     private static final AndroidMerchantSectionResponse EMPTY_SECTION =
             new AndroidMerchantSectionResponse(List.of(), false);
 
     private final AndroidDiscoveryReadRepository repository;
-    private final MerchantDiscoveryPublicationPolicy publicationPolicy;
+    private final AndroidDiscoveryHomeSnapshot homeSnapshot;
 
     public AndroidDiscoveryService(
             AndroidDiscoveryReadRepository repository,
-            MerchantDiscoveryPublicationPolicy publicationPolicy) {
+            AndroidDiscoveryHomeSnapshot homeSnapshot) {
         this.repository = repository;
-        this.publicationPolicy = publicationPolicy;
+        this.homeSnapshot = homeSnapshot;
     }
 
     public AndroidDiscoveryHomeResponse home(ValidatedDiscoveryQuery query) {
         try {
-            Page<AndroidDiscoveryMerchantProjection> page = loadPublicMerchants(query);
-            AndroidMerchantSectionResponse recommended = new AndroidMerchantSectionResponse(
-                    page.getContent().stream().map(this::summary).toList(), page.hasNext());
+            String municipality = municipality(query);
+            AndroidMerchantSectionResponse recommended = municipality == null
+                    ? homeSnapshot.page(query.page(), query.pageSize(), this::loadHomeSnapshot)
+                            .orElseGet(() -> loadHomePage(null, query))
+                    : loadHomePage(municipality, query);
             // Geography, featured and merchant-category sources are not canonical yet.
             return new AndroidDiscoveryHomeResponse(
                     List.of(), EMPTY_SECTION, recommended, EMPTY_SECTION);
@@ -67,22 +72,39 @@ public class AndroidDiscoveryService {
 
     private Page<AndroidDiscoveryMerchantProjection> loadPublicMerchants(
             ValidatedDiscoveryQuery query) {
-        return repository.findPublicMerchants(
-                publicationPolicy.requiredTenantState(),
-                publicationPolicy.requiredBusinessAccountState(),
-                publicationPolicy.requiredSubscriptionStateForCanonicalAccount(),
-                escapeLike(query.query()),
-                query.municipality() == null ? null : query.municipality().toLowerCase(Locale.ROOT),
-                PageRequest.of(query.page(), query.pageSize()));
+        String term = SearchText.normalize(query.query());
+        PageRequest pageable = PageRequest.of(query.page(), query.pageSize());
+        if (term.isEmpty() && query.query() != null && !query.query().isBlank()) {
+            // Only punctuation/symbols: nothing to match, and not an unfiltered listing either.
+            return Page.empty(pageable);
+        }
+        if (RELEVANCE.equals(query.sort()) && !term.isEmpty()) {
+            return repository.findRankedMerchants(term, municipality(query), pageable);
+        }
+        return repository.findPublicMerchants(term, municipality(query), pageable);
+    }
+
+    private AndroidMerchantSectionResponse loadHomePage(String municipality, ValidatedDiscoveryQuery query) {
+        Slice<AndroidDiscoveryMerchantProjection> slice = repository.findHomeMerchants(
+                municipality, PageRequest.of(query.page(), query.pageSize()));
+        return new AndroidMerchantSectionResponse(
+                slice.getContent().stream().map(this::summary).toList(), slice.hasNext());
+    }
+
+    private AndroidDiscoveryHomeSnapshot.Rows loadHomeSnapshot() {
+        Slice<AndroidDiscoveryMerchantProjection> slice = repository.findHomeMerchants(
+                null, PageRequest.of(0, homeSnapshot.maxMerchants()));
+        return new AndroidDiscoveryHomeSnapshot.Rows(
+                slice.getContent().stream().map(this::summary).toList(), slice.hasNext());
+    }
+
+    private static String municipality(ValidatedDiscoveryQuery query) {
+        return query.municipality() == null ? null : query.municipality().toLowerCase(Locale.ROOT);
     }
 
     public AndroidMerchantDetailResponse detail(UUID merchantPublicId) {
         try {
-            AndroidDiscoveryMerchantProjection source = repository.findPublicMerchant(
-                            merchantPublicId,
-                            publicationPolicy.requiredTenantState(),
-                            publicationPolicy.requiredBusinessAccountState(),
-                            publicationPolicy.requiredSubscriptionStateForCanonicalAccount())
+            AndroidDiscoveryMerchantProjection source = repository.findPublicMerchant(merchantPublicId)
                     .orElseThrow(this::notFound);
             AndroidMerchantSummaryResponse summary = summary(source);
             return new AndroidMerchantDetailResponse(
@@ -105,13 +127,6 @@ public class AndroidDiscoveryService {
                 null, null, null, false, catalogAvailable);
     }
 
-    private String escapeLike(String query) {
-        if (query == null || query.isEmpty()) {
-            return "";
-        }
-        return query.replace("!", "!!").replace("%", "!%").replace("_", "!_");
-    }
-
     private AndroidPublicApiException notFound() {
         return new AndroidPublicApiException(
                 AndroidPublicErrorCode.MERCHANT_NOT_FOUND,
@@ -0,0 +1,51 @@
+package com.restaurante.android.discovery.service;
+
+import com.restaurante.model.entity.BusinessAccount;
+import com.restaurante.model.entity.CategoriaProduto;
+import com.restaurante.model.entity.Produto;
+import com.restaurante.model.entity.Subscricao;
+import com.restaurante.model.entity.Tenant;
+import com.restaurante.model.entity.TenantCardapioConfig;
+import com.restaurante.model.entity.TenantFiscalProfile;
+import com.restaurante.model.listener.EntityChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handles {@link EntityChangedEvent} for every entity that feeds Discovery eligibility or the catalog item
+ * count and schedules the refresh of the affected tenants.
+ */
+@Component
+public class MerchantDiscoveryProjectionListener {
+
+    private final ObjectProvider<MerchantDiscoveryProjectionRefresher> refresher;
+
+    public MerchantDiscoveryProjectionListener(ObjectProvider<MerchantDiscoveryProjectionRefresher> refresher) {
+        this.refresher = refresher;
+    }
+
+    @EventListener
+    void changed(EntityChangedEvent event) {
+        Object entity = event.entity();
+        if (entity instanceof BusinessAccount account) {
+            refresher.ifAvailable(r -> r.businessAccountChanged(account.getId()));
+            return;
+        }
+        Long tenantId = tenantIdOf(entity);
+        if (tenantId != null) {
+            refresher.ifAvailable(r -> r.tenantChanged(tenantId));
+        }
+    }
+
+    static Long tenantIdOf(Object entity) {
+        if (entity instanceof Tenant t) return t.getId();
+        Tenant tenant = null;
+        if (entity instanceof Produto p) tenant = p.getTenant();
+        else if (entity instanceof CategoriaProduto c) tenant = c.getTenant();
+        else if (entity instanceof TenantCardapioConfig cfg) tenant = cfg.getTenant();
+        else if (entity instanceof Subscricao s) tenant = s.getTenant();
+        else if (entity instanceof TenantFiscalProfile f) tenant = f.getTenant();
+        return tenant != null ? tenant.getId() : null;
+    }
+}
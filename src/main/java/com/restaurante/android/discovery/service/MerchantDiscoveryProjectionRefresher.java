@@ -0,0 +1,82 @@
+package com.restaurante.android.discovery.service;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Collects, per transaction, the tenants and business accounts whose writes may change Discovery
+ * eligibility and refreshes their read-model rows once, after the commit. A failed refresh is only
+ * logged: the periodic reconciliation of {@link MerchantDiscoveryPublicationService} repairs it.
+ */
+@Component
+public final class MerchantDiscoveryProjectionRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(MerchantDiscoveryProjectionRefresher.class);
+
+    private final MerchantDiscoveryPublicationService publication;
+
+    public MerchantDiscoveryProjectionRefresher(MerchantDiscoveryPublicationService publication) {
+        this.publication = publication;
+    }
+
+    public void tenantChanged(Long tenantId) {
+        if (tenantId == null) return;
+        Pending pending = pending();
+        if (pending == null) {
+            refresh(Set.of(tenantId), Set.of());
+        } else {
+            pending.tenantIds().add(tenantId);
+        }
+    }
+
+    public void businessAccountChanged(Long businessAccountId) {
+        if (businessAccountId == null) return;
+        Pending pending = pending();
+        if (pending == null) {
+            refresh(Set.of(), Set.of(businessAccountId));
+        } else {
+            pending.businessAccountIds().add(businessAccountId);
+        }
+    }
+
+    /**
+     * Pending set bound to the current transaction, or {@code null} outside transaction synchronization.
+     */
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return null;
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) return pending;
+
+        Pending created = new Pending(new HashSet<>(), new HashSet<>());
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(created.tenantIds(), created.businessAccountIds());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(MerchantDiscoveryProjectionRefresher.this);
+            }
+        });
+        return created;
+    }
+
+    private void refresh(Set<Long> tenantIds, Set<Long> businessAccountIds) {
+        try {
+            publication.refreshTenants(tenantIds, businessAccountIds);
+        } catch (RuntimeException exception) {
+            log.warn("Discovery read model refresh failed for tenants {} / accounts {}: {}",
+                    tenantIds, businessAccountIds, exception.getMessage());
+        }
+    }
+
+    private record Pending(Set<Long> tenantIds, Set<Long> businessAccountIds) {
+    }
+}
@@ -1,21 +1,65 @@
 package com.restaurante.android.discovery.service;
 
+import com.restaurante.android.discovery.repository.MerchantDiscoveryProjectionRepository;
+import com.restaurante.android.discovery.repository.MerchantDiscoverySource;
+import com.restaurante.model.entity.MerchantDiscoveryProjection;
 import com.restaurante.model.entity.Tenant;
 import com.restaurante.repository.TenantRepository;
+import com.restaurante.util.SearchText;
 import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-/** Internal persisted opt-in mechanism. No administrative HTTP surface is introduced here. */
+/**
+ * Internal persisted opt-in mechanism and owner of the Discovery read model
+ * ({@code merchant_discovery_projection}). No administrative HTTP surface is introduced here.
+ *
+ * The projection is refreshed per tenant after the commit of any write that affects eligibility, the
+ * opt-in included ({@link MerchantDiscoveryProjectionRefresher}, fed by the entity listener), and fully
+ * reconciled shortly after startup and then periodically to absorb bulk/SQL writes that bypass JPA.
+ * Only one node reconciles at a time (transaction-scoped advisory lock; the others skip the run) and rows
+ * are written with {@code insert ... on conflict do update}, so a refresh racing with another refresh or
+ * with the reconcile never fails on the primary key.
+ */
 @Service
 public class MerchantDiscoveryPublicationService {
 
+    private static final Logger log = LoggerFactory.getLogger(MerchantDiscoveryPublicationService.class);
+
     private final TenantRepository tenants;
+    private final MerchantDiscoveryProjectionRepository projections;
+    private final MerchantDiscoveryPublicationPolicy policy;
+    private final AndroidDiscoveryHomeSnapshot homeSnapshot;
 
-    public MerchantDiscoveryPublicationService(TenantRepository tenants) {
+    public MerchantDiscoveryPublicationService(
+            TenantRepository tenants,
+            MerchantDiscoveryProjectionRepository projections,
+            MerchantDiscoveryPublicationPolicy policy,
+            AndroidDiscoveryHomeSnapshot homeSnapshot) {
         this.tenants = tenants;
+        this.projections = projections;
+        this.policy = policy;
+        this.homeSnapshot = homeSnapshot;
     }
 
+    /**
+     * Persists the opt-in only. The tenant update is picked up by {@link MerchantDiscoveryProjectionListener}
+     * and the row is refreshed once, after the commit; refreshing here as well would recompute it twice.
+     */
     @Transactional
     public void setPublished(long tenantId, boolean published) {
         Tenant tenant = tenants.findById(tenantId)
@@ -23,4 +67,110 @@ public class MerchantDiscoveryPublicationService {
         tenant.setDiscoveryPublished(published);
         tenants.saveAndFlush(tenant);
     }
+
+    /**
+     * Recomputes the read-model rows of the given tenants and of every tenant of the given business
+     * accounts. Runs in its own transaction because it is called after the triggering commit.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refreshTenants(Collection<Long> tenantIds, Collection<Long> businessAccountIds) {
+        Set<Long> scope = new HashSet<>(tenantIds);
+        if (!businessAccountIds.isEmpty()) {
+            scope.addAll(projections.findTenantIdsByBusinessAccountIds(businessAccountIds));
+        }
+        if (!scope.isEmpty()) {
+            refresh(scope);
+        }
+    }
+
+    @Transactional
+    @Scheduled(
+            initialDelayString = "${consuma.android.discovery.projection-reconcile-initial-delay-ms:10000}",
+            fixedDelayString = "${consuma.android.discovery.projection-reconcile-ms:300000}")
+    public void reconcile() {
+        if (!projections.tryLockReconcile()) {
+            log.debug("Discovery read model reconcile skipped: already running on another node.");
+            return;
+        }
+        int changed = apply(
+                projections.findEligibleSources(
+                        policy.requiredTenantState(),
+                        policy.requiredBusinessAccountState(),
+                        policy.requiredSubscriptionStateForCanonicalAccount()),
+                projections.findAll());
+        if (changed > 0) {
+            log.info("Discovery read model reconciled: {} row(s) changed.", changed);
+        }
+    }
+
+    private void refresh(Set<Long> tenantIds) {
+        apply(
+                projections.findEligibleSources(
+                        policy.requiredTenantState(),
+                        policy.requiredBusinessAccountState(),
+                        policy.requiredSubscriptionStateForCanonicalAccount(),
+                        tenantIds),
+                projections.findAllById(tenantIds));
+    }
+
+    /**
+     * Makes {@code existing} match {@code eligible}: upserts changed rows and deletes rows that are no longer
+     * eligible. Unchanged rows are not written; the loaded entities are never modified, so dirty checking
+     * adds no second write. Returns the number of rows touched.
+     */
+    private int apply(List<MerchantDiscoverySource> eligible, List<MerchantDiscoveryProjection> existing) {
+        Map<Long, MerchantDiscoveryProjection> byTenant = existing.stream()
+                .collect(Collectors.toMap(MerchantDiscoveryProjection::getTenantId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<MerchantDiscoveryProjection> changed = new ArrayList<>();
+        Set<Long> eligibleIds = new HashSet<>();
+        for (MerchantDiscoverySource source : eligible) {
+            eligibleIds.add(source.getTenantId());
+            MerchantDiscoveryProjection current = byTenant.get(source.getTenantId());
+            if (current != null && sameContent(current, source)) {
+                continue;
+            }
+            MerchantDiscoveryProjection row = new MerchantDiscoveryProjection(source.getTenantId());
+            copy(source, row);
+            row.setRefreshedAt(now);
+            changed.add(row);
+        }
+        List<Long> removed = byTenant.keySet().stream().filter(id -> !eligibleIds.contains(id)).toList();
+
+        changed.forEach(projections::upsert);
+        if (!removed.isEmpty()) {
+            projections.deleteAllByIdInBatch(removed);
+        }
+        int touched = changed.size() + removed.size();
+        if (touched > 0) {
+            homeSnapshot.invalidate();
+        }
+        return touched;
+    }
+
+    private static boolean sameContent(MerchantDiscoveryProjection row, MerchantDiscoverySource source) {
+        return Objects.equals(row.getMerchantPublicId(), source.getMerchantId())
+                && Objects.equals(row.getName(), source.getName())
+                && Objects.equals(row.getSortName(), source.getSortName())
+                && Objects.equals(row.getSearchName(), SearchText.normalize(source.getName()))
+                && Objects.equals(row.getSlug(), source.getSlug())
+                && Objects.equals(row.getMunicipality(), source.getMunicipality())
+                && row.isCatalogPublished() == Boolean.TRUE.equals(source.getCatalogPublished())
+                && row.getActiveCatalogItemCount() == count(source);
+    }
+
+    private static void copy(MerchantDiscoverySource source, MerchantDiscoveryProjection row) {
+        row.setMerchantPublicId(source.getMerchantId());
+        row.setName(source.getName());
+        row.setSortName(source.getSortName());
+        row.setSearchName(SearchText.normalize(source.getName()));
+        row.setSlug(source.getSlug());
+        row.setMunicipality(source.getMunicipality());
+        row.setCatalogPublished(Boolean.TRUE.equals(source.getCatalogPublished()));
+        row.setActiveCatalogItemCount(count(source));
+    }
+
+    private static long count(MerchantDiscoverySource source) {
+        return source.getActiveCatalogItemCount() == null ? 0L : source.getActiveCatalogItemCount();
+    }
 }
@@ -23,7 +23,7 @@ public final class AndroidDiscoveryRequestValidator {
             "query", "categoryId", "onlyOpen", "fulfillmentOptions", "latitude", "longitude",
             "municipality", "sort", "page", "pageSize");
     private static final Set<String> KNOWN_SORTS = Set.of(
-            "NAME", "FEATURED", "NEAREST", "TOP_RATED", "MOST_POPULAR");
+            "NAME", "RELEVANCE", "FEATURED", "NEAREST", "TOP_RATED", "MOST_POPULAR");
     private static final Set<String> FULFILLMENT = Set.of("PICKUP", "DELIVERY");
     private static final Pattern MUNICIPALITY = Pattern.compile(
             "^[\\p{L}\\p{N}]+(?:[ .'-][\\p{L}\\p{N}]+)*$");
@@ -68,7 +68,7 @@ public final class AndroidDiscoveryRequestValidator {
         validateCategory(request.getParameter("categoryId"));
         int page = integer(request.getParameter("page"), "/page", 0, Integer.MAX_VALUE, 0);
         int pageSize = integer(request.getParameter("pageSize"), "/pageSize", 1, 100, 20);
-        String sort = sort(request.getParameter("sort"));
+        String sort = sort(request.getParameter("sort"), search);
         return new ValidatedDiscoveryQuery(
                 query, municipality, latitude, longitude, page, pageSize, sort);
     }
@@ -139,20 +139,22 @@ public final class AndroidDiscoveryRequestValidator {
                 "Filtro de fulfillment ainda não é suportado.");
     }
 
-    private String sort(String raw) {
+    private String sort(String raw, boolean search) {
         String value = trim(raw);
         String normalized = value == null ? "NAME" : value.toUpperCase(Locale.ROOT);
         if (!KNOWN_SORTS.contains(normalized)) {
             throw invalid("/sort", "INVALID_VALUE", "sort inválido.");
         }
-        if (!"NAME".equals(normalized)) {
+        if (!"NAME".equals(normalized) && !(search && "RELEVANCE".equals(normalized))) {
             throw new AndroidPublicApiException(
                     AndroidPublicErrorCode.SORT_NOT_SUPPORTED,
                     HttpStatus.BAD_REQUEST,
                     "O sort solicitado não possui fonte persistente suportada.",
                     false,
                     List.of(new AndroidPublicFieldError(
-                            "/sort", "SORT_NOT_SUPPORTED", "Somente NAME é suportado.")));
+                            "/sort", "SORT_NOT_SUPPORTED", search
+                                    ? "Somente NAME e RELEVANCE são suportados."
+                                    : "Somente NAME é suportado.")));
         }
         return normalized;
     }
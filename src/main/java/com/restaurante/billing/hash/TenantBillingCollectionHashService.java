@@ -2,12 +2,10 @@ package com.restaurante.billing.hash;
 
 import com.restaurante.model.enums.TenantBillingCollectionStatus;
 import com.restaurante.model.enums.TenantBillingSuspensionMode;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
-import java.util.HexFormat;
 
 @Service
 public class TenantBillingCollectionHashService {
@@ -28,13 +26,7 @@ public class TenantBillingCollectionHashService {
     }
 
     private String sha256Hex(String input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(String.valueOf(input).getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(digest);
-        } catch (Exception ex) {
-            throw new IllegalStateException("SHA-256 indisponível.", ex);
-        }
+        return CryptoPrimitives.sha256Hex("billing.collection", input);
     }
 }
 
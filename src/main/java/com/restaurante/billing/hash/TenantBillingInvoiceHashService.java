@@ -2,11 +2,9 @@ package com.restaurante.billing.hash;
 
 import com.restaurante.model.entity.TenantBillingInvoice;
 import com.restaurante.model.entity.TenantBillingInvoiceLine;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.util.HexFormat;
 import java.util.List;
 
 @Service
@@ -54,12 +52,6 @@ public class TenantBillingInvoiceHashService {
     }
 
     private String sha256Hex(String input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(input.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(digest);
-        } catch (Exception ex) {
-            throw new IllegalStateException("SHA-256 indisponível.", ex);
-        }
+        return CryptoPrimitives.sha256Hex("billing.invoice", input);
     }
 }
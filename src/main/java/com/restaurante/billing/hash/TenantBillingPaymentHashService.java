@@ -1,12 +1,9 @@
 package com.restaurante.billing.hash;
 
 import com.restaurante.model.entity.TenantBillingPayment;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.util.HexFormat;
-
 @Service
 public class TenantBillingPaymentHashService {
 
@@ -33,13 +30,7 @@ public class TenantBillingPaymentHashService {
     }
 
     private String sha256Hex(String input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(String.valueOf(input).getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(digest);
-        } catch (Exception ex) {
-            throw new IllegalStateException("SHA-256 indisponível.", ex);
-        }
+        return CryptoPrimitives.sha256Hex("billing.payment", input);
     }
 }
 
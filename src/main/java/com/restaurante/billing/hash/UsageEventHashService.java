@@ -1,12 +1,9 @@
 package com.restaurante.billing.hash;
 
 import com.restaurante.model.entity.UsageEvent;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.util.HexFormat;
-
 @Service
 public class UsageEventHashService {
 
@@ -31,13 +28,7 @@ public class UsageEventHashService {
     }
 
     private String sha256Hex(String input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(input.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(digest);
-        } catch (Exception ex) {
-            throw new IllegalStateException("SHA-256 indisponível.", ex);
-        }
+        return CryptoPrimitives.sha256Hex("billing.usage-event", input);
     }
 }
 
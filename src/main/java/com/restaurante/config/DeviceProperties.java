@@ -23,6 +23,36 @@ public class DeviceProperties {
      */
     private int heartbeatStaleMinutes = 5;
 
+    /**
+     * Cache em memória de DevicePrincipal (evita lookups por request de POS/KDS).
+     */
+    private boolean authCacheEnabled = true;
+
+    /**
+     * TTL (segundos) de cada entrada do cache de autenticação device.
+     */
+    private int authCacheTtlSeconds = 30;
+
+    /**
+     * Número máximo de device tokens mantidos no cache por nó.
+     */
+    private int authCacheMaxEntries = 5000;
+
+    /**
+     * Write-behind de heartbeat/lastAuthAt (batch JDBC). Se false, grava de imediato (UPDATE por chamada).
+     */
+    private boolean heartbeatWriteBehindEnabled = true;
+
+    /**
+     * Intervalo (segundos) entre flushes do buffer de heartbeat; limitado a metade do threshold de offline.
+     */
+    private int heartbeatFlushIntervalSeconds = 15;
+
+    /**
+     * Número de dispositivos no buffer que força um flush imediato (backpressure).
+     */
+    private int heartbeatBufferMaxDevices = 2000;
+
     public int getActivationCodeExpirationMinutes() {
         return activationCodeExpirationMinutes;
     }
@@ -46,5 +76,52 @@ public class DeviceProperties {
     public void setHeartbeatStaleMinutes(int heartbeatStaleMinutes) {
         this.heartbeatStaleMinutes = heartbeatStaleMinutes;
     }
-}
 
+    public boolean isAuthCacheEnabled() {
+        return authCacheEnabled;
+    }
+
+    public void setAuthCacheEnabled(boolean authCacheEnabled) {
+        this.authCacheEnabled = authCacheEnabled;
+    }
+
+    public int getAuthCacheTtlSeconds() {
+        return authCacheTtlSeconds;
+    }
+
+    public void setAuthCacheTtlSeconds(int authCacheTtlSeconds) {
+        this.authCacheTtlSeconds = authCacheTtlSeconds;
+    }
+
+    public int getAuthCacheMaxEntries() {
+        return authCacheMaxEntries;
+    }
+
+    public void setAuthCacheMaxEntries(int authCacheMaxEntries) {
+        this.authCacheMaxEntries = authCacheMaxEntries;
+    }
+
+    public boolean isHeartbeatWriteBehindEnabled() {
+        return heartbeatWriteBehindEnabled;
+    }
+
+    public void setHeartbeatWriteBehindEnabled(boolean heartbeatWriteBehindEnabled) {
+        this.heartbeatWriteBehindEnabled = heartbeatWriteBehindEnabled;
+    }
+
+    public int getHeartbeatFlushIntervalSeconds() {
+        return heartbeatFlushIntervalSeconds;
+    }
+
+    public void setHeartbeatFlushIntervalSeconds(int heartbeatFlushIntervalSeconds) {
+        this.heartbeatFlushIntervalSeconds = heartbeatFlushIntervalSeconds;
+    }
+
+    public int getHeartbeatBufferMaxDevices() {
+        return heartbeatBufferMaxDevices;
+    }
+
+    public void setHeartbeatBufferMaxDevices(int heartbeatBufferMaxDevices) {
+        this.heartbeatBufferMaxDevices = heartbeatBufferMaxDevices;
+    }
+}
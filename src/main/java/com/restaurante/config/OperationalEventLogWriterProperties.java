@@ -0,0 +1,101 @@
+package com.restaurante.config;
+
+import com.restaurante.model.enums.OperationalEventType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@Configuration
+@ConfigurationProperties(prefix = "consuma.operational-events.writer")
+public class OperationalEventLogWriterProperties {
+
+    /**
+     * Quando true, os tipos em asyncEventTypes são gravados fora da transação de negócio
+     * (fila em memória + batch JDBC).
+     */
+    private boolean asyncEnabled = false;
+
+    /**
+     * Tipos a gravar de forma assíncrona. Só valem os que estão na allow-list do writer
+     * (OperationalEventLogAsyncWriter.NON_EVIDENCE_TYPES); os restantes são ignorados e ficam síncronos,
+     * incluindo evidência (ex.: PEDIDO_CRIADO_DEVICE) e os tipos lidos por cursor de id da fila/SSE.
+     */
+    private Set<OperationalEventType> asyncEventTypes = EnumSet.of(
+            OperationalEventType.TRANSITION_BLOCKED,
+            OperationalEventType.PEDIDO_SEM_TURNO_ABERTO,
+            OperationalEventType.CONSUMO_QR_REIMPRESSO_DEVICE,
+            OperationalEventType.CONTA_REIMPRESSA_DEVICE,
+            OperationalEventType.COMPROVATIVO_ORDEM_REIMPRESSO_DEVICE
+    );
+
+    /**
+     * Linhas por batch de INSERT (flush por tamanho).
+     */
+    private int batchSize = 200;
+
+    /**
+     * Tempo máximo (ms) que um evento espera na fila antes do flush (flush por tempo).
+     */
+    private long flushIntervalMillis = 250;
+
+    /**
+     * Capacidade da fila. Cheia: quem submete paga o flush (backpressure) e, se ainda não houver espaço,
+     * grava de forma síncrona.
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Tempo (segundos) para o writer terminar no shutdown antes de o restante ser drenado na thread de shutdown.
+     */
+    private int shutdownTimeoutSeconds = 10;
+
+    public boolean isAsyncEnabled() {
+        return asyncEnabled;
+    }
+
+    public void setAsyncEnabled(boolean asyncEnabled) {
+        this.asyncEnabled = asyncEnabled;
+    }
+
+    public Set<OperationalEventType> getAsyncEventTypes() {
+        return asyncEventTypes;
+    }
+
+    public void setAsyncEventTypes(Set<OperationalEventType> asyncEventTypes) {
+        this.asyncEventTypes = asyncEventTypes;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getShutdownTimeoutSeconds() {
+        return shutdownTimeoutSeconds;
+    }
+
+    public void setShutdownTimeoutSeconds(int shutdownTimeoutSeconds) {
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+    }
+}
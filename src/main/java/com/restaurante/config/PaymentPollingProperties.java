@@ -15,6 +15,12 @@ public class PaymentPollingProperties {
     private int maxAgeHours = 24;
     private int backoffMultiplier = 2;
     private int maxBackoffMinutes = 30;
+    /** Máximo de consultas de status em paralelo contra o gateway (AppyPay). */
+    private int maxConcurrency = 8;
+    /** Espera antes da 2.ª consulta de um pagamento; cresce com backoffMultiplier até maxBackoffMinutes. */
+    private int initialBackoffSeconds = 10;
+    /** Intervalo mínimo entre rondas (fixedDelayMs passa a ser o intervalo máximo sem pagamentos a vencer). */
+    private long minIntervalMs = 1_000L;
 
     public boolean isEnabled() { return enabled; }
     public void setEnabled(boolean enabled) { this.enabled = enabled; }
@@ -32,5 +38,11 @@ public class PaymentPollingProperties {
     public void setBackoffMultiplier(int backoffMultiplier) { this.backoffMultiplier = backoffMultiplier; }
     public int getMaxBackoffMinutes() { return maxBackoffMinutes; }
     public void setMaxBackoffMinutes(int maxBackoffMinutes) { this.maxBackoffMinutes = maxBackoffMinutes; }
+    public int getMaxConcurrency() { return maxConcurrency; }
+    public void setMaxConcurrency(int maxConcurrency) { this.maxConcurrency = maxConcurrency; }
+    public int getInitialBackoffSeconds() { return initialBackoffSeconds; }
+    public void setInitialBackoffSeconds(int initialBackoffSeconds) { this.initialBackoffSeconds = initialBackoffSeconds; }
+    public long getMinIntervalMs() { return minIntervalMs; }
+    public void setMinIntervalMs(long minIntervalMs) { this.minIntervalMs = minIntervalMs; }
 }
 
@@ -0,0 +1,95 @@
+package com.restaurante.consumo.identificacao.service;
+
+import com.restaurante.security.ratelimit.ConcurrentRateLimiter;
+import com.restaurante.security.ratelimit.RateLimitMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Throttling de OTP em memória (por nó), só com consuma.otp.throttle-store=memory. Adequado a instância
+ * única; em multi-nó cada nó aplica o limite isoladamente — por isso o padrão é {@link PostgresOtpThrottleStore}.
+ *
+ * Contadores: um {@link ConcurrentRateLimiter} em janela deslizante por duração de janela, usado apenas para
+ * contar/registar (o limite é decidido pelo {@link TelefoneOtpService}).
+ */
+@Component
+@ConditionalOnProperty(name = "consuma.otp.throttle-store", havingValue = "memory")
+public class InMemoryOtpThrottleStore implements OtpThrottleStore {
+
+    private final Clock clock;
+    private final int maxKeys;
+    private final Map<Long, ConcurrentRateLimiter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InMemoryOtpThrottleStore(@Value("${consuma.otp.throttle-memory-max-keys:100000}") int maxKeys) {
+        this(maxKeys, Clock.systemUTC());
+    }
+
+    InMemoryOtpThrottleStore(int maxKeys, Clock clock) {
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    @Override
+    public long recentCount(String key, Duration window) {
+        return counter(window).count(key);
+    }
+
+    @Override
+    public void increment(String key, Duration window) {
+        counter(window).record(key);
+    }
+
+    @Override
+    public Optional<String> resendBlock(String challengeKey) {
+        Block b = blocks.get(challengeKey);
+        if (b == null) return Optional.empty();
+        if (!b.until().isAfter(clock.instant())) {
+            blocks.remove(challengeKey, b);
+            return Optional.empty();
+        }
+        return Optional.of(b.code());
+    }
+
+    @Override
+    public void blockResend(String challengeKey, String code, Instant until) {
+        if (until.isAfter(clock.instant())) {
+            blocks.put(challengeKey, new Block(code, until));
+        }
+    }
+
+    @Override
+    public void releaseResend(String challengeKey) {
+        blocks.remove(challengeKey);
+    }
+
+    @Scheduled(fixedDelayString = "${consuma.otp.throttle-purge-interval-ms:300000}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        counters.values().forEach(ConcurrentRateLimiter::expireIdle);
+        blocks.values().removeIf(b -> !b.until().isAfter(now));
+    }
+
+    int trackedCounters() {
+        return counters.values().stream().mapToInt(ConcurrentRateLimiter::trackedKeys).sum();
+    }
+
+    private ConcurrentRateLimiter counter(Duration window) {
+        return counters.computeIfAbsent(window.toMillis(), w -> new ConcurrentRateLimiter(
+                RateLimitMode.SLIDING_WINDOW, Integer.MAX_VALUE, Duration.ofMillis(w), maxKeys, clock));
+    }
+
+    private record Block(String code, Instant until) {
+    }
+}
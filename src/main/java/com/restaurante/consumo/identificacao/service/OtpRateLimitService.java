@@ -1,19 +1,32 @@
 package com.restaurante.consumo.identificacao.service;
 
-import com.restaurante.consumo.identificacao.repository.TelefoneOtpChallengeRepository;
+import com.restaurante.exception.BusinessException;
+import com.restaurante.model.enums.OtpPurpose;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.Instant;
 
+/**
+ * Limites de pedido de OTP (por telefone, por IP e reenvio), decididos pelo {@link OtpThrottleStore}
+ * sem consultar telefone_otp_challenge.
+ *
+ * Contagens e bloqueios só são registados após o commit do challenge: pedidos que falham
+ * (ex.: envio de SMS) não consomem quota, como acontecia com a contagem sobre a tabela de challenges.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class OtpRateLimitService {
 
-    private final TelefoneOtpChallengeRepository challengeRepository;
+    private final OtpThrottleStore throttleStore;
 
     @Value("${consuma.otp.rate-limit-per-phone:${consuma.otp.rate-limit.max-requests-per-phone-per-hour:5}}")
     private int maxRequestsPerPhone;
@@ -25,15 +38,90 @@ public class OtpRateLimitService {
     private int rateLimitWindowSeconds;
 
     public void checkOrThrow(Long tenantId, String phoneNormalized, String clientIp) {
-        Instant since = Instant.now().minusSeconds(rateLimitWindowSeconds);
-        long byPhone = challengeRepository.countRecentByPhone(tenantId, phoneNormalized, since);
+        Duration window = window();
+        long byPhone = throttleStore.recentCount(phoneKey(tenantId, phoneNormalized), window);
         if (byPhone >= maxRequestsPerPhone) throw tooManyRequests();
         if (clientIp != null && !clientIp.isBlank()) {
-            long byIp = challengeRepository.countRecentByIp(tenantId, clientIp, since);
+            long byIp = throttleStore.recentCount(ipKey(tenantId, clientIp), window);
             if (byIp >= maxRequestsPerIp) throw tooManyRequests();
         }
     }
 
+    /**
+     * Reenvio do mesmo challenge (tenant/telefone/purpose/sessão) ainda bloqueado: devolve o mesmo código
+     * que a validação sobre o challenge ativo devolveria (OTP_RESEND_TOO_SOON / OTP_MAX_RESENDS_EXCEEDED).
+     */
+    public void checkResendOrThrow(Long tenantId, String phoneNormalized, OtpPurpose purpose, Long sessaoId) {
+        throttleStore.resendBlock(challengeKey(tenantId, phoneNormalized, purpose, sessaoId))
+                .ifPresent(code -> {
+                    throw new BusinessException(code);
+                });
+    }
+
+    /**
+     * Registado após commit: novo challenge conta para as quotas por telefone e IP.
+     */
+    public void recordIssued(Long tenantId, String phoneNormalized, String clientIp) {
+        Duration window = window();
+        afterCommit(() -> {
+            throttleStore.increment(phoneKey(tenantId, phoneNormalized), window);
+            if (clientIp != null && !clientIp.isBlank()) {
+                throttleStore.increment(ipKey(tenantId, clientIp), window);
+            }
+        });
+    }
+
+    public void blockResend(Long tenantId, String phoneNormalized, OtpPurpose purpose, Long sessaoId,
+                            String code, Instant until) {
+        String key = challengeKey(tenantId, phoneNormalized, purpose, sessaoId);
+        afterCommit(() -> throttleStore.blockResend(key, code, until));
+    }
+
+    /**
+     * Challenge saiu de PENDING (consumido, expirado, bloqueado): o próximo pedido volta a ser decidido
+     * pela tabela de challenges.
+     */
+    public void releaseResend(Long tenantId, String phoneNormalized, OtpPurpose purpose, Long sessaoId) {
+        throttleStore.releaseResend(challengeKey(tenantId, phoneNormalized, purpose, sessaoId));
+    }
+
+    private Duration window() {
+        return Duration.ofSeconds(Math.max(1, rateLimitWindowSeconds));
+    }
+
+    private static String phoneKey(Long tenantId, String phone) {
+        return "phone:" + tenantId + ":" + phone;
+    }
+
+    private static String ipKey(Long tenantId, String ip) {
+        return "ip:" + tenantId + ":" + ip;
+    }
+
+    private static String challengeKey(Long tenantId, String phone, OtpPurpose purpose, Long sessaoId) {
+        return tenantId + ":" + phone + ":" + purpose + ":" + sessaoId;
+    }
+
+    private static void afterCommit(Runnable action) {
+        Runnable safe = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // o challenge já foi emitido; falha do store não deve virar erro para o cliente
+                log.warn("Falha ao registar throttling de OTP: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safe.run();
+                }
+            });
+        } else {
+            safe.run();
+        }
+    }
+
     private ResponseStatusException tooManyRequests() {
         return new ResponseStatusException(
                 HttpStatus.TOO_MANY_REQUESTS,
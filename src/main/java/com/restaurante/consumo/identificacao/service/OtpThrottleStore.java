@@ -0,0 +1,36 @@
+package com.restaurante.consumo.identificacao.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Estado de throttling de OTP, consultado antes de tocar em telefone_otp_challenge.
+ *
+ * Implementações:
+ * - {@link PostgresOtpThrottleStore} (padrão): partilhada entre nós.
+ * - {@link InMemoryOtpThrottleStore}: por nó, só por opção explícita (consuma.otp.throttle-store=memory).
+ *
+ * Contadores usam janela deslizante aproximada (janela anterior ponderada pela sobreposição).
+ * Bloqueios de reenvio guardam o código de erro que a validação completa devolveria até ao instante indicado.
+ */
+public interface OtpThrottleStore {
+
+    long recentCount(String key, Duration window);
+
+    void increment(String key, Duration window);
+
+    Optional<String> resendBlock(String challengeKey);
+
+    void blockResend(String challengeKey, String code, Instant until);
+
+    void releaseResend(String challengeKey);
+
+    /**
+     * Estimativa de janela deslizante a partir das contagens da janela corrente e da anterior.
+     */
+    static long slidingEstimate(long previous, long current, long elapsedMillis, long windowMillis) {
+        double overlap = 1.0 - (double) elapsedMillis / windowMillis;
+        return (long) Math.ceil(previous * overlap + current);
+    }
+}
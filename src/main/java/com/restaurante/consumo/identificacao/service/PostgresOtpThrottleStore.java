@@ -0,0 +1,92 @@
+package com.restaurante.consumo.identificacao.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Throttling de OTP partilhado entre nós, em tabelas pequenas indexadas por chave
+ * (otp_throttle_counters / otp_resend_blocks) em vez de count(*) sobre telefone_otp_challenge.
+ */
+@Component
+@ConditionalOnProperty(name = "consuma.otp.throttle-store", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresOtpThrottleStore implements OtpThrottleStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock = Clock.systemUTC();
+
+    @Override
+    public long recentCount(String key, Duration window) {
+        long now = clock.millis();
+        long windowMillis = window.toMillis();
+        long index = Math.floorDiv(now, windowMillis);
+        long[] hits = new long[2];
+        jdbcTemplate.query("""
+                select window_index, hits
+                  from otp_throttle_counters
+                 where throttle_key = ?
+                   and window_millis = ?
+                   and window_index in (?, ?)
+                """, rs -> {
+            int slot = rs.getLong("window_index") == index ? 1 : 0;
+            hits[slot] = rs.getLong("hits");
+        }, key, windowMillis, index - 1, index);
+        return OtpThrottleStore.slidingEstimate(hits[0], hits[1], now - index * windowMillis, windowMillis);
+    }
+
+    @Override
+    public void increment(String key, Duration window) {
+        long windowMillis = window.toMillis();
+        long index = Math.floorDiv(clock.millis(), windowMillis);
+        Timestamp expiresAt = Timestamp.from(Instant.ofEpochMilli((index + 2) * windowMillis));
+        jdbcTemplate.update("""
+                insert into otp_throttle_counters (throttle_key, window_millis, window_index, hits, expires_at)
+                values (?, ?, ?, 1, ?)
+                on conflict (throttle_key, window_millis, window_index)
+                do update set hits = otp_throttle_counters.hits + 1
+                """, key, windowMillis, index, expiresAt);
+    }
+
+    @Override
+    public Optional<String> resendBlock(String challengeKey) {
+        return jdbcTemplate.query("""
+                select code
+                  from otp_resend_blocks
+                 where challenge_key = ?
+                   and blocked_until > ?
+                """, (rs, i) -> rs.getString("code"), challengeKey, Timestamp.from(clock.instant()))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public void blockResend(String challengeKey, String code, Instant until) {
+        jdbcTemplate.update("""
+                insert into otp_resend_blocks (challenge_key, code, blocked_until)
+                values (?, ?, ?)
+                on conflict (challenge_key)
+                do update set code = excluded.code, blocked_until = excluded.blocked_until
+                """, challengeKey, code, Timestamp.from(until));
+    }
+
+    @Override
+    public void releaseResend(String challengeKey) {
+        jdbcTemplate.update("delete from otp_resend_blocks where challenge_key = ?", challengeKey);
+    }
+
+    @Scheduled(fixedDelayString = "${consuma.otp.throttle-purge-interval-ms:300000}")
+    public void purgeExpired() {
+        Timestamp now = Timestamp.from(clock.instant());
+        jdbcTemplate.update("delete from otp_throttle_counters where expires_at < ?", now);
+        jdbcTemplate.update("delete from otp_resend_blocks where blocked_until < ?", now);
+    }
+}
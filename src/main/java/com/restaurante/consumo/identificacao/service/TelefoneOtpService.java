@@ -10,17 +10,14 @@ import com.restaurante.model.entity.Tenant;
 import com.restaurante.model.enums.OtpPurpose;
 import com.restaurante.model.enums.OtpStatus;
 import com.restaurante.notificacao.service.NotificacaoService;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.time.Instant;
-import java.util.HexFormat;
 import java.util.List;
 
 @Service
@@ -46,7 +43,9 @@ public class TelefoneOtpService {
         if (purpose == null) purpose = OtpPurpose.IDENTIFICAR_SESSAO;
 
         String phone = phoneNormalizerService.normalizeOrThrow(rawPhone);
+        Long requestedSessaoId = sessaoConsumo != null ? sessaoConsumo.getId() : null;
         rateLimitService.checkOrThrow(tenant.getId(), phone, clientIp);
+        rateLimitService.checkResendOrThrow(tenant.getId(), phone, purpose, requestedSessaoId);
 
         Instant now = Instant.now();
         List<TelefoneOtpChallenge> actives = repository.findActivePendingByPhone(tenant.getId(), phone, now);
@@ -56,7 +55,6 @@ public class TelefoneOtpService {
             challenge = actives.getFirst();
             // max-active-challenges-per-phone=1: só permite reenvio do mesmo purpose/sessao
             Long existingSessaoId = challenge.getSessaoConsumo() != null ? challenge.getSessaoConsumo().getId() : null;
-            Long requestedSessaoId = sessaoConsumo != null ? sessaoConsumo.getId() : null;
             if (challenge.getPurpose() != purpose || (existingSessaoId != null && !existingSessaoId.equals(requestedSessaoId)) || (existingSessaoId == null && requestedSessaoId != null)) {
                 throw new BusinessException("OTP_MAX_ACTIVE_CHALLENGES");
             }
@@ -75,6 +73,7 @@ public class TelefoneOtpService {
             repository.save(challenge);
 
             boolean smsSent = trySendSms(phone, otp);
+            blockResend(challenge, now);
             return new OtpRequestResult(challenge, phoneNormalizerService.mask(phone), otpIfDebug(otp), availableAt, smsSent, otpLength);
         }
 
@@ -101,6 +100,8 @@ public class TelefoneOtpService {
         repository.save(challenge);
 
         boolean smsSent = trySendSms(phone, otp);
+        rateLimitService.recordIssued(tenant.getId(), phone, clientIp);
+        blockResend(challenge, now);
 
         Instant resendAvailableAt = now.plusSeconds(props.getResendCooldownSeconds());
         return new OtpRequestResult(challenge, phoneNormalizerService.mask(phone), otpIfDebug(otp), resendAvailableAt, smsSent, otpLength);
@@ -112,6 +113,7 @@ public class TelefoneOtpService {
         c.setStatus(OtpStatus.CONSUMED);
         c.setConsumedAt(Instant.now());
         repository.save(c);
+        releaseResend(c);
         return c;
     }
 
@@ -128,6 +130,7 @@ public class TelefoneOtpService {
         if (c.getExpiresAt() != null && c.getExpiresAt().isBefore(now)) {
             c.setStatus(OtpStatus.EXPIRED);
             repository.save(c);
+            releaseResend(c);
             throw new BusinessException("OTP_CHALLENGE_EXPIRED");
         }
 
@@ -137,6 +140,7 @@ public class TelefoneOtpService {
             c.setAttempts(c.getAttempts() + 1);
             if (c.getAttempts() >= c.getMaxAttempts()) {
                 c.setStatus(OtpStatus.BLOCKED);
+                releaseResend(c);
             }
             repository.save(c);
             throw new BusinessException("OTP_INVALID");
@@ -155,14 +159,39 @@ public class TelefoneOtpService {
         if (c.getExpiresAt() != null && c.getExpiresAt().isBefore(now)) {
             c.setStatus(OtpStatus.EXPIRED);
             repository.save(c);
+            releaseResend(c);
             throw new BusinessException("OTP_CHALLENGE_EXPIRED");
         }
         c.setStatus(OtpStatus.CONSUMED);
         c.setConsumedAt(now);
         repository.save(c);
+        releaseResend(c);
         return c;
     }
 
+    /**
+     * Enquanto o challenge estiver PENDING, o próximo pedido com a mesma assinatura é recusado pelo store
+     * com o mesmo código da validação completa (max resends tem precedência sobre cooldown).
+     */
+    private void blockResend(TelefoneOtpChallenge c, Instant sentAt) {
+        Long sessaoId = c.getSessaoConsumo() != null ? c.getSessaoConsumo().getId() : null;
+        Instant expiresAt = c.getExpiresAt();
+        if (c.getResendCount() >= props.getMaxResends()) {
+            rateLimitService.blockResend(c.getTenant().getId(), c.getTelefoneNormalizado(), c.getPurpose(), sessaoId,
+                    "OTP_MAX_RESENDS_EXCEEDED", expiresAt);
+            return;
+        }
+        Instant cooldownUntil = sentAt.plusSeconds(props.getResendCooldownSeconds());
+        rateLimitService.blockResend(c.getTenant().getId(), c.getTelefoneNormalizado(), c.getPurpose(), sessaoId,
+                "OTP_RESEND_TOO_SOON", cooldownUntil.isBefore(expiresAt) ? cooldownUntil : expiresAt);
+    }
+
+    private void releaseResend(TelefoneOtpChallenge c) {
+        Long sessaoId = c.getSessaoConsumo() != null ? c.getSessaoConsumo().getId() : null;
+        Long tenantId = c.getTenant() != null ? c.getTenant().getId() : null;
+        rateLimitService.releaseResend(tenantId, c.getTelefoneNormalizado(), c.getPurpose(), sessaoId);
+    }
+
     private boolean trySendSms(String phoneNormalized, String otp) {
         // Nunca logar OTP aqui.
         try {
@@ -198,10 +227,7 @@ public class TelefoneOtpService {
     private String hashOtp(Long challengeId, String otp) {
         try {
             String pepper = props.getHashPepper() != null ? props.getHashPepper() : "";
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(new SecretKeySpec(pepper.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-            byte[] out = mac.doFinal((challengeId + ":" + otp).getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(out);
+            return CryptoPrimitives.hmacSha256Hex("otp.telefone", pepper, challengeId + ":" + otp);
         } catch (Exception e) {
             throw new BusinessException("OTP_HASH_ERROR");
         }
@@ -9,31 +9,41 @@ import com.restaurante.dto.response.DeviceQrSyncResponse;
 import com.restaurante.dto.response.KdsSubPedidoResponse;
 import com.restaurante.dto.response.SyncEnvelope;
 import com.restaurante.exception.DeviceUnauthorizedException;
+import com.restaurante.model.enums.DeviceCapability;
 import com.restaurante.model.enums.StatusSubPedido;
 import com.restaurante.security.device.DevicePrincipal;
 import com.restaurante.service.device.DeviceFilaDiffService;
+import com.restaurante.service.device.DeviceFilaStreamService;
 import com.restaurante.service.device.DeviceReadOnlySyncService;
+import com.restaurante.service.device.DeviceSyncStreamWriter;
 import com.restaurante.service.device.DeviceSyncVersionService;
 import com.restaurante.service.producao.ProducaoKdsService;
 import com.restaurante.service.operacional.OperationalCapabilitiesPolicy;
 import com.restaurante.service.metrics.DeviceSyncMetricsService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/device/sync")
@@ -46,6 +56,8 @@ public class DeviceSyncController {
     private final OperationalCapabilitiesPolicy operationalCapabilitiesPolicy;
     private final DeviceSyncVersionService versionService;
     private final DeviceFilaDiffService filaDiffService;
+    private final DeviceFilaStreamService filaStreamService;
+    private final DeviceSyncStreamWriter streamWriter;
     private final DeviceSyncMetricsService metrics;
 
     private DevicePrincipal requireDevicePrincipal() {
@@ -56,21 +68,55 @@ public class DeviceSyncController {
         throw new DeviceUnauthorizedException("Authorization: Device <token> é obrigatório.");
     }
 
+    /**
+     * Caminho condicional: a versão do domínio já foi resolvida e o acesso validado;
+     * com If-None-Match igual à ETag responde 304 sem abrir as queries de entidades.
+     */
+    private <T> ResponseEntity<T> notModified(String domain, String etag) {
+        metrics.recordEtagHit(domain);
+        metrics.recordSyncRequest(domain, "304");
+        return ResponseEntity.status(304).eTag(etag).build();
+    }
+
+    private void writeNotModified(HttpServletResponse response, String domain, String etag) {
+        metrics.recordEtagHit(domain);
+        metrics.recordSyncRequest(domain, "304");
+        response.setStatus(304);
+        response.setHeader("ETag", etag);
+    }
+
+    private void writeStream(HttpServletResponse response, String etag, boolean withEtag, StreamBody body) {
+        response.setStatus(200);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        if (withEtag) {
+            response.setHeader("ETag", etag);
+        }
+        try {
+            body.write(response.getOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StreamBody {
+        void write(java.io.OutputStream out) throws IOException;
+    }
+
     @GetMapping("/bootstrap")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<SyncEnvelope<DeviceBootstrapSyncResponse>> bootstrap(
-            @org.springframework.web.bind.annotation.RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
+            @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
     ) {
         return metrics.timeSync("BOOTSTRAP", () -> {
             DevicePrincipal device = requireDevicePrincipal();
-            DeviceBootstrapSyncResponse resp = syncService.bootstrap(device);
             var ver = versionService.computeBootstrap(device);
             String etag = ver.etag();
             if (ifNoneMatch != null && ifNoneMatch.equals(etag)) {
-                metrics.recordEtagHit("BOOTSTRAP");
-                metrics.recordSyncRequest("BOOTSTRAP", "304");
-                return ResponseEntity.status(304).eTag(etag).build();
+                return notModified("BOOTSTRAP", etag);
             }
+            DeviceBootstrapSyncResponse resp = syncService.bootstrap(device);
             metrics.recordEtagMiss("BOOTSTRAP");
             metrics.recordSyncRequest("BOOTSTRAP", "200");
             SyncEnvelope<DeviceBootstrapSyncResponse> env = SyncEnvelope.incremental(
@@ -95,49 +141,14 @@ public class DeviceSyncController {
             @RequestParam(required = false, defaultValue = "false") boolean includeInactive,
             @RequestParam(required = false) String cursor,
             @RequestParam(required = false) Integer limit,
-            @org.springframework.web.bind.annotation.RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
+            @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
     ) {
         return metrics.timeSync("CATALOGO", () -> {
             DevicePrincipal device = requireDevicePrincipal();
+            syncService.requireCapability(device, DeviceCapability.SYNC_CATALOG);
             var ver = versionService.computeCatalog(device, includeInactive, updatedSince);
-            if (ver.fullSyncRequired()) {
-                metrics.recordFullSyncRequired("CATALOGO", ver.fullSyncReason());
-            }
-            LocalDateTime effectiveUpdatedSince = ver.fullSyncRequired() ? null : updatedSince;
-            var page = syncService.syncCatalogoPaged(device, effectiveUpdatedSince, includeInactive, cursor, limit);
-            DeviceCatalogSyncResponse resp = page.data();
-            String etag = ver.etag();
-            boolean allowNotModified = cursor == null || cursor.isBlank();
-            if (allowNotModified && !ver.fullSyncRequired() && ifNoneMatch != null && ifNoneMatch.equals(etag)) {
-                metrics.recordEtagHit("CATALOGO");
-                metrics.recordSyncRequest("CATALOGO", "304");
-                return ResponseEntity.status(304).eTag(etag).build();
-            }
-            metrics.recordEtagMiss("CATALOGO");
-            metrics.recordSyncRequest("CATALOGO", "200");
-            boolean fullRequired = ver.fullSyncRequired() || page.cursorExpired();
-            SyncEnvelope.FullSyncRequiredReason reason = ver.fullSyncRequired() ? ver.fullSyncReason()
-                    : (page.cursorExpired() ? SyncEnvelope.FullSyncRequiredReason.CURSOR_EXPIRED : SyncEnvelope.FullSyncRequiredReason.NONE);
-            List<SyncEnvelope.SyncWarning> warnings = new java.util.ArrayList<>(ver.warnings());
-            if (page.cursorExpired()) {
-                warnings.add(new SyncEnvelope.SyncWarning(SyncEnvelope.SyncWarningCode.CURSOR_EXPIRED, "Cursor expirado; reiniciando paginação."));
-            }
-            SyncEnvelope<DeviceCatalogSyncResponse> env = SyncEnvelope.incremental(
-                    resp,
-                    resp.syncGeneratedAt(),
-                    ver.syncVersion(),
-                    etag,
-                    fullRequired,
-                    reason,
-                    page.hasMore(),
-                    page.nextCursor(),
-                    warnings
-            );
-            var builder = ResponseEntity.ok();
-            if (allowNotModified) {
-                builder.eTag(etag);
-            }
-            return builder.body(env);
+            return keysetResponse(keysetSync("CATALOGO", ver, updatedSince, cursor, ifNoneMatch, true,
+                    since -> syncService.syncCatalogoPaged(device, since, includeInactive, cursor, limit)));
         });
     }
 
@@ -148,46 +159,14 @@ public class DeviceSyncController {
             @RequestParam(required = false) Long unidadeAtendimentoId,
             @RequestParam(required = false) String cursor,
             @RequestParam(required = false) Integer limit,
-            @org.springframework.web.bind.annotation.RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
+            @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
     ) {
         return metrics.timeSync("MESAS", () -> {
             DevicePrincipal device = requireDevicePrincipal();
+            syncService.requireMesasQrAccess(device);
             var ver = versionService.computeMesas(device, unidadeAtendimentoId, updatedSince);
-            if (ver.fullSyncRequired()) {
-                metrics.recordFullSyncRequired("MESAS", ver.fullSyncReason());
-            }
-            LocalDateTime effectiveUpdatedSince = ver.fullSyncRequired() ? null : updatedSince;
-            var page = syncService.syncMesasPaged(device, effectiveUpdatedSince, unidadeAtendimentoId, cursor, limit);
-            DeviceMesasSyncResponse resp = page.data();
-            String etag = ver.etag();
-            boolean allowNotModified = cursor == null || cursor.isBlank();
-            if (allowNotModified && !ver.fullSyncRequired() && ifNoneMatch != null && ifNoneMatch.equals(etag)) {
-                metrics.recordEtagHit("MESAS");
-                metrics.recordSyncRequest("MESAS", "304");
-                return ResponseEntity.status(304).eTag(etag).build();
-            }
-            metrics.recordEtagMiss("MESAS");
-            metrics.recordSyncRequest("MESAS", "200");
-            List<SyncEnvelope.SyncWarning> warnings = new java.util.ArrayList<>(ver.warnings());
-            if (page.cursorExpired()) {
-                warnings.add(new SyncEnvelope.SyncWarning(SyncEnvelope.SyncWarningCode.CURSOR_EXPIRED, "Cursor expirado; reiniciando paginação."));
-            }
-            SyncEnvelope<DeviceMesasSyncResponse> env = SyncEnvelope.incremental(
-                    resp,
-                    resp.syncGeneratedAt(),
-                    ver.syncVersion(),
-                    etag,
-                    ver.fullSyncRequired(),
-                    ver.fullSyncReason(),
-                    page.hasMore(),
-                    page.nextCursor(),
-                    warnings
-            );
-            var builder = ResponseEntity.ok();
-            if (allowNotModified) {
-                builder.eTag(etag);
-            }
-            return builder.body(env);
+            return keysetResponse(keysetSync("MESAS", ver, updatedSince, cursor, ifNoneMatch, false,
+                    since -> syncService.syncMesasPaged(device, since, unidadeAtendimentoId, cursor, limit)));
         });
     }
 
@@ -197,70 +176,203 @@ public class DeviceSyncController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
             @RequestParam(required = false) String cursor,
             @RequestParam(required = false) Integer limit,
-            @org.springframework.web.bind.annotation.RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
+            @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
     ) {
         return metrics.timeSync("QRCODES", () -> {
             DevicePrincipal device = requireDevicePrincipal();
+            syncService.requireMesasQrAccess(device);
             var ver = versionService.computeQrCodes(device, updatedSince);
-            if (ver.fullSyncRequired()) {
-                metrics.recordFullSyncRequired("QRCODES", ver.fullSyncReason());
-            }
-            LocalDateTime effectiveUpdatedSince = ver.fullSyncRequired() ? null : updatedSince;
-            var page = syncService.syncQrCodesPaged(device, effectiveUpdatedSince, cursor, limit);
-            DeviceQrSyncResponse resp = page.data();
-            String etag = ver.etag();
-            boolean allowNotModified = cursor == null || cursor.isBlank();
-            if (allowNotModified && !ver.fullSyncRequired() && ifNoneMatch != null && ifNoneMatch.equals(etag)) {
-                metrics.recordEtagHit("QRCODES");
-                metrics.recordSyncRequest("QRCODES", "304");
-                return ResponseEntity.status(304).eTag(etag).build();
-            }
-            metrics.recordEtagMiss("QRCODES");
-            metrics.recordSyncRequest("QRCODES", "200");
-            List<SyncEnvelope.SyncWarning> warnings = new java.util.ArrayList<>(ver.warnings());
-            if (page.cursorExpired()) {
-                warnings.add(new SyncEnvelope.SyncWarning(SyncEnvelope.SyncWarningCode.CURSOR_EXPIRED, "Cursor expirado; reiniciando paginação."));
-            }
-            SyncEnvelope<DeviceQrSyncResponse> env = SyncEnvelope.incremental(
-                    resp,
-                    resp.syncGeneratedAt(),
-                    ver.syncVersion(),
-                    etag,
-                    ver.fullSyncRequired(),
-                    ver.fullSyncReason(),
-                    page.hasMore(),
-                    page.nextCursor(),
-                    warnings
-            );
-            var builder = ResponseEntity.ok();
-            if (allowNotModified) {
-                builder.eTag(etag);
-            }
-            return builder.body(env);
+            return keysetResponse(keysetSync("QRCODES", ver, updatedSince, cursor, ifNoneMatch, false,
+                    since -> syncService.syncQrCodesPaged(device, since, cursor, limit)));
+        });
+    }
+
+    /**
+     * Variante em stream de /catalogo: mesmo SyncEnvelope e mesmos cursores, escrito bloco a bloco.
+     * limit é o máximo de produtos nesta resposta (ausente = até ao fim); o restante fica em nextCursor.
+     */
+    @GetMapping(value = "/catalogo/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public void catalogoStream(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(required = false, defaultValue = "false") boolean includeInactive,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch,
+            HttpServletResponse response
+    ) {
+        metrics.timeSync("CATALOGO", () -> {
+            DevicePrincipal device = requireDevicePrincipal();
+            syncService.requireCapability(device, DeviceCapability.SYNC_CATALOG);
+            var ver = versionService.computeCatalog(device, includeInactive, updatedSince);
+            var sync = keysetSync("CATALOGO", ver, updatedSince, cursor, ifNoneMatch, true,
+                    since -> syncService.syncCatalogoPaged(device, since, includeInactive, cursor, streamWriter.chunkSize(limit)));
+            writeKeysetStream(response, sync, "produtos", limit, (next, size) -> {
+                var page = syncService.syncCatalogoPaged(device, sync.effectiveUpdatedSince(), includeInactive, next, size, false);
+                return new DeviceSyncStreamWriter.Chunk(page.data().produtos(), page.hasMore(), page.nextCursor());
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Variante em stream de /mesas (mesmo envelope e cursores de /mesas).
+     */
+    @GetMapping(value = "/mesas/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public void mesasStream(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(required = false) Long unidadeAtendimentoId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch,
+            HttpServletResponse response
+    ) {
+        metrics.timeSync("MESAS", () -> {
+            DevicePrincipal device = requireDevicePrincipal();
+            syncService.requireMesasQrAccess(device);
+            var ver = versionService.computeMesas(device, unidadeAtendimentoId, updatedSince);
+            var sync = keysetSync("MESAS", ver, updatedSince, cursor, ifNoneMatch, false,
+                    since -> syncService.syncMesasPaged(device, since, unidadeAtendimentoId, cursor, streamWriter.chunkSize(limit)));
+            writeKeysetStream(response, sync, "mesas", limit, (next, size) -> {
+                var page = syncService.syncMesasPaged(device, sync.effectiveUpdatedSince(), unidadeAtendimentoId, next, size);
+                return new DeviceSyncStreamWriter.Chunk(page.data().mesas(), page.hasMore(), page.nextCursor());
+            });
+            return null;
         });
     }
 
+    /**
+     * Variante em stream de /qrcodes (mesmo envelope e cursores de /qrcodes).
+     */
+    @GetMapping(value = "/qrcodes/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public void qrcodesStream(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch,
+            HttpServletResponse response
+    ) {
+        metrics.timeSync("QRCODES", () -> {
+            DevicePrincipal device = requireDevicePrincipal();
+            syncService.requireMesasQrAccess(device);
+            var ver = versionService.computeQrCodes(device, updatedSince);
+            var sync = keysetSync("QRCODES", ver, updatedSince, cursor, ifNoneMatch, false,
+                    since -> syncService.syncQrCodesPaged(device, since, cursor, streamWriter.chunkSize(limit)));
+            writeKeysetStream(response, sync, "qrcodes", limit, (next, size) -> {
+                var page = syncService.syncQrCodesPaged(device, sync.effectiveUpdatedSince(), next, size);
+                return new DeviceSyncStreamWriter.Chunk(page.data().qrcodes(), page.hasMore(), page.nextCursor());
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Resultado da resolução comum de um sync por keyset: 304 (envelope null) ou o envelope da página.
+     */
+    private record KeysetSync<T>(String domain,
+                                 String etag,
+                                 boolean allowNotModified,
+                                 LocalDateTime effectiveUpdatedSince,
+                                 SyncEnvelope<T> envelope) {
+        boolean notModified() {
+            return envelope == null;
+        }
+    }
+
+    /**
+     * Resolução comum de /catalogo, /mesas, /qrcodes e das variantes /stream, após validar acesso e calcular
+     * a versão do domínio: métricas, 304 por If-None-Match (só sem cursor), updatedSince efetivo, carga da
+     * página e SyncEnvelope com aviso CURSOR_EXPIRED.
+     *
+     * @param cursorExpiredRequiresFullSync catálogo sinaliza cursor expirado também como fullSyncRequired
+     */
+    private <T> KeysetSync<T> keysetSync(String domain,
+                                         DeviceSyncVersionService.DomainVersion ver,
+                                         LocalDateTime updatedSince,
+                                         String cursor,
+                                         String ifNoneMatch,
+                                         boolean cursorExpiredRequiresFullSync,
+                                         Function<LocalDateTime, DeviceReadOnlySyncService.KeysetPage<T>> loader) {
+        if (ver.fullSyncRequired()) {
+            metrics.recordFullSyncRequired(domain, ver.fullSyncReason());
+        }
+        String etag = ver.etag();
+        boolean allowNotModified = cursor == null || cursor.isBlank();
+        LocalDateTime effectiveUpdatedSince = ver.fullSyncRequired() ? null : updatedSince;
+        if (allowNotModified && !ver.fullSyncRequired() && ifNoneMatch != null && ifNoneMatch.equals(etag)) {
+            return new KeysetSync<>(domain, etag, true, effectiveUpdatedSince, null);
+        }
+        var page = loader.apply(effectiveUpdatedSince);
+        metrics.recordEtagMiss(domain);
+        metrics.recordSyncRequest(domain, "200");
+        boolean cursorExpiredFull = cursorExpiredRequiresFullSync && page.cursorExpired();
+        boolean fullRequired = ver.fullSyncRequired() || cursorExpiredFull;
+        SyncEnvelope.FullSyncRequiredReason reason = ver.fullSyncRequired() ? ver.fullSyncReason()
+                : (cursorExpiredFull ? SyncEnvelope.FullSyncRequiredReason.CURSOR_EXPIRED : SyncEnvelope.FullSyncRequiredReason.NONE);
+        List<SyncEnvelope.SyncWarning> warnings = new java.util.ArrayList<>(ver.warnings());
+        if (page.cursorExpired()) {
+            warnings.add(new SyncEnvelope.SyncWarning(SyncEnvelope.SyncWarningCode.CURSOR_EXPIRED, "Cursor expirado; reiniciando paginação."));
+        }
+        SyncEnvelope<T> env = SyncEnvelope.incremental(
+                page.data(),
+                page.syncGeneratedAt(),
+                ver.syncVersion(),
+                etag,
+                fullRequired,
+                reason,
+                page.hasMore(),
+                page.nextCursor(),
+                warnings
+        );
+        return new KeysetSync<>(domain, etag, allowNotModified, effectiveUpdatedSince, env);
+    }
+
+    private <T> ResponseEntity<SyncEnvelope<T>> keysetResponse(KeysetSync<T> sync) {
+        if (sync.notModified()) {
+            return notModified(sync.domain(), sync.etag());
+        }
+        var builder = ResponseEntity.ok();
+        if (sync.allowNotModified()) {
+            builder.eTag(sync.etag());
+        }
+        return builder.body(sync.envelope());
+    }
+
+    private void writeKeysetStream(HttpServletResponse response,
+                                   KeysetSync<?> sync,
+                                   String streamedField,
+                                   Integer limit,
+                                   DeviceSyncStreamWriter.ChunkFetcher fetcher) {
+        if (sync.notModified()) {
+            writeNotModified(response, sync.domain(), sync.etag());
+            return;
+        }
+        writeStream(response, sync.etag(), sync.allowNotModified(),
+                out -> streamWriter.write(out, sync.envelope(), streamedField, limit, fetcher));
+    }
+
     @GetMapping("/producao")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<SyncEnvelope<DeviceProducaoSyncResponse>> producao(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
-            @org.springframework.web.bind.annotation.RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
+            @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
     ) {
         return metrics.timeSync("PRODUCAO", () -> {
             DevicePrincipal device = requireDevicePrincipal();
             operationalCapabilitiesPolicy.assertProductionEnabled(device.tenantId());
+            syncService.requireCapability(device, DeviceCapability.VIEW_PRODUCTION);
             var ver = versionService.computeProducao(device, updatedSince);
             if (ver.fullSyncRequired()) {
                 metrics.recordFullSyncRequired("PRODUCAO", ver.fullSyncReason());
             }
-            LocalDateTime effectiveUpdatedSince = ver.fullSyncRequired() ? null : updatedSince;
-            DeviceProducaoSyncResponse resp = syncService.syncProducao(device, effectiveUpdatedSince);
             String etag = ver.etag();
             if (!ver.fullSyncRequired() && ifNoneMatch != null && ifNoneMatch.equals(etag)) {
-                metrics.recordEtagHit("PRODUCAO");
-                metrics.recordSyncRequest("PRODUCAO", "304");
-                return ResponseEntity.status(304).eTag(etag).build();
+                return notModified("PRODUCAO", etag);
             }
+            LocalDateTime effectiveUpdatedSince = ver.fullSyncRequired() ? null : updatedSince;
+            DeviceProducaoSyncResponse resp = syncService.syncProducao(device, effectiveUpdatedSince);
             metrics.recordEtagMiss("PRODUCAO");
             metrics.recordSyncRequest("PRODUCAO", "200");
             SyncEnvelope<DeviceProducaoSyncResponse> env = SyncEnvelope.incremental(
@@ -287,7 +399,7 @@ public class DeviceSyncController {
             @RequestParam(required = false) String search,
             Pageable pageable,
             HttpServletRequest http,
-            @org.springframework.web.bind.annotation.RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
+            @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch
     ) {
         return metrics.timeSync("PRODUCAO_FILA", () -> {
             DevicePrincipal device = requireDevicePrincipal();
@@ -297,14 +409,13 @@ public class DeviceSyncController {
                 throw new com.restaurante.exception.ConflictException("DEVICE_PRODUCTION_UNIT_AMBIGUOUS");
             }
 
+            syncService.requireCapability(device, DeviceCapability.VIEW_PRODUCTION);
             var ver = versionService.computeFila(device, unidadeProducaoId, status, de, ate, search);
-            Page<KdsSubPedidoResponse> resp = producaoKdsService.listarSubPedidosMinhaUnidade(status, de, ate, search, pageable);
             String etag = ver.etag();
             if (!ver.fullSyncRequired() && ifNoneMatch != null && ifNoneMatch.equals(etag)) {
-                metrics.recordEtagHit("PRODUCAO_FILA");
-                metrics.recordSyncRequest("PRODUCAO_FILA", "304");
-                return ResponseEntity.status(304).eTag(etag).build();
+                return notModified("PRODUCAO_FILA", etag);
             }
+            Page<KdsSubPedidoResponse> resp = producaoKdsService.listarSubPedidosMinhaUnidade(status, de, ate, search, pageable);
             metrics.recordEtagMiss("PRODUCAO_FILA");
             metrics.recordSyncRequest("PRODUCAO_FILA", "200");
             LocalDateTime now = LocalDateTime.now();
@@ -323,6 +434,20 @@ public class DeviceSyncController {
         });
     }
 
+    /**
+     * Stream SSE da fila (eventos "fila-diff" com o mesmo envelope de /producao/fila/diff).
+     * Reconexão: Last-Event-ID (ou sinceEventId) retoma exatamente a partir do último evento recebido.
+     */
+    @GetMapping(value = "/producao/fila/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter filaProducaoStream(
+            @RequestParam(required = false) Long sinceEventId,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        DevicePrincipal device = requireDevicePrincipal();
+        return filaStreamService.subscribe(device, lastEventId != null ? lastEventId : sinceEventId);
+    }
+
     @GetMapping("/producao/fila/diff")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<SyncEnvelope<DeviceFilaDiffSyncResponse>> filaProducaoDiff(
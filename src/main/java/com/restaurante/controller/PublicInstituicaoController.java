@@ -3,10 +3,15 @@ package com.restaurante.controller;
 import com.restaurante.dto.response.ApiResponse;
 import com.restaurante.dto.response.PublicInstituicaoResponse;
 import com.restaurante.model.entity.Instituicao;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import com.restaurante.service.InstituicaoService;
+import com.restaurante.service.http.EncodedJsonResponseCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,18 +24,30 @@ import org.springframework.web.bind.annotation.RestController;
 public class PublicInstituicaoController {
 
     private final InstituicaoService instituicaoService;
+    private final EncodedJsonResponseCache encodedResponseCache;
 
     @GetMapping
-    @Operation(summary = "Obter dados da Instituição", description = "Retorna os dados públicos (nome, sigla, logo) do restaurante")
-    public ResponseEntity<ApiResponse<PublicInstituicaoResponse>> getInstituicaoPublica() {
+    @Operation(summary = "Obter dados da Instituição", description = "Retorna os dados públicos (nome, sigla, logo) do restaurante. " +
+            "Responde com ETag forte; com If-None-Match igual responde 304 sem corpo.")
+    public ResponseEntity<byte[]> getInstituicaoPublica(HttpServletRequest request) {
         Instituicao instituicao = instituicaoService.getInstituicaoAtiva();
-        
-        PublicInstituicaoResponse response = PublicInstituicaoResponse.builder()
-                .nome(instituicao.getNome())
-                .sigla(instituicao.getSigla())
-                .urlLogo(instituicao.getUrlLogo())
-                .build();
-                
-        return ResponseEntity.ok(ApiResponse.success("Dados da instituição", response));
+
+        // ETag pelos campos públicos: dispensa serializar para saber se a versão em cache ainda serve.
+        String etag = "\"" + CryptoPrimitives.sha256Base64Url("public.instituicao.etag",
+                instituicao.getId() + "|" + instituicao.getNome() + "|" + instituicao.getSigla()
+                        + "|" + instituicao.getUrlLogo()) + "\"";
+        EncodedJsonResponseCache.EncodedJson encoded = encodedResponseCache.encode(
+                "public.instituicao", "ativa", etag, () -> {
+                    PublicInstituicaoResponse response = PublicInstituicaoResponse.builder()
+                            .nome(instituicao.getNome())
+                            .sigla(instituicao.getSigla())
+                            .urlLogo(instituicao.getUrlLogo())
+                            .build();
+                    return ApiResponse.success("Dados da instituição", response);
+                });
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.noCache().cachePublic());
+        return encodedResponseCache.respond(encoded, request, headers);
     }
 }
@@ -1,22 +1,27 @@
 package com.restaurante.controller;
 
 import com.restaurante.dto.response.ApiResponse;
-import com.restaurante.dto.response.PublicCardapioResponse;
 import com.restaurante.dto.request.PublicQrPedidoRequest;
 import com.restaurante.dto.request.PublicQrPagamentoRequest;
 import com.restaurante.dto.response.PublicQrPedidoResponse;
 import com.restaurante.dto.response.PublicQrPagamentoResponse;
+import com.restaurante.dto.response.PublicCardapioResponse;
 import com.restaurante.dto.response.QrPublicContext;
 import com.restaurante.dto.response.AvailablePaymentMethodResponse;
 import com.restaurante.financeiro.paymentmethod.service.PaymentMethodPolicyResolutionService;
 import com.restaurante.model.enums.PaymentDestination;
+import com.restaurante.security.ratelimit.PublicQrRateLimiter;
 import com.restaurante.service.PublicQrPagamentoService;
 import com.restaurante.service.PublicQrPedidoService;
 import com.restaurante.service.QrCodeOperacionalService;
+import com.restaurante.service.http.EncodedJsonResponseCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -39,31 +44,58 @@ import org.springframework.web.bind.annotation.RequestParam;
 @Tag(name = "QR Público", description = "Endpoints públicos (sem autenticação) para resolução de QR operacional e cardápio do tenant")
 public class PublicQrController {
 
+    /**
+     * O telemóvel guarda o cardápio mas revalida a cada abertura (If-None-Match → 304 barato).
+     */
+    private static final CacheControl CARDAPIO_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final QrCodeOperacionalService qrCodeOperacionalService;
     private final PublicQrPedidoService publicQrPedidoService;
     private final PublicQrPagamentoService publicQrPagamentoService;
     private final PaymentMethodPolicyResolutionService policyResolutionService;
+    private final EncodedJsonResponseCache encodedResponseCache;
+    private final PublicQrRateLimiter rateLimiter;
 
     @GetMapping("/{token}")
     @Operation(summary = "Resolver QR operacional por token", description = "Retorna metadados públicos (tenant/instituição/unidade/mesa) a partir do token não enumerável.")
-    public ResponseEntity<ApiResponse<QrPublicContext>> resolver(@PathVariable String token) {
+    public ResponseEntity<ApiResponse<QrPublicContext>> resolver(@PathVariable String token, HttpServletRequest http) {
+        rateLimiter.checkRead(http, "resolver");
         QrPublicContext ctx = qrCodeOperacionalService.resolverPublico(token);
         return ResponseEntity.ok(ApiResponse.success("QR resolvido", ctx));
     }
 
     @GetMapping("/{token}/cardapio")
-    @Operation(summary = "Carregar cardápio público por QR", description = "Retorna categorias e produtos públicos do tenant resolvido pelo token. Não cria pedido.")
-    public ResponseEntity<ApiResponse<PublicCardapioResponse>> cardapio(@PathVariable String token) {
-        PublicCardapioResponse resp = qrCodeOperacionalService.carregarCardapioPublicoPorQrToken(token);
-        return ResponseEntity.ok(ApiResponse.success("Cardápio carregado", resp));
+    @Operation(summary = "Carregar cardápio público por QR", description = "Retorna categorias e produtos públicos do tenant resolvido pelo token. Não cria pedido. " +
+            "Responde com ETag forte; com If-None-Match igual responde 304 sem corpo.")
+    public ResponseEntity<byte[]> cardapio(
+            @PathVariable String token,
+            HttpServletRequest request
+    ) {
+        rateLimiter.checkRead(request, "cardapio");
+        QrCodeOperacionalService.PublicCardapioResult result = qrCodeOperacionalService.carregarCardapioPublico(token);
+        PublicCardapioResponse resp = result.response();
+        // Categorias: serializadas uma vez por tenant + versão do catálogo; o resto (contexto do QR) por pedido.
+        EncodedJsonResponseCache.EncodedJson categorias = encodedResponseCache.fragment(
+                "public.cardapio",
+                String.valueOf(result.tenantId()),
+                result.catalogVersion(),
+                resp::getCategorias);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CARDAPIO_CACHE_CONTROL);
+        return encodedResponseCache.respondComposed(categorias, result.etag(), () -> {
+            resp.setCategorias(null);
+            return ApiResponse.success("Cardápio carregado", resp);
+        }, "/data", "categorias", request, headers);
     }
 
     @GetMapping("/{token}/payment-methods")
     @Operation(summary = "Listar métodos de pagamento disponíveis (QR público)", description = "Retorna métodos ativos e habilitados para QR (tenant-aware), filtrando por destino (PEDIDO/FUNDO_CONSUMO).")
     public ResponseEntity<ApiResponse<java.util.List<AvailablePaymentMethodResponse>>> paymentMethods(
             @PathVariable String token,
-            @RequestParam PaymentDestination destination
+            @RequestParam PaymentDestination destination,
+            HttpServletRequest http
     ) {
+        rateLimiter.checkRead(http, "payment-methods");
         QrPublicContext ctx = qrCodeOperacionalService.resolverPublico(token);
         var methods = policyResolutionService.listEffectiveForQr(ctx.getTenantId(), ctx.getUnidadeAtendimentoId(), destination);
 
@@ -75,8 +107,10 @@ public class PublicQrController {
     public ResponseEntity<ApiResponse<PublicQrPedidoResponse>> criarPedido(
             @PathVariable String token,
             @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
-            @Valid @RequestBody PublicQrPedidoRequest request
+            @Valid @RequestBody PublicQrPedidoRequest request,
+            HttpServletRequest http
     ) {
+        rateLimiter.checkWrite(http, "pedidos");
         PublicQrPedidoResponse resp = publicQrPedidoService.criarPedidoPublicoPorQrToken(token, idempotencyKey, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Pedido criado", resp));
     }
@@ -89,8 +123,10 @@ public class PublicQrController {
     )
     public ResponseEntity<ApiResponse<PublicQrPedidoResponse>> consultarPedido(
             @PathVariable String token,
-            @PathVariable Long pedidoId
+            @PathVariable Long pedidoId,
+            HttpServletRequest http
     ) {
+        rateLimiter.checkRead(http, "pedido");
         PublicQrPedidoResponse resp = publicQrPedidoService.buscarPedidoPublicoPorQrToken(token, pedidoId);
         return ResponseEntity.ok(ApiResponse.success("Pedido encontrado", resp));
     }
@@ -101,8 +137,10 @@ public class PublicQrController {
             @PathVariable String token,
             @PathVariable Long pedidoId,
             @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
-            @Valid @RequestBody PublicQrPagamentoRequest request
+            @Valid @RequestBody PublicQrPagamentoRequest request,
+            HttpServletRequest http
     ) {
+        rateLimiter.checkWrite(http, "pagamentos");
         PublicQrPagamentoResponse resp = publicQrPagamentoService.iniciarPagamentoPedidoPorQr(token, pedidoId, idempotencyKey, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Pagamento iniciado", resp));
     }
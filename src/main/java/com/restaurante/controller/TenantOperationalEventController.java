@@ -1,6 +1,7 @@
 package com.restaurante.controller;
 
 import com.restaurante.dto.response.ApiResponse;
+import com.restaurante.dto.response.OperationalEventCursorPageResponse;
 import com.restaurante.dto.response.OperationalEventLogResponse;
 import com.restaurante.dto.response.OperationalEventSummaryResponse;
 import com.restaurante.model.entity.OperationalEventLog;
@@ -10,6 +11,7 @@ import com.restaurante.repository.OperationalEventLogRepository;
 import com.restaurante.security.tenant.TenantContext;
 import com.restaurante.security.tenant.TenantGuard;
 import com.restaurante.service.operacional.OperationalEventRetentionService;
+import com.restaurante.service.operacional.OperationalEventSearchService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -39,6 +41,7 @@ public class TenantOperationalEventController {
     private final TenantGuard tenantGuard;
     private final OperationalEventLogRepository operationalEventLogRepository;
     private final OperationalEventRetentionService retentionService;
+    private final OperationalEventSearchService searchService;
 
     @Value("${consuma.operational-events.default-lookback-days:30}")
     private int defaultLookbackDays;
@@ -81,6 +84,50 @@ public class TenantOperationalEventController {
         return ResponseEntity.ok(ApiResponse.success("Eventos operacionais", mapped));
     }
 
+    /**
+     * Navegação keyset: passar o nextCursor da resposta anterior. Custo constante por página (sem OFFSET/count);
+     * approximateTotal (só na primeira página) é uma estimativa do planner.
+     */
+    @GetMapping("/eventos/cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<OperationalEventCursorPageResponse<OperationalEventLogResponse>>> listarCursor(
+            @RequestParam(required = false) Long pedidoId,
+            @RequestParam(required = false) Long subPedidoId,
+            @RequestParam(required = false) OperationalEventType eventType,
+            @RequestParam(required = false) Long actorUserId,
+            @RequestParam(required = false) Long deviceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean approximateTotal
+    ) {
+        tenantGuard.assertAnyTenantRole(
+                TenantUserRole.TENANT_OWNER,
+                TenantUserRole.TENANT_ADMIN,
+                TenantUserRole.TENANT_OPERATOR
+        );
+        TenantContext ctx = tenantGuard.requireContext();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime effectiveAte = ate != null ? ate : now;
+        LocalDateTime effectiveDe = de != null ? de : effectiveAte.minusDays(defaultLookbackDays);
+        int effectiveSize = Math.min(Math.max(size, 1), maxPageSize);
+
+        OperationalEventSearchService.CursorPage page = searchService.searchTenant(
+                ctx.tenantId(), pedidoId, subPedidoId, eventType, actorUserId, deviceId, effectiveDe, effectiveAte,
+                cursor, effectiveSize, approximateTotal && cursor == null
+        );
+        OperationalEventCursorPageResponse<OperationalEventLogResponse> resp = new OperationalEventCursorPageResponse<>(
+                page.items().stream().map(this::toDto).toList(),
+                effectiveSize,
+                page.hasMore(),
+                page.nextCursor(),
+                page.approximateTotal()
+        );
+        return ResponseEntity.ok(ApiResponse.success("Eventos operacionais", resp));
+    }
+
     @GetMapping("/eventos/resumo")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<OperationalEventSummaryResponse>> resumo(
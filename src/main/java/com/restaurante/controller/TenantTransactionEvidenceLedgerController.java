@@ -4,6 +4,7 @@ import com.restaurante.dto.response.ApiResponse;
 import com.restaurante.exception.BusinessException;
 import com.restaurante.model.entity.TransactionEvidenceEvent;
 import com.restaurante.model.entity.TransactionEvidenceLedgerState;
+import com.restaurante.model.entity.TransactionEvidenceMerkleSegment;
 import com.restaurante.model.entity.TransactionEvidenceVerificationIssue;
 import com.restaurante.model.entity.TransactionEvidenceVerificationRun;
 import com.restaurante.model.enums.TenantUserRole;
@@ -11,13 +12,16 @@ import com.restaurante.model.enums.TransactionEvidenceSourceModule;
 import com.restaurante.security.tenant.TenantGuard;
 import com.restaurante.txevidence.dto.request.VerifyTransactionLedgerRequest;
 import com.restaurante.txevidence.dto.response.TransactionEvidenceEventResponse;
+import com.restaurante.txevidence.dto.response.TransactionEvidenceInclusionProofResponse;
 import com.restaurante.txevidence.dto.response.TransactionEvidenceLedgerStateResponse;
+import com.restaurante.txevidence.dto.response.TransactionEvidenceMerkleSegmentResponse;
 import com.restaurante.txevidence.dto.response.TransactionEvidenceVerificationIssueResponse;
 import com.restaurante.txevidence.dto.response.TransactionEvidenceVerificationRunResponse;
 import com.restaurante.txevidence.repository.TransactionEvidenceEventRepository;
 import com.restaurante.txevidence.repository.TransactionEvidenceLedgerStateRepository;
 import com.restaurante.txevidence.repository.TransactionEvidenceVerificationIssueRepository;
 import com.restaurante.txevidence.repository.TransactionEvidenceVerificationRunRepository;
+import com.restaurante.txevidence.service.TransactionEvidenceMerkleService;
 import com.restaurante.txevidence.service.TransactionEvidenceVerificationService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -50,6 +54,7 @@ public class TenantTransactionEvidenceLedgerController {
     private final TransactionEvidenceVerificationRunRepository runRepository;
     private final TransactionEvidenceVerificationIssueRepository issueRepository;
     private final TransactionEvidenceVerificationService verificationService;
+    private final TransactionEvidenceMerkleService merkleService;
 
     @GetMapping("/events")
     public ResponseEntity<ApiResponse<Page<TransactionEvidenceEventResponse>>> events(@RequestParam(required = false) String eventType,
@@ -88,6 +93,23 @@ public class TenantTransactionEvidenceLedgerController {
         return ResponseEntity.ok(ApiResponse.success("Ledger event", mapDetail(ev)));
     }
 
+    @GetMapping("/events/{eventId}/inclusion-proof")
+    public ResponseEntity<ApiResponse<TransactionEvidenceInclusionProofResponse>> inclusionProof(@PathVariable Long eventId) {
+        tenantGuard.assertAnyTenantRole(TenantUserRole.TENANT_OWNER, TenantUserRole.TENANT_ADMIN, TenantUserRole.TENANT_FINANCE);
+        var ctx = tenantGuard.requireContext();
+        return ResponseEntity.ok(ApiResponse.success("Inclusion proof", merkleService.inclusionProof(ctx.tenantId(), eventId)));
+    }
+
+    @GetMapping("/merkle-segments")
+    public ResponseEntity<ApiResponse<List<TransactionEvidenceMerkleSegmentResponse>>> merkleSegments(@RequestParam Long sequenceFrom,
+                                                                                                     @RequestParam Long sequenceTo) {
+        tenantGuard.assertAnyTenantRole(TenantUserRole.TENANT_OWNER, TenantUserRole.TENANT_ADMIN, TenantUserRole.TENANT_FINANCE);
+        var ctx = tenantGuard.requireContext();
+        List<TransactionEvidenceMerkleSegmentResponse> out = merkleService.segmentsCovering(ctx.tenantId(), sequenceFrom, sequenceTo)
+                .stream().limit(500).map(this::map).toList();
+        return ResponseEntity.ok(ApiResponse.success("Merkle segments", out));
+    }
+
     @GetMapping("/state")
     public ResponseEntity<ApiResponse<TransactionEvidenceLedgerStateResponse>> state() {
         tenantGuard.assertAnyTenantRole(TenantUserRole.TENANT_OWNER, TenantUserRole.TENANT_ADMIN, TenantUserRole.TENANT_FINANCE);
@@ -103,7 +125,8 @@ public class TenantTransactionEvidenceLedgerController {
         if (req == null || req.getPeriodStart() == null || req.getPeriodEnd() == null) {
             throw new BusinessException("TRANSACTION_EVIDENCE_VERIFICATION_FAILED");
         }
-        TransactionEvidenceVerificationRun run = verificationService.verifyTenantLedger(ctx.tenantId(), req.getPeriodStart(), req.getPeriodEnd());
+        TransactionEvidenceVerificationRun run = verificationService.verifyTenantLedger(
+                ctx.tenantId(), req.getPeriodStart(), req.getPeriodEnd(), Boolean.TRUE.equals(req.getIncremental()));
         return ResponseEntity.ok(ApiResponse.success("Verification run", map(run)));
     }
 
@@ -183,6 +206,20 @@ public class TenantTransactionEvidenceLedgerController {
         );
     }
 
+    private TransactionEvidenceMerkleSegmentResponse map(TransactionEvidenceMerkleSegment s) {
+        return new TransactionEvidenceMerkleSegmentResponse(
+                s.getSegmentIndex(),
+                s.getFirstSequence(),
+                s.getLastSequence(),
+                s.getLeafCount(),
+                s.getMerkleRoot(),
+                s.getKeyVersion(),
+                s.getAlgorithm(),
+                s.getRootSignature(),
+                s.getSealedAt()
+        );
+    }
+
     private TransactionEvidenceLedgerStateResponse map(TransactionEvidenceLedgerState s) {
         return new TransactionEvidenceLedgerStateResponse(
                 s.getId(),
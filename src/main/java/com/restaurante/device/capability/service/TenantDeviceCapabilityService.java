@@ -11,6 +11,7 @@ import com.restaurante.model.enums.OperationalEventType;
 import com.restaurante.model.enums.OperationalOrigem;
 import com.restaurante.model.enums.TenantUserRole;
 import com.restaurante.repository.DispositivoOperacionalRepository;
+import com.restaurante.security.device.DevicePrincipalCache;
 import com.restaurante.security.tenant.TenantContextHolder;
 import com.restaurante.security.tenant.TenantGuard;
 import com.restaurante.service.operacional.OperationalEventLogService;
@@ -30,6 +31,7 @@ public class TenantDeviceCapabilityService {
     private final DeviceOperationalCapabilityRepository capabilityRepository;
     private final DeviceCapabilityBootstrapService bootstrapService;
     private final OperationalEventLogService operationalEventLogService;
+    private final DevicePrincipalCache devicePrincipalCache;
 
     @Transactional
     public List<DeviceOperationalCapabilityEntity> list(Long deviceId) {
@@ -69,6 +71,7 @@ public class TenantDeviceCapabilityService {
         e.setSourceRolloutId(null);
         e.setTemplateAppliedAt(null);
         DeviceOperationalCapabilityEntity saved = capabilityRepository.save(e);
+        devicePrincipalCache.invalidateDevice(deviceId);
 
         operationalEventLogService.logGeneric(
                 OperationalEventType.DEVICE_CAPABILITY_UPDATED,
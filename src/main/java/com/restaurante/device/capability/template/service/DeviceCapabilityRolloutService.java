@@ -27,6 +27,7 @@ import com.restaurante.model.enums.OperationalOrigem;
 import com.restaurante.model.enums.TenantUserRole;
 import com.restaurante.repository.DispositivoOperacionalRepository;
 import com.restaurante.repository.UnidadeAtendimentoRepository;
+import com.restaurante.security.device.DevicePrincipalCache;
 import com.restaurante.security.tenant.TenantContext;
 import com.restaurante.security.tenant.TenantContextHolder;
 import com.restaurante.security.tenant.TenantGuard;
@@ -54,6 +55,7 @@ public class DeviceCapabilityRolloutService {
     private final DeviceOperationalCapabilityRepository deviceCapabilityRepository;
     private final OperationalEventLogService operationalEventLogService;
     private final ObjectMapper objectMapper;
+    private final DevicePrincipalCache devicePrincipalCache;
 
     @Transactional(readOnly = true)
     public DeviceCapabilityRolloutPreviewResponse preview(Long templateId, DeviceCapabilityRolloutRequest req, String ip, String userAgent) {
@@ -272,6 +274,7 @@ public class DeviceCapabilityRolloutService {
                     out.totalUpdated++;
                 }
             }
+            devicePrincipalCache.invalidateDevice(d.getId());
             out.deviceResults.add(dr);
         }
         return out;
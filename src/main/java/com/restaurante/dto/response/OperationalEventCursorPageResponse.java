@@ -0,0 +1,24 @@
+package com.restaurante.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página keyset de eventos operacionais.
+ *
+ * nextCursor é opaco (createdAt + id do último item); null quando não há mais páginas.
+ * approximateTotal vem das estimativas do planner (null quando indisponível) — não é uma contagem exata.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationalEventCursorPageResponse<T> {
+    private List<T> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+    private Long approximateTotal;
+}
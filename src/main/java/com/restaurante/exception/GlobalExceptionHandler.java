@@ -108,7 +108,7 @@ public class GlobalExceptionHandler {
                 .path(request.getDescription(false).replace("uri=", ""))
                 .build();
 
-        return ResponseEntity.status(ex.getStatusCode()).body(errorResponse);
+        return ResponseEntity.status(ex.getStatusCode()).headers(ex.getHeaders()).body(errorResponse);
     }
 
     /**
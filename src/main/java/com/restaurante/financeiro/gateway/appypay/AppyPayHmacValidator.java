@@ -1,11 +1,10 @@
 package com.restaurante.financeiro.gateway.appypay;
 
+import com.restaurante.security.crypto.CryptoPrimitives;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 
@@ -31,8 +30,6 @@ import java.security.MessageDigest;
 @Slf4j
 public class AppyPayHmacValidator {
 
-    private static final String HMAC_ALGORITHM = "HmacSHA256";
-
     private final AppyPayProperties properties;
 
     /**
@@ -89,20 +86,7 @@ public class AppyPayHmacValidator {
 
     // ─────────────────────────────────────────────────────────────────────────
 
-    private String calcularHmac(String payload, String secret) throws Exception {
-        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
-        SecretKeySpec keySpec = new SecretKeySpec(
-                secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
-        mac.init(keySpec);
-        byte[] hmacBytes = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-        return bytesToHex(hmacBytes);
-    }
-
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
-        }
-        return sb.toString();
+    private String calcularHmac(String payload, String secret) {
+        return CryptoPrimitives.hmacSha256Hex("appypay.callback", secret, payload);
     }
 }
@@ -4,26 +4,67 @@ import com.restaurante.config.PaymentPollingProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Agenda adaptativa do polling: em vez de um tick fixo, a ronda seguinte corre quando vence o próximo
+ * pagamento (next_polling_attempt_at / created_at + initial delay), entre min-interval-ms e fixed-delay-ms.
+ * Se a ronda encheu o batch, há mais trabalho à espera e a seguinte corre após min-interval-ms.
+ */
 @Component
 @RequiredArgsConstructor
 @ConditionalOnProperty(prefix = "consuma.payment.polling", name = "enabled", havingValue = "true", matchIfMissing = false)
 @Slf4j
-public class PagamentoGatewayPollingJob {
+public class PagamentoGatewayPollingJob implements SchedulingConfigurer {
 
     private final PaymentPollingProperties props;
     private final PagamentoGatewayPollingService pollingService;
 
-    @Scheduled(fixedDelayString = "${consuma.payment.polling.fixed-delay-ms:60000}")
+    private volatile int lastBatchSize;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addTriggerTask(this::run, this::nextExecution);
+    }
+
     public void run() {
         if (!props.isEnabled()) return;
         try {
-            pollingService.pollBatch();
+            lastBatchSize = pollingService.pollBatch();
         } catch (Exception e) {
+            lastBatchSize = 0;
             log.warn("Job de polling de pagamentos falhou: {}", e.getMessage());
         }
     }
-}
 
+    Instant nextExecution(TriggerContext ctx) {
+        Instant last = ctx.lastCompletion() != null ? ctx.lastCompletion() : Instant.now();
+        boolean backlog = lastBatchSize >= props.getBatchSize();
+        return nextExecution(last, backlog ? null : dueAt(), backlog);
+    }
+
+    Instant nextExecution(Instant lastCompletion, Instant dueAt, boolean backlog) {
+        Instant earliest = lastCompletion.plusMillis(Math.max(0L, props.getMinIntervalMs()));
+        Instant latest = lastCompletion.plusMillis(Math.max(props.getMinIntervalMs(), props.getFixedDelayMs()));
+        if (backlog) return earliest;
+        if (dueAt == null || dueAt.isAfter(latest)) return latest;
+        return dueAt.isBefore(earliest) ? earliest : dueAt;
+    }
+
+    private Instant dueAt() {
+        try {
+            LocalDateTime due = pollingService.nextDueAt();
+            return due != null ? due.atZone(ZoneId.systemDefault()).toInstant() : null;
+        } catch (Exception e) {
+            log.warn("Agenda de polling indisponível: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -10,26 +10,46 @@ import com.restaurante.model.enums.OperationalOrigem;
 import com.restaurante.service.operacional.OperationalEventLogService;
 import com.restaurante.service.metrics.NoOpPaymentPollingMetricsService;
 import com.restaurante.service.metrics.PaymentPollingMetricsService;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import org.springframework.beans.factory.ObjectProvider;
 
+/**
+ * Polling ativo do gateway para pagamentos pendentes.
+ *
+ * - Cada ronda consulta o lote elegível em paralelo, em virtual threads; o Semaphore do gateway limita
+ *   quantas consultas HTTP estão em curso ao mesmo tempo (max-concurrency), pelo que uma resposta lenta
+ *   do AppyPay já não atrasa o lote inteiro.
+ * - Backoff por pagamento (next_polling_attempt_at): initial-backoff-seconds × backoff-multiplier^(n-1),
+ *   limitado a max-backoff-minutes. O job agenda a ronda seguinte para o próximo vencimento (nextDueAt).
+ */
 @Service
 @Slf4j
 public class PagamentoGatewayPollingService {
 
+    /** Único gateway com consulta de status hoje (PaymentGatewayStatusPort → AppyPay). */
+    static final String GATEWAY = "APPYPAY";
+
     private final PaymentPollingProperties props;
     private final PagamentoGatewayRepository pagamentoRepository;
     private final PaymentGatewayStatusPort statusPort;
     private final PagamentoConfirmacaoService confirmacaoService;
     private final OperationalEventLogService operationalEventLogService;
     private final PaymentPollingMetricsService metrics;
+    private final Semaphore gatewayPermits;
+    private final ExecutorService pollExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("payment-poll-", 0).factory());
 
     public PagamentoGatewayPollingService(PaymentPollingProperties props,
                                          PagamentoGatewayRepository pagamentoRepository,
@@ -43,10 +63,19 @@ public class PagamentoGatewayPollingService {
         this.confirmacaoService = confirmacaoService;
         this.operationalEventLogService = operationalEventLogService;
         this.metrics = metricsProvider.getIfAvailable(NoOpPaymentPollingMetricsService::new);
+        this.gatewayPermits = new Semaphore(Math.max(1, props.getMaxConcurrency()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pollExecutor.shutdownNow();
     }
 
-    public void pollBatch() {
-        if (!props.isEnabled()) return;
+    /**
+     * @return número de pagamentos consultados nesta ronda
+     */
+    public int pollBatch() {
+        if (!props.isEnabled()) return 0;
 
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime initialDelayThreshold = now.minusMinutes(Math.max(0, props.getInitialDelayMinutes()));
@@ -59,12 +88,54 @@ public class PagamentoGatewayPollingService {
                 props.getMaxAttempts(),
                 props.getBatchSize()
         );
+        if (ids.isEmpty()) return 0;
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(ids.size());
         for (Long id : ids) {
-            try {
-                pollPagamento(id);
-            } catch (Exception e) {
-                log.warn("Polling falhou para pagamentoId={}: {}", id, e.getMessage());
-            }
+            inFlight.add(CompletableFuture.runAsync(() -> {
+                try {
+                    pollPagamento(id);
+                } catch (Exception e) {
+                    log.warn("Polling falhou para pagamentoId={}: {}", id, e.getMessage());
+                }
+            }, pollExecutor));
+        }
+        // A ronda termina quando todas as consultas terminam: a seguinte volta a ler o estado já aplicado.
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        metrics.recordBatch(ids.size(), System.nanoTime() - start);
+        return ids.size();
+    }
+
+    /**
+     * Próximo instante em que há um pagamento a vencer (null se não houver nenhum elegível).
+     */
+    public LocalDateTime nextDueAt() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = pagamentoRepository.findPollingDueBounds(
+                props.getMaxAttempts(), now.minusHours(Math.max(1, props.getMaxAgeHours())));
+        if (rows.isEmpty()) return null;
+        LocalDateTime scheduled = (LocalDateTime) rows.get(0)[0];
+        LocalDateTime unscheduledCreatedAt = (LocalDateTime) rows.get(0)[1];
+        LocalDateTime unscheduled = unscheduledCreatedAt != null
+                ? unscheduledCreatedAt.plusMinutes(Math.max(0, props.getInitialDelayMinutes()))
+                : null;
+        if (scheduled == null) return unscheduled;
+        if (unscheduled == null) return scheduled;
+        return scheduled.isBefore(unscheduled) ? scheduled : unscheduled;
+    }
+
+    private GatewayPaymentStatusResponse consultarGateway(Pagamento snapshot) {
+        long start = System.nanoTime();
+        String outcome = "ERROR";
+        gatewayPermits.acquireUninterruptibly();
+        try {
+            GatewayPaymentStatusResponse resp = statusPort.consultarStatus(snapshot.getGatewayChargeId(), snapshot.getExternalReference());
+            outcome = resp != null && resp.getStatus() != null ? resp.getStatus().name() : GatewayPaymentStatus.UNKNOWN.name();
+            return resp;
+        } finally {
+            gatewayPermits.release();
+            metrics.recordGatewayLatency(GATEWAY, outcome, System.nanoTime() - start);
         }
     }
 
@@ -77,7 +148,7 @@ public class PagamentoGatewayPollingService {
 
             GatewayPaymentStatusResponse gateway;
             try {
-                gateway = statusPort.consultarStatus(snapshot.getGatewayChargeId(), snapshot.getExternalReference());
+                gateway = consultarGateway(snapshot);
             } catch (Exception e) {
                 metrics.recordPollingFailed("GATEWAY_ERROR");
                 recordGatewayError(pagamentoId, "GATEWAY_ERROR", e.getMessage());
@@ -135,7 +206,7 @@ public class PagamentoGatewayPollingService {
 
         GatewayPaymentStatusResponse gateway;
         try {
-            gateway = statusPort.consultarStatus(snapshot.getGatewayChargeId(), snapshot.getExternalReference());
+            gateway = consultarGateway(snapshot);
         } catch (Exception e) {
             recordGatewayError(pagamentoId, "GATEWAY_ERROR", e.getMessage());
             Pagamento cur = pagamentoRepository.findById(pagamentoId).orElse(before);
@@ -405,10 +476,14 @@ public class PagamentoGatewayPollingService {
     }
 
     private LocalDateTime calcNextAttempt(int attempts) {
-        int baseMinutes = 1;
-        long delay = (long) (baseMinutes * Math.pow(Math.max(1, props.getBackoffMultiplier()), Math.max(0, attempts - 1)));
-        delay = Math.min(delay, props.getMaxBackoffMinutes());
-        return LocalDateTime.now().plusMinutes(delay);
+        return LocalDateTime.now().plusSeconds(backoffSeconds(attempts,
+                props.getInitialBackoffSeconds(), props.getBackoffMultiplier(), props.getMaxBackoffMinutes()));
+    }
+
+    static long backoffSeconds(int attempts, int initialBackoffSeconds, int multiplier, int maxBackoffMinutes) {
+        long cap = Math.max(1L, maxBackoffMinutes) * 60L;
+        double delay = Math.max(1, initialBackoffSeconds) * Math.pow(Math.max(1, multiplier), Math.max(0, attempts - 1));
+        return (long) Math.min(delay, cap);
     }
 
     private static String truncate(String s, int max) {
@@ -211,6 +211,25 @@ public interface PagamentoGatewayRepository extends JpaRepository<Pagamento, Lon
                                         int maxAttempts,
                                         int limit);
 
+    /**
+     * Próximo instante em que algum pagamento fica elegível para polling (agenda do poller):
+     * [0] menor next_polling_attempt_at já agendado; [1] menor created_at ainda sem agendamento
+     * (o service soma o initial delay).
+     */
+    @Query("""
+            select min(p.nextPollingAttemptAt),
+                   min(case when p.nextPollingAttemptAt is null then p.createdAt end)
+            from Pagamento p
+            where p.pollingEnabled = true
+              and p.status = com.restaurante.financeiro.enums.StatusPagamentoGateway.PENDENTE
+              and p.externalReference is not null
+              and p.gatewayChargeId is not null
+              and p.pollingAttempts < :maxAttempts
+              and p.createdAt >= :maxAgeThreshold
+            """)
+    List<Object[]> findPollingDueBounds(@Param("maxAttempts") int maxAttempts,
+                                        @Param("maxAgeThreshold") LocalDateTime maxAgeThreshold);
+
     /**
      * Busca pagamentos em status PENDENTE vinculados a um fundo.
      * Usado pelo expirarComSeguranca() para bloquear expiração quando há
@@ -44,6 +44,7 @@ import com.restaurante.repository.PedidoRepository;
 import com.restaurante.repository.SubPedidoRepository;
 import com.restaurante.repository.TransacaoFundoRepository;
 import com.restaurante.repository.UserRepository;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import com.restaurante.service.FundoConsumoService;
 import com.restaurante.service.PedidoPagamentoPolicy;
 import com.restaurante.service.operacional.OperationalEventLogService;
@@ -55,12 +56,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.HexFormat;
 import java.util.Map;
 import java.util.Optional;
 
@@ -530,8 +528,7 @@ public class OrdemPagamentoService {
                     safeHashValue(request.getReferenciaOperador()), safeHashValue(request.getObservacao()),
                     request.getValorRecebido() != null
                             ? request.getValorRecebido().stripTrailingZeros().toPlainString() : "");
-            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
-                    .digest(canonical.getBytes(StandardCharsets.UTF_8)));
+            return CryptoPrimitives.sha256Hex("ordem-pagamento.idempotency", canonical);
         } catch (Exception ex) {
             throw new IllegalStateException("Falha ao calcular hash de idempotência.", ex);
         }
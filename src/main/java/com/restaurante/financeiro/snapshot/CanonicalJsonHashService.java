@@ -1,21 +1,23 @@
 package com.restaurante.financeiro.snapshot;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Gera hash criptográfico (ex.: SHA-256) sobre um JSON canônico determinístico.
@@ -24,6 +26,11 @@ import java.util.Map;
  * - Ordena chaves de objetos de forma determinística (ordem lexicográfica).
  * - Mantém ordem de arrays (a ordem deve ser estável na origem).
  * - Remove campos excluídos do escopo (ex.: "integridade") para evitar hash circular.
+ *
+ * Escrita numa só passagem: a árvore é percorrida uma vez e os bytes UTF-8 vão diretamente para o
+ * MessageDigest, sem cópia da árvore nem String intermédia. Os bytes são idênticos aos da versão anterior
+ * (cópia via writeValueAsBytes/readTree + ObjectNode ordenado + writeValueAsString), incluindo a
+ * normalização de números de vírgula flutuante que esse round-trip fazia (ex.: 12.50 → 12.5).
  */
 @Service
 @RequiredArgsConstructor
@@ -37,62 +44,107 @@ public class CanonicalJsonHashService {
 
     public String hashHexCanonical(String algorithm, JsonNode node, List<String> excludedTopLevelKeys) {
         try {
-            JsonNode sanitized = deepCopyAndRemoveTopLevelKeys(node, excludedTopLevelKeys);
-            JsonNode canonical = canonicalize(sanitized);
-            byte[] bytes = canonicalBytes(canonical);
             MessageDigest md = MessageDigest.getInstance(algorithm);
-            byte[] digest = md.digest(bytes);
-            return toHexLower(digest);
+            try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), md)) {
+                writeCanonical(out, node, excludedTopLevelKeys);
+            }
+            return toHexLower(md.digest());
         } catch (Exception e) {
             throw new IllegalStateException("Falha ao calcular hash canônico do snapshot.", e);
         }
     }
 
-    private JsonNode deepCopyAndRemoveTopLevelKeys(JsonNode node, List<String> excludedTopLevelKeys) {
-        if (node == null) return null;
-        try {
-            JsonNode copy = objectMapper.readTree(objectMapper.writeValueAsBytes(node));
-            if (copy instanceof ObjectNode on && excludedTopLevelKeys != null) {
-                for (String k : excludedTopLevelKeys) {
-                    on.remove(k);
-                }
+    /**
+     * Hash canônico de um POJO (serializado com o ObjectMapper da aplicação).
+     */
+    public String hashHexCanonicalValue(String algorithm, Object value, List<String> excludedTopLevelKeys) {
+        return hashHexCanonical(algorithm, objectMapper.valueToTree(value), excludedTopLevelKeys);
+    }
+
+    /**
+     * Bytes do JSON canônico (os mesmos que entram no hash).
+     */
+    public void writeCanonical(OutputStream out, JsonNode node, List<String> excludedTopLevelKeys) throws IOException {
+        try (JsonGenerator gen = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (node != null && node.isObject()) {
+                writeObject(gen, node, excludedTopLevelKeys);
+            } else {
+                writeNode(gen, node);
             }
-            return copy;
-        } catch (Exception e) {
-            throw new IllegalStateException("Falha ao preparar JSON para canonicalização/hash.", e);
         }
     }
 
-    private JsonNode canonicalize(JsonNode node) {
-        if (node == null) return null;
-        if (node.isObject()) {
-            ObjectNode out = objectMapper.createObjectNode();
-            ObjectNode obj = (ObjectNode) node;
-            List<String> names = new ArrayList<>();
-            obj.fieldNames().forEachRemaining(names::add);
-            Collections.sort(names);
-            for (String name : names) {
-                out.set(name, canonicalize(obj.get(name)));
-            }
-            return out;
+    private void writeNode(JsonGenerator gen, JsonNode node) throws IOException {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            gen.writeNull();
+        } else if (node.isObject()) {
+            writeObject(gen, node, null);
+        } else if (node.isArray()) {
+            gen.writeStartArray();
+            for (JsonNode el : node) writeNode(gen, el);
+            gen.writeEndArray();
+        } else if (node.isTextual()) {
+            gen.writeString(node.textValue());
+        } else if (node.isBoolean()) {
+            gen.writeBoolean(node.booleanValue());
+        } else if (node.isNumber()) {
+            writeNumber(gen, node);
+        } else if (node.isBinary()) {
+            byte[] data = node.binaryValue();
+            gen.writeBinary(objectMapper.getSerializationConfig().getBase64Variant(), data, 0, data.length);
+        } else {
+            // POJONode/RawValueNode: mesmo round-trip da implementação original.
+            writeNode(gen, objectMapper.readTree(objectMapper.writeValueAsBytes(node)));
         }
-        if (node.isArray()) {
-            ArrayNode out = objectMapper.createArrayNode();
-            ArrayNode arr = (ArrayNode) node;
-            for (JsonNode el : arr) {
-                out.add(canonicalize(el));
-            }
-            return out;
+    }
+
+    private void writeObject(JsonGenerator gen, JsonNode obj, List<String> excludedKeys) throws IOException {
+        // Mesmos filtros que ObjectNode.serialize aplica (nulls / arrays vazios, conforme configuração).
+        SerializationConfig cfg = objectMapper.getSerializationConfig();
+        boolean skipNulls = !cfg.isEnabled(JsonNodeFeature.WRITE_NULL_PROPERTIES);
+        boolean trimEmptyArrays = !cfg.isEnabled(SerializationFeature.WRITE_EMPTY_JSON_ARRAYS);
+        List<String> names = new ArrayList<>(obj.size());
+        for (Iterator<String> it = obj.fieldNames(); it.hasNext(); ) {
+            String name = it.next();
+            if (excludedKeys != null && excludedKeys.contains(name)) continue;
+            JsonNode value = obj.get(name);
+            if (skipNulls && value.isNull()) continue;
+            if (trimEmptyArrays && value.isArray() && value.isEmpty()) continue;
+            names.add(name);
+        }
+        Collections.sort(names);
+        gen.writeStartObject();
+        for (String name : names) {
+            gen.writeFieldName(name);
+            writeNode(gen, obj.get(name));
         }
-        return node;
+        gen.writeEndObject();
     }
 
-    private byte[] canonicalBytes(JsonNode canonical) throws JsonProcessingException {
-        // Ainda ordenamos map entries por segurança (caso algum Map escape como JsonNode via POJO).
-        ObjectMapper canonicalMapper = objectMapper.copy()
-                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
-        String json = canonicalMapper.writeValueAsString(canonical);
-        return json.getBytes(StandardCharsets.UTF_8);
+    /**
+     * Inteiros saem tal como estão; vírgula flutuante (float/double/BigDecimal) é normalizada para o double
+     * que o parser obteria do texto serializado (readTree sem USE_BIG_DECIMAL_FOR_FLOATS).
+     */
+    private static void writeNumber(JsonGenerator gen, JsonNode n) throws IOException {
+        switch (n.numberType()) {
+            case INT -> gen.writeNumber(n.intValue());
+            case LONG -> gen.writeNumber(n.longValue());
+            case BIG_INTEGER -> gen.writeNumber(n.bigIntegerValue());
+            case FLOAT -> gen.writeNumber(Double.parseDouble(Float.toString(n.floatValue())));
+            case DOUBLE -> gen.writeNumber(n.doubleValue());
+            case BIG_DECIMAL -> {
+                String text = gen.isEnabled(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+                        ? n.decimalValue().toPlainString()
+                        : n.decimalValue().toString();
+                if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+                    // Sem parte decimal/expoente o texto volta a ser lido como inteiro.
+                    gen.writeNumber(text);
+                } else {
+                    gen.writeNumber(Double.parseDouble(text));
+                }
+            }
+        }
     }
 
     private static String toHexLower(byte[] bytes) {
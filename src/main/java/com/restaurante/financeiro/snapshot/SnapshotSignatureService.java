@@ -2,10 +2,9 @@ package com.restaurante.financeiro.snapshot;
 
 import com.restaurante.financeiro.snapshot.dto.SnapshotSignatureResult;
 import com.restaurante.financeiro.snapshot.dto.SnapshotSignatureVerificationResult;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.time.LocalDateTime;
@@ -106,24 +105,12 @@ public class SnapshotSignatureService {
             throw new IllegalStateException("Secret HMAC ausente para assinatura do snapshot.");
         }
         try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-            byte[] out = mac.doFinal(snapshotHash.getBytes(StandardCharsets.UTF_8));
-            return toHexLower(out);
+            return CryptoPrimitives.hmacSha256Hex("financeiro.snapshot.signature", secret, snapshotHash);
         } catch (Exception e) {
             throw new IllegalStateException("Falha ao assinar snapshotHash via HMAC-SHA256.", e);
         }
     }
 
-    private static String toHexLower(byte[] bytes) {
-        StringBuilder sb = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
-            sb.append(Character.forDigit(b & 0xF, 16));
-        }
-        return sb.toString();
-    }
-
     static final class Keyring {
         final String activeKeyId;
         final SnapshotSignatureKeyProperties activeKey;
@@ -1,5 +1,6 @@
 package com.restaurante.financeiro.snapshot.evidence.dto;
 
+import com.restaurante.txevidence.dto.response.TransactionEvidenceMerkleSegmentResponse;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -28,6 +29,8 @@ public class TransactionLedgerEvidenceSectionDTO {
 
     private Map<String, Integer> byEventType;
     private Map<String, Integer> bySourceModule;
+    /** Raízes Merkle assinadas dos segmentos que cobrem firstSequence..lastSequence (provas por evento via API). */
+    private List<TransactionEvidenceMerkleSegmentResponse> merkleSegments;
     private List<String> warnings;
 }
 
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,6 +46,35 @@ public interface FiscalAutoIssueJobRepository extends JpaRepository<FiscalAutoIs
                                          @Param("now") LocalDateTime now,
                                          Pageable pageable);
 
+    /**
+     * Claim do worker pool: próximo job vencido e livre, saltando linhas já trancadas por outro worker/nó.
+     * O lock de linha fica com a transação do chamador até ao commit do processamento.
+     */
+    @Query(value = """
+            select id
+            from fiscal_auto_issue_jobs
+            where status in (:statuses)
+              and (next_attempt_at is null or next_attempt_at <= :now)
+              and (locked_at is null or locked_at < :staleCutoff)
+              and tenant_id not in (:excludedTenantIds)
+            order by next_attempt_at asc nulls first, id asc
+            limit 1
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> lockNextClaimableId(@Param("statuses") List<String> statuses,
+                                   @Param("now") LocalDateTime now,
+                                   @Param("staleCutoff") LocalDateTime staleCutoff,
+                                   @Param("excludedTenantIds") Collection<Long> excludedTenantIds);
+
+    @Query("""
+            select count(j), min(coalesce(j.nextAttemptAt, j.createdAt))
+            from FiscalAutoIssueJob j
+            where j.status in (:statuses)
+              and (j.nextAttemptAt is null or j.nextAttemptAt <= :now)
+            """)
+    List<Object[]> dueQueueStats(@Param("statuses") List<FiscalAutoIssueJobStatus> statuses,
+                                 @Param("now") LocalDateTime now);
+
     @Modifying
     @Query("""
             update FiscalAutoIssueJob j
@@ -4,6 +4,7 @@ import com.restaurante.fiscal.autoissue.repository.FiscalAutoIssueJobRepository;
 import com.restaurante.fiscal.autoissue.service.FiscalAutoIssueFailureClassifier;
 import com.restaurante.fiscal.config.TaxProperties;
 import com.restaurante.fiscal.service.FiscalDocumentService;
+import com.restaurante.fiscal.worker.FiscalJobWorkerPool;
 import com.restaurante.model.entity.FiscalAutoIssueJob;
 import com.restaurante.model.enums.FiscalAutoIssueJobStatus;
 import com.restaurante.model.enums.OperationalEntityType;
@@ -13,29 +14,90 @@ import com.restaurante.security.tenant.TenantContext;
 import com.restaurante.security.tenant.TenantContextHolder;
 import com.restaurante.security.tenant.TenantResolutionSource;
 import com.restaurante.service.operacional.OperationalEventLogService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.LongConsumer;
 
+/**
+ * Fila de emissão fiscal automática.
+ *
+ * O processamento corre num {@link FiscalJobWorkerPool} (worker-threads por nó, claim FOR UPDATE SKIP LOCKED,
+ * fairness por tenant). O tick agendado fica com a recuperação de stale locks e, com worker-threads=0,
+ * processa o batch em série como antes.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class FiscalAutoIssueWorker {
 
+    private static final List<FiscalAutoIssueJobStatus> CLAIMABLE_STATUSES =
+            List.of(FiscalAutoIssueJobStatus.PENDING, FiscalAutoIssueJobStatus.FAILED_RETRYABLE);
+    private static final List<String> CLAIMABLE_STATUS_NAMES =
+            CLAIMABLE_STATUSES.stream().map(Enum::name).toList();
+
     private final TaxProperties props;
     private final FiscalAutoIssueJobRepository jobRepository;
     private final FiscalDocumentService fiscalDocumentService;
     private final FiscalAutoIssueFailureClassifier classifier;
     private final OperationalEventLogService operationalEventLogService;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private volatile FiscalJobWorkerPool pool;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startWorkerPool() {
+        TaxProperties.AutoIssue cfg = props.getDocument().getAutoIssue();
+        if (pool != null || !props.isEnabled() || !cfg.isEnabled() || cfg.getWorkerThreads() <= 0) return;
+
+        FiscalJobWorkerPool p = new FiscalJobWorkerPool(
+                "fiscal-auto-issue",
+                new FiscalJobWorkerPool.Queue() {
+                    @Override
+                    public Long processNext(Set<Long> avoidTenantIds, LongConsumer onClaimed) {
+                        return processNextClaiming(avoidTenantIds, onClaimed);
+                    }
+
+                    @Override
+                    public FiscalJobWorkerPool.QueueStats stats() {
+                        return queueStats();
+                    }
+                },
+                cfg.getWorkerThreads(),
+                cfg.getWorkerIdleMillis(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                Clock.systemDefaultZone()
+        );
+        p.start();
+        pool = p;
+    }
+
+    @PreDestroy
+    public synchronized void stopWorkerPool() {
+        if (pool == null) return;
+        pool.stop(10_000L);
+        pool = null;
+    }
 
     @Scheduled(fixedDelayString = "${consuma.tax.document.auto-issue.worker-fixed-delay-ms:5000}")
     public void tick() {
@@ -44,10 +106,13 @@ public class FiscalAutoIssueWorker {
 
         recoverStaleLocks();
 
+        FiscalJobWorkerPool p = pool;
+        if (p != null && p.isRunning()) return;
+
         LocalDateTime now = LocalDateTime.now();
         int batchSize = props.getDocument().getAutoIssue().getBatchSize();
         List<FiscalAutoIssueJob> due = jobRepository.findDueJobs(
-                List.of(FiscalAutoIssueJobStatus.PENDING, FiscalAutoIssueJobStatus.FAILED_RETRYABLE),
+                CLAIMABLE_STATUSES,
                 now,
                 PageRequest.of(0, batchSize)
         );
@@ -55,13 +120,52 @@ public class FiscalAutoIssueWorker {
         if (due.isEmpty()) return;
         for (FiscalAutoIssueJob j : due) {
             try {
-                processOneClaiming(j.getId());
+                requiresNew().executeWithoutResult(st -> processOneClaiming(j.getId()));
             } catch (Exception e) {
                 log.warn("Falha ao processar job fiscal id={}: {}", j.getId(), e.getMessage());
             }
         }
     }
 
+    /**
+     * Reivindica (SKIP LOCKED) e processa o próximo job vencido, evitando avoidTenantIds.
+     * Corre numa transação própria: o lock da linha dura até ao commit do processamento.
+     *
+     * @return tenant do job processado, ou null se não havia job elegível
+     */
+    public Long processNextClaiming(Set<Long> avoidTenantIds, LongConsumer onClaimed) {
+        if (!props.isEnabled() || !props.getDocument().getAutoIssue().isEnabled()) return null;
+
+        return requiresNew().execute(st -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime staleCutoff = now.minusMinutes(props.getDocument().getAutoIssue().getStaleLockMinutes());
+            String workerId = props.getDocument().getAutoIssue().getWorkerId();
+
+            List<Long> ids = jobRepository.lockNextClaimableId(
+                    CLAIMABLE_STATUS_NAMES,
+                    now,
+                    staleCutoff,
+                    FiscalJobWorkerPool.notInParam(avoidTenantIds)
+            );
+            if (ids.isEmpty()) return null;
+
+            Long jobId = ids.get(0);
+            if (jobRepository.claimJob(jobId, now, workerId, staleCutoff, CLAIMABLE_STATUSES) != 1) return null;
+
+            FiscalAutoIssueJob job = jobRepository.findById(jobId).orElse(null);
+            if (job == null) return null;
+
+            Long tenantId = job.getTenant().getId();
+            if (onClaimed != null) onClaimed.accept(tenantId);
+            withTenantContext(tenantId, () -> doProcess(job, workerId));
+            return tenantId;
+        });
+    }
+
+    public FiscalJobWorkerPool.QueueStats queueStats() {
+        return FiscalJobWorkerPool.QueueStats.of(jobRepository.dueQueueStats(CLAIMABLE_STATUSES, LocalDateTime.now()));
+    }
+
     private void recoverStaleLocks() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime staleCutoff = now.minusMinutes(props.getDocument().getAutoIssue().getStaleLockMinutes());
@@ -72,7 +176,7 @@ public class FiscalAutoIssueWorker {
         );
         for (Long id : staleIds) {
             try {
-                recoverOneStaleLock(id, now);
+                requiresNew().executeWithoutResult(st -> recoverOneStaleLock(id, now));
             } catch (Exception e) {
                 log.warn("Falha ao recuperar stale lock jobId={}: {}", id, e.getMessage());
             }
@@ -125,7 +229,7 @@ public class FiscalAutoIssueWorker {
                 now,
                 workerId,
                 staleCutoff,
-                List.of(FiscalAutoIssueJobStatus.PENDING, FiscalAutoIssueJobStatus.FAILED_RETRYABLE)
+                CLAIMABLE_STATUSES
         );
         if (claimed != 1) return;
 
@@ -252,6 +356,12 @@ public class FiscalAutoIssueWorker {
         return (int) Math.min(sec, max);
     }
 
+    private TransactionTemplate requiresNew() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return tx;
+    }
+
     private void withTenantContext(Long tenantId, Runnable runnable) {
         TenantContextHolder.set(new TenantContext(
                 tenantId,
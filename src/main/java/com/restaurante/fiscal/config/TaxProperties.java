@@ -110,6 +110,12 @@ public class TaxProperties {
         private int batchSize = 100;
         private int staleLockMinutes = 10;
         private String workerId = "local";
+        /**
+         * Até 2 conexões JDBC por thread (claim + REQUIRES_NEW); somado a consuma.fiscal.official.worker-threads,
+         * threads × 2 tem de caber em spring.datasource.hikari.maximum-pool-size (10 por omissão).
+         */
+        private int workerThreads = 2;
+        private long workerIdleMillis = 1000;
 
         public boolean isEnabled() {
             return enabled;
@@ -174,6 +180,22 @@ public class TaxProperties {
         public void setWorkerId(String workerId) {
             this.workerId = workerId;
         }
+
+        public int getWorkerThreads() {
+            return workerThreads;
+        }
+
+        public void setWorkerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+        }
+
+        public long getWorkerIdleMillis() {
+            return workerIdleMillis;
+        }
+
+        public void setWorkerIdleMillis(long workerIdleMillis) {
+            this.workerIdleMillis = workerIdleMillis;
+        }
     }
 
     public static class Evidence {
@@ -20,5 +20,10 @@ public class OfficialFiscalProperties {
     private int batchSize = 50;
     private int staleLockMinutes = 10;
     private String workerId = "local";
+    /**
+     * Até 2 conexões JDBC por thread (claim + REQUIRES_NEW); ver consuma.tax.document.auto-issue.worker-threads.
+     */
+    private int workerThreads = 1;
+    private long workerIdleMillis = 1000;
 }
 
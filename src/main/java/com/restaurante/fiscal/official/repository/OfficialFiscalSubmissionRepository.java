@@ -52,6 +52,39 @@ public interface OfficialFiscalSubmissionRepository extends JpaRepository<Offici
             """)
     List<OfficialFiscalSubmission> listByTurno(@Param("tenantId") Long tenantId, @Param("turnoId") Long turnoId);
 
+    /**
+     * Claim do worker pool: próxima submissão vencida dos tenants indicados, saltando linhas já trancadas
+     * por outro worker/nó. O lock de linha fica com a transação do chamador até ao commit.
+     */
+    @Query(value = """
+            select id
+            from official_fiscal_submissions
+            where tenant_id in (:tenantIds)
+              and tenant_id not in (:excludedTenantIds)
+              and status in (:statuses)
+              and (next_attempt_at is null or next_attempt_at <= :now)
+              and (locked_at is null or locked_at < :staleCutoff)
+            order by next_attempt_at asc nulls first, id asc
+            limit 1
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> lockNextClaimableId(@Param("tenantIds") Collection<Long> tenantIds,
+                                   @Param("excludedTenantIds") Collection<Long> excludedTenantIds,
+                                   @Param("statuses") List<String> statuses,
+                                   @Param("now") LocalDateTime now,
+                                   @Param("staleCutoff") LocalDateTime staleCutoff);
+
+    @Query("""
+            select count(s), min(coalesce(s.nextAttemptAt, s.createdAt))
+            from OfficialFiscalSubmission s
+            where s.tenant.id in :tenantIds
+              and s.status in :statuses
+              and (s.nextAttemptAt is null or s.nextAttemptAt <= :now)
+            """)
+    List<Object[]> dueQueueStats(@Param("tenantIds") Collection<Long> tenantIds,
+                                 @Param("statuses") Collection<OfficialFiscalSubmissionStatus> statuses,
+                                 @Param("now") LocalDateTime now);
+
     @Modifying
     @Query("""
             update OfficialFiscalSubmission s
@@ -9,6 +9,7 @@ import com.restaurante.fiscal.official.repository.OfficialFiscalSubmissionReposi
 import com.restaurante.fiscal.official.repository.TenantOfficialFiscalProfileRepository;
 import com.restaurante.fiscal.repository.FiscalDocumentLineRepository;
 import com.restaurante.fiscal.repository.FiscalDocumentRepository;
+import com.restaurante.fiscal.worker.FiscalJobWorkerPool;
 import com.restaurante.model.entity.FiscalDocument;
 import com.restaurante.model.entity.FiscalDocumentLine;
 import com.restaurante.model.entity.FiscalSigningProfile;
@@ -36,14 +37,23 @@ import com.restaurante.repository.TenantRepository;
 import com.restaurante.fiscal.official.repository.FiscalSigningProfileRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongConsumer;
 
 @Service
 @RequiredArgsConstructor
 public class OfficialFiscalSubmissionService {
 
+    private static final List<OfficialFiscalSubmissionStatus> RUNNABLE_STATUSES = List.of(
+            OfficialFiscalSubmissionStatus.DRAFT,
+            OfficialFiscalSubmissionStatus.FAILED_RETRYABLE,
+            OfficialFiscalSubmissionStatus.PENDING_SUBMISSION
+    );
+
     private final OfficialFiscalProperties props;
     private final TenantOfficialFiscalProfileRepository profileRepository;
     private final FiscalDocumentRepository fiscalDocumentRepository;
@@ -214,7 +224,7 @@ public class OfficialFiscalSubmissionService {
                 now,
                 props.getWorkerId(),
                 staleCutoff,
-                List.of(OfficialFiscalSubmissionStatus.DRAFT, OfficialFiscalSubmissionStatus.FAILED_RETRYABLE, OfficialFiscalSubmissionStatus.PENDING_SUBMISSION)
+                RUNNABLE_STATUSES
         );
         if (claimed == 0) return;
 
@@ -225,6 +235,54 @@ public class OfficialFiscalSubmissionService {
         withTenantContext(tenantId, () -> doProcessOne(profile, s, now));
     }
 
+    /**
+     * Claim do worker pool: próxima submissão vencida de tenantIds (FOR UPDATE SKIP LOCKED), evitando
+     * avoidTenantIds. O lock da linha dura até ao commit desta transação.
+     *
+     * @return tenant da submissão processada, ou null se não havia submissão elegível
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Long processNextClaiming(Collection<Long> tenantIds, Set<Long> avoidTenantIds, LongConsumer onClaimed) {
+        if (!props.isEnabled() || !props.isWorkerEnabled()) return null;
+        if (tenantIds == null || tenantIds.isEmpty()) return null;
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleCutoff = now.minusMinutes(props.getStaleLockMinutes());
+        List<Long> ids = submissionRepository.lockNextClaimableId(
+                tenantIds,
+                FiscalJobWorkerPool.notInParam(avoidTenantIds),
+                RUNNABLE_STATUSES.stream().map(Enum::name).toList(),
+                now,
+                staleCutoff
+        );
+        if (ids.isEmpty()) return null;
+
+        Long submissionId = ids.get(0);
+        OfficialFiscalSubmission s = submissionRepository.findById(submissionId).orElse(null);
+        if (s == null) return null;
+
+        Long tenantId = s.getTenant().getId();
+        TenantOfficialFiscalProfile profile = profileRepository.findByTenantId(tenantId).orElse(null);
+        if (profile == null || !profile.isOfficialEnabled()) return null;
+
+        if (submissionRepository.claimSubmission(submissionId, now, props.getWorkerId(), staleCutoff, RUNNABLE_STATUSES) == 0) {
+            return null;
+        }
+        // a entidade foi carregada antes do update em massa: alinhar para o flush não repor o lock antigo
+        s.setLockedAt(now);
+        s.setLockedBy(props.getWorkerId());
+
+        if (onClaimed != null) onClaimed.accept(tenantId);
+        withTenantContext(tenantId, () -> doProcessOne(profile, s, now));
+        return tenantId;
+    }
+
+    @Transactional(readOnly = true)
+    public FiscalJobWorkerPool.QueueStats queueStats(Collection<Long> tenantIds) {
+        if (tenantIds == null || tenantIds.isEmpty()) return new FiscalJobWorkerPool.QueueStats(0L, null);
+        return FiscalJobWorkerPool.QueueStats.of(submissionRepository.dueQueueStats(tenantIds, RUNNABLE_STATUSES, LocalDateTime.now()));
+    }
+
     private void doProcessOne(TenantOfficialFiscalProfile profile, OfficialFiscalSubmission s, LocalDateTime now) {
         validateProfileSafety(profile);
         if (s.getAttemptCount() >= s.getMaxAttempts()) {
@@ -4,16 +4,33 @@ import com.restaurante.fiscal.official.config.OfficialFiscalProperties;
 import com.restaurante.fiscal.official.repository.OfficialFiscalSubmissionRepository;
 import com.restaurante.fiscal.official.repository.TenantOfficialFiscalProfileRepository;
 import com.restaurante.fiscal.official.service.OfficialFiscalSubmissionService;
+import com.restaurante.fiscal.worker.FiscalJobWorkerPool;
 import com.restaurante.model.enums.OfficialFiscalSubmissionStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.LongConsumer;
 
+/**
+ * Fila de submissões oficiais.
+ *
+ * Com worker-threads > 0 o processamento corre num {@link FiscalJobWorkerPool} (claim FOR UPDATE SKIP LOCKED,
+ * fairness por tenant) e o tick só atualiza a lista de tenants com integração oficial ativa.
+ * Com worker-threads=0 o tick processa os batches por tenant em série como antes.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -23,12 +40,56 @@ public class OfficialFiscalSubmissionWorker {
     private final TenantOfficialFiscalProfileRepository profileRepository;
     private final OfficialFiscalSubmissionRepository submissionRepository;
     private final OfficialFiscalSubmissionService submissionService;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private volatile FiscalJobWorkerPool pool;
+    private volatile List<Long> enabledTenantIds = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startWorkerPool() {
+        if (pool != null || !props.isEnabled() || !props.isWorkerEnabled() || props.getWorkerThreads() <= 0) return;
+
+        refreshEnabledTenants();
+        FiscalJobWorkerPool p = new FiscalJobWorkerPool(
+                "fiscal-official-submission",
+                new FiscalJobWorkerPool.Queue() {
+                    @Override
+                    public Long processNext(Set<Long> avoidTenantIds, LongConsumer onClaimed) {
+                        return submissionService.processNextClaiming(enabledTenantIds, avoidTenantIds, onClaimed);
+                    }
+
+                    @Override
+                    public FiscalJobWorkerPool.QueueStats stats() {
+                        return submissionService.queueStats(enabledTenantIds);
+                    }
+                },
+                props.getWorkerThreads(),
+                props.getWorkerIdleMillis(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                Clock.systemDefaultZone()
+        );
+        p.start();
+        pool = p;
+    }
+
+    @PreDestroy
+    public synchronized void stopWorkerPool() {
+        if (pool == null) return;
+        pool.stop(10_000L);
+        pool = null;
+    }
 
     @Scheduled(fixedDelayString = "${consuma.fiscal.official.worker-fixed-delay-ms:5000}")
     public void tick() {
         if (!props.isEnabled()) return;
         if (!props.isWorkerEnabled()) return;
 
+        FiscalJobWorkerPool p = pool;
+        if (p != null && p.isRunning()) {
+            refreshEnabledTenants();
+            return;
+        }
+
         LocalDateTime now = LocalDateTime.now();
         List<Long> tenantIds = profileRepository.listOfficialEnabledTenantIds();
         if (tenantIds == null || tenantIds.isEmpty()) return;
@@ -42,6 +103,15 @@ public class OfficialFiscalSubmissionWorker {
         }
     }
 
+    private void refreshEnabledTenants() {
+        try {
+            List<Long> tenantIds = profileRepository.listOfficialEnabledTenantIds();
+            enabledTenantIds = tenantIds == null ? List.of() : List.copyOf(tenantIds);
+        } catch (Exception e) {
+            log.warn("Falha ao listar tenants com integração oficial ativa: {}", e.getMessage());
+        }
+    }
+
     private void processTenantBatch(Long tenantId, LocalDateTime now) {
         if (tenantId == null) return;
         List<Long> dueIds = submissionRepository.findRunnable(
@@ -64,4 +134,3 @@ public class OfficialFiscalSubmissionWorker {
         }
     }
 }
-
@@ -0,0 +1,212 @@
+package com.restaurante.fiscal.worker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Pool de workers para filas fiscais com claim FOR UPDATE SKIP LOCKED.
+ *
+ * - N threads por nó; cada uma reivindica e processa um job de cada vez e, ao terminar, pede logo o seguinte
+ *   (sem esperar pelo próximo tick). Só dorme idle-millis quando a fila está vazia.
+ * - SKIP LOCKED: workers (deste e de outros nós) nunca disputam a mesma linha.
+ * - Fairness por tenant: o claim evita os tenants que outros workers deste nó estão a processar e o último
+ *   tenant servido pela própria thread; se só houver trabalho desses tenants, volta a tentar sem restrição.
+ * - Conexões: cada worker retém a conexão da transação de claim e abre outra (REQUIRES_NEW) para gravar o
+ *   resultado, logo usa até 2 conexões do pool JDBC. A soma de worker-threads × 2 das filas fiscais tem de
+ *   ficar abaixo de spring.datasource.hikari.maximum-pool-size (10 por omissão), com folga para os requests.
+ * - Interrupt de uma thread termina só essa thread; o pool para apenas com stop().
+ * - Métricas: consuma.fiscal.queue.depth / oldest_age_seconds (atualizadas no máximo a cada stats-interval),
+ *   consuma.fiscal.queue.processed e consuma.fiscal.queue.job.duration, todas com tag queue.
+ */
+@Slf4j
+public final class FiscalJobWorkerPool {
+
+    public interface Queue {
+
+        /**
+         * Reivindica e processa o próximo job vencido, evitando avoidTenantIds (pode ser vazio).
+         * onClaimed é chamado com o tenant assim que o job fica reivindicado, antes do processamento.
+         *
+         * @return tenant do job processado, ou null se não havia job elegível
+         */
+        Long processNext(Set<Long> avoidTenantIds, LongConsumer onClaimed);
+
+        QueueStats stats();
+    }
+
+    public record QueueStats(long depth, LocalDateTime oldestDueAt) {
+
+        /**
+         * Converte o resultado de "select count(..), min(..)" (uma linha) em QueueStats.
+         */
+        public static QueueStats of(List<Object[]> rows) {
+            if (rows == null || rows.isEmpty() || rows.get(0) == null) return new QueueStats(0L, null);
+            Object[] row = rows.get(0);
+            long depth = row[0] instanceof Number n ? n.longValue() : 0L;
+            return new QueueStats(depth, row.length > 1 && row[1] instanceof LocalDateTime t ? t : null);
+        }
+    }
+
+    /**
+     * Parâmetro para "tenant_id not in (:excluded)": lista vazia não é SQL válido, usa um id impossível.
+     */
+    public static Collection<Long> notInParam(Set<Long> tenantIds) {
+        return tenantIds == null || tenantIds.isEmpty() ? List.of(-1L) : tenantIds;
+    }
+
+    private static final long STATS_INTERVAL_MILLIS = 10_000L;
+
+    private final String name;
+    private final Queue queue;
+    private final int threads;
+    private final long idleMillis;
+    private final Clock clock;
+
+    private final Map<Thread, Long> inFlightTenants = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicLong lastStatsAt = new AtomicLong();
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+    private final Counter processed;
+    private final Timer jobDuration;
+    private final Object idleMonitor = new Object();
+    private volatile boolean running;
+
+    public FiscalJobWorkerPool(String name, Queue queue, int threads, long idleMillis, MeterRegistry registry, Clock clock) {
+        this.name = name;
+        this.queue = queue;
+        this.threads = Math.max(1, threads);
+        this.idleMillis = Math.max(50L, idleMillis);
+        this.clock = clock;
+        Gauge.builder("consuma.fiscal.queue.depth", depth, AtomicLong::get).tag("queue", name).register(registry);
+        Gauge.builder("consuma.fiscal.queue.oldest_age_seconds", oldestAgeSeconds, AtomicLong::get).tag("queue", name).register(registry);
+        this.processed = Counter.builder("consuma.fiscal.queue.processed").tag("queue", name).register(registry);
+        this.jobDuration = Timer.builder("consuma.fiscal.queue.job.duration").tag("queue", name).publishPercentileHistogram().register(registry);
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(this::runLoop, name + "-worker-" + i);
+            t.setDaemon(true);
+            workers.add(t);
+            t.start();
+        }
+        log.info("Worker pool fiscal '{}' iniciado com {} threads", name, threads);
+    }
+
+    public synchronized void stop(long timeoutMillis) {
+        if (!running) return;
+        running = false;
+        wakeUp();
+        long deadline = System.currentTimeMillis() + Math.max(0L, timeoutMillis);
+        for (Thread t : workers) {
+            try {
+                // sem interrupt: o job em curso termina e faz commit
+                t.join(Math.max(1L, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+    }
+
+    /**
+     * Acorda os workers parados em idle (ex.: acabou de entrar um job novo).
+     */
+    public void wakeUp() {
+        synchronized (idleMonitor) {
+            idleMonitor.notifyAll();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runLoop() {
+        Thread self = Thread.currentThread();
+        Long lastTenant = null;
+        while (running && !self.isInterrupted()) {
+            boolean worked = false;
+            try {
+                maybeRefreshStats();
+                Long tenant = runOne(self, lastTenant);
+                if (tenant != null) {
+                    lastTenant = tenant;
+                    worked = true;
+                }
+            } catch (Exception e) {
+                log.warn("Worker pool fiscal '{}': falha ao processar job: {}", name, e.getMessage());
+            } finally {
+                inFlightTenants.remove(self);
+            }
+            if (!worked) idle();
+        }
+    }
+
+    Long runOne(Thread self, Long lastTenant) {
+        Set<Long> avoid = new HashSet<>();
+        for (Map.Entry<Thread, Long> e : inFlightTenants.entrySet()) {
+            if (e.getKey() != self) avoid.add(e.getValue());
+        }
+        if (lastTenant != null) avoid.add(lastTenant);
+
+        LongConsumer onClaimed = tenantId -> inFlightTenants.put(self, tenantId);
+        long start = System.nanoTime();
+        Long tenant = queue.processNext(avoid, onClaimed);
+        if (tenant == null && !avoid.isEmpty()) {
+            tenant = queue.processNext(Set.of(), onClaimed);
+        }
+        if (tenant != null) {
+            processed.increment();
+            jobDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return tenant;
+    }
+
+    private void idle() {
+        synchronized (idleMonitor) {
+            if (!running) return;
+            try {
+                idleMonitor.wait(idleMillis);
+            } catch (InterruptedException e) {
+                // só este worker sai (runLoop vê a flag); os restantes continuam
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void maybeRefreshStats() {
+        long now = System.currentTimeMillis();
+        long last = lastStatsAt.get();
+        if (now - last < STATS_INTERVAL_MILLIS || !lastStatsAt.compareAndSet(last, now)) return;
+        try {
+            QueueStats s = queue.stats();
+            depth.set(s.depth());
+            oldestAgeSeconds.set(s.oldestDueAt() == null ? 0L
+                    : Math.max(0L, Duration.between(s.oldestDueAt(), LocalDateTime.now(clock)).getSeconds()));
+        } catch (Exception e) {
+            log.debug("Worker pool fiscal '{}': estatísticas indisponíveis: {}", name, e.getMessage());
+        }
+    }
+}
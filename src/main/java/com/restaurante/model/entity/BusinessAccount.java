@@ -1,8 +1,10 @@
 package com.restaurante.model.entity;
 
 import com.restaurante.model.enums.BusinessAccountEstado;
+import com.restaurante.model.listener.EntityChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -14,6 +16,7 @@ import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "business_accounts", indexes = {
         @Index(name = "idx_business_account_slug", columnList = "slug", unique = true),
         @Index(name = "idx_business_account_nif", columnList = "nif"),
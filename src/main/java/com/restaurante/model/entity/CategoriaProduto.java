@@ -1,8 +1,10 @@
 package com.restaurante.model.entity;
 
 import com.restaurante.android.foundation.identity.PublicIdSupport;
+import com.restaurante.model.listener.EntityChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
@@ -13,6 +15,7 @@ import jakarta.persistence.Table;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "categoria_produtos", indexes = {
         @Index(name = "idx_categoria_produto_tenant", columnList = "tenant_id"),
         @Index(name = "idx_categoria_produto_ativo", columnList = "tenant_id, ativo"),
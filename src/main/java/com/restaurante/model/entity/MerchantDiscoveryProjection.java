@@ -0,0 +1,68 @@
+package com.restaurante.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read model desnormalizado do Discovery Android: uma linha por merchant publicamente elegível
+ * (opt-in, tenant/conta/subscrição activos, cardápio publicado, nome válido).
+ *
+ * Mantido por MerchantDiscoveryPublicationService (refresh por tenant após o commit das escritas que
+ * afectam a elegibilidade e reconciliação periódica); as consultas públicas leem só esta tabela.
+ * {@code sortName} e {@code municipality} já vêm em minúsculas do banco; {@code searchName} é o nome
+ * normalizado por SearchText (sem acentos), indexado por trigramas (GIN pg_trgm) para a pesquisa.
+ */
+@Entity
+@Table(name = "merchant_discovery_projection", indexes = {
+        @Index(name = "uq_merchant_discovery_projection_public_id", columnList = "merchant_public_id", unique = true),
+        @Index(name = "idx_merchant_discovery_projection_order", columnList = "sort_name, merchant_public_id"),
+        @Index(name = "idx_merchant_discovery_projection_municipality",
+                columnList = "municipality, sort_name, merchant_public_id")
+})
+@Data
+@NoArgsConstructor
+public class MerchantDiscoveryProjection {
+
+    @Id
+    @Column(name = "tenant_id", nullable = false)
+    private Long tenantId;
+
+    @Column(name = "merchant_public_id", nullable = false, columnDefinition = "uuid")
+    private UUID merchantPublicId;
+
+    @Column(name = "name", nullable = false, length = 160)
+    private String name;
+
+    @Column(name = "sort_name", nullable = false, length = 160)
+    private String sortName;
+
+    @Column(name = "search_name", nullable = false, length = 160)
+    private String searchName;
+
+    @Column(name = "slug", nullable = false, length = 80)
+    private String slug;
+
+    @Column(name = "municipality", length = 120)
+    private String municipality;
+
+    @Column(name = "catalog_published", nullable = false)
+    private boolean catalogPublished;
+
+    @Column(name = "active_catalog_item_count", nullable = false)
+    private long activeCatalogItemCount;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    public MerchantDiscoveryProjection(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+}
@@ -20,13 +20,15 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "operational_event_logs", indexes = {
-        @Index(name = "idx_operational_event_tenant", columnList = "tenant_id"),
-        @Index(name = "idx_operational_event_tenant_created_at", columnList = "tenant_id, created_at"),
-        @Index(name = "idx_operational_event_tenant_pedido", columnList = "tenant_id, pedido_id"),
-        @Index(name = "idx_operational_event_tenant_sub_pedido", columnList = "tenant_id, sub_pedido_id"),
-        @Index(name = "idx_operational_event_tenant_event_type", columnList = "tenant_id, event_type"),
-        @Index(name = "idx_operational_event_tenant_actor_user", columnList = "tenant_id, actor_user_id"),
-        @Index(name = "idx_operational_event_tenant_device", columnList = "tenant_id, device_id")
+        @Index(name = "idx_operational_event_tenant_created_id", columnList = "tenant_id, created_at desc, id desc"),
+        @Index(name = "idx_operational_event_tenant_pedido_created_id", columnList = "tenant_id, pedido_id, created_at desc, id desc"),
+        @Index(name = "idx_operational_event_tenant_sub_pedido_created_id", columnList = "tenant_id, sub_pedido_id, created_at desc, id desc"),
+        @Index(name = "idx_operational_event_tenant_actor_user_created_id", columnList = "tenant_id, actor_user_id, created_at desc, id desc"),
+        @Index(name = "idx_operational_event_tenant_device_created_id", columnList = "tenant_id, device_id, created_at desc, id desc"),
+        @Index(name = "idx_operational_event_tenant_event_type_created_id", columnList = "tenant_id, event_type, created_at desc, id desc"),
+        @Index(name = "idx_operational_event_tenant_entity_type_created_id", columnList = "tenant_id, entity_type, created_at desc, id desc"),
+        @Index(name = "idx_operational_event_tenant_actor_type_created_id", columnList = "tenant_id, actor_type, created_at desc, id desc"),
+        @Index(name = "idx_operational_event_tenant_turno", columnList = "tenant_id, turno_id")
 })
 @Data
 @EqualsAndHashCode(callSuper = true)
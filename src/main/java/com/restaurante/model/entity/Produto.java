@@ -2,6 +2,7 @@ package com.restaurante.model.entity;
 
 import com.restaurante.android.foundation.identity.PublicIdSupport;
 import com.restaurante.model.enums.CategoriaProdutoLegacy;
+import com.restaurante.model.listener.EntityChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
@@ -16,6 +17,7 @@ import java.util.UUID;
  * Representa um item do cardápio disponível para pedidos
  */
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "produtos", indexes = {
     @Index(name = "idx_produto_tenant", columnList = "tenant_id"),
     @Index(name = "idx_produto_tenant_codigo", columnList = "tenant_id, codigo", unique = true),
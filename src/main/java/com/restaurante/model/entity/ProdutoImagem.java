@@ -1,7 +1,9 @@
 package com.restaurante.model.entity;
 
+import com.restaurante.model.listener.EntityChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
@@ -9,6 +11,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "produto_imagens", indexes = {
         @Index(name = "idx_produto_imagens_produto_ordem", columnList = "produto_id, ordem"),
         @Index(name = "idx_produto_imagens_tenant_produto", columnList = "tenant_id, produto_id")
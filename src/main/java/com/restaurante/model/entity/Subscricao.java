@@ -1,8 +1,10 @@
 package com.restaurante.model.entity;
 
 import com.restaurante.model.enums.SubscricaoEstado;
+import com.restaurante.model.listener.EntityChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -14,6 +16,7 @@ import jakarta.persistence.Table;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "subscricoes", indexes = {
         @Index(name = "idx_subscricao_tenant", columnList = "tenant_id"),
         @Index(name = "idx_subscricao_plano", columnList = "plano_id"),
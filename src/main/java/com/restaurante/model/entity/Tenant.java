@@ -3,8 +3,10 @@ package com.restaurante.model.entity;
 import com.restaurante.android.foundation.identity.PublicIdSupport;
 import com.restaurante.model.enums.TenantEstado;
 import com.restaurante.model.enums.TenantTipo;
+import com.restaurante.model.listener.EntityChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -18,6 +20,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "tenants", indexes = {
         @Index(name = "idx_tenant_slug", columnList = "slug", unique = true),
         @Index(name = "idx_tenant_tenant_code", columnList = "tenant_code", unique = true),
@@ -1,7 +1,9 @@
 package com.restaurante.model.entity;
 
+import com.restaurante.model.listener.EntityChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
@@ -11,6 +13,7 @@ import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "tenant_cardapio_configs", indexes = {
         @Index(name = "idx_tenant_cardapio_config_tenant", columnList = "tenant_id", unique = true),
         @Index(name = "idx_tenant_cardapio_config_publicado", columnList = "cardapio_publicado")
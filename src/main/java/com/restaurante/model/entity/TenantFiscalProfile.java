@@ -2,8 +2,10 @@ package com.restaurante.model.entity;
 
 import com.restaurante.model.enums.FiscalRegime;
 import com.restaurante.model.enums.TenantFiscalProfileStatus;
+import com.restaurante.model.listener.EntityChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -16,6 +18,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "tenant_fiscal_profiles", indexes = {
         @Index(name = "uq_tenant_fiscal_profile_tenant", columnList = "tenant_id", unique = true)
 })
@@ -0,0 +1,55 @@
+package com.restaurante.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+/**
+ * Versão de sync monotónica por (tenant, domínio, escopo).
+ * Mantida apenas pelos triggers da migration V20260812_01; a aplicação só lê.
+ *
+ * scopeId = 0 representa o tenant inteiro; caso contrário é a unidade de atendimento
+ * (MESAS/QRCODES) ou a unidade de produção (PRODUCAO_FILA).
+ */
+@Entity
+@Immutable
+@Table(name = "tenant_sync_version")
+@IdClass(TenantSyncVersion.Key.class)
+@Data
+@NoArgsConstructor
+public class TenantSyncVersion {
+
+    public static final long TENANT_SCOPE = 0L;
+
+    @Id
+    @Column(name = "tenant_id", nullable = false)
+    private Long tenantId;
+
+    @Id
+    @Column(name = "domain", nullable = false, length = 40)
+    private String domain;
+
+    @Id
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long tenantId;
+        private String domain;
+        private Long scopeId;
+    }
+}
@@ -0,0 +1,63 @@
+package com.restaurante.model.entity;
+
+import com.restaurante.model.enums.TransactionEvidenceAlgorithm;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Raiz Merkle assinada de um segmento fixo do ledger (ledgerSequence firstSequence..lastSequence).
+ */
+@Entity
+@Table(name = "transaction_evidence_merkle_segments", indexes = {
+        @Index(name = "uq_transaction_evidence_merkle_segments", columnList = "tenant_id, segment_index", unique = true),
+        @Index(name = "idx_transaction_evidence_merkle_segments_seq", columnList = "tenant_id, first_sequence, last_sequence")
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class TransactionEvidenceMerkleSegment extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "tenant_id", nullable = false)
+    private Tenant tenant;
+
+    @Column(name = "segment_index", nullable = false)
+    private Long segmentIndex;
+
+    @Column(name = "first_sequence", nullable = false)
+    private Long firstSequence;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+
+    @Column(name = "leaf_count", nullable = false)
+    private Integer leafCount;
+
+    @Column(name = "merkle_root", nullable = false, length = 128)
+    private String merkleRoot;
+
+    @Column(name = "key_version", nullable = false, length = 40)
+    private String keyVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "algorithm", nullable = false, length = 40)
+    private TransactionEvidenceAlgorithm algorithm = TransactionEvidenceAlgorithm.SHA256_HMAC;
+
+    @Column(name = "root_signature", nullable = false, length = 256)
+    private String rootSignature;
+
+    @Column(name = "sealed_at", nullable = false)
+    private LocalDateTime sealedAt;
+}
@@ -0,0 +1,44 @@
+package com.restaurante.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Até onde o ledger do tenant já foi verificado sem issues (eventos 1..verifiedUpToSequence).
+ * Execuções incrementais começam em verifiedUpToSequence + 1.
+ */
+@Entity
+@Table(name = "transaction_evidence_verification_checkpoints", indexes = {
+        @Index(name = "uq_transaction_evidence_verification_checkpoints", columnList = "tenant_id", unique = true)
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class TransactionEvidenceVerificationCheckpoint extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "tenant_id", nullable = false)
+    private Tenant tenant;
+
+    @Column(name = "verified_up_to_sequence", nullable = false)
+    private Long verifiedUpToSequence;
+
+    @Column(name = "verified_up_to_hash", nullable = false, length = 128)
+    private String verifiedUpToHash;
+
+    @Column(name = "last_verification_run_id")
+    private Long lastVerificationRunId;
+
+    @Column(name = "verified_at", nullable = false)
+    private LocalDateTime verifiedAt;
+}
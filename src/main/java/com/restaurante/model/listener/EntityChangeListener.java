@@ -0,0 +1,27 @@
+package com.restaurante.model.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Entity listener JPA único das entidades lidas por caches e read models (cardápio público, índice de
+ * pesquisa, Discovery): publica um {@link EntityChangedEvent} e a camada de serviço reage com
+ * {@code @EventListener}, sem que o modelo dependa dela. Instanciado pelo SpringBeanContainer do Hibernate.
+ */
+public class EntityChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public EntityChangeListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void changed(Object entity) {
+        publisher.publishEvent(new EntityChangedEvent(entity));
+    }
+}
@@ -0,0 +1,8 @@
+package com.restaurante.model.listener;
+
+/**
+ * Escrita (insert, update ou delete) já enviada ao banco numa entidade anotada com
+ * {@link EntityChangeListener}; publicada de forma síncrona, dentro do flush.
+ */
+public record EntityChangedEvent(Object entity) {
+}
@@ -1,6 +1,7 @@
 package com.restaurante.platform.observabilidade.controller;
 
 import com.restaurante.dto.response.ApiResponse;
+import com.restaurante.dto.response.OperationalEventCursorPageResponse;
 import com.restaurante.model.enums.OperationalActorType;
 import com.restaurante.model.enums.OperationalEntityType;
 import com.restaurante.model.enums.OperationalEventType;
@@ -148,6 +149,23 @@ public class PlatformObservabilidadeController {
         return ResponseEntity.ok(ApiResponse.success("Eventos", page));
     }
 
+    @GetMapping("/tenants/{tenantId}/eventos/cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<OperationalEventCursorPageResponse<OperationalEventObservabilidadeResponse>>> eventosCursor(
+            @PathVariable Long tenantId,
+            @RequestParam(required = false) OperationalEventType eventType,
+            @RequestParam(required = false) OperationalEntityType entityType,
+            @RequestParam(required = false) OperationalActorType actorType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        tenantGuard.assertPlatformAdmin();
+        return ResponseEntity.ok(ApiResponse.success("Eventos",
+                service.eventosTenantCursor(tenantId, eventType, entityType, actorType, de, ate, cursor, size)));
+    }
+
     @GetMapping("/alertas")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Page<PlatformAlertaOperacionalResponse>>> alertas(
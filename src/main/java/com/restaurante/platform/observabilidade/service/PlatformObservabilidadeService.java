@@ -2,6 +2,7 @@ package com.restaurante.platform.observabilidade.service;
 
 import com.restaurante.config.FinancePendingPaymentsProperties;
 import com.restaurante.config.ObservabilidadeProperties;
+import com.restaurante.dto.response.OperationalEventCursorPageResponse;
 import com.restaurante.financeiro.enums.PagamentoPollingStatus;
 import com.restaurante.financeiro.enums.StatusPagamentoGateway;
 import com.restaurante.financeiro.repository.PagamentoGatewayRepository;
@@ -31,6 +32,7 @@ import com.restaurante.repository.TurnoOperacionalRepository;
 import com.restaurante.repository.UnidadeAtendimentoRepository;
 import com.restaurante.repository.UnidadeProducaoRepository;
 import com.restaurante.service.device.DeviceCapabilities;
+import com.restaurante.service.operacional.OperationalEventSearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -61,6 +63,7 @@ public class PlatformObservabilidadeService {
     private final SubPedidoRepository subPedidoRepository;
     private final UnidadeProducaoRepository unidadeProducaoRepository;
     private final OperationalEventLogRepository operationalEventLogRepository;
+    private final OperationalEventSearchService operationalEventSearchService;
 
     public PlatformSaudeOperacionalResponse saudeGlobal() {
         LocalDateTime now = LocalDateTime.now();
@@ -184,9 +187,10 @@ public class PlatformObservabilidadeService {
 
         // Eventos recentes (lookback)
         LocalDateTime from = now.minusHours(obsProps.getEventosDefaultLookbackHours());
-        Page<OperationalEventLog> eventos = operationalEventLogRepository.searchTenantEventsExtended(
-                tenantId, null, null, null, from, now, PageRequest.of(0, 50));
-        r.setEventosRecentes(eventos.getContent().stream().map(this::toEventObs).toList());
+        // Primeira página keyset: sem count (o detalhe só mostra os mais recentes).
+        OperationalEventSearchService.CursorPage eventos = operationalEventSearchService.searchTenantExtended(
+                tenantId, null, null, null, from, now, null, 50, false);
+        r.setEventosRecentes(eventos.items().stream().map(this::toEventObs).toList());
 
         r.setAlertas(alertasAtivos(null, tenantId, PageRequest.of(0, 50)).getContent());
         return r;
@@ -352,6 +356,29 @@ public class PlatformObservabilidadeService {
         return new PageImpl<>(mapped, safePageable, page.getTotalElements());
     }
 
+    public OperationalEventCursorPageResponse<OperationalEventObservabilidadeResponse> eventosTenantCursor(Long tenantId,
+                                                                                                       OperationalEventType eventType,
+                                                                                                       OperationalEntityType entityType,
+                                                                                                       OperationalActorType actorType,
+                                                                                                       LocalDateTime de,
+                                                                                                       LocalDateTime ate,
+                                                                                                       String cursor,
+                                                                                                       Integer size) {
+        int limit = Math.min(Math.max(size != null ? size : 50, 1), obsProps.getMaxPageSize());
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = de != null ? de : now.minusHours(obsProps.getEventosDefaultLookbackHours());
+        LocalDateTime to = ate != null ? ate : now;
+        OperationalEventSearchService.CursorPage page = operationalEventSearchService.searchTenantExtended(
+                tenantId, eventType, entityType, actorType, from, to, cursor, limit, cursor == null);
+        return new OperationalEventCursorPageResponse<>(
+                page.items().stream().map(this::toEventObs).toList(),
+                limit,
+                page.hasMore(),
+                page.nextCursor(),
+                page.approximateTotal()
+        );
+    }
+
     public Page<PlatformAlertaOperacionalResponse> alertasAtivos(PlatformAlertLevel level, Long tenantId, Pageable pageable) {
         Pageable safePageable = capPageable(pageable);
         LocalDateTime now = LocalDateTime.now();
@@ -6,6 +6,7 @@ import com.restaurante.model.enums.OperationalEntityType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,9 +14,10 @@ import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
 
-public interface OperationalEventLogRepository extends JpaRepository<OperationalEventLog, Long> {
+public interface OperationalEventLogRepository extends JpaRepository<OperationalEventLog, Long>, JpaSpecificationExecutor<OperationalEventLog> {
 
     Page<OperationalEventLog> findByTenantId(Long tenantId, Pageable pageable);
 
@@ -91,14 +93,21 @@ public interface OperationalEventLogRepository extends JpaRepository<Operational
             @Param("ate") LocalDateTime ate
     );
 
+    /*
+     * Queries da fila (diff/stream do device): limite inferior em created_at para o Postgres
+     * podar as partições mensais anteriores à janela de lookback (V20260815_01).
+     */
     @Query("""
             select max(e.id)
             from OperationalEventLog e
               join e.subPedido sp
             where e.tenant.id = :tenantId
               and sp.unidadeProducao.id = :unidadeProducaoId
+              and e.createdAt >= :createdFrom
             """)
-    Long maxIdByTenantAndUnidadeProducao(@Param("tenantId") Long tenantId, @Param("unidadeProducaoId") Long unidadeProducaoId);
+    Long maxIdByTenantAndUnidadeProducao(@Param("tenantId") Long tenantId,
+                                         @Param("unidadeProducaoId") Long unidadeProducaoId,
+                                         @Param("createdFrom") LocalDateTime createdFrom);
 
     @Query("""
             select e
@@ -107,12 +116,14 @@ public interface OperationalEventLogRepository extends JpaRepository<Operational
             where e.tenant.id = :tenantId
               and sp.unidadeProducao.id = :unidadeProducaoId
               and e.id > :sinceId
+              and e.createdAt >= :createdFrom
               and e.eventType in :types
             order by e.id asc
             """)
     List<OperationalEventLog> findFilaEventsAfter(@Param("tenantId") Long tenantId,
                                                  @Param("unidadeProducaoId") Long unidadeProducaoId,
                                                  @Param("sinceId") Long sinceId,
+                                                 @Param("createdFrom") LocalDateTime createdFrom,
                                                  @Param("types") Collection<OperationalEventType> types,
                                                  Pageable pageable);
 
@@ -123,11 +134,13 @@ public interface OperationalEventLogRepository extends JpaRepository<Operational
             where e.tenant.id = :tenantId
               and sp.unidadeProducao.id = :unidadeProducaoId
               and e.id > :sinceId
+              and e.createdAt >= :createdFrom
               and e.eventType in :types
             """)
     long countFilaEventsAfter(@Param("tenantId") Long tenantId,
                               @Param("unidadeProducaoId") Long unidadeProducaoId,
                               @Param("sinceId") Long sinceId,
+                              @Param("createdFrom") LocalDateTime createdFrom,
                               @Param("types") Collection<OperationalEventType> types);
 
     @Query("""
@@ -137,10 +150,38 @@ public interface OperationalEventLogRepository extends JpaRepository<Operational
             where e.id = :eventId
               and e.tenant.id = :tenantId
               and sp.unidadeProducao.id = :unidadeProducaoId
+              and e.createdAt >= :createdFrom
             """)
     boolean existsByIdAndTenantAndUnidadeProducao(@Param("eventId") Long eventId,
                                                  @Param("tenantId") Long tenantId,
-                                                 @Param("unidadeProducaoId") Long unidadeProducaoId);
+                                                 @Param("unidadeProducaoId") Long unidadeProducaoId,
+                                                 @Param("createdFrom") LocalDateTime createdFrom);
+
+    /**
+     * createdAt do evento-cursor da fila, sem limite temporal (lookup pelo id em cada partição): permite
+     * retomar um cursor mais antigo que a janela do diff.
+     */
+    @Query("""
+            select e.createdAt
+            from OperationalEventLog e
+              join e.subPedido sp
+            where e.id = :eventId
+              and e.tenant.id = :tenantId
+              and sp.unidadeProducao.id = :unidadeProducaoId
+            """)
+    Optional<LocalDateTime> findFilaEventCreatedAt(@Param("eventId") Long eventId,
+                                                   @Param("tenantId") Long tenantId,
+                                                   @Param("unidadeProducaoId") Long unidadeProducaoId);
+
+    @Query("""
+            select max(e.id)
+            from OperationalEventLog e
+              join e.subPedido sp
+            where e.tenant.id = :tenantId
+              and sp.unidadeProducao.id = :unidadeProducaoId
+            """)
+    Long maxIdByTenantAndUnidadeProducaoAllTime(@Param("tenantId") Long tenantId,
+                                                @Param("unidadeProducaoId") Long unidadeProducaoId);
 
     List<OperationalEventLog> findTop20ByTenantIdAndEntityTypeAndEntityIdOrderByCreatedAtDesc(Long tenantId, OperationalEntityType entityType, Long entityId);
 
@@ -4,6 +4,7 @@ import com.restaurante.model.entity.ProdutoImagem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +13,6 @@ public interface ProdutoImagemRepository extends JpaRepository<ProdutoImagem, Lo
     List<ProdutoImagem> findByProdutoIdOrderByOrdemAsc(Long produtoId);
 
     List<ProdutoImagem> findByTenantIdAndProdutoIdOrderByOrdemAsc(Long tenantId, Long produtoId);
+
+    List<ProdutoImagem> findByTenantIdAndProdutoIdInOrderByProdutoIdAscOrdemAsc(Long tenantId, Collection<Long> produtoIds);
 }
@@ -12,6 +12,7 @@ import java.util.Optional;
 import java.time.LocalDateTime;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import com.restaurante.repository.projection.ProdutoSearchProjection;
 import com.restaurante.repository.projection.SyncAggProjection;
 import java.util.Collection;
 import java.util.UUID;
@@ -123,4 +124,27 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     SyncAggProjection computeSyncAgg(@Param("tenantId") Long tenantId, @Param("includeInactive") boolean includeInactive);
 
     long countByTenantIdAndUpdatedAtAfter(Long tenantId, LocalDateTime updatedSince);
+
+    /**
+     * Produtos pesquisáveis (activos e disponíveis) do tenant, para montar o índice de pesquisa do cardápio.
+     */
+    @Query("""
+            select p.id as id, p.nome as nome, c.nome as categoriaNome
+            from Produto p left join p.categoriaProduto c
+            where p.tenant.id = :tenantId
+              and p.ativo = true and p.disponivel = true
+            """)
+    List<ProdutoSearchProjection> findSearchDocuments(@Param("tenantId") Long tenantId);
+
+    /**
+     * Recarga incremental do índice: só os produtos alterados que continuam pesquisáveis.
+     */
+    @Query("""
+            select p.id as id, p.nome as nome, c.nome as categoriaNome
+            from Produto p left join p.categoriaProduto c
+            where p.tenant.id = :tenantId
+              and p.id in :ids
+              and p.ativo = true and p.disponivel = true
+            """)
+    List<ProdutoSearchProjection> findSearchDocuments(@Param("tenantId") Long tenantId, @Param("ids") Collection<Long> ids);
 }
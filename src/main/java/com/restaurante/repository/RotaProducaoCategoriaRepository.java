@@ -10,6 +10,7 @@ import java.util.Optional;
 import java.time.LocalDateTime;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import com.restaurante.repository.projection.RotaProducaoRoutingProjection;
 import com.restaurante.repository.projection.SyncAggProjection;
 
 @Repository
@@ -28,6 +29,20 @@ public interface RotaProducaoCategoriaRepository extends JpaRepository<RotaProdu
 
     List<RotaProducaoCategoria> findByTenantIdAndAtivoTrue(Long tenantId);
 
+    /**
+     * Tabela de roteamento do tenant numa única query (só ids, sem carregar as entidades associadas).
+     */
+    @Query("""
+            select r.instituicao.id as instituicaoId,
+                   r.categoriaProduto.id as categoriaProdutoId,
+                   r.unidadeProducao.id as unidadeProducaoId,
+                   r.prioridade as prioridade
+            from RotaProducaoCategoria r
+            where r.tenant.id = :tenantId
+              and r.ativo = true
+            """)
+    List<RotaProducaoRoutingProjection> findRoutingTable(@Param("tenantId") Long tenantId);
+
     List<RotaProducaoCategoria> findByTenantIdAndUpdatedAtAfterOrderByUpdatedAtAsc(Long tenantId, LocalDateTime updatedSince);
 
     long countByTenantIdAndUpdatedAtAfter(Long tenantId, LocalDateTime updatedSince);
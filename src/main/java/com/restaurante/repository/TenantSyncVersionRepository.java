@@ -0,0 +1,20 @@
+package com.restaurante.repository;
+
+import com.restaurante.model.entity.TenantSyncVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TenantSyncVersionRepository extends JpaRepository<TenantSyncVersion, TenantSyncVersion.Key> {
+
+    @Query("""
+            select v.version
+            from TenantSyncVersion v
+            where v.tenantId = :tenantId
+              and v.domain = :domain
+              and v.scopeId = :scopeId
+            """)
+    Long findVersion(@Param("tenantId") Long tenantId, @Param("domain") String domain, @Param("scopeId") Long scopeId);
+}
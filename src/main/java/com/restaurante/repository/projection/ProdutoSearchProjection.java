@@ -0,0 +1,10 @@
+package com.restaurante.repository.projection;
+
+/**
+ * Campos de um produto usados pelo índice de pesquisa do cardápio (CatalogSearchIndex).
+ */
+public interface ProdutoSearchProjection {
+    Long getId();
+    String getNome();
+    String getCategoriaNome();
+}
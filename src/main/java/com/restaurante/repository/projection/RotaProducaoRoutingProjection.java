@@ -0,0 +1,11 @@
+package com.restaurante.repository.projection;
+
+/**
+ * Linha da tabela de roteamento de produção do tenant (rota activa categoria → unidade de produção).
+ */
+public interface RotaProducaoRoutingProjection {
+    Long getInstituicaoId();
+    Long getCategoriaProdutoId();
+    Long getUnidadeProducaoId();
+    Integer getPrioridade();
+}
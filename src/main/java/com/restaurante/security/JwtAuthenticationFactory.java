@@ -25,12 +25,20 @@ public class JwtAuthenticationFactory {
     private final JwtTokenProvider jwtTokenProvider;
 
     public Authentication buildAuthentication(String token) {
-        JwtPrincipal principal = buildPrincipal(token);
+        return buildAuthentication(jwtTokenProvider.verify(token));
+    }
+
+    public Authentication buildAuthentication(VerifiedJwtClaims verified) {
+        JwtPrincipal principal = buildPrincipal(verified);
         return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
     }
 
     public JwtPrincipal buildPrincipal(String token) {
-        Claims claims = jwtTokenProvider.getClaims(token);
+        return buildPrincipal(jwtTokenProvider.verify(token));
+    }
+
+    public JwtPrincipal buildPrincipal(VerifiedJwtClaims verified) {
+        Claims claims = verified.claims();
 
         String username = claims.getSubject();
         Long userId = claims.get("userId", Long.class);
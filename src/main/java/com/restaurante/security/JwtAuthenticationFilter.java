@@ -63,16 +63,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                if (jwtTokenProvider.requiresPasswordChange(jwt) && !isPasswordChangeRequest(request)) {
+            VerifiedJwtClaims claims = StringUtils.hasText(jwt)
+                    ? jwtTokenProvider.parseVerified(jwt).orElse(null)
+                    : null;
+
+            if (claims != null) {
+                // parse/verificação única: demais consumidores (ex.: TenantResolver) reutilizam os claims
+                request.setAttribute(VerifiedJwtClaims.REQUEST_ATTRIBUTE, claims);
+                if (claims.requiresPasswordChange() && !isPasswordChangeRequest(request)) {
                     response.setStatus(HttpServletResponse.SC_FORBIDDEN);
                     response.setContentType("application/json");
                     response.getWriter().write("{\"code\":\"PASSWORD_CHANGE_REQUIRED\",\"message\":\"Altere a palavra-passe temporária antes de continuar.\"}");
                     return;
                 }
-                boolean modern = jwtTokenProvider.hasModernClaims(jwt);
+                boolean modern = claims.hasModernClaims();
                 if (modern) {
-                    Authentication authentication = jwtAuthenticationFactory.buildAuthentication(jwt);
+                    Authentication authentication = jwtAuthenticationFactory.buildAuthentication(claims);
 
                     if (validateUserActive || strictUserValidation) {
                         Object principal = authentication.getPrincipal();
@@ -80,8 +86,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             jwtUserStatusValidator.validateUserStillActive(jp.getUserId());
                         } else if (strictUserValidation) {
                             // fallback conservador
-                            String username = jwtTokenProvider.getUsernameFromToken(jwt);
-                            customUserDetailsService.loadUserByUsername(username);
+                            customUserDetailsService.loadUserByUsername(claims.subject());
                         }
                     }
 
@@ -96,7 +101,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         filterChain.doFilter(request, response);
                         return;
                     }
-                    String username = jwtTokenProvider.getUsernameFromToken(jwt);
+                    String username = claims.subject();
 
                     UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
                     UsernamePasswordAuthenticationToken authentication =
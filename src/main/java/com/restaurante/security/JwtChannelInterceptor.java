@@ -46,9 +46,10 @@ public class JwtChannelInterceptor implements ChannelInterceptor {
                 
                 try {
                     // Validar token
-                    if (jwtTokenProvider.validateToken(token)) {
-                        String username = jwtTokenProvider.getUsernameFromToken(token);
-                        String roles = jwtTokenProvider.getRolesFromToken(token);
+                    VerifiedJwtClaims claims = jwtTokenProvider.parseVerified(token).orElse(null);
+                    if (claims != null) {
+                        String username = claims.subject();
+                        String roles = claims.roles();
                         
                         // Converter roles string para lista de authorities
                         List<SimpleGrantedAuthority> authorities = Arrays.stream(roles.split(","))
@@ -2,6 +2,7 @@ package com.restaurante.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -11,9 +12,11 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.util.List;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,6 +28,10 @@ import java.util.stream.Collectors;
  * - EM PRODUÇÃO: Usar variável de ambiente JWT_SECRET
  * - Expiração padrão: 1 hora (access token), 7 dias (refresh token)
  * - Algoritmo: HS256 (HMAC com SHA-256)
+ *
+ * Verificação: chave e parser são construídos uma vez; {@link #parseVerified(String)} devolve os claims
+ * verificados para serem repassados no request (sem re-parse). Opcionalmente os claims verificados ficam
+ * num cache limitado por digest do token até expirarem (consuma.security.jwt.claims-cache-*).
  */
 @Component
 @Slf4j
@@ -39,6 +46,27 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration:604800000}") // 7 dias em ms
     private long jwtRefreshExpiration;
 
+    @Value("${consuma.security.jwt.claims-cache-enabled:true}")
+    private boolean claimsCacheEnabled;
+
+    @Value("${consuma.security.jwt.claims-cache-ttl-seconds:300}")
+    private int claimsCacheTtlSeconds;
+
+    @Value("${consuma.security.jwt.claims-cache-max-entries:10000}")
+    private int claimsCacheMaxEntries;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private VerifiedJwtClaimsCache claimsCache;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.claimsCache = new VerifiedJwtClaimsCache(
+                claimsCacheEnabled, claimsCacheTtlSeconds, claimsCacheMaxEntries, Clock.systemUTC());
+    }
+
     public long getExpirationMs() {
         return jwtExpiration;
     }
@@ -261,41 +289,72 @@ public class JwtTokenProvider {
      * Extrai username do token
      */
     public String getUsernameFromToken(String token) {
-        return getClaims(token).getSubject();
+        return verify(token).subject();
     }
 
     /**
      * Extrai roles do token
      */
     public String getRolesFromToken(String token) {
-        return getClaims(token).get("roles", String.class);
+        return verify(token).roles();
     }
 
     public Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return verify(token).claims();
+    }
+
+    /**
+     * Faz parse e verificação (assinatura + expiração) uma única vez. Vazio se o token for inválido.
+     */
+    public Optional<VerifiedJwtClaims> parseVerified(String token) {
+        try {
+            return Optional.of(verify(token));
+        } catch (io.jsonwebtoken.security.SecurityException ex) {
+            log.error("Invalid JWT signature");
+        } catch (MalformedJwtException ex) {
+            log.error("Invalid JWT token");
+        } catch (ExpiredJwtException ex) {
+            log.error("Expired JWT token");
+        } catch (UnsupportedJwtException ex) {
+            log.error("Unsupported JWT token");
+        } catch (IllegalArgumentException ex) {
+            log.error("JWT claims string is empty");
+        } catch (JwtException ex) {
+            log.error("Invalid JWT token");
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Verifica o token (ou reaproveita claims já verificados em cache). Lança JwtException se inválido.
+     */
+    public VerifiedJwtClaims verify(String token) {
+        String digest = claimsCache.isEnabled() && token != null && !token.isBlank()
+                ? VerifiedJwtClaimsCache.digest(token)
+                : null;
+        VerifiedJwtClaims cached = claimsCache.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedJwtClaims verified = new VerifiedJwtClaims(parser.parseSignedClaims(token).getPayload());
+        claimsCache.put(digest, verified);
+        return verified;
     }
 
     public boolean hasModernClaims(String token) {
         try {
-            Claims c = getClaims(token);
-            return c.get("userId", Long.class) != null && c.get("roles", String.class) != null;
+            return verify(token).hasModernClaims();
         } catch (Exception e) {
             return false;
         }
     }
 
     public String getTokenType(String token) {
-        return getClaims(token).get("tokenType", String.class);
+        return verify(token).tokenType();
     }
 
     public boolean requiresPasswordChange(String token) {
-        Claims claims = getClaims(token);
-        return Boolean.TRUE.equals(claims.get("mustChangePassword", Boolean.class))
-                || Boolean.TRUE.equals(claims.get("passwordResetRequired", Boolean.class));
+        return verify(token).requiresPasswordChange();
     }
 
     /**
@@ -303,10 +362,7 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            verify(token);
             return true;
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
@@ -327,13 +383,7 @@ public class JwtTokenProvider {
      */
     public boolean isRefreshToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            return "refresh".equals(claims.get("type", String.class));
+            return verify(token).isRefreshToken();
         } catch (Exception e) {
             return false;
         }
@@ -343,7 +393,6 @@ public class JwtTokenProvider {
      * Obtém chave de assinatura
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 }
@@ -0,0 +1,73 @@
+package com.restaurante.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * Claims de um JWT cuja assinatura e expiração já foram verificadas por {@link JwtTokenProvider}.
+ *
+ * Produzido uma única vez por request (JwtAuthenticationFilter) e repassado a JwtAuthenticationFactory,
+ * JwtChannelInterceptor e TenantResolver, evitando re-parse/re-verificação HMAC do mesmo token.
+ * O payload do jjwt ({@link Claims}) é imutável.
+ */
+public final class VerifiedJwtClaims {
+
+    /** Atributo de request onde o filtro JWT publica os claims verificados do header Authorization. */
+    public static final String REQUEST_ATTRIBUTE = VerifiedJwtClaims.class.getName();
+
+    private final Claims claims;
+
+    VerifiedJwtClaims(Claims claims) {
+        this.claims = claims;
+    }
+
+    public Claims claims() {
+        return claims;
+    }
+
+    public String subject() {
+        return claims.getSubject();
+    }
+
+    public Long userId() {
+        return claims.get("userId", Long.class);
+    }
+
+    public String roles() {
+        return claims.get("roles", String.class);
+    }
+
+    public String tokenType() {
+        return claims.get("tokenType", String.class);
+    }
+
+    public <T> T get(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    public Object get(String name) {
+        return claims.get(name);
+    }
+
+    public Instant issuedAt() {
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+    }
+
+    public Instant expiresAt() {
+        return claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+    }
+
+    public boolean hasModernClaims() {
+        return userId() != null && roles() != null;
+    }
+
+    public boolean requiresPasswordChange() {
+        return Boolean.TRUE.equals(claims.get("mustChangePassword", Boolean.class))
+                || Boolean.TRUE.equals(claims.get("passwordResetRequired", Boolean.class));
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(claims.get("type", String.class));
+    }
+}
@@ -0,0 +1,52 @@
+package com.restaurante.security;
+
+import com.restaurante.security.crypto.CryptoPrimitives;
+import com.restaurante.util.BoundedCache;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Cache limitado de claims já verificados, indexado pelo SHA-256 do token (o token em si não é retido).
+ *
+ * Uma entrada nunca sobrevive à expiração do próprio token: o prazo é min(exp, agora + TTL).
+ * Tokens sem exp não entram no cache.
+ */
+final class VerifiedJwtClaimsCache {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final BoundedCache<String, VerifiedJwtClaims> entries;
+
+    VerifiedJwtClaimsCache(boolean enabled, int ttlSeconds, int maxEntries, Clock clock) {
+        this.enabled = enabled && ttlSeconds > 0 && maxEntries > 0;
+        this.ttlMillis = Math.max(0, ttlSeconds) * 1000L;
+        this.clock = clock;
+        this.entries = new BoundedCache<>(maxEntries, ttlMillis, clock);
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    VerifiedJwtClaims get(String digest) {
+        if (!enabled) return null;
+        return entries.get(digest);
+    }
+
+    void put(String digest, VerifiedJwtClaims claims) {
+        if (!enabled || claims == null) return;
+        Instant exp = claims.expiresAt();
+        if (exp == null) return;
+        entries.put(digest, claims, Math.min(exp.toEpochMilli(), clock.millis() + ttlMillis));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    static String digest(String token) {
+        return CryptoPrimitives.sha256Base64Url("jwt.claims-cache", token);
+    }
+}
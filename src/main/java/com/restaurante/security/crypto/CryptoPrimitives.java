@@ -0,0 +1,213 @@
+package com.restaurante.security.crypto;
+
+import com.restaurante.util.BoundedCache;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Primitivas SHA-256 / HMAC-SHA256 partilhadas pelos caminhos de hash da aplicação.
+ *
+ * - MessageDigest e Mac reutilizados a partir de pools partilhados e limitados, em vez de getInstance por
+ *   chamada. Não se usa ThreadLocal: com executores de virtual threads (uma thread por tarefa) cada
+ *   chamada teria uma instância nova. Pool vazio cria uma instância; pool cheio descarta a devolvida.
+ * - Mac já inicializado por secret: o key schedule do HMAC é feito uma vez por chave (uma versão de
+ *   chave = um secret). Os pools por secret ficam num cache LRU pequeno para não crescer com secrets rodados.
+ * - Hex minúsculo e base64url sem padding sem String.format nem StringBuilder por byte.
+ * - Contadores por call-site (operações e tempo), publicados em Micrometer por CryptoPrimitivesMetrics.
+ *
+ * Cada instância é retirada do pool durante uma única operação (digest/doFinal), por isso nunca é
+ * partilhada entre threads em simultâneo.
+ */
+public final class CryptoPrimitives {
+
+    private static final String SHA_256 = "SHA-256";
+    private static final String HMAC_SHA_256 = "HmacSHA256";
+    private static final int MAX_SECRETS = 16;
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ArrayBlockingQueue<MessageDigest> SHA256 = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final BoundedCache<String, ArrayBlockingQueue<Mac>> HMAC_SHA256 =
+            new BoundedCache<>(MAX_SECRETS, 0, Clock.systemUTC());
+
+    private static final Map<String, CallSiteStats> STATS = new ConcurrentHashMap<>();
+    private static volatile Consumer<CallSiteStats> newCallSiteListener;
+
+    private CryptoPrimitives() {}
+
+    // ── SHA-256 ─────────────────────────────────────────────────────────────
+
+    public static byte[] sha256(String callSite, byte[] input) {
+        long start = System.nanoTime();
+        MessageDigest md = SHA256.poll();
+        if (md == null) md = newDigest(SHA_256);
+        byte[] out;
+        try {
+            out = md.digest(input);
+        } finally {
+            md.reset();
+            SHA256.offer(md);
+        }
+        record(callSite, start);
+        return out;
+    }
+
+    public static byte[] sha256(String callSite, String input) {
+        return sha256(callSite, utf8(input));
+    }
+
+    public static String sha256Hex(String callSite, String input) {
+        return hex(sha256(callSite, input));
+    }
+
+    public static String sha256Base64Url(String callSite, String input) {
+        return base64Url(sha256(callSite, input));
+    }
+
+    // ── HMAC-SHA256 ─────────────────────────────────────────────────────────
+
+    public static byte[] hmacSha256(String callSite, String secret, byte[] message) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("Secret HMAC ausente.");
+        }
+        long start = System.nanoTime();
+        ArrayBlockingQueue<Mac> pool = macPool(secret);
+        Mac mac = pool.poll();
+        if (mac == null) mac = newMac(secret);
+        byte[] out;
+        try {
+            out = mac.doFinal(message);
+        } finally {
+            mac.reset();
+            pool.offer(mac);
+        }
+        record(callSite, start);
+        return out;
+    }
+
+    public static byte[] hmacSha256(String callSite, String secret, String message) {
+        return hmacSha256(callSite, secret, utf8(message));
+    }
+
+    public static String hmacSha256Hex(String callSite, String secret, String message) {
+        return hex(hmacSha256(callSite, secret, message));
+    }
+
+    public static String hmacSha256Base64Url(String callSite, String secret, String message) {
+        return base64Url(hmacSha256(callSite, secret, message));
+    }
+
+    // ── Encoding / comparação ──────────────────────────────────────────────
+
+    public static String hex(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0, j = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xFF;
+            out[j++] = HEX[v >>> 4];
+            out[j++] = HEX[v & 0x0F];
+        }
+        return new String(out);
+    }
+
+    public static String base64Url(byte[] bytes) {
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    /**
+     * Comparação em tempo constante (para assinaturas em hex/base64).
+     */
+    public static boolean constantTimeEquals(String a, String b) {
+        if (a == null || b == null) return false;
+        return MessageDigest.isEqual(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ── Métricas ────────────────────────────────────────────────────────────
+
+    public static Map<String, CallSiteStats> callSiteStats() {
+        return Map.copyOf(STATS);
+    }
+
+    static void onNewCallSite(Consumer<CallSiteStats> listener) {
+        newCallSiteListener = listener;
+    }
+
+    public static final class CallSiteStats {
+        private final String callSite;
+        private final LongAdder operations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        CallSiteStats(String callSite) {
+            this.callSite = callSite;
+        }
+
+        public String callSite() {
+            return callSite;
+        }
+
+        public long operations() {
+            return operations.sum();
+        }
+
+        public long totalNanos() {
+            return totalNanos.sum();
+        }
+    }
+
+    // ── Internos ────────────────────────────────────────────────────────────
+
+    private static ArrayBlockingQueue<Mac> macPool(String secret) {
+        ArrayBlockingQueue<Mac> pool = HMAC_SHA256.get(secret);
+        if (pool == null) {
+            // Corrida benigna: duas threads podem criar pools distintos; o perdedor só deixa de ser reutilizado.
+            pool = new ArrayBlockingQueue<>(POOL_SIZE);
+            HMAC_SHA256.put(secret, pool);
+        }
+        return pool;
+    }
+
+    private static Mac newMac(String secret) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA_256);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_SHA_256));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponível.", e);
+        }
+    }
+
+    private static void record(String callSite, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        CallSiteStats stats = STATS.get(callSite);
+        if (stats == null) {
+            stats = STATS.computeIfAbsent(callSite, CallSiteStats::new);
+            Consumer<CallSiteStats> listener = newCallSiteListener;
+            if (listener != null) listener.accept(stats);
+        }
+        stats.operations.increment();
+        stats.totalNanos.add(elapsed);
+    }
+
+    private static byte[] utf8(String s) {
+        return String.valueOf(s).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(algorithm + " indisponível.", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.restaurante.security.crypto;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica os contadores de CryptoPrimitives em Micrometer:
+ * consuma.crypto.hash{callSite} (FunctionTimer: operações e tempo total).
+ */
+@Component
+public class CryptoPrimitivesMetrics {
+
+    private final MeterRegistry registry;
+
+    public CryptoPrimitivesMetrics(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
+    @PostConstruct
+    void bind() {
+        CryptoPrimitives.onNewCallSite(this::register);
+        CryptoPrimitives.callSiteStats().values().forEach(this::register);
+    }
+
+    private void register(CryptoPrimitives.CallSiteStats stats) {
+        FunctionTimer.builder("consuma.crypto.hash", stats,
+                        CryptoPrimitives.CallSiteStats::operations,
+                        s -> (double) s.totalNanos(),
+                        TimeUnit.NANOSECONDS)
+                .tag("callSite", stats.callSite())
+                .description("Operações SHA-256/HMAC-SHA256 por call-site")
+                .register(registry);
+    }
+}
@@ -0,0 +1,107 @@
+package com.restaurante.security.device;
+
+import com.restaurante.config.DeviceProperties;
+import com.restaurante.service.metrics.DeviceSyncMetricsService;
+import com.restaurante.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Optional;
+
+/**
+ * Cache em memória (por nó) de {@link DevicePrincipal} indexado pelo hash do device token.
+ *
+ * Regras:
+ * - Apenas principals autenticados com sucesso (device ATIVO, tenant ATIVO) entram no cache.
+ * - TTL curto ({@code consuma.device.auth-cache-ttl-seconds}) limita a janela de staleness para
+ *   alterações feitas fora da aplicação (ex.: SQL manual de suspensão de tenant).
+ * - Revogação/suspensão, rotação de token, troca de unidade, alteração de capabilities e mudança de
+ *   estado da BusinessAccount (todos os tenants da conta) invalidam explicitamente: imediatamente e
+ *   novamente após o commit, para que um request concorrente não repovoe o cache com o estado anterior
+ *   ao commit.
+ * - Limite de entradas ({@code consuma.device.auth-cache-max-entries}); armazenamento, TTL e descarte
+ *   em {@link BoundedCache}.
+ * - Cada invalidação publica {@link DevicePrincipalInvalidatedEvent} (mesmo com o cache desligado), para
+ *   fechar streams abertos com o principal anterior.
+ */
+@Component
+public class DevicePrincipalCache {
+
+    private final boolean enabled;
+    private final DeviceSyncMetricsService metrics;
+    private final ApplicationEventPublisher events;
+    private final BoundedCache<String, DevicePrincipal> entries;
+
+    @Autowired
+    public DevicePrincipalCache(DeviceProperties deviceProperties,
+                                DeviceSyncMetricsService metrics,
+                                ApplicationEventPublisher events) {
+        this(deviceProperties.isAuthCacheEnabled(),
+                deviceProperties.getAuthCacheTtlSeconds(),
+                deviceProperties.getAuthCacheMaxEntries(),
+                Clock.systemUTC(),
+                metrics,
+                events);
+    }
+
+    DevicePrincipalCache(boolean enabled, int ttlSeconds, int maxEntries, Clock clock, DeviceSyncMetricsService metrics) {
+        this(enabled, ttlSeconds, maxEntries, clock, metrics, event -> { });
+    }
+
+    DevicePrincipalCache(boolean enabled, int ttlSeconds, int maxEntries, Clock clock,
+                         DeviceSyncMetricsService metrics, ApplicationEventPublisher events) {
+        this.enabled = enabled && ttlSeconds > 0 && maxEntries > 0;
+        this.metrics = metrics;
+        this.events = events;
+        this.entries = new BoundedCache<>(maxEntries, Math.max(0, ttlSeconds) * 1000L, clock,
+                (cause, count) -> metrics.recordDeviceAuthCache(cause.name()));
+    }
+
+    public Optional<DevicePrincipal> get(String tokenHash) {
+        if (!enabled || tokenHash == null) return Optional.empty();
+        DevicePrincipal principal = entries.get(tokenHash);
+        metrics.recordDeviceAuthCache(principal != null ? "HIT" : "MISS");
+        return Optional.ofNullable(principal);
+    }
+
+    /**
+     * Geração corrente; deve ser lida antes de carregar o principal do banco. {@link #put} descarta o
+     * valor se alguma invalidação ocorreu entretanto (evita repovoar com estado anterior a uma revogação).
+     */
+    public long currentGeneration() {
+        return entries.currentGeneration();
+    }
+
+    public void put(String tokenHash, DevicePrincipal principal, long loadedAtGeneration) {
+        if (!enabled) return;
+        entries.putIfCurrent(tokenHash, principal, loadedAtGeneration);
+    }
+
+    public void invalidateDevice(Long dispositivoId) {
+        if (dispositivoId == null) return;
+        invalidateMatching(new DevicePrincipalInvalidatedEvent(null, dispositivoId));
+    }
+
+    public void invalidateTenant(Long tenantId) {
+        if (tenantId == null) return;
+        invalidateMatching(new DevicePrincipalInvalidatedEvent(tenantId, null));
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+        events.publishEvent(new DevicePrincipalInvalidatedEvent(null, null));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void invalidateMatching(DevicePrincipalInvalidatedEvent event) {
+        if (enabled) {
+            entries.invalidateIfAcrossCompletion((hash, principal) -> event.matches(principal));
+        }
+        events.publishEvent(event);
+    }
+}
@@ -0,0 +1,21 @@
+package com.restaurante.security.device;
+
+import lombok.Value;
+
+/**
+ * Publicado por {@link DevicePrincipalCache} ao invalidar principals (device, tenant ou todos), para que
+ * ligações de longa duração (streams SSE) abertas com o principal anterior sejam fechadas.
+ *
+ * tenantId/dispositivoId nulos: abrange todos.
+ */
+@Value
+public class DevicePrincipalInvalidatedEvent {
+    Long tenantId;
+    Long dispositivoId;
+
+    public boolean matches(DevicePrincipal principal) {
+        if (principal == null) return false;
+        if (tenantId != null && !tenantId.equals(principal.tenantId())) return false;
+        return dispositivoId == null || dispositivoId.equals(principal.dispositivoId());
+    }
+}
@@ -0,0 +1,296 @@
+package com.restaurante.security.ratelimit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rate limiter em memória (por nó), concorrente e sem monitor global.
+ *
+ * - Cada chave tem o seu bucket; o estado é atualizado por CAS, portanto só pedidos da mesma chave competem.
+ * - Expiração amortizada por timing wheel: cada bucket está agendado num slot; ao avançar o relógio, apenas
+ *   os slots vencidos são drenados (buckets ociosos há mais de um período são equivalentes a um bucket novo).
+ * - Número de chaves limitado: ao exceder maxKeys, descarta-se a menos recente de uma pequena amostra
+ *   (LRU aproximado, sem lista de acesso no caminho de leitura).
+ *
+ * Reutilizável por discovery, OTP e endpoints públicos; não confia em cabeçalhos do cliente — a chave é
+ * responsabilidade de quem chama.
+ */
+public final class ConcurrentRateLimiter {
+
+    private static final int WHEEL_SLOTS = 64;
+    private static final int EVICTION_SAMPLE = 16;
+
+    private final RateLimitMode mode;
+    private final int limit;
+    private final long windowMillis;
+    private final int maxKeys;
+    private final Clock clock;
+    private final long idleTtlMillis;
+    private final long tickMillis;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    @SuppressWarnings("unchecked")
+    private final Queue<Scheduled>[] wheel = new Queue[WHEEL_SLOTS];
+    private final AtomicLong wheelTick;
+
+    public ConcurrentRateLimiter(RateLimitMode mode, int limit, Duration window, int maxKeys, Clock clock) {
+        if (mode == null || limit < 1 || window == null || window.toMillis() < 1 || maxKeys < 1 || clock == null) {
+            throw new IllegalArgumentException("Rate-limit configuration must be positive.");
+        }
+        this.mode = mode;
+        this.limit = limit;
+        this.windowMillis = window.toMillis();
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        // janela deslizante ainda pondera a janela anterior: precisa de dois períodos de histórico
+        this.idleTtlMillis = mode == RateLimitMode.SLIDING_WINDOW ? 2 * windowMillis : windowMillis;
+        this.tickMillis = Math.max(1L, idleTtlMillis / (WHEEL_SLOTS / 2));
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.wheelTick = new AtomicLong(clock.millis() / tickMillis);
+    }
+
+    public RateLimitDecision acquire(String key) {
+        long now = clock.millis();
+        advanceWheel(now);
+        Bucket bucket = bucketFor(key, now);
+        bucket.lastAccessMillis = now;
+        return switch (mode) {
+            case FIXED_WINDOW -> acquireFixed(bucket, now);
+            case SLIDING_WINDOW -> acquireSliding(bucket, now);
+            case TOKEN_BUCKET -> acquireToken(bucket, now);
+        };
+    }
+
+    /**
+     * Contagem corrente da chave sem consumir (FIXED: janela corrente; SLIDING: estimativa arredondada para
+     * cima). Para quem decide e regista em momentos distintos, ex.: OTP só conta envios que passaram a
+     * validação completa.
+     */
+    public long count(String key) {
+        requireCounting();
+        long now = clock.millis();
+        advanceWheel(now);
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) return 0;
+        long window = Math.floorDiv(now, windowMillis);
+        State s = rollTo(bucket.state.get(), window);
+        if (mode == RateLimitMode.FIXED_WINDOW) return s.current();
+        double overlap = 1.0 - (double) (now - window * windowMillis) / windowMillis;
+        return (long) Math.ceil(s.previous() * overlap + s.current());
+    }
+
+    /**
+     * Regista uma ocorrência incondicionalmente (sem aplicar o limite); complemento de {@link #count}.
+     */
+    public void record(String key) {
+        requireCounting();
+        long now = clock.millis();
+        advanceWheel(now);
+        Bucket bucket = bucketFor(key, now);
+        bucket.lastAccessMillis = now;
+        long window = Math.floorDiv(now, windowMillis);
+        while (true) {
+            State s = bucket.state.get();
+            State rolled = rollTo(s, window);
+            if (bucket.state.compareAndSet(s, new State(window, rolled.previous(), rolled.current() + 1, 0))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drena a wheel até agora sem pedido associado; para chamadores com pouco tráfego (purga agendada).
+     */
+    public void expireIdle() {
+        advanceWheel(clock.millis());
+    }
+
+    public int trackedKeys() {
+        return buckets.size();
+    }
+
+    private Bucket bucketFor(String key, long now) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> newBucket(k, now));
+            if (buckets.size() > maxKeys) {
+                evictSample(key);
+            }
+        }
+        return bucket;
+    }
+
+    private void requireCounting() {
+        if (mode == RateLimitMode.TOKEN_BUCKET) {
+            throw new UnsupportedOperationException("count/record require FIXED_WINDOW or SLIDING_WINDOW.");
+        }
+    }
+
+    private static State rollTo(State s, long window) {
+        if (s.window() == window) return s;
+        if (s.window() == window - 1) return new State(window, s.current(), 0, 0);
+        return new State(window, 0, 0, 0);
+    }
+
+    private RateLimitDecision acquireFixed(Bucket bucket, long now) {
+        long window = Math.floorDiv(now, windowMillis);
+        long retryAfter = secondsCeil((window + 1) * windowMillis - now);
+        while (true) {
+            State s = bucket.state.get();
+            long count = s.window() == window ? s.current() : 0;
+            if (count >= limit) {
+                return new RateLimitDecision(limit, 0, retryAfter, false);
+            }
+            if (bucket.state.compareAndSet(s, new State(window, 0, count + 1, 0))) {
+                return new RateLimitDecision(limit, (int) (limit - count - 1), retryAfter, true);
+            }
+        }
+    }
+
+    private RateLimitDecision acquireSliding(Bucket bucket, long now) {
+        long window = Math.floorDiv(now, windowMillis);
+        long elapsed = now - window * windowMillis;
+        double overlap = 1.0 - (double) elapsed / windowMillis;
+        while (true) {
+            State s = bucket.state.get();
+            State rolled = rollTo(s, window);
+            long previous = rolled.previous();
+            long current = rolled.current();
+            double estimate = previous * overlap + current;
+            if (estimate + 1 > limit) {
+                return new RateLimitDecision(limit, 0, slidingRetryAfter(previous, current, elapsed), false);
+            }
+            if (bucket.state.compareAndSet(s, new State(window, previous, current + 1, 0))) {
+                int remaining = (int) Math.max(0, Math.floor(limit - estimate - 1));
+                return new RateLimitDecision(limit, remaining, secondsCeil(windowMillis - elapsed), true);
+            }
+        }
+    }
+
+    /**
+     * Menor espera até que previous*(1-f) + current + 1 <= limit, considerando também a virada da janela.
+     */
+    private long slidingRetryAfter(long previous, long current, long elapsed) {
+        if (current + 1 <= limit && previous > 0) {
+            double f = 1.0 - (double) (limit - current - 1) / previous;
+            return secondsCeil((long) Math.ceil(f * windowMillis) - elapsed);
+        }
+        long untilRoll = windowMillis - elapsed;
+        double next = current == 0 ? 0 : Math.max(0, 1.0 - (double) (limit - 1) / current);
+        return secondsCeil(untilRoll + (long) Math.ceil(next * windowMillis));
+    }
+
+    private RateLimitDecision acquireToken(Bucket bucket, long now) {
+        double refillPerMilli = (double) limit / windowMillis;
+        while (true) {
+            State s = bucket.state.get();
+            long elapsed = Math.max(0, now - s.window());
+            double tokens = Math.min(limit, Double.longBitsToDouble(s.tokensBits()) + elapsed * refillPerMilli);
+            if (tokens < 1) {
+                long wait = (long) Math.ceil((1 - tokens) / refillPerMilli);
+                return new RateLimitDecision(limit, 0, secondsCeil(wait), false);
+            }
+            double after = tokens - 1;
+            State next = new State(Math.max(now, s.window()), 0, 0, Double.doubleToRawLongBits(after));
+            if (bucket.state.compareAndSet(s, next)) {
+                long refillOne = after >= 1 ? 0 : (long) Math.ceil((1 - after) / refillPerMilli);
+                return new RateLimitDecision(limit, (int) Math.floor(after), secondsCeil(refillOne), true);
+            }
+        }
+    }
+
+    private Bucket newBucket(String key, long now) {
+        State initial = mode == RateLimitMode.TOKEN_BUCKET
+                ? new State(now, 0, 0, Double.doubleToRawLongBits(limit))
+                : new State(Long.MIN_VALUE, 0, 0, 0);
+        Bucket bucket = new Bucket(initial, now);
+        schedule(new Scheduled(key, bucket), now + idleTtlMillis);
+        return bucket;
+    }
+
+    private void schedule(Scheduled entry, long dueMillis) {
+        long tick = Math.max(dueMillis / tickMillis, wheelTick.get() + 1);
+        wheel[(int) Math.floorMod(tick, WHEEL_SLOTS)].add(entry);
+    }
+
+    /**
+     * Avança a wheel até o tick corrente; um único thread drena cada intervalo (CAS em wheelTick).
+     */
+    private void advanceWheel(long now) {
+        long target = now / tickMillis;
+        long previous = wheelTick.get();
+        if (target <= previous || !wheelTick.compareAndSet(previous, target)) {
+            return;
+        }
+        long last = Math.min(target, previous + WHEEL_SLOTS);
+        for (long tick = previous + 1; tick <= last; tick++) {
+            drainSlot(wheel[(int) Math.floorMod(tick, WHEEL_SLOTS)], now);
+        }
+    }
+
+    private void drainSlot(Queue<Scheduled> slot, long now) {
+        // limita ao tamanho atual: reagendamentos para o mesmo slot ficam para a próxima volta
+        for (int i = slot.size(); i > 0; i--) {
+            Scheduled entry = slot.poll();
+            if (entry == null) return;
+            if (buckets.get(entry.key()) != entry.bucket()) {
+                continue; // chave já removida/recriada; o bucket novo tem o seu próprio agendamento
+            }
+            long due = entry.bucket().lastAccessMillis + idleTtlMillis;
+            if (due <= now) {
+                buckets.remove(entry.key(), entry.bucket());
+            } else {
+                schedule(entry, due);
+            }
+        }
+    }
+
+    private void evictSample(String keep) {
+        Iterator<Map.Entry<String, Bucket>> it = buckets.entrySet().iterator();
+        String oldestKey = null;
+        Bucket oldest = null;
+        for (int i = 0; i < EVICTION_SAMPLE && it.hasNext(); i++) {
+            Map.Entry<String, Bucket> e = it.next();
+            if (e.getKey().equals(keep)) continue;
+            if (oldest == null || e.getValue().lastAccessMillis < oldest.lastAccessMillis) {
+                oldestKey = e.getKey();
+                oldest = e.getValue();
+            }
+        }
+        if (oldestKey != null) {
+            buckets.remove(oldestKey, oldest);
+        }
+    }
+
+    private static long secondsCeil(long millis) {
+        return Math.max(1L, (millis + 999) / 1000);
+    }
+
+    /**
+     * window: índice da janela (FIXED/SLIDING) ou instante do último refill (TOKEN_BUCKET).
+     */
+    private record State(long window, long previous, long current, long tokensBits) {
+    }
+
+    private static final class Bucket {
+        private final AtomicReference<State> state;
+        private volatile long lastAccessMillis;
+
+        private Bucket(State initial, long now) {
+            this.state = new AtomicReference<>(initial);
+            this.lastAccessMillis = now;
+        }
+    }
+
+    private record Scheduled(String key, Bucket bucket) {
+    }
+}
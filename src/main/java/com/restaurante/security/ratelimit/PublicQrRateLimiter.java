@@ -0,0 +1,63 @@
+package com.restaurante.security.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Limite por nó dos endpoints públicos por QR (/public/q/**), por endereço remoto e operação.
+ *
+ * - Leituras (resolver, cardápio, métodos de pagamento, consulta de pedido) e escritas (criar pedido,
+ *   iniciar pagamento) têm buckets separados; escritas têm limite bem mais baixo.
+ * - Token bucket sobre {@link ConcurrentRateLimiter}: tolera rajadas de uma mesa inteira a abrir o cardápio
+ *   e não serializa pedidos de endereços diferentes.
+ * - Usa apenas {@code request.getRemoteAddr()}; cabeçalhos do cliente (X-Forwarded-For) não são confiáveis
+ *   aqui — atrás de proxy, o endereço real deve chegar via {@code server.forward-headers-strategy}.
+ */
+@Component
+public class PublicQrRateLimiter {
+
+    private static final String REASON = "Muitos pedidos. Aguarde alguns instantes e tente novamente.";
+
+    private final boolean enabled;
+    private final ConcurrentRateLimiter reads;
+    private final ConcurrentRateLimiter writes;
+
+    @Autowired
+    public PublicQrRateLimiter(
+            @Value("${consuma.public-qr.rate-limit-enabled:true}") boolean enabled,
+            @Value("${consuma.public-qr.rate-limit-reads-per-minute:300}") int readsPerMinute,
+            @Value("${consuma.public-qr.rate-limit-writes-per-minute:30}") int writesPerMinute,
+            @Value("${consuma.public-qr.rate-limit-max-keys:20000}") int maxKeys
+    ) {
+        this(enabled, readsPerMinute, writesPerMinute, maxKeys, Clock.systemUTC());
+    }
+
+    PublicQrRateLimiter(boolean enabled, int readsPerMinute, int writesPerMinute, int maxKeys, Clock clock) {
+        this.enabled = enabled;
+        this.reads = new ConcurrentRateLimiter(RateLimitMode.TOKEN_BUCKET, readsPerMinute, Duration.ofMinutes(1), maxKeys, clock);
+        this.writes = new ConcurrentRateLimiter(RateLimitMode.TOKEN_BUCKET, writesPerMinute, Duration.ofMinutes(1), maxKeys, clock);
+    }
+
+    public void checkRead(HttpServletRequest request, String operation) {
+        check(reads, request, operation);
+    }
+
+    public void checkWrite(HttpServletRequest request, String operation) {
+        check(writes, request, operation);
+    }
+
+    private void check(ConcurrentRateLimiter limiter, HttpServletRequest request, String operation) {
+        if (!enabled) return;
+        String remote = request.getRemoteAddr();
+        String key = operation + "|" + (remote == null || remote.isBlank() ? "unknown" : remote);
+        RateLimitDecision decision = limiter.acquire(key);
+        if (!decision.allowed()) {
+            throw new RateLimitExceededException(REASON, decision.retryAfterSeconds());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.restaurante.security.ratelimit;
+
+/**
+ * Resultado de {@link ConcurrentRateLimiter#acquire(String)}.
+ * retryAfterSeconds: quando negado, segundos até haver nova permissão; quando permitido, dica de reset.
+ */
+public record RateLimitDecision(int limit, int remaining, long retryAfterSeconds, boolean allowed) {
+}
@@ -0,0 +1,13 @@
+package com.restaurante.security.ratelimit;
+
+/**
+ * Algoritmo aplicado por {@link ConcurrentRateLimiter}.
+ */
+public enum RateLimitMode {
+    /** Janela fixa alinhada ao relógio (ex.: minuto corrente); reset abrupto no fim da janela. */
+    FIXED_WINDOW,
+    /** Contador de janela deslizante aproximada (janela anterior ponderada pela sobreposição). */
+    SLIDING_WINDOW,
+    /** Token bucket: capacidade = limite, reposição contínua de limite/janela. */
+    TOKEN_BUCKET
+}
@@ -0,0 +1,101 @@
+package com.restaurante.security.tenant;
+
+import com.restaurante.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Cache em memória (por nó) do resultado da validação de um JWT TENANT em {@link TenantResolver}:
+ * (tenantId, userId) → tenantCode + accessVersion corrente, apenas para combinações já validadas como
+ * elegíveis (tenant ATIVO, membership ATIVA, BusinessAccount/subscrição operacionais).
+ *
+ * Regras:
+ * - Negativos nunca entram no cache (novas memberships/ativações passam a valer de imediato).
+ * - Bump de accessVersion invalida o par (tenantId, userId): imediatamente e novamente após o commit,
+ *   para que tokens antigos recebam TENANT_TOKEN_STALE logo após o bump.
+ * - Alterações de estado de tenant/BusinessAccount invalidam o tenant (ou tudo).
+ * - As invalidações são locais ao nó: não há sinal entre nós. Uma revogação feita noutro nó (ou fora da
+ *   aplicação) só é vista aqui quando a entrada expira, portanto o TTL
+ *   ({@code consuma.security.tenant-token.access-cache-ttl-seconds}, default 5s) é o limite máximo de
+ *   staleness e deve permanecer na ordem de poucos segundos.
+ */
+@Component
+public class TenantAccessCache {
+
+    private final boolean enabled;
+    private final BoundedCache<Key, Access> entries;
+
+    @Autowired
+    public TenantAccessCache(
+            @Value("${consuma.security.tenant-token.access-cache-enabled:true}") boolean enabled,
+            @Value("${consuma.security.tenant-token.access-cache-ttl-seconds:5}") int ttlSeconds,
+            @Value("${consuma.security.tenant-token.access-cache-max-entries:10000}") int maxEntries
+    ) {
+        this(enabled, ttlSeconds, maxEntries, Clock.systemUTC());
+    }
+
+    TenantAccessCache(boolean enabled, int ttlSeconds, int maxEntries, Clock clock) {
+        this.enabled = enabled && ttlSeconds > 0 && maxEntries > 0;
+        this.entries = new BoundedCache<>(maxEntries, Math.max(0, ttlSeconds) * 1000L, clock);
+    }
+
+    public static TenantAccessCache disabled() {
+        return new TenantAccessCache(false, 0, 0, Clock.systemUTC());
+    }
+
+    public Optional<Access> get(Long tenantId, Long userId) {
+        if (!enabled || tenantId == null || userId == null) return Optional.empty();
+        return Optional.ofNullable(entries.get(new Key(tenantId, userId)));
+    }
+
+    /**
+     * Geração corrente; deve ser lida antes de consultar o banco. {@link #put} descarta o valor se
+     * alguma invalidação ocorreu entretanto.
+     */
+    public long currentGeneration() {
+        return entries.currentGeneration();
+    }
+
+    public void put(Long tenantId, Long userId, Access access, long loadedAtGeneration) {
+        if (!enabled || tenantId == null || userId == null) return;
+        entries.putIfCurrent(new Key(tenantId, userId), access, loadedAtGeneration);
+    }
+
+    public void invalidateMembership(Long tenantId, Long userId) {
+        if (tenantId == null || userId == null) return;
+        Key key = new Key(tenantId, userId);
+        invalidateMatching(key::equals);
+    }
+
+    public void invalidateTenant(Long tenantId) {
+        if (tenantId == null) return;
+        invalidateMatching(k -> tenantId.equals(k.tenantId()));
+    }
+
+    public void invalidateAll() {
+        invalidateMatching(k -> true);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void invalidateMatching(Predicate<Key> predicate) {
+        if (!enabled) return;
+        entries.invalidateIfAcrossCompletion((key, access) -> predicate.test(key));
+    }
+
+    /**
+     * Estado validado de (tenant, user): tenantCode e accessVersion corrente (null se a versão não foi exigida).
+     */
+    public record Access(String tenantCode, Integer accessVersion) {
+    }
+
+    private record Key(Long tenantId, Long userId) {
+    }
+}
@@ -11,6 +11,7 @@ import com.restaurante.repository.TenantUserAccessVersionRepository;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.repository.TenantUserRepository;
 import com.restaurante.security.JwtTokenProvider;
+import com.restaurante.security.VerifiedJwtClaims;
 import com.restaurante.security.device.DevicePrincipal;
 import com.restaurante.exception.TenantTokenStaleException;
 import com.restaurante.service.security.OperationalTenantEligibilityService;
@@ -49,6 +50,7 @@ public class TenantResolver {
     private final ObjectProvider<JwtTokenProvider> jwtTokenProviderProvider;
     private final ObjectProvider<TenantUserAccessVersionRepository> tenantUserAccessVersionRepositoryProvider;
     private final OperationalTenantEligibilityService operationalEligibility;
+    private final TenantAccessCache accessCache;
 
     @Value("${consuma.security.tenant-token.require-access-version:true}")
     private boolean requireAccessVersion;
@@ -283,13 +285,11 @@ public class TenantResolver {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             return Optional.empty();
         }
-        String token = authHeader.substring(7);
-        JwtTokenProvider jwtTokenProvider = jwtTokenProviderProvider.getIfAvailable();
-        if (jwtTokenProvider == null) {
-            return Optional.empty();
-        }
         try {
-            var claims = jwtTokenProvider.getClaims(token);
+            VerifiedJwtClaims claims = verifiedClaims(request, authHeader.substring(7));
+            if (claims == null) {
+                return Optional.empty();
+            }
             String tokenType = claims.get("tokenType", String.class);
             if (!"TENANT".equals(tokenType)) {
                 return Optional.empty();
@@ -308,37 +308,53 @@ public class TenantResolver {
 
             assertHeadersDoNotOverrideTenantToken(request, tenantId, tenantCode);
 
-            // Segurança: valida tenant ATIVO e membership (aceita qualquer estado para poder rejeitar com 403)
-            Tenant tenant = requireActiveTenant(tenantId);
-            TenantUserRepository tenantUserRepository = requireTenantUserRepository();
-            List<TenantUser> activeMemberships = tenantUserRepository.findAllByTenantIdAndUserIdAndEstado(
-                    tenant.getId(), userId, TenantUserEstado.ATIVO);
-            if (activeMemberships.isEmpty() && !tenantTokenPlatformAdmin) {
-                // Verificar se existe membership com estado diferente de ATIVO (SUSPENSO, INATIVO)
-                boolean existsAny = tenantUserRepository.existsByTenantIdAndUserId(tenant.getId(), userId);
-                if (existsAny) {
-                    // Membership existe mas está suspensa/inactiva → 403
-                    throw new com.restaurante.exception.TenantAccessDeniedException(
-                            "MEMBERSHIP_NOT_ACTIVE",
-                            "Acesso negado: membership não está activa para este tenant."
-                    );
+            // Hot path: (tenant, user) já validado como elegível neste nó; bumps de accessVersion invalidam.
+            TenantAccessCache.Access access = tenantTokenPlatformAdmin
+                    ? null
+                    : accessCache.get(tenantId, userId).orElse(null);
+            if (access == null) {
+                long generation = accessCache.currentGeneration();
+
+                // Segurança: valida tenant ATIVO e membership (aceita qualquer estado para poder rejeitar com 403)
+                Tenant tenant = requireActiveTenant(tenantId);
+                TenantUserRepository tenantUserRepository = requireTenantUserRepository();
+                List<TenantUser> activeMemberships = tenantUserRepository.findAllByTenantIdAndUserIdAndEstado(
+                        tenant.getId(), userId, TenantUserEstado.ATIVO);
+                if (activeMemberships.isEmpty() && !tenantTokenPlatformAdmin) {
+                    // Verificar se existe membership com estado diferente de ATIVO (SUSPENSO, INATIVO)
+                    boolean existsAny = tenantUserRepository.existsByTenantIdAndUserId(tenant.getId(), userId);
+                    if (existsAny) {
+                        // Membership existe mas está suspensa/inactiva → 403
+                        throw new com.restaurante.exception.TenantAccessDeniedException(
+                                "MEMBERSHIP_NOT_ACTIVE",
+                                "Acesso negado: membership não está activa para este tenant."
+                        );
+                    }
+                    return Optional.empty();
+                }
+                if (!tenantTokenPlatformAdmin) {
+                    operationalEligibility.requireEligible(tenant, activeMemberships);
                 }
-                return Optional.empty();
-            }
-            if (!tenantTokenPlatformAdmin) {
-                operationalEligibility.requireEligible(tenant, activeMemberships);
-            }
 
-            if (requireAccessVersion && !tenantTokenPlatformAdmin) {
-                if (tokenAccessVersion == null) {
-                    throw new TenantTokenStaleException("Sessão do tenant desatualizada. Selecione novamente o tenant.");
+                Integer currentVersion = null;
+                if (requireAccessVersion && !tenantTokenPlatformAdmin) {
+                    if (tokenAccessVersion == null) {
+                        throw new TenantTokenStaleException("Sessão do tenant desatualizada. Selecione novamente o tenant.");
+                    }
+                    TenantUserAccessVersionRepository accessRepo = tenantUserAccessVersionRepositoryProvider.getIfAvailable();
+                    if (accessRepo == null) {
+                        throw new BusinessException("Validação de versão indisponível.");
+                    }
+                    currentVersion = accessRepo.findAccessVersion(tenant.getId(), userId).orElse(1);
                 }
-                TenantUserAccessVersionRepository accessRepo = tenantUserAccessVersionRepositoryProvider.getIfAvailable();
-                if (accessRepo == null) {
-                    throw new BusinessException("Validação de versão indisponível.");
+                access = new TenantAccessCache.Access(tenant.getTenantCode(), currentVersion);
+                if (!tenantTokenPlatformAdmin) {
+                    accessCache.put(tenantId, userId, access, generation);
                 }
-                Integer currentVersion = accessRepo.findAccessVersion(tenant.getId(), userId).orElse(1);
-                if (!tokenAccessVersion.equals(currentVersion)) {
+            }
+
+            if (requireAccessVersion && !tenantTokenPlatformAdmin) {
+                if (tokenAccessVersion == null || !tokenAccessVersion.equals(access.accessVersion())) {
                     throw new TenantTokenStaleException("Sessão do tenant desatualizada. Selecione novamente o tenant.");
                 }
             }
@@ -351,8 +367,8 @@ public class TenantResolver {
             }
 
             return Optional.of(new TenantContext(
-                    tenant.getId(),
-                    tenant.getTenantCode(),
+                    tenantId,
+                    access.tenantCode(),
                     userId,
                     roles,
                     TenantResolutionSource.JWT,
@@ -368,6 +384,21 @@ public class TenantResolver {
         }
     }
 
+    /**
+     * Reutiliza os claims já verificados pelo JwtAuthenticationFilter neste request; só verifica de novo
+     * quando o filtro não correu (ex.: resolução fora da cadeia HTTP).
+     */
+    private VerifiedJwtClaims verifiedClaims(HttpServletRequest request, String token) {
+        if (request.getAttribute(VerifiedJwtClaims.REQUEST_ATTRIBUTE) instanceof VerifiedJwtClaims claims) {
+            return claims;
+        }
+        JwtTokenProvider jwtTokenProvider = jwtTokenProviderProvider.getIfAvailable();
+        if (jwtTokenProvider == null) {
+            return null;
+        }
+        return jwtTokenProvider.verify(token);
+    }
+
     private void assertHeadersDoNotOverrideTenantToken(
             HttpServletRequest request,
             Long tokenTenantId,
@@ -35,6 +35,8 @@ import com.restaurante.repository.BusinessAccountRepository;
 import com.restaurante.repository.SubscricaoRepository;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.repository.UserRepository;
+import com.restaurante.security.device.DevicePrincipalCache;
+import com.restaurante.security.tenant.TenantAccessCache;
 import com.restaurante.security.tenant.TenantContextHolder;
 import com.restaurante.security.tenant.TenantGuard;
 import com.restaurante.service.provisioning.ProvisioningPlanCalculator;
@@ -64,6 +66,8 @@ public class BusinessAccountService {
     private final SubscricaoRepository subscricaoRepository;
     private final TenantSubscriptionRepository tenantSubscriptionRepository;
     private final PlatformTenantAccessService platformTenantAccessService;
+    private final TenantAccessCache tenantAccessCache;
+    private final DevicePrincipalCache devicePrincipalCache;
 
     @Transactional(readOnly = true)
     public List<BusinessAccountSummaryResponse> listar(Pageable pageable,
@@ -166,7 +170,13 @@ public class BusinessAccountService {
         if (request.getMotivo() != null && !request.getMotivo().isBlank()) {
             account.setObservacao(mergeObservacao(account.getObservacao(), "Estado " + request.getEstado().name() + ": " + request.getMotivo()));
         }
-        return toResponse(businessAccountRepository.saveAndFlush(account));
+        BusinessAccountResponse response = toResponse(businessAccountRepository.saveAndFlush(account));
+        tenantRepository.findByBusinessAccountIdOrderByIdAsc(account.getId())
+                .forEach(t -> {
+                    tenantAccessCache.invalidateTenant(t.getId());
+                    devicePrincipalCache.invalidateTenant(t.getId());
+                });
+        return response;
     }
 
     @Transactional
@@ -178,6 +188,8 @@ public class BusinessAccountService {
         ensureTenantCanAttach(account, tenant);
         tenant.setBusinessAccount(account);
         tenantRepository.saveAndFlush(tenant);
+        tenantAccessCache.invalidateTenant(tenant.getId());
+        devicePrincipalCache.invalidateTenant(tenant.getId());
         touchAccount(account);
         return platformTenantAccessService.toResponse(tenant);
     }
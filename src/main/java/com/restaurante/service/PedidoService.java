@@ -151,10 +151,15 @@ public class PedidoService {
         // Obtem roles do usuário autenticado
         Set<String> roles = obterRolesUsuarioAutenticado();
 
+        // Carrega todos os produtos do pedido numa única query (reutilizados abaixo)
+        Map<Long, Produto> produtos = produtoService.buscarPorIds(request.getItens().stream()
+                .map(ItemPedidoRequest::getProdutoId)
+                .toList());
+
         // Calcula total ANTES de criar o pedido (para validação financeira)
         var totalPreliminar = request.getItens().stream()
             .map(item -> {
-                Produto produto = produtoService.buscarPorId(item.getProdutoId());
+                Produto produto = produtos.get(item.getProdutoId());
                 return produto.getPreco().multiply(java.math.BigDecimal.valueOf(item.getQuantidade()));
             })
             .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
@@ -216,13 +221,9 @@ public class PedidoService {
         log.info("  ┣ Status: {}", pedido.getStatus());
         log.info("  ┗ Status Financeiro: {}", pedido.getStatusFinanceiro());
 
-        boolean producaoAtiva = operationalCapabilitiesPolicy.isProductionEnabled(
-                sessaoConsumo.getTenant().getId());
-        Map<Long, ProductionBatch> lotesPorUnidade = new java.util.LinkedHashMap<>();
-        List<ItemPedidoRequest> itensSemProducao = new ArrayList<>();
-        
+        // Valida os itens antes de resolver as rotas de produção (que podem até criar a unidade GERAL)
         for (ItemPedidoRequest itemRequest : request.getItens()) {
-            Produto produto = produtoService.buscarPorId(itemRequest.getProdutoId());
+            Produto produto = produtos.get(itemRequest.getProdutoId());
 
             // Valida se produto está ativo (disponibilidade real depende de unidades de produção)
             if (produto.getAtivo() == null || !produto.getAtivo()) {
@@ -233,15 +234,21 @@ public class PedidoService {
             if (ua == null) {
                 throw new BusinessException("Sessão ID=" + sessaoConsumo.getId() + " não possui unidade de atendimento configurada");
             }
+        }
+
+        boolean producaoAtiva = operationalCapabilitiesPolicy.isProductionEnabled(
+                sessaoConsumo.getTenant().getId());
+        Map<Long, ProductionBatch> lotesPorUnidade = new java.util.LinkedHashMap<>();
+        List<ItemPedidoRequest> itensSemProducao = new ArrayList<>();
+        Map<Long, UnidadeProducao> unidadePorCategoria = producaoAtiva
+                ? resolverUnidadesProducao(sessaoConsumo, request.getItens(), produtos)
+                : Map.of();
+        
+        for (ItemPedidoRequest itemRequest : request.getItens()) {
+            Produto produto = produtos.get(itemRequest.getProdutoId());
 
             if (producaoAtiva) {
-                if (sessaoConsumo.getInstituicao() == null) {
-                    throw new BusinessException("Sessão sem instituição válida para roteamento de produção.");
-                }
-                UnidadeProducao unidadeProducao = rotaProducaoService.resolverUnidadeProducaoParaProduto(
-                        sessaoConsumo.getTenant().getId(),
-                        sessaoConsumo.getInstituicao().getId(),
-                        produto);
+                UnidadeProducao unidadeProducao = unidadePorCategoria.get(produto.getCategoriaProduto().getId());
                 lotesPorUnidade.computeIfAbsent(
                                 unidadeProducao.getId(),
                                 ignored -> new ProductionBatch(unidadeProducao, new ArrayList<>()))
@@ -304,7 +311,7 @@ public class PedidoService {
 
             // Criar ItemPedidos JÁ COM subPedido associado
             for (ItemPedidoRequest itemRequest : requests) {
-                Produto produto = produtoService.buscarPorId(itemRequest.getProdutoId());
+                Produto produto = produtos.get(itemRequest.getProdutoId());
                 
                 ItemPedido item = ItemPedido.builder()
                         .pedido(pedido)
@@ -1095,6 +1102,30 @@ public class PedidoService {
                 .build();
     }
 
+    /**
+     * Unidade de produção por categoria para todos os itens do pedido, resolvidas de uma só vez
+     * (tabela de roteamento em cache e unidades numa única query).
+     */
+    private Map<Long, UnidadeProducao> resolverUnidadesProducao(SessaoConsumo sessaoConsumo,
+                                                               List<ItemPedidoRequest> itens,
+                                                               Map<Long, Produto> produtos) {
+        if (sessaoConsumo.getInstituicao() == null) {
+            throw new BusinessException("Sessão sem instituição válida para roteamento de produção.");
+        }
+        Set<Long> categoriaIds = new java.util.LinkedHashSet<>();
+        for (ItemPedidoRequest item : itens) {
+            Produto produto = produtos.get(item.getProdutoId());
+            if (produto.getCategoriaProduto() == null) {
+                throw new BusinessException("Produto inválido para roteamento de produção.");
+            }
+            categoriaIds.add(produto.getCategoriaProduto().getId());
+        }
+        return rotaProducaoService.resolverUnidadesProducaoParaCategorias(
+                sessaoConsumo.getTenant().getId(),
+                sessaoConsumo.getInstituicao().getId(),
+                categoriaIds);
+    }
+
     private record ProductionBatch(UnidadeProducao unidadeProducao, List<ItemPedidoRequest> itens) {
     }
 }
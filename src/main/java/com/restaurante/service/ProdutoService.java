@@ -17,6 +17,7 @@ import com.restaurante.repository.ProdutoRepository;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.security.tenant.TenantContextHolder;
 import com.restaurante.security.tenant.TenantGuard;
+import com.restaurante.service.cardapio.CatalogSearchService;
 import com.restaurante.service.operacional.OperationalEventLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,11 +27,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -51,6 +56,7 @@ public class ProdutoService {
     private final StorageService storageService;
     private final TenantLimitService tenantLimitService;
     private final OperationalEventLogService operationalEventLogService;
+    private final CatalogSearchService catalogSearchService;
 
     private static final String LEGACY_TENANT_CODE = "LEGACY";
 
@@ -337,6 +343,23 @@ public class ProdutoService {
         return buscarPorIdTenantAware(id, tenantId);
     }
 
+    /**
+     * Busca vários produtos por ID numa única query (mesma resolução de tenant de {@link #buscarPorId}).
+     * Falha com o primeiro ID inexistente, na ordem recebida.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Produto> buscarPorIds(Collection<Long> ids) {
+        Long tenantId = resolveTenantIdForRead().orElseGet(this::resolveLegacyTenantId);
+        Map<Long, Produto> porId = produtoRepository.findByTenantIdAndIdIn(tenantId, new LinkedHashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Produto::getId, p -> p));
+        for (Long id : ids) {
+            if (!porId.containsKey(id)) {
+                throw new ResourceNotFoundException("Produto", "id", id);
+            }
+        }
+        return porId;
+    }
+
     /**
      * Busca todos os produtos disponíveis com paginação
      */
@@ -379,14 +402,26 @@ public class ProdutoService {
     }
 
     /**
-     * Busca produtos por nome (busca parcial) com paginação
+     * Busca produtos por nome com paginação, ordenados por relevância (sem distinguir acentos).
+     * Com o índice de pesquisa desligado, volta à busca parcial no banco.
      */
     @Transactional(readOnly = true)
     public Page<ProdutoResponse> buscarPorNome(String nome, Pageable pageable) {
         Long tenantId = resolveTenantIdForRead().orElseGet(this::resolveLegacyTenantId);
         log.info("Buscando produtos com nome: {} (tenantId={}) - Página: {}", nome, tenantId, pageable.getPageNumber());
-        return produtoRepository.findByTenantIdAndNomeContainingIgnoreCaseAndDisponivelTrueAndAtivoTrue(tenantId, nome, pageable)
-                .map(this::mapToResponse);
+        if (!catalogSearchService.isEnabled()) {
+            return produtoRepository.findByTenantIdAndNomeContainingIgnoreCaseAndDisponivelTrueAndAtivoTrue(tenantId, nome, pageable)
+                    .map(this::mapToResponse);
+        }
+        Page<Long> ids = catalogSearchService.buscarIds(tenantId, nome, pageable);
+        Map<Long, Produto> porId = produtoRepository.findByTenantIdAndIdIn(tenantId, ids.getContent()).stream()
+                .collect(Collectors.toMap(Produto::getId, p -> p));
+        List<ProdutoResponse> produtos = ids.getContent().stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .toList();
+        return new PageImpl<>(produtos, pageable, ids.getTotalElements());
     }
 
 
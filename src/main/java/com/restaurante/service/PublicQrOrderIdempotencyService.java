@@ -10,15 +10,13 @@ import com.restaurante.model.entity.QrCodeOperacional;
 import com.restaurante.model.entity.Tenant;
 import com.restaurante.model.enums.PublicQrOrderRequestStatus;
 import com.restaurante.repository.PublicQrOrderRequestRepository;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.util.Comparator;
-import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 
@@ -145,13 +143,7 @@ public class PublicQrOrderIdempotencyService {
     }
 
     private static String sha256Hex(String text) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(text.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(digest);
-        } catch (Exception e) {
-            throw new IllegalStateException("Falha ao calcular hash de idempotência.", e);
-        }
+        return CryptoPrimitives.sha256Hex("public-qr.order.idempotency", text);
     }
 
     public record StartResult(PublicQrOrderRequest request, Pedido completedPedido) {
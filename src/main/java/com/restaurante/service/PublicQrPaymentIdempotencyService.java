@@ -8,15 +8,13 @@ import com.restaurante.model.entity.PublicQrPaymentRequest;
 import com.restaurante.model.entity.Tenant;
 import com.restaurante.model.enums.PublicQrPaymentRequestStatus;
 import com.restaurante.repository.PublicQrPaymentRequestRepository;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.util.Comparator;
-import java.util.HexFormat;
 import java.util.Optional;
 
 @Service
@@ -113,13 +111,7 @@ public class PublicQrPaymentIdempotencyService {
     }
 
     private static String sha256Hex(String text) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(text.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(digest);
-        } catch (Exception e) {
-            throw new IllegalStateException("Falha ao calcular hash de idempotência.", e);
-        }
+        return CryptoPrimitives.sha256Hex("public-qr.payment.idempotency", text);
     }
 
     public record StartResult(PublicQrPaymentRequest request, Pagamento completedPayment) {
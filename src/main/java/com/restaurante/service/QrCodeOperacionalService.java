@@ -1,39 +1,30 @@
 package com.restaurante.service;
 
 import com.restaurante.dto.response.PublicCardapioResponse;
-import com.restaurante.dto.response.PublicCategoriaProdutoResponse;
-import com.restaurante.dto.response.PublicProdutoImagemResponse;
-import com.restaurante.dto.response.PublicProdutoResponse;
 import com.restaurante.dto.response.QrPublicContext;
 import com.restaurante.model.entity.TenantCardapioConfig;
 import com.restaurante.exception.ResourceNotFoundException;
-import com.restaurante.model.entity.CategoriaProduto;
 import com.restaurante.model.entity.Instituicao;
 import com.restaurante.model.entity.Mesa;
-import com.restaurante.model.entity.Produto;
 import com.restaurante.model.entity.QrCodeOperacional;
 import com.restaurante.model.entity.Tenant;
 import com.restaurante.model.entity.UnidadeAtendimento;
 import com.restaurante.model.enums.QrCodeOperacionalTipo;
 import com.restaurante.model.enums.TenantEstado;
-import com.restaurante.repository.CategoriaProdutoRepository;
 import com.restaurante.repository.InstituicaoRepository;
 import com.restaurante.repository.MesaRepository;
-import com.restaurante.repository.ProdutoImagemRepository;
-import com.restaurante.repository.ProdutoRepository;
 import com.restaurante.repository.QrCodeOperacionalRepository;
 import com.restaurante.repository.TenantCardapioConfigRepository;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.repository.UnidadeAtendimentoRepository;
+import com.restaurante.service.cardapio.PublicCardapioSnapshot;
+import com.restaurante.service.cardapio.PublicCardapioSnapshotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -50,11 +41,8 @@ public class QrCodeOperacionalService {
     private final InstituicaoRepository instituicaoRepository;
     private final UnidadeAtendimentoRepository unidadeAtendimentoRepository;
     private final MesaRepository mesaRepository;
-    private final CategoriaProdutoRepository categoriaProdutoRepository;
-    private final ProdutoRepository produtoRepository;
-    private final ProdutoImagemRepository produtoImagemRepository;
-    private final TenantCardapioConfigService tenantCardapioConfigService;
     private final TenantCardapioConfigRepository tenantCardapioConfigRepository;
+    private final PublicCardapioSnapshotService publicCardapioSnapshotService;
 
     @Transactional
     public QrCodeOperacional criarQr(
@@ -114,7 +102,10 @@ public class QrCodeOperacionalService {
     @Transactional(readOnly = true)
     public QrPublicContext resolverPublico(String token) {
         QrCodeOperacional qr = resolverOperacionalAtivoParaOperacao(token);
+        return toPublicContext(qr, resolveTenantBannerUrl(qr.getTenant().getId()));
+    }
 
+    private QrPublicContext toPublicContext(QrCodeOperacional qr, String tenantBannerUrl) {
         Tenant tenant = qr.getTenant();
         Instituicao inst = qr.getInstituicao();
         UnidadeAtendimento unidade = qr.getUnidadeAtendimento();
@@ -130,7 +121,7 @@ public class QrCodeOperacionalService {
         ctx.setTenantId(tenant.getId());
         ctx.setTenantNome(tenant.getNome());
         ctx.setTenantCode(tenant.getTenantCode());
-        ctx.setTenantBannerUrl(resolveTenantBannerUrl(tenant.getId()));
+        ctx.setTenantBannerUrl(tenantBannerUrl);
 
         ctx.setInstituicaoId(inst.getId());
         ctx.setInstituicaoNome(inst.getNome());
@@ -192,63 +183,38 @@ public class QrCodeOperacionalService {
         return qr;
     }
 
+    /**
+     * Cardápio público por QR: o QR é sempre resolvido (revogação e estado do tenant valem de imediato);
+     * a parte tenant-level vem do snapshot em cache ({@link PublicCardapioSnapshotService}).
+     * A ETag cobre o snapshot e o contexto do QR.
+     */
     @Transactional(readOnly = true)
-    public PublicCardapioResponse carregarCardapioPublicoPorQrToken(String token) {
-        QrPublicContext ctx = resolverPublico(token);
-        Long tenantId = ctx.getTenantId();
-        Tenant tenant = tenantRepository.findById(tenantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Tenant", "id", tenantId));
-
-        TenantCardapioConfig cardapioConfig = tenantCardapioConfigRepository.findByTenantId(tenantId).orElse(null);
-
-        if (!tenantCardapioConfigService.isPublicado(tenantId)) {
-            PublicCardapioResponse resp = new PublicCardapioResponse();
-            resp.setQr(ctx);
-            resp.setPublicado(false);
-            resp.setTelefoneContato(tenant.getTelefone());
-            resp.setMensagem(tenantCardapioConfigService.mensagemPublicaIndisponivel(tenant.getTelefone()));
-            resp.setMaxItensPorPedido(resolveMaxItensPorPedido(cardapioConfig));
-            resp.setCategorias(List.of());
-            return resp;
-        }
-
-        List<CategoriaProduto> categorias = categoriaProdutoRepository.findByTenantIdAndAtivoTrueOrderByOrdemAsc(tenantId);
-        List<Produto> produtos = produtoRepository.findByTenantIdAndDisponivelTrueAndAtivoTrue(tenantId);
-
-        Map<Long, List<Produto>> produtosPorCategoriaId = produtos.stream()
-                .filter(p -> p.getCategoriaProduto() != null)
-                .collect(Collectors.groupingBy(p -> p.getCategoriaProduto().getId()));
-
-        List<PublicCategoriaProdutoResponse> categoriaResponses = categorias.stream()
-                .map(cat -> {
-                    PublicCategoriaProdutoResponse cr = new PublicCategoriaProdutoResponse();
-                    cr.setId(cat.getId());
-                    cr.setNome(cat.getNome());
-                    cr.setSlug(cat.getSlug());
-                    cr.setOrdem(cat.getOrdem());
-
-                    List<PublicProdutoResponse> prs = produtosPorCategoriaId.getOrDefault(cat.getId(), List.of())
-                            .stream()
-                            .sorted((a, b) -> {
-                                if (a.getNome() == null && b.getNome() == null) return 0;
-                                if (a.getNome() == null) return 1;
-                                if (b.getNome() == null) return -1;
-                                return a.getNome().compareToIgnoreCase(b.getNome());
-                            })
-                            .map(this::toPublicProduto)
-                            .toList();
-                    cr.setProdutos(prs);
-                    return cr;
-                })
-                .toList();
+    public PublicCardapioResult carregarCardapioPublico(String token) {
+        QrCodeOperacional qr = resolverOperacionalAtivoParaOperacao(token);
+        PublicCardapioSnapshot snapshot = publicCardapioSnapshotService.snapshot(qr.getTenant().getId());
+        QrPublicContext ctx = toPublicContext(qr, snapshot.bannerUrl());
 
         PublicCardapioResponse resp = new PublicCardapioResponse();
         resp.setQr(ctx);
-        resp.setPublicado(true);
-        resp.setTelefoneContato(tenant.getTelefone());
-        resp.setMaxItensPorPedido(resolveMaxItensPorPedido(cardapioConfig));
-        resp.setCategorias(categoriaResponses);
-        return resp;
+        resp.setPublicado(snapshot.publicado());
+        resp.setMensagem(snapshot.mensagem());
+        resp.setTelefoneContato(snapshot.telefoneContato());
+        resp.setMaxItensPorPedido(snapshot.maxItensPorPedido());
+        resp.setCategorias(snapshot.categorias());
+        return new PublicCardapioResult(resp, publicCardapioSnapshotService.etagFor(snapshot, ctx),
+                snapshot.tenantId(), snapshot.catalogVersion() + ":" + snapshot.contentHash());
+    }
+
+    @Transactional(readOnly = true)
+    public PublicCardapioResponse carregarCardapioPublicoPorQrToken(String token) {
+        return carregarCardapioPublico(token).response();
+    }
+
+    /**
+     * catalogVersion: versão + hash do snapshot do tenant; identifica a parte partilhada entre QRs.
+     */
+    public record PublicCardapioResult(PublicCardapioResponse response, String etag, Long tenantId,
+                                       String catalogVersion) {
     }
 
     @Transactional
@@ -280,42 +246,9 @@ public class QrCodeOperacionalService {
         return sb.toString();
     }
 
-    private PublicProdutoResponse toPublicProduto(Produto p) {
-        PublicProdutoResponse r = new PublicProdutoResponse();
-        r.setId(p.getId());
-        r.setCodigo(p.getCodigo());
-        r.setNome(p.getNome());
-        r.setDescricao(p.getDescricao());
-        r.setPreco(p.getPreco());
-        r.setImagemUrl(p.getUrlImagem());
-        r.setImagens(resolveProdutoImagens(p.getId()));
-        r.setDisponivel(p.getDisponivel());
-        r.setCategoriaProdutoId(p.getCategoriaProduto() != null ? p.getCategoriaProduto().getId() : null);
-        return r;
-    }
-
     private String resolveTenantBannerUrl(Long tenantId) {
         return tenantCardapioConfigRepository.findByTenantId(tenantId)
                 .map(TenantCardapioConfig::getUrlBanner)
                 .orElse(null);
     }
-
-    private Integer resolveMaxItensPorPedido(TenantCardapioConfig config) {
-        return config != null ? config.getMaxItensPorPedido() : null;
-    }
-
-    private List<PublicProdutoImagemResponse> resolveProdutoImagens(Long produtoId) {
-        return produtoImagemRepository.findByProdutoIdOrderByOrdemAsc(produtoId)
-                .stream()
-                .limit(4)
-                .map(img -> {
-                    PublicProdutoImagemResponse r = new PublicProdutoImagemResponse();
-                    r.setId(img.getId());
-                    r.setUrl(img.getUrl());
-                    r.setOrdem(img.getOrdem());
-                    r.setLegenda(img.getLegenda());
-                    return r;
-                })
-                .toList();
-    }
 }
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.restaurante.exception.BusinessException;
 import com.restaurante.security.JwtPrincipal;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import com.restaurante.security.tenant.TenantContext;
 import com.restaurante.security.tenant.TenantContextHolder;
 import jakarta.persistence.EntityManager;
@@ -16,10 +17,6 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.HexFormat;
 import java.util.Optional;
 import java.util.TreeSet;
 import java.util.UUID;
@@ -48,12 +45,7 @@ public class CanonicalCommandSupport {
     }
 
     public String fingerprint(Object value) {
-        try {
-            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
-                    .digest(json(value).getBytes(StandardCharsets.UTF_8)));
-        } catch (NoSuchAlgorithmException ex) {
-            throw new IllegalStateException(ex);
-        }
+        return CryptoPrimitives.sha256Hex("business.command.fingerprint", json(value));
     }
 
     public void requireKey(String key) {
@@ -0,0 +1,290 @@
+package com.restaurante.service.cardapio;
+
+import com.restaurante.repository.projection.ProdutoSearchProjection;
+import com.restaurante.util.BoundedCache;
+import com.restaurante.util.SearchText;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Índice invertido de trigramas em memória (por nó) dos produtos pesquisáveis de cada tenant, usado
+ * pela pesquisa pública do cardápio em vez de {@code nome LIKE '%termo%'} no banco.
+ *
+ * Regras:
+ * - Um índice é montado na primeira pesquisa do tenant e associado à versão CARDAPIO_PUBLICO
+ *   (tenant_sync_version) lida antes da montagem.
+ * - Escritas JPA locais em produtos marcam o produto como pendente após o commit
+ *   ({@link CatalogSearchIndexListener}); a próxima pesquisa recarrega só esses produtos e actualiza as
+ *   postings, adoptando a versão corrente. Escritas em categorias descartam o índice do tenant.
+ * - Versão diferente sem pendências (escrita noutro nó ou por SQL) descarta o índice e remonta-o.
+ *   Como uma escrita remota concorrente com uma local pode ser absorvida pela actualização incremental,
+ *   nenhum índice vive mais que {@code consuma.catalog-search.index-max-age-seconds}.
+ * - Limite de tenants ({@code consuma.catalog-search.index-max-tenants}); ao encher descarta os índices
+ *   menos usados recentemente.
+ */
+@Component
+public class CatalogSearchIndex {
+
+    private final boolean enabled;
+    private final BoundedCache<Long, Entry> entries;
+
+    @Autowired
+    public CatalogSearchIndex(
+            @Value("${consuma.catalog-search.index-enabled:true}") boolean enabled,
+            @Value("${consuma.catalog-search.index-max-tenants:2000}") int maxTenants,
+            @Value("${consuma.catalog-search.index-max-age-seconds:600}") long maxAgeSeconds
+    ) {
+        this(enabled, maxTenants, maxAgeSeconds, Clock.systemUTC());
+    }
+
+    CatalogSearchIndex(boolean enabled, int maxTenants, long maxAgeSeconds, Clock clock) {
+        this.enabled = enabled && maxTenants > 0;
+        this.entries = new BoundedCache<>(maxTenants, Math.max(1, maxAgeSeconds) * 1000L, clock);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Índice do tenant na versão dada: reaproveitado (com as pendências aplicadas) ou montado de novo.
+     *
+     * @param full    todos os produtos pesquisáveis do tenant
+     * @param changed produtos pesquisáveis entre os ids pendentes (os ausentes saem do índice)
+     */
+    public TenantIndex index(Long tenantId, long version,
+                             Supplier<List<ProdutoSearchProjection>> full,
+                             Function<Set<Long>, List<ProdutoSearchProjection>> changed) {
+        Entry entry = enabled ? entries.get(tenantId) : null;
+        if (entry != null) {
+            Set<Long> pending = entry.drainPending();
+            if (!pending.isEmpty()) {
+                try {
+                    entry.index.apply(pending, changed.apply(pending));
+                } catch (RuntimeException e) {
+                    entries.invalidate(tenantId);
+                    throw e;
+                }
+                entry.version = version;
+            }
+            if (entry.version == version) {
+                return entry.index;
+            }
+            entries.invalidate(tenantId);
+        }
+
+        long generation = entries.currentGeneration();
+        TenantIndex built = TenantIndex.of(full.get());
+        if (enabled) {
+            entries.putIfCurrent(tenantId, new Entry(built, version), generation);
+        }
+        return built;
+    }
+
+    /**
+     * Marca o produto para recarga incremental depois do commit (ou já, fora de transacção).
+     */
+    public void produtoAlterado(Long tenantId, Long produtoId) {
+        if (!enabled || tenantId == null || produtoId == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markPending(tenantId, produtoId);
+                }
+            });
+        } else {
+            markPending(tenantId, produtoId);
+        }
+    }
+
+    public void invalidateTenant(Long tenantId) {
+        if (!enabled || tenantId == null) return;
+        entries.invalidateIfAcrossCompletion((id, entry) -> tenantId.equals(id));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void markPending(Long tenantId, Long produtoId) {
+        Entry entry = entries.get(tenantId);
+        if (entry != null) {
+            entry.pending.add(produtoId);
+        }
+    }
+
+    private static final class Entry {
+        private final TenantIndex index;
+        private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+        private volatile long version;
+
+        private Entry(TenantIndex index, long version) {
+            this.index = index;
+            this.version = version;
+        }
+
+        private Set<Long> drainPending() {
+            if (pending.isEmpty()) return Set.of();
+            Set<Long> drained = new HashSet<>();
+            for (Long id : pending) {
+                if (pending.remove(id)) drained.add(id);
+            }
+            return drained;
+        }
+    }
+
+    /**
+     * Índice de um tenant: documentos por id e postings trigrama → ids (nome e categoria).
+     *
+     * Ranking: nível de correspondência do nome (igual, prefixo, prefixo de palavra, trecho), mais a
+     * similaridade de trigramas do nome, mais um bónus quando o termo corresponde à categoria. Entram os
+     * produtos cujo nome contém o termo, cujo nome é suficientemente parecido (erros de digitação, ordem
+     * das palavras) ou cuja categoria contém o termo. Empates por nome e id.
+     */
+    public static final class TenantIndex {
+
+        static final double MIN_NAME_SIMILARITY = 0.3;
+        private static final int MIN_TRIGRAM_QUERY_LENGTH = 3;
+
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private TenantIndex() {
+        }
+
+        public static TenantIndex of(Collection<? extends ProdutoSearchProjection> rows) {
+            TenantIndex index = new TenantIndex();
+            rows.forEach(index::addDoc);
+            return index;
+        }
+
+        public int size() {
+            lock.readLock().lock();
+            try {
+                return docs.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Ids dos produtos que correspondem ao termo, do mais para o menos relevante. Termo vazio devolve
+         * todos por nome.
+         */
+        public List<Long> search(String termo) {
+            String query = SearchText.normalize(termo);
+            lock.readLock().lock();
+            try {
+                if (query.isEmpty()) {
+                    return docs.values().stream().sorted(Doc.BY_NAME).map(Doc::id).toList();
+                }
+                Set<String> queryGrams = SearchText.trigrams(query);
+                List<Scored> hits = new ArrayList<>();
+                for (Doc doc : candidates(query, queryGrams)) {
+                    double score = score(doc, query, queryGrams);
+                    if (score > 0) hits.add(new Scored(doc, score));
+                }
+                hits.sort(Comparator.comparingDouble(Scored::score).reversed()
+                        .thenComparing(Scored::doc, Doc.BY_NAME));
+                return hits.stream().map(s -> s.doc().id()).toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void apply(Set<Long> changedIds, List<ProdutoSearchProjection> rows) {
+            lock.writeLock().lock();
+            try {
+                changedIds.forEach(this::removeDoc);
+                rows.forEach(this::addDoc);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private Collection<Doc> candidates(String query, Set<String> queryGrams) {
+            if (query.length() < MIN_TRIGRAM_QUERY_LENGTH) {
+                return docs.values();
+            }
+            Set<Long> ids = new HashSet<>();
+            for (String gram : queryGrams) {
+                Set<Long> posting = postings.get(gram);
+                if (posting != null) ids.addAll(posting);
+            }
+            List<Doc> out = new ArrayList<>(ids.size());
+            for (Long id : ids) out.add(docs.get(id));
+            return out;
+        }
+
+        private static double score(Doc doc, String query, Set<String> queryGrams) {
+            double similarity = SearchText.similarity(queryGrams, doc.nameGrams());
+            double tier;
+            if (doc.name().equals(query)) tier = 4;
+            else if (doc.name().startsWith(query)) tier = 3;
+            else if (doc.name().contains(" " + query)) tier = 2;
+            else if (doc.name().contains(query)) tier = 1;
+            else tier = similarity >= MIN_NAME_SIMILARITY ? 0.5 : 0;
+
+            boolean categoryMatch = !doc.category().isEmpty() && doc.category().contains(query);
+            if (tier == 0 && !categoryMatch) return 0;
+            return tier + similarity + (categoryMatch ? 0.5 : 0);
+        }
+
+        private void addDoc(ProdutoSearchProjection row) {
+            if (row.getId() == null) return;
+            removeDoc(row.getId());
+            String name = SearchText.normalize(row.getNome());
+            String category = SearchText.normalize(row.getCategoriaNome());
+            Doc doc = new Doc(row.getId(), name, SearchText.trigrams(name), category,
+                    row.getNome() == null ? "" : row.getNome());
+            docs.put(doc.id(), doc);
+            for (String gram : doc.nameGrams()) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(doc.id());
+            }
+            for (String gram : SearchText.trigrams(category)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(doc.id());
+            }
+        }
+
+        private void removeDoc(Long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) return;
+            Set<String> grams = new HashSet<>(doc.nameGrams());
+            grams.addAll(SearchText.trigrams(doc.category()));
+            for (String gram : grams) {
+                Set<Long> posting = postings.get(gram);
+                if (posting == null) continue;
+                posting.remove(id);
+                if (posting.isEmpty()) postings.remove(gram);
+            }
+        }
+
+        private record Doc(Long id, String name, Set<String> nameGrams, String category, String displayName) {
+            static final Comparator<Doc> BY_NAME = Comparator.comparing(Doc::displayName, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(Doc::id);
+        }
+
+        private record Scored(Doc doc, double score) {
+        }
+    }
+}
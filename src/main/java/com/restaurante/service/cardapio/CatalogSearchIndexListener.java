@@ -0,0 +1,33 @@
+package com.restaurante.service.cardapio;
+
+import com.restaurante.model.entity.CategoriaProduto;
+import com.restaurante.model.entity.Produto;
+import com.restaurante.model.listener.EntityChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reage a {@link EntityChangedEvent} para o índice de pesquisa do cardápio: escrita num produto agenda a sua
+ * recarga incremental; escrita numa categoria (nome usado no ranking de vários produtos) descarta o índice
+ * do tenant.
+ */
+@Component
+public class CatalogSearchIndexListener {
+
+    private final ObjectProvider<CatalogSearchIndex> index;
+
+    public CatalogSearchIndexListener(ObjectProvider<CatalogSearchIndex> index) {
+        this.index = index;
+    }
+
+    @EventListener
+    void changed(EntityChangedEvent event) {
+        Object entity = event.entity();
+        if (entity instanceof Produto p && p.getTenant() != null) {
+            index.ifAvailable(i -> i.produtoAlterado(p.getTenant().getId(), p.getId()));
+        } else if (entity instanceof CategoriaProduto c && c.getTenant() != null) {
+            index.ifAvailable(i -> i.invalidateTenant(c.getTenant().getId()));
+        }
+    }
+}
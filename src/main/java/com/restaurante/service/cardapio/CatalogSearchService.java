@@ -0,0 +1,52 @@
+package com.restaurante.service.cardapio;
+
+import com.restaurante.model.entity.TenantSyncVersion;
+import com.restaurante.repository.ProdutoRepository;
+import com.restaurante.repository.TenantSyncVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Pesquisa de produtos do cardápio sobre o {@link CatalogSearchIndex} do tenant: uma leitura por PK da
+ * versão CARDAPIO_PUBLICO por pesquisa; o banco só é consultado para montar o índice ou recarregar os
+ * produtos alterados desde a última pesquisa.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogSearchService {
+
+    private final CatalogSearchIndex index;
+    private final ProdutoRepository produtoRepository;
+    private final TenantSyncVersionRepository tenantSyncVersionRepository;
+
+    public boolean isEnabled() {
+        return index.isEnabled();
+    }
+
+    /**
+     * Página de ids de produtos pesquisáveis (activos e disponíveis) ordenados por relevância.
+     */
+    @Transactional(readOnly = true)
+    public Page<Long> buscarIds(Long tenantId, String termo, Pageable pageable) {
+        Long v = tenantSyncVersionRepository.findVersion(
+                tenantId, PublicCardapioSnapshotService.SYNC_DOMAIN, TenantSyncVersion.TENANT_SCOPE);
+        long version = v != null ? v : 0L;
+
+        List<Long> ids = index.index(tenantId, version,
+                () -> produtoRepository.findSearchDocuments(tenantId),
+                changed -> produtoRepository.findSearchDocuments(tenantId, changed)).search(termo);
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ids);
+        }
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = (int) Math.min((long) from + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(ids.subList(from, to), pageable, ids.size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.restaurante.service.cardapio;
+
+import com.restaurante.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Optional;
+
+/**
+ * Cache em memória (por nó) de {@link PublicCardapioSnapshot} por tenant.
+ *
+ * Regras:
+ * - Uma entrada só serve enquanto a versão CARDAPIO_PUBLICO do tenant (triggers de tenant_sync_version)
+ *   for a mesma com que foi montada; alterações feitas noutro nó ou por SQL invalidam por aí.
+ * - Escritas JPA locais em produtos/categorias/imagens/config do cardápio/tenant invalidam o tenant
+ *   imediatamente e novamente após o commit ({@link PublicCardapioCacheInvalidationListener}).
+ *   Uma geração impede que montagens em curso repovoem o cache com dados anteriores à invalidação.
+ * - Limite de entradas ({@code consuma.public-cardapio.cache-max-entries}); ao encher descarta os
+ *   snapshots menos usados recentemente.
+ */
+@Component
+public class PublicCardapioCache {
+
+    private final boolean enabled;
+    private final BoundedCache<Long, PublicCardapioSnapshot> entries;
+
+    @Autowired
+    public PublicCardapioCache(
+            @Value("${consuma.public-cardapio.cache-enabled:true}") boolean enabled,
+            @Value("${consuma.public-cardapio.cache-max-entries:5000}") int maxEntries
+    ) {
+        this(enabled, maxEntries, Clock.systemUTC());
+    }
+
+    PublicCardapioCache(boolean enabled, int maxEntries, Clock clock) {
+        this.enabled = enabled && maxEntries > 0;
+        this.entries = new BoundedCache<>(maxEntries, 0, clock);
+    }
+
+    public Optional<PublicCardapioSnapshot> get(Long tenantId, long catalogVersion) {
+        if (!enabled || tenantId == null) return Optional.empty();
+        return Optional.ofNullable(entries.get(tenantId, s -> s.catalogVersion() == catalogVersion));
+    }
+
+    /**
+     * Geração corrente; deve ser lida antes de consultar o banco. {@link #put} descarta o snapshot se
+     * alguma invalidação ocorreu entretanto.
+     */
+    public long currentGeneration() {
+        return entries.currentGeneration();
+    }
+
+    public void put(PublicCardapioSnapshot snapshot, long loadedAtGeneration) {
+        if (!enabled || snapshot == null) return;
+        entries.putIfCurrent(snapshot.tenantId(), snapshot, loadedAtGeneration);
+    }
+
+    public void invalidateTenant(Long tenantId) {
+        if (!enabled || tenantId == null) return;
+        entries.invalidateIfAcrossCompletion((id, snapshot) -> tenantId.equals(id));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
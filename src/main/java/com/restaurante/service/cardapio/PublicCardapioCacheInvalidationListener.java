@@ -0,0 +1,42 @@
+package com.restaurante.service.cardapio;
+
+import com.restaurante.model.entity.CategoriaProduto;
+import com.restaurante.model.entity.Produto;
+import com.restaurante.model.entity.ProdutoImagem;
+import com.restaurante.model.entity.Tenant;
+import com.restaurante.model.entity.TenantCardapioConfig;
+import com.restaurante.model.listener.EntityChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reage a {@link EntityChangedEvent}: qualquer escrita em entidades que compõem o cardápio público invalida
+ * o snapshot do tenant neste nó.
+ */
+@Component
+public class PublicCardapioCacheInvalidationListener {
+
+    private final ObjectProvider<PublicCardapioCache> cache;
+
+    public PublicCardapioCacheInvalidationListener(ObjectProvider<PublicCardapioCache> cache) {
+        this.cache = cache;
+    }
+
+    @EventListener
+    void changed(EntityChangedEvent event) {
+        Long tenantId = tenantIdOf(event.entity());
+        if (tenantId == null) return;
+        cache.ifAvailable(c -> c.invalidateTenant(tenantId));
+    }
+
+    static Long tenantIdOf(Object entity) {
+        if (entity instanceof Tenant t) return t.getId();
+        Tenant tenant = null;
+        if (entity instanceof Produto p) tenant = p.getTenant();
+        else if (entity instanceof CategoriaProduto c) tenant = c.getTenant();
+        else if (entity instanceof ProdutoImagem i) tenant = i.getTenant();
+        else if (entity instanceof TenantCardapioConfig cfg) tenant = cfg.getTenant();
+        return tenant != null ? tenant.getId() : null;
+    }
+}
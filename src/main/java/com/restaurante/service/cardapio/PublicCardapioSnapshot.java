@@ -0,0 +1,25 @@
+package com.restaurante.service.cardapio;
+
+import com.restaurante.dto.response.PublicCategoriaProdutoResponse;
+
+import java.util.List;
+
+/**
+ * Parte tenant-level do cardápio público por QR, montada uma vez por versão de catálogo e partilhada
+ * entre pedidos (não alterar as listas/DTOs devolvidos).
+ *
+ * catalogVersion: versão CARDAPIO_PUBLICO de tenant_sync_version no momento da montagem.
+ * contentHash: hash do conteúdo serializado; base da ETag forte das respostas.
+ */
+public record PublicCardapioSnapshot(
+        Long tenantId,
+        long catalogVersion,
+        boolean publicado,
+        String mensagem,
+        String telefoneContato,
+        Integer maxItensPorPedido,
+        String bannerUrl,
+        List<PublicCategoriaProdutoResponse> categorias,
+        String contentHash
+) {
+}
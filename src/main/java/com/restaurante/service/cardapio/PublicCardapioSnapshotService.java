@@ -0,0 +1,181 @@
+package com.restaurante.service.cardapio;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurante.dto.response.PublicCategoriaProdutoResponse;
+import com.restaurante.dto.response.PublicProdutoImagemResponse;
+import com.restaurante.dto.response.PublicProdutoResponse;
+import com.restaurante.dto.response.QrPublicContext;
+import com.restaurante.exception.ResourceNotFoundException;
+import com.restaurante.model.entity.CategoriaProduto;
+import com.restaurante.model.entity.Produto;
+import com.restaurante.model.entity.ProdutoImagem;
+import com.restaurante.model.entity.Tenant;
+import com.restaurante.model.entity.TenantCardapioConfig;
+import com.restaurante.model.entity.TenantSyncVersion;
+import com.restaurante.repository.CategoriaProdutoRepository;
+import com.restaurante.repository.ProdutoImagemRepository;
+import com.restaurante.repository.ProdutoRepository;
+import com.restaurante.repository.TenantCardapioConfigRepository;
+import com.restaurante.repository.TenantRepository;
+import com.restaurante.repository.TenantSyncVersionRepository;
+import com.restaurante.security.crypto.CryptoPrimitives;
+import com.restaurante.service.TenantCardapioConfigService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Monta e serve o {@link PublicCardapioSnapshot} do tenant para o cardápio público por QR.
+ *
+ * Cada scan custa uma leitura por PK da versão CARDAPIO_PUBLICO (tenant_sync_version, mantida por triggers
+ * em categorias, produtos, imagens, config do cardápio e telefone do tenant); o snapshot só é remontado quando
+ * essa versão muda ou quando uma escrita local o invalida. A montagem carrega as imagens de todos os produtos
+ * numa única query (antes: uma query por produto).
+ */
+@Service
+@RequiredArgsConstructor
+public class PublicCardapioSnapshotService {
+
+    public static final String SYNC_DOMAIN = "CARDAPIO_PUBLICO";
+    private static final int MAX_IMAGENS_POR_PRODUTO = 4;
+
+    private final TenantRepository tenantRepository;
+    private final TenantCardapioConfigRepository tenantCardapioConfigRepository;
+    private final TenantCardapioConfigService tenantCardapioConfigService;
+    private final CategoriaProdutoRepository categoriaProdutoRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ProdutoImagemRepository produtoImagemRepository;
+    private final TenantSyncVersionRepository tenantSyncVersionRepository;
+    private final PublicCardapioCache cache;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public PublicCardapioSnapshot snapshot(Long tenantId) {
+        Long v = tenantSyncVersionRepository.findVersion(tenantId, SYNC_DOMAIN, TenantSyncVersion.TENANT_SCOPE);
+        long version = v != null ? v : 0L;
+
+        PublicCardapioSnapshot cached = cache.get(tenantId, version).orElse(null);
+        if (cached != null) return cached;
+
+        long generation = cache.currentGeneration();
+        PublicCardapioSnapshot built = build(tenantId, version);
+        cache.put(built, generation);
+        return built;
+    }
+
+    /**
+     * ETag forte da resposta: conteúdo do snapshot + contexto do QR (instituição/unidade/mesa).
+     */
+    public String etagFor(PublicCardapioSnapshot snapshot, QrPublicContext ctx) {
+        return "\"" + CryptoPrimitives.sha256Base64Url("public.cardapio.etag",
+                snapshot.contentHash() + "|" + toJson(ctx)) + "\"";
+    }
+
+    PublicCardapioSnapshot build(Long tenantId, long version) {
+        Tenant tenant = tenantRepository.findById(tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tenant", "id", tenantId));
+        TenantCardapioConfig config = tenantCardapioConfigRepository.findByTenantId(tenantId).orElse(null);
+        Integer maxItens = config != null ? config.getMaxItensPorPedido() : null;
+        String bannerUrl = config != null ? config.getUrlBanner() : null;
+
+        if (!tenantCardapioConfigService.isPublicado(tenantId)) {
+            String mensagem = tenantCardapioConfigService.mensagemPublicaIndisponivel(tenant.getTelefone());
+            return snapshotOf(tenantId, version, false, mensagem, tenant.getTelefone(), maxItens, bannerUrl, List.of());
+        }
+
+        List<CategoriaProduto> categorias = categoriaProdutoRepository.findByTenantIdAndAtivoTrueOrderByOrdemAsc(tenantId);
+        List<Produto> produtos = produtoRepository.findByTenantIdAndDisponivelTrueAndAtivoTrue(tenantId);
+        Map<Long, List<PublicProdutoImagemResponse>> imagensPorProdutoId = loadImagens(tenantId, produtos);
+
+        Map<Long, List<Produto>> produtosPorCategoriaId = produtos.stream()
+                .filter(p -> p.getCategoriaProduto() != null)
+                .collect(Collectors.groupingBy(p -> p.getCategoriaProduto().getId()));
+
+        List<PublicCategoriaProdutoResponse> categoriaResponses = categorias.stream()
+                .map(cat -> {
+                    PublicCategoriaProdutoResponse cr = new PublicCategoriaProdutoResponse();
+                    cr.setId(cat.getId());
+                    cr.setNome(cat.getNome());
+                    cr.setSlug(cat.getSlug());
+                    cr.setOrdem(cat.getOrdem());
+
+                    List<PublicProdutoResponse> prs = produtosPorCategoriaId.getOrDefault(cat.getId(), List.of())
+                            .stream()
+                            .sorted((a, b) -> {
+                                if (a.getNome() == null && b.getNome() == null) return 0;
+                                if (a.getNome() == null) return 1;
+                                if (b.getNome() == null) return -1;
+                                return a.getNome().compareToIgnoreCase(b.getNome());
+                            })
+                            .map(p -> toPublicProduto(p, imagensPorProdutoId.getOrDefault(p.getId(), List.of())))
+                            .toList();
+                    cr.setProdutos(prs);
+                    return cr;
+                })
+                .toList();
+
+        return snapshotOf(tenantId, version, true, null, tenant.getTelefone(), maxItens, bannerUrl, categoriaResponses);
+    }
+
+    private Map<Long, List<PublicProdutoImagemResponse>> loadImagens(Long tenantId, List<Produto> produtos) {
+        if (produtos.isEmpty()) return Map.of();
+        List<Long> ids = produtos.stream().map(Produto::getId).toList();
+        Map<Long, List<PublicProdutoImagemResponse>> out = new LinkedHashMap<>();
+        for (ProdutoImagem img : produtoImagemRepository.findByTenantIdAndProdutoIdInOrderByProdutoIdAscOrdemAsc(tenantId, ids)) {
+            List<PublicProdutoImagemResponse> list = out.computeIfAbsent(img.getProduto().getId(), k -> new ArrayList<>());
+            if (list.size() >= MAX_IMAGENS_POR_PRODUTO) continue;
+            PublicProdutoImagemResponse r = new PublicProdutoImagemResponse();
+            r.setId(img.getId());
+            r.setUrl(img.getUrl());
+            r.setOrdem(img.getOrdem());
+            r.setLegenda(img.getLegenda());
+            list.add(r);
+        }
+        out.replaceAll((k, list) -> List.copyOf(list));
+        return out;
+    }
+
+    private static PublicProdutoResponse toPublicProduto(Produto p, List<PublicProdutoImagemResponse> imagens) {
+        PublicProdutoResponse r = new PublicProdutoResponse();
+        r.setId(p.getId());
+        r.setCodigo(p.getCodigo());
+        r.setNome(p.getNome());
+        r.setDescricao(p.getDescricao());
+        r.setPreco(p.getPreco());
+        r.setImagemUrl(p.getUrlImagem());
+        r.setImagens(imagens);
+        r.setDisponivel(p.getDisponivel());
+        r.setCategoriaProdutoId(p.getCategoriaProduto() != null ? p.getCategoriaProduto().getId() : null);
+        return r;
+    }
+
+    private PublicCardapioSnapshot snapshotOf(Long tenantId, long version, boolean publicado, String mensagem,
+                                              String telefone, Integer maxItens, String bannerUrl,
+                                              List<PublicCategoriaProdutoResponse> categorias) {
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("publicado", publicado);
+        content.put("mensagem", mensagem);
+        content.put("telefoneContato", telefone);
+        content.put("maxItensPorPedido", maxItens);
+        content.put("bannerUrl", bannerUrl);
+        content.put("categorias", categorias);
+        String contentHash = CryptoPrimitives.sha256Base64Url("public.cardapio.content", toJson(content));
+        return new PublicCardapioSnapshot(tenantId, version, publicado, mensagem, telefone, maxItens, bannerUrl,
+                categorias, contentHash);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o cardápio público.", e);
+        }
+    }
+}
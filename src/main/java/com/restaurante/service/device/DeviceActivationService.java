@@ -23,6 +23,7 @@ import com.restaurante.repository.InstituicaoRepository;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.repository.UnidadeAtendimentoRepository;
 import com.restaurante.security.device.DevicePrincipal;
+import com.restaurante.security.device.DevicePrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -43,6 +44,8 @@ public class DeviceActivationService {
     private final UnidadeAtendimentoRepository unidadeAtendimentoRepository;
     private final DeviceEventLogService deviceEventLogService;
     private final DeviceSyncMetricsService metrics;
+    private final DevicePrincipalCache devicePrincipalCache;
+    private final DeviceHeartbeatAggregator heartbeatAggregator;
 
     @Transactional
     public DeviceActivationResponse ativar(DeviceActivationRequest request, String userAgent, String ip) {
@@ -98,6 +101,7 @@ public class DeviceActivationService {
         if (ip != null) dispositivo.setUltimoIp(ip);
 
         dispositivoOperacionalRepository.save(dispositivo);
+        devicePrincipalCache.invalidateDevice(dispositivo.getId());
 
         return new DeviceActivationResponse(
                 rawDeviceToken,
@@ -112,20 +116,19 @@ public class DeviceActivationService {
         );
     }
 
-    @Transactional
     public DeviceHeartbeatResponse heartbeat(String authorizationHeader, DeviceHeartbeatRequest request, String userAgent, String ip) {
         DevicePrincipal principal = deviceAuthService.authenticateDeviceHeader(authorizationHeader, userAgent, ip);
-        DispositivoOperacional dispositivo = dispositivoOperacionalRepository.findById(principal.dispositivoId())
-                .orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado."));
 
-        dispositivo.setUltimoHeartbeatEm(LocalDateTime.now());
-        if (request != null && request.getAppVersion() != null) dispositivo.setAppVersion(request.getAppVersion());
-        if (userAgent != null) dispositivo.setUserAgent(userAgent);
-        if (ip != null) dispositivo.setUltimoIp(ip);
-        dispositivoOperacionalRepository.save(dispositivo);
+        // write-behind: coalescido e gravado em batch (ver DeviceHeartbeatAggregator)
+        heartbeatAggregator.recordHeartbeat(
+                principal.dispositivoId(),
+                ip,
+                userAgent,
+                request != null ? request.getAppVersion() : null
+        );
 
         metrics.recordHeartbeat("OK");
-        return new DeviceHeartbeatResponse("OK", LocalDateTime.now(), dispositivo.getStatus());
+        return new DeviceHeartbeatResponse("OK", LocalDateTime.now(), principal.status());
     }
 
     @Transactional
@@ -194,6 +197,7 @@ public class DeviceActivationService {
         dispositivo.setTokenVersion(dispositivo.getTokenVersion() != null ? dispositivo.getTokenVersion() + 1 : 2);
         dispositivo.setLastTokenRotationAt(LocalDateTime.now());
         dispositivoOperacionalRepository.save(dispositivo);
+        devicePrincipalCache.invalidateDevice(dispositivo.getId());
 
         deviceEventLogService.log(
                 principal.tenantId(),
@@ -3,6 +3,7 @@ package com.restaurante.service.device;
 import com.restaurante.exception.DeviceForbiddenException;
 import com.restaurante.exception.DeviceUnauthorizedException;
 import com.restaurante.exception.ResourceNotFoundException;
+import com.restaurante.model.entity.BaseEntity;
 import com.restaurante.model.entity.DispositivoOperacional;
 import com.restaurante.model.entity.Tenant;
 import com.restaurante.model.enums.DispositivoStatus;
@@ -10,14 +11,18 @@ import com.restaurante.model.enums.TenantEstado;
 import com.restaurante.repository.DispositivoOperacionalRepository;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.security.device.DevicePrincipal;
+import com.restaurante.security.device.DevicePrincipalCache;
 import com.restaurante.model.enums.DeviceEventStatus;
 import com.restaurante.model.enums.DeviceEventType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.restaurante.service.metrics.DeviceSyncMetricsService;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -29,8 +34,16 @@ public class DeviceAuthService {
     private final DeviceEventLogService deviceEventLogService;
     private final DeviceSyncMetricsService metrics;
     private final com.restaurante.device.capability.service.DeviceCapabilityBootstrapService capabilityBootstrapService;
+    private final DevicePrincipalCache principalCache;
+    private final DeviceHeartbeatAggregator heartbeatAggregator;
+    private final PlatformTransactionManager transactionManager;
 
-    @Transactional
+    /**
+     * Autentica o header Device.
+     *
+     * Cache hit: devolve o principal sem abrir transação nem tocar no banco (sem lastAuthAt /
+     * AUTH_SUCCESS por request; ambos voltam a ser registrados no próximo miss, no máximo uma vez por TTL).
+     */
     public DevicePrincipal authenticateDeviceHeader(String authorizationHeader, String userAgent, String ip) {
         String raw;
         try {
@@ -41,6 +54,20 @@ public class DeviceAuthService {
         }
         String hash = deviceTokenService.hashToHex(raw);
 
+        var cached = principalCache.get(hash);
+        if (cached.isPresent()) {
+            metrics.recordDeviceAuth("SUCCESS");
+            return cached.get();
+        }
+
+        long generation = principalCache.currentGeneration();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        DevicePrincipal principal = tx.execute(status -> authenticateUncached(hash, userAgent, ip));
+        principalCache.put(hash, principal, generation);
+        return principal;
+    }
+
+    private DevicePrincipal authenticateUncached(String hash, String userAgent, String ip) {
         DispositivoOperacional dispositivo = dispositivoOperacionalRepository.findByDeviceTokenHash(hash)
                 .orElseThrow(() -> {
                     metrics.recordDeviceAuth("INVALID_TOKEN");
@@ -83,8 +110,7 @@ public class DeviceAuthService {
             throw new DeviceForbiddenException("Tenant não está ativo.");
         }
 
-        dispositivo.setLastAuthAt(LocalDateTime.now());
-        dispositivoOperacionalRepository.save(dispositivo);
+        heartbeatAggregator.recordAuth(dispositivo.getId());
         deviceEventLogService.log(
                 dispositivo.getTenant().getId(),
                 dispositivo.getId(),
@@ -115,6 +141,32 @@ public class DeviceAuthService {
         );
     }
 
+    /**
+     * Revalida um principal já emitido, para ligações de longa duração (streams) que não voltam a passar
+     * pelo filtro: device ATIVO com o mesmo tokenVersion, unidades e capabilities e tenant ATIVO.
+     * Apenas leitura (sem lastAuthAt nem eventos de auth).
+     */
+    public boolean isStillAuthorized(DevicePrincipal principal) {
+        if (principal == null || principal.dispositivoId() == null) return false;
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        return Boolean.TRUE.equals(tx.execute(status -> dispositivoOperacionalRepository.findById(principal.dispositivoId())
+                .filter(d -> d.getStatus() == DispositivoStatus.ATIVO)
+                .filter(d -> Objects.equals(d.getTokenVersion(), principal.tokenVersion()))
+                .filter(d -> Objects.equals(d.getTenant().getId(), principal.tenantId()))
+                .filter(d -> Objects.equals(idOf(d.getUnidadeAtendimento()), principal.unidadeAtendimentoId()))
+                .filter(d -> Objects.equals(idOf(d.getUnidadeProducao()), principal.unidadeProducaoId()))
+                .filter(d -> Set.copyOf(capabilityBootstrapService.listEnabledCapabilities(principal.tenantId(), d.getId()))
+                        .equals(Set.copyOf(principal.capabilities())))
+                .flatMap(d -> tenantRepository.findById(principal.tenantId()))
+                .filter(t -> t.getEstado() == TenantEstado.ATIVO)
+                .isPresent()));
+    }
+
+    private static Long idOf(BaseEntity entity) {
+        return entity != null ? entity.getId() : null;
+    }
+
     private String extractDeviceToken(String authorizationHeader) {
         if (authorizationHeader == null || authorizationHeader.isBlank()) {
             throw new DeviceUnauthorizedException("Authorization: Device <token> é obrigatório.");
@@ -19,6 +19,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
@@ -44,23 +45,66 @@ public class DeviceFilaDiffService {
     @Value("${consuma.sync.fila.diff.max-limit:1000}")
     private int maxLimit;
 
+    /**
+     * Margem para relógios de nós diferentes: um evento com id posterior ao cursor pode ter createdAt
+     * ligeiramente anterior ao dele.
+     */
+    private static final Duration CLOCK_SKEW_MARGIN = Duration.ofMinutes(10);
+
+    /**
+     * Janela de eventos considerada pelo diff. Limita as queries às partições mensais recentes.
+     * Um cursor mais antigo que a janela (unidade parada) não é descartado: a janela é alargada até ao
+     * createdAt do próprio cursor, lido pelo id sem limite temporal.
+     */
+    @Value("${consuma.sync.fila.diff.lookback-hours:72}")
+    private int lookbackHours;
+
+    private LocalDateTime lookbackFrom(LocalDateTime now) {
+        return now.minusHours(Math.max(1, lookbackHours));
+    }
+
     private void requireCapability(DevicePrincipal device, DeviceCapability capability) {
         if (device == null || device.capabilities() == null || !device.capabilities().contains(capability)) {
             throw new com.restaurante.exception.DeviceForbiddenException("PRODUCTION_CAPABILITY_FORBIDDEN");
         }
     }
 
-    @Transactional(readOnly = true)
-    public DiffResult diff(DevicePrincipal device, Long sinceEventId, Integer limit) {
+    private void requireFilaScope(DevicePrincipal device) {
         requireCapability(device, DeviceCapability.VIEW_PRODUCTION);
         operationalCapabilitiesPolicy.assertProductionEnabled(device.tenantId());
         if (device.unidadeProducaoId() == null) {
             throw new ConflictException("DEVICE_PRODUCTION_UNIT_AMBIGUOUS");
         }
+    }
+
+    /**
+     * Último eventId da fila da UnidadeProducao do device (0 se ainda não houver eventos).
+     * Ponto de partida do stream quando o device não informa cursor.
+     */
+    @Transactional(readOnly = true)
+    public Long currentCursor(DevicePrincipal device) {
+        requireFilaScope(device);
+        Long maxId = latestEventId(device.tenantId(), device.unidadeProducaoId(), lookbackFrom(LocalDateTime.now()));
+        return maxId != null ? maxId : 0L;
+    }
+
+    /**
+     * Último evento da unidade na janela; sem eventos recentes, o último de sempre (unidade parada não
+     * perde o cursor).
+     */
+    private Long latestEventId(Long tenantId, Long unidadeProducaoId, LocalDateTime createdFrom) {
+        Long maxId = operationalEventLogRepository.maxIdByTenantAndUnidadeProducao(tenantId, unidadeProducaoId, createdFrom);
+        return maxId != null ? maxId : operationalEventLogRepository.maxIdByTenantAndUnidadeProducaoAllTime(tenantId, unidadeProducaoId);
+    }
+
+    @Transactional(readOnly = true)
+    public DiffResult diff(DevicePrincipal device, Long sinceEventId, Integer limit) {
+        requireFilaScope(device);
 
         Long tenantId = device.tenantId();
         Long unidadeProducaoId = device.unidadeProducaoId();
         LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdFrom = lookbackFrom(now);
 
         int effectiveLimit = limit == null ? defaultLimit : Math.min(Math.max(limit, 1), maxLimit);
 
@@ -72,7 +116,16 @@ public class DeviceFilaDiffService {
         List<com.restaurante.dto.response.SyncEnvelope.SyncWarning> warnings = List.of();
 
         if (baseline > 0) {
-            boolean exists = operationalEventLogRepository.existsByIdAndTenantAndUnidadeProducao(baseline, tenantId, unidadeProducaoId);
+            boolean exists = operationalEventLogRepository.existsByIdAndTenantAndUnidadeProducao(baseline, tenantId, unidadeProducaoId, createdFrom);
+            if (!exists) {
+                LocalDateTime cursorCreatedAt = operationalEventLogRepository
+                        .findFilaEventCreatedAt(baseline, tenantId, unidadeProducaoId)
+                        .orElse(null);
+                if (cursorCreatedAt != null) {
+                    exists = true;
+                    createdFrom = cursorCreatedAt.minus(CLOCK_SKEW_MARGIN);
+                }
+            }
             if (!exists) {
                 fullSyncRequired = true;
                 fullSyncReason = com.restaurante.dto.response.SyncEnvelope.FullSyncRequiredReason.VERSION_MISMATCH;
@@ -80,22 +133,25 @@ public class DeviceFilaDiffService {
                         com.restaurante.dto.response.SyncEnvelope.SyncWarningCode.PARTIAL_RESPONSE,
                         "sinceEventId não encontrado no escopo; recomendado full sync."
                 ));
-                Long maxId = operationalEventLogRepository.maxIdByTenantAndUnidadeProducao(tenantId, unidadeProducaoId);
+                Long maxId = latestEventId(tenantId, unidadeProducaoId, createdFrom);
                 DeviceFilaDiffSyncResponse resp = new DeviceFilaDiffSyncResponse(now, maxId, false, List.of(), List.of(), List.of(), List.of());
                 return new DiffResult(resp, true, fullSyncReason, warnings);
             }
         }
 
-        long totalAfter = operationalEventLogRepository.countFilaEventsAfter(tenantId, unidadeProducaoId, baseline, types);
+        long totalAfter = operationalEventLogRepository.countFilaEventsAfter(tenantId, unidadeProducaoId, baseline, createdFrom, types);
         boolean hasMore = totalAfter > effectiveLimit;
 
         List<OperationalEventLog> events = operationalEventLogRepository.findFilaEventsAfter(
-                tenantId, unidadeProducaoId, baseline, types, PageRequest.of(0, effectiveLimit)
+                tenantId, unidadeProducaoId, baseline, createdFrom, types, PageRequest.of(0, effectiveLimit)
         );
 
         Long lastEventId = events.isEmpty()
-                ? operationalEventLogRepository.maxIdByTenantAndUnidadeProducao(tenantId, unidadeProducaoId)
+                ? operationalEventLogRepository.maxIdByTenantAndUnidadeProducao(tenantId, unidadeProducaoId, createdFrom)
                 : events.get(events.size() - 1).getId();
+        if (lastEventId == null && baseline > 0) {
+            lastEventId = baseline;
+        }
 
         List<DeviceFilaEventSyncItem> mappedEvents = events.stream()
                 .map(e -> new DeviceFilaEventSyncItem(
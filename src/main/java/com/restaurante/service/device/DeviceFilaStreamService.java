@@ -0,0 +1,378 @@
+package com.restaurante.service.device;
+
+import com.restaurante.dto.response.DeviceFilaDiffSyncResponse;
+import com.restaurante.dto.response.SyncEnvelope;
+import com.restaurante.exception.ConflictException;
+import com.restaurante.model.enums.OperationalEventType;
+import com.restaurante.security.device.DevicePrincipal;
+import com.restaurante.security.device.DevicePrincipalInvalidatedEvent;
+import com.restaurante.service.metrics.DeviceSyncMetricsService;
+import com.restaurante.service.operacional.event.OperationalEventLoggedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stream (SSE) da fila de produção por UnidadeProducao, em substituição ao polling de /producao/fila/diff.
+ *
+ * - Cada evento SSE ("fila-diff") carrega exatamente o mesmo envelope do endpoint de diff
+ *   (DeviceFilaDiffSyncResponse com os DeviceFilaDiffUpdateItem), com id = lastEventId.
+ * - Resume: o device reconecta com Last-Event-ID (ou sinceEventId) e recebe apenas os eventos posteriores,
+ *   paginados pelo próprio DeviceFilaDiffService; cursor desconhecido → fullSyncRequired e o stream é fechado.
+ * - Push: após o commit de SUBPEDIDO_STATUS_CHANGED/PEDIDO_STATUS_CHANGED, o canal da UnidadeProducao é acordado
+ *   e um único diff é calculado por cursor distinto (normalmente um por canal), independentemente do número de
+ *   devices conectados. Bursts de eventos são coalescidos num só drain por canal.
+ * - O stream expira após consuma.sync.fila.stream.timeout-seconds; a reconexão revalida o deviceToken.
+ * - Revogação: {@link DevicePrincipalInvalidatedEvent} (revogação, rotação de token, troca de unidade,
+ *   capabilities, tenant/conta) fecha de imediato os streams do device/tenant; além disso o principal é
+ *   revalidado no banco antes de cada push, o que cobre alterações feitas noutro nó ou fora da aplicação.
+ *
+ * Estado em memória (por nó): o wake-up após commit só chega aos canais do nó que escreveu o evento. Para
+ * eventos escritos noutro nó, cada canal é re-drenado a cada consuma.sync.fila.stream.redrain-interval-ms
+ * (um diff por cursor distinto), pelo que a latência entre nós fica limitada a esse intervalo.
+ */
+@Service
+@Slf4j
+public class DeviceFilaStreamService {
+
+    static final String EVENT_NAME = "fila-diff";
+    static final String DOMAIN = "PRODUCAO_FILA_STREAM";
+
+    private static final Set<OperationalEventType> FILA_EVENT_TYPES =
+            Set.of(OperationalEventType.SUBPEDIDO_STATUS_CHANGED, OperationalEventType.PEDIDO_STATUS_CHANGED);
+
+    private final DeviceFilaDiffService filaDiffService;
+    private final DeviceAuthService deviceAuthService;
+    private final DeviceSyncMetricsService metrics;
+    private final Executor dispatcher;
+    private final long timeoutMillis;
+    private final int maxSubscribersPerUnit;
+    private final int batchLimit;
+
+    private final Map<ChannelKey, Channel> channels = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DeviceFilaStreamService(DeviceFilaDiffService filaDiffService,
+                                   DeviceAuthService deviceAuthService,
+                                   DeviceSyncMetricsService metrics,
+                                   @Value("${consuma.sync.fila.stream.timeout-seconds:1800}") int timeoutSeconds,
+                                   @Value("${consuma.sync.fila.stream.max-subscribers-per-unit:50}") int maxSubscribersPerUnit,
+                                   @Value("${consuma.sync.fila.stream.batch-limit:200}") int batchLimit,
+                                   @Value("${consuma.sync.fila.stream.dispatch-threads:2}") int dispatchThreads) {
+        this(filaDiffService, deviceAuthService, metrics, newDispatcher(dispatchThreads),
+                timeoutSeconds, maxSubscribersPerUnit, batchLimit);
+    }
+
+    DeviceFilaStreamService(DeviceFilaDiffService filaDiffService,
+                            DeviceAuthService deviceAuthService,
+                            DeviceSyncMetricsService metrics,
+                            Executor dispatcher,
+                            int timeoutSeconds,
+                            int maxSubscribersPerUnit,
+                            int batchLimit) {
+        this.filaDiffService = filaDiffService;
+        this.deviceAuthService = deviceAuthService;
+        this.metrics = metrics;
+        this.dispatcher = dispatcher;
+        this.timeoutMillis = Math.max(1, timeoutSeconds) * 1000L;
+        this.maxSubscribersPerUnit = Math.max(1, maxSubscribersPerUnit);
+        this.batchLimit = Math.max(1, batchLimit);
+    }
+
+    private static ExecutorService newDispatcher(int threads) {
+        AtomicInteger seq = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "fila-stream-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Abre o stream da fila do device. Sem cursor, começa no último evento da UnidadeProducao
+     * (o device deve ter carregado /producao/fila antes).
+     */
+    public SseEmitter subscribe(DevicePrincipal device, Long sinceEventId) {
+        Long cursor = sinceEventId != null ? sinceEventId : filaDiffService.currentCursor(device);
+        ChannelKey key = new ChannelKey(device.tenantId(), device.unidadeProducaoId());
+        Channel existing = channels.get(key);
+        if (existing != null && existing.subscribers.size() >= maxSubscribersPerUnit) {
+            metrics.recordSyncRequest(DOMAIN, "409");
+            throw new ConflictException("FILA_STREAM_LIMIT_EXCEEDED");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(device, emitter, cursor);
+
+        // Replay síncrono da primeira página: erros de escopo/capability viram resposta HTTP normal.
+        DeviceFilaDiffService.DiffResult first = filaDiffService.diff(device, cursor, batchLimit);
+        if (first.fullSyncRequired()) {
+            metrics.recordFullSyncRequired(DOMAIN, first.fullSyncReason());
+            metrics.recordSyncRequest(DOMAIN, "200");
+            send(subscriber, first);
+            emitter.complete();
+            return emitter;
+        }
+        if (!first.data().eventos().isEmpty()) {
+            send(subscriber, first);
+        }
+        subscriber.cursor = first.data().lastEventId() != null ? first.data().lastEventId() : cursor;
+
+        emitter.onCompletion(() -> unsubscribe(key, subscriber));
+        emitter.onTimeout(() -> unsubscribe(key, subscriber));
+        emitter.onError(e -> unsubscribe(key, subscriber));
+        Channel channel = channels.compute(key, (k, c) -> {
+            Channel target = c != null ? c : new Channel(k);
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        metrics.recordSyncRequest(DOMAIN, "200");
+
+        // Cobre hasMore do replay e eventos commitados entre o diff acima e o registo.
+        channel.requestDrain();
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOperationalEventLogged(OperationalEventLoggedEvent event) {
+        if (event == null || event.getTenantId() == null || event.getUnidadeProducaoId() == null) return;
+        if (!FILA_EVENT_TYPES.contains(event.getEventType())) return;
+        Channel channel = channels.get(new ChannelKey(event.getTenantId(), event.getUnidadeProducaoId()));
+        if (channel != null) {
+            channel.requestDrain();
+        }
+    }
+
+    /**
+     * Fecha os streams abertos com principals invalidados; o device reconecta e volta a autenticar.
+     * Sem transação activa (ex.: invalidação administrativa fora de transação) corre de imediato.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDevicePrincipalInvalidated(DevicePrincipalInvalidatedEvent event) {
+        if (event == null) return;
+        for (Channel channel : channels.values()) {
+            for (Subscriber s : channel.subscribers) {
+                if (event.matches(s.device)) {
+                    close(channel.key, s);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-drain periódico de todos os canais: entrega eventos commitados noutro nó (sem wake-up local).
+     */
+    @Scheduled(fixedDelayString = "${consuma.sync.fila.stream.redrain-interval-ms:5000}")
+    public void redrain() {
+        channels.values().forEach(Channel::requestDrain);
+    }
+
+    /**
+     * Comentário SSE periódico: mantém a ligação viva em proxies e deteta devices desligados.
+     */
+    @Scheduled(fixedDelayString = "${consuma.sync.fila.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber s : channel.subscribers) {
+                try {
+                    s.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(channel.key, s);
+                }
+            }
+        }
+    }
+
+    int subscriberCount(Long tenantId, Long unidadeProducaoId) {
+        Channel channel = channels.get(new ChannelKey(tenantId, unidadeProducaoId));
+        return channel != null ? channel.subscribers.size() : 0;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        channels.values().forEach(c -> c.subscribers.forEach(s -> s.emitter.complete()));
+        channels.clear();
+    }
+
+    private void close(ChannelKey key, Subscriber subscriber) {
+        unsubscribe(key, subscriber);
+        subscriber.emitter.complete();
+    }
+
+    /**
+     * Revalida o principal antes do push; inválido → stream fechado (a reconexão devolve 401/403).
+     */
+    private boolean stillAuthorized(ChannelKey key, Subscriber subscriber) {
+        boolean authorized;
+        try {
+            authorized = deviceAuthService.isStillAuthorized(subscriber.device);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao revalidar device do stream (dispositivoId={}): {}",
+                    subscriber.device.dispositivoId(), e.getMessage());
+            authorized = false;
+        }
+        if (!authorized) {
+            metrics.recordSyncRequest(DOMAIN, "403");
+            close(key, subscriber);
+        }
+        return authorized;
+    }
+
+    private void unsubscribe(ChannelKey key, Subscriber subscriber) {
+        channels.computeIfPresent(key, (k, c) -> {
+            c.subscribers.remove(subscriber);
+            return c.subscribers.isEmpty() ? null : c;
+        });
+    }
+
+    private boolean send(Subscriber subscriber, DeviceFilaDiffService.DiffResult result) {
+        DeviceFilaDiffSyncResponse resp = result.data();
+        SyncEnvelope<DeviceFilaDiffSyncResponse> env = SyncEnvelope.incremental(
+                resp,
+                resp.syncGeneratedAt(),
+                "fila-diff:v1",
+                null,
+                result.fullSyncRequired(),
+                result.fullSyncReason(),
+                resp.hasMore(),
+                null,
+                result.warnings()
+        );
+        try {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(EVENT_NAME).data(env, MediaType.APPLICATION_JSON);
+            if (resp.lastEventId() != null) {
+                event.id(String.valueOf(resp.lastEventId()));
+            }
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    /**
+     * Leva todos os subscribers do canal até ao último evento: um diff por cursor distinto, enviado a todos
+     * os subscribers nesse cursor.
+     */
+    private void drain(Channel channel) {
+        Map<Long, List<Subscriber>> byCursor = new LinkedHashMap<>();
+        for (Subscriber s : channel.subscribers) {
+            byCursor.computeIfAbsent(s.cursor, c -> new ArrayList<>()).add(s);
+        }
+        for (Map.Entry<Long, List<Subscriber>> group : byCursor.entrySet()) {
+            List<Subscriber> targets = group.getValue();
+            Long cursor = group.getKey();
+            boolean hasMore = true;
+            boolean revalidated = false;
+            while (hasMore && !targets.isEmpty()) {
+                DeviceFilaDiffService.DiffResult result = filaDiffService.diff(targets.get(0).device, cursor, batchLimit);
+                DeviceFilaDiffSyncResponse resp = result.data();
+                if (result.fullSyncRequired()) {
+                    metrics.recordFullSyncRequired(DOMAIN, result.fullSyncReason());
+                    targets.forEach(s -> {
+                        send(s, result);
+                        s.emitter.complete();
+                    });
+                    break;
+                }
+                if (resp.eventos().isEmpty()) break;
+                if (!revalidated) {
+                    targets.removeIf(s -> !stillAuthorized(channel.key, s));
+                    revalidated = true;
+                    if (targets.isEmpty()) break;
+                }
+                targets.removeIf(s -> !send(s, result));
+                cursor = resp.lastEventId();
+                for (Subscriber s : targets) {
+                    s.cursor = cursor;
+                }
+                hasMore = resp.hasMore();
+            }
+        }
+    }
+
+    private record ChannelKey(Long tenantId, Long unidadeProducaoId) {
+    }
+
+    private final class Channel {
+        private final ChannelKey key;
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean running = new AtomicBoolean(false);
+        private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+        private Channel(ChannelKey key) {
+            this.key = key;
+        }
+
+        /**
+         * No máximo um drain em execução por canal; pedidos durante o drain marcam dirty e geram uma
+         * única passagem extra.
+         */
+        void requestDrain() {
+            dirty.set(true);
+            if (running.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::runDrain);
+                } catch (RejectedExecutionException e) {
+                    running.set(false);
+                }
+            }
+        }
+
+        private void runDrain() {
+            try {
+                while (dirty.getAndSet(false)) {
+                    try {
+                        drain(this);
+                    } catch (RuntimeException e) {
+                        log.warn("Falha ao propagar fila (tenantId={}, unidadeProducaoId={}): {}",
+                                key.tenantId(), key.unidadeProducaoId(), e.getMessage());
+                    }
+                }
+            } finally {
+                running.set(false);
+            }
+            if (dirty.get()) {
+                requestDrain();
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final DevicePrincipal device;
+        private final SseEmitter emitter;
+        private volatile Long cursor;
+
+        private Subscriber(DevicePrincipal device, SseEmitter emitter, Long cursor) {
+            this.device = device;
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.restaurante.service.device;
+
+import com.restaurante.config.DeviceProperties;
+import com.restaurante.config.ObservabilidadeProperties;
+import com.restaurante.service.metrics.DeviceSyncMetricsService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind de "last seen" de dispositivos (heartbeat, lastAuthAt, IP, user agent, appVersion).
+ *
+ * Em vez de um UPDATE por request autenticado/heartbeat na linha (quente) de dispositivos_operacionais,
+ * os valores são coalescidos em memória por dispositivo e gravados num único batch JDBC.
+ *
+ * Semântica de offline (consuma.device.heartbeat-stale-minutes / consuma.observabilidade.device-offline-threshold-minutes):
+ * - O intervalo efetivo de flush nunca excede metade do menor desses thresholds, portanto um device que
+ *   enviou heartbeat dentro da janela nunca aparece como offline em countOfflineGlobal por atraso de flush.
+ * - O UPDATE só avança timestamps (nunca retrocede), mesmo com flushes concorrentes entre nós.
+ * - No shutdown o buffer é drenado.
+ */
+@Service
+@Slf4j
+public class DeviceHeartbeatAggregator {
+
+    static final String UPDATE_SQL = """
+            update dispositivos_operacionais
+               set ultimo_heartbeat_em = coalesce(greatest(ultimo_heartbeat_em, ?), ?, ultimo_heartbeat_em),
+                   last_auth_at = coalesce(greatest(last_auth_at, ?), ?, last_auth_at),
+                   ultimo_ip = coalesce(?, ultimo_ip),
+                   user_agent = coalesce(?, user_agent),
+                   app_version = coalesce(?, app_version)
+             where id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DeviceSyncMetricsService metrics;
+    private final Clock clock;
+    private final boolean writeBehindEnabled;
+    private final long flushIntervalMillis;
+    private final int maxBufferedDevices;
+
+    private final Map<Long, PendingSeen> buffer = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+    private volatile long lastFlushAtMillis;
+
+    @Autowired
+    public DeviceHeartbeatAggregator(JdbcTemplate jdbcTemplate,
+                                     DeviceSyncMetricsService metrics,
+                                     DeviceProperties deviceProperties,
+                                     ObservabilidadeProperties observabilidadeProperties) {
+        this(jdbcTemplate, metrics, Clock.systemDefaultZone(),
+                deviceProperties.isHeartbeatWriteBehindEnabled(),
+                effectiveFlushIntervalMillis(
+                        deviceProperties.getHeartbeatFlushIntervalSeconds(),
+                        Math.min(deviceProperties.getHeartbeatStaleMinutes(), observabilidadeProperties.getDeviceOfflineThresholdMinutes())),
+                deviceProperties.getHeartbeatBufferMaxDevices());
+    }
+
+    DeviceHeartbeatAggregator(JdbcTemplate jdbcTemplate,
+                              DeviceSyncMetricsService metrics,
+                              Clock clock,
+                              boolean writeBehindEnabled,
+                              long flushIntervalMillis,
+                              int maxBufferedDevices) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.writeBehindEnabled = writeBehindEnabled;
+        this.flushIntervalMillis = Math.max(1000L, flushIntervalMillis);
+        this.maxBufferedDevices = Math.max(1, maxBufferedDevices);
+        this.lastFlushAtMillis = clock.millis();
+    }
+
+    static long effectiveFlushIntervalMillis(int configuredSeconds, int staleMinutes) {
+        long configured = Math.max(1, configuredSeconds) * 1000L;
+        if (staleMinutes <= 0) return configured;
+        long ceiling = Math.max(1000L, staleMinutes * 60_000L / 2);
+        return Math.min(configured, ceiling);
+    }
+
+    public void recordHeartbeat(Long dispositivoId, String ip, String userAgent, String appVersion) {
+        record(dispositivoId, new PendingSeen(LocalDateTime.now(clock), null, ip, userAgent, appVersion));
+    }
+
+    public void recordAuth(Long dispositivoId) {
+        record(dispositivoId, new PendingSeen(null, LocalDateTime.now(clock), null, null, null));
+    }
+
+    private void record(Long dispositivoId, PendingSeen seen) {
+        if (dispositivoId == null) return;
+        if (!writeBehindEnabled) {
+            write(List.of(Map.entry(dispositivoId, seen)));
+            metrics.recordHeartbeat("WRITE_THROUGH");
+            return;
+        }
+        buffer.merge(dispositivoId, seen, PendingSeen::merge);
+        if (buffer.size() >= maxBufferedDevices) {
+            // backpressure: quem encheu o buffer paga o flush
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${consuma.device.heartbeat-flush-tick-ms:1000}")
+    public void tick() {
+        if (buffer.isEmpty()) return;
+        if (clock.millis() - lastFlushAtMillis < flushIntervalMillis) return;
+        flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Drena o buffer num único batch JDBC. Retorna o número de dispositivos gravados.
+     */
+    public int flush() {
+        if (!flushing.compareAndSet(false, true)) return 0;
+        try {
+            lastFlushAtMillis = clock.millis();
+            List<Map.Entry<Long, PendingSeen>> drained = new ArrayList<>(buffer.size());
+            for (Long id : buffer.keySet()) {
+                PendingSeen seen = buffer.remove(id);
+                if (seen != null) drained.add(Map.entry(id, seen));
+            }
+            if (drained.isEmpty()) return 0;
+            try {
+                write(drained);
+                metrics.recordHeartbeat("FLUSHED");
+                return drained.size();
+            } catch (RuntimeException e) {
+                // devolve ao buffer para a próxima tentativa sem perder valores mais recentes
+                drained.forEach(en -> buffer.merge(en.getKey(), en.getValue(), PendingSeen::merge));
+                metrics.recordHeartbeat("FLUSH_FAILED");
+                log.warn("Flush de heartbeat de dispositivos falhou ({} dispositivos): {}", drained.size(), e.getMessage());
+                return 0;
+            }
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    public int pendingCount() {
+        return buffer.size();
+    }
+
+    private void write(List<Map.Entry<Long, PendingSeen>> rows) {
+        jdbcTemplate.batchUpdate(UPDATE_SQL, rows, rows.size(), (ps, row) -> {
+            PendingSeen seen = row.getValue();
+            Timestamp heartbeat = seen.heartbeatAt() != null ? Timestamp.valueOf(seen.heartbeatAt()) : null;
+            Timestamp auth = seen.authAt() != null ? Timestamp.valueOf(seen.authAt()) : null;
+            ps.setTimestamp(1, heartbeat);
+            ps.setTimestamp(2, heartbeat);
+            ps.setTimestamp(3, auth);
+            ps.setTimestamp(4, auth);
+            ps.setString(5, truncate(seen.ip(), 64));
+            ps.setString(6, truncate(seen.userAgent(), 255));
+            ps.setString(7, truncate(seen.appVersion(), 40));
+            ps.setLong(8, row.getKey());
+        });
+    }
+
+    private static String truncate(String value, int max) {
+        if (value == null) return null;
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+
+    record PendingSeen(LocalDateTime heartbeatAt, LocalDateTime authAt, String ip, String userAgent, String appVersion) {
+
+        PendingSeen merge(PendingSeen newer) {
+            return new PendingSeen(
+                    latest(heartbeatAt, newer.heartbeatAt),
+                    latest(authAt, newer.authAt),
+                    newer.ip != null ? newer.ip : ip,
+                    newer.userAgent != null ? newer.userAgent : userAgent,
+                    newer.appVersion != null ? newer.appVersion : appVersion
+            );
+        }
+
+        private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return b.isAfter(a) ? b : a;
+        }
+    }
+}
@@ -34,6 +34,7 @@ import com.restaurante.model.enums.PaymentUsageContext;
 import com.restaurante.repository.DispositivoOperacionalRepository;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.repository.TurnoOperacionalRepository;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import com.restaurante.security.device.DevicePrincipal;
 import com.restaurante.service.FundoConsumoService;
 import com.restaurante.service.operacional.OperationalEventLogService;
@@ -46,10 +47,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
-import java.util.HexFormat;
 import java.util.Map;
 
 @Service
@@ -385,7 +383,6 @@ public class DeviceOrdemPagamentoService {
 
     private static String computeRequestHash(DevicePrincipal device, Long ordemId, ConfirmarOrdemManualRequest request) {
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
             String canonical = String.join("|",
                     String.valueOf(device.tenantId()),
                     String.valueOf(device.dispositivoId()),
@@ -396,7 +393,7 @@ public class DeviceOrdemPagamentoService {
                     safe(request.getReferenciaOperador()),
                     safe(request.getObservacao())
             );
-            return HexFormat.of().formatHex(md.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+            return CryptoPrimitives.sha256Hex("device.ordem-pagamento.idempotency", canonical);
         } catch (Exception e) {
             throw new IllegalStateException("Falha ao calcular hash de idempotência.", e);
         }
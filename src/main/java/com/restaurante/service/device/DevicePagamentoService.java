@@ -35,6 +35,7 @@ import com.restaurante.repository.DispositivoOperacionalRepository;
 import com.restaurante.repository.PedidoRepository;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.repository.TurnoOperacionalRepository;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import com.restaurante.security.device.DevicePrincipal;
 import com.restaurante.service.PedidoPagamentoPolicy;
 import com.restaurante.service.PaymentReferenceService;
@@ -48,10 +49,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
-import java.util.HexFormat;
 import java.util.Map;
 
 @Service
@@ -457,13 +455,7 @@ public class DevicePagamentoService {
     }
 
     private String sha256Hex(String value) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] dig = md.digest(value.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(dig);
-        } catch (Exception e) {
-            return Integer.toHexString(value != null ? value.hashCode() : 0);
-        }
+        return CryptoPrimitives.sha256Hex("device.pagamento.idempotency", value);
     }
 
     private DevicePrincipal requireDevicePrincipal() {
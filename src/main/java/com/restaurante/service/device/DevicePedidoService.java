@@ -48,6 +48,7 @@ import com.restaurante.repository.SubPedidoRepository;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.repository.TurnoOperacionalRepository;
 import com.restaurante.repository.UnidadeAtendimentoRepository;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import com.restaurante.security.device.DevicePrincipal;
 import com.restaurante.service.PedidoNumberService;
 import com.restaurante.service.SessaoConsumoService;
@@ -65,12 +66,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HexFormat;
 import java.util.List;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -571,18 +569,7 @@ public class DevicePedidoService {
     }
 
     private String sha256Hex(String value) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] dig = md.digest(value.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(dig);
-        } catch (Exception e) {
-            return sha256HexFallback(value);
-        }
-    }
-
-    private String sha256HexFallback(String value) {
-        // fallback mínimo (não criptográfico forte, mas evita null)
-        return Integer.toHexString(value != null ? value.hashCode() : 0);
+        return CryptoPrimitives.sha256Hex("device.pedido.idempotency", value);
     }
 
     private List<DeviceProductionBatch> agruparItensPorUnidadeProducao(
@@ -83,6 +83,16 @@ public class DeviceReadOnlySyncService {
         }
     }
 
+    /**
+     * Mesas e QR: VIEW_ORDERS ou SYNC_CATALOG. Exposto para o caminho 304 do controller, que valida
+     * o acesso antes de resolver a versão e sem carregar entidades.
+     */
+    public void requireMesasQrAccess(DevicePrincipal device) {
+        if (device.capabilities() == null || !(device.capabilities().contains(DeviceCapability.VIEW_ORDERS) || device.capabilities().contains(DeviceCapability.SYNC_CATALOG))) {
+            throw new DeviceForbiddenException("PRODUCTION_CAPABILITY_FORBIDDEN");
+        }
+    }
+
     @Transactional(readOnly = true)
     public DeviceBootstrapSyncResponse bootstrap(DevicePrincipal device) {
         Tenant tenant = tenantRepository.findById(device.tenantId())
@@ -181,6 +191,15 @@ public class DeviceReadOnlySyncService {
 
     @Transactional(readOnly = true)
     public CatalogPageResult syncCatalogoPaged(DevicePrincipal device, LocalDateTime updatedSince, boolean includeInactive, String cursor, Integer limit) {
+        return syncCatalogoPaged(device, updatedSince, includeInactive, cursor, limit, true);
+    }
+
+    /**
+     * includeCategorias=false: apenas a página de produtos (usado pelo stream, que escreve as categorias uma única vez).
+     */
+    @Transactional(readOnly = true)
+    public CatalogPageResult syncCatalogoPaged(DevicePrincipal device, LocalDateTime updatedSince, boolean includeInactive, String cursor, Integer limit,
+                                               boolean includeCategorias) {
         requireCapability(device, DeviceCapability.SYNC_CATALOG);
         Long tenantId = device.tenantId();
         LocalDateTime now = LocalDateTime.now();
@@ -219,7 +238,9 @@ public class DeviceReadOnlySyncService {
         }
 
         // Categorias: mantemos simples (snapshot completo ativo, ou incremental por updatedSince)
-        List<CategoriaProduto> cats = updatedSince != null
+        List<CategoriaProduto> cats = !includeCategorias
+                ? List.of()
+                : updatedSince != null
                 ? categoriaProdutoRepository.findByTenantIdAndUpdatedAtAfterOrderByUpdatedAtAsc(tenantId, updatedSince)
                 : (includeInactive ? categoriaProdutoRepository.findByTenantId(tenantId) : categoriaProdutoRepository.findByTenantIdAndAtivoTrueOrderByOrdemAsc(tenantId));
 
@@ -263,9 +284,7 @@ public class DeviceReadOnlySyncService {
 
     @Transactional(readOnly = true)
     public DeviceMesasSyncResponse syncMesas(DevicePrincipal device, LocalDateTime updatedSince, Long unidadeAtendimentoId) {
-        if (device.capabilities() == null || !(device.capabilities().contains(DeviceCapability.VIEW_ORDERS) || device.capabilities().contains(DeviceCapability.SYNC_CATALOG))) {
-            throw new DeviceForbiddenException("PRODUCTION_CAPABILITY_FORBIDDEN");
-        }
+        requireMesasQrAccess(device);
         Long tenantId = device.tenantId();
         LocalDateTime now = LocalDateTime.now();
 
@@ -307,7 +326,13 @@ public class DeviceReadOnlySyncService {
         return new DeviceMesasSyncResponse(now, mapped);
     }
 
-    public record MesasPageResult(DeviceMesasSyncResponse data, boolean hasMore, String nextCursor, boolean cursorExpired) {}
+    public record MesasPageResult(DeviceMesasSyncResponse data, boolean hasMore, String nextCursor, boolean cursorExpired)
+            implements KeysetPage<DeviceMesasSyncResponse> {
+        @Override
+        public LocalDateTime syncGeneratedAt() {
+            return data.syncGeneratedAt();
+        }
+    }
 
     public static final class MesasCursor {
         public String domain;
@@ -329,9 +354,7 @@ public class DeviceReadOnlySyncService {
 
     @Transactional(readOnly = true)
     public MesasPageResult syncMesasPaged(DevicePrincipal device, LocalDateTime updatedSince, Long unidadeAtendimentoId, String cursor, Integer limit) {
-        if (device.capabilities() == null || !(device.capabilities().contains(DeviceCapability.VIEW_ORDERS) || device.capabilities().contains(DeviceCapability.SYNC_CATALOG))) {
-            throw new DeviceForbiddenException("PRODUCTION_CAPABILITY_FORBIDDEN");
-        }
+        requireMesasQrAccess(device);
         Long tenantId = device.tenantId();
         LocalDateTime now = LocalDateTime.now();
 
@@ -409,9 +432,7 @@ public class DeviceReadOnlySyncService {
 
     @Transactional(readOnly = true)
     public DeviceQrSyncResponse syncQrCodes(DevicePrincipal device, LocalDateTime updatedSince) {
-        if (device.capabilities() == null || !(device.capabilities().contains(DeviceCapability.VIEW_ORDERS) || device.capabilities().contains(DeviceCapability.SYNC_CATALOG))) {
-            throw new DeviceForbiddenException("PRODUCTION_CAPABILITY_FORBIDDEN");
-        }
+        requireMesasQrAccess(device);
         Long tenantId = device.tenantId();
         LocalDateTime now = LocalDateTime.now();
 
@@ -449,7 +470,13 @@ public class DeviceReadOnlySyncService {
         return new DeviceQrSyncResponse(now, items);
     }
 
-    public record QrPageResult(DeviceQrSyncResponse data, boolean hasMore, String nextCursor, boolean cursorExpired) {}
+    public record QrPageResult(DeviceQrSyncResponse data, boolean hasMore, String nextCursor, boolean cursorExpired)
+            implements KeysetPage<DeviceQrSyncResponse> {
+        @Override
+        public LocalDateTime syncGeneratedAt() {
+            return data.syncGeneratedAt();
+        }
+    }
 
     public static final class QrCursor {
         public String domain;
@@ -471,9 +498,7 @@ public class DeviceReadOnlySyncService {
 
     @Transactional(readOnly = true)
     public QrPageResult syncQrCodesPaged(DevicePrincipal device, LocalDateTime updatedSince, String cursor, Integer limit) {
-        if (device.capabilities() == null || !(device.capabilities().contains(DeviceCapability.VIEW_ORDERS) || device.capabilities().contains(DeviceCapability.SYNC_CATALOG))) {
-            throw new DeviceForbiddenException("PRODUCTION_CAPABILITY_FORBIDDEN");
-        }
+        requireMesasQrAccess(device);
         Long tenantId = device.tenantId();
         LocalDateTime now = LocalDateTime.now();
 
@@ -584,7 +609,28 @@ public class DeviceReadOnlySyncService {
         return new DeviceProducaoSyncResponse(now, unidadeItems, rotaItems);
     }
 
-    public record CatalogPageResult(DeviceCatalogSyncResponse data, boolean hasMore, String nextCursor, boolean cursorExpired) {}
+    /**
+     * Página de um sync por keyset (catálogo, mesas, QR), comum às variantes paginada e em stream.
+     */
+    public interface KeysetPage<T> {
+        T data();
+
+        boolean hasMore();
+
+        String nextCursor();
+
+        boolean cursorExpired();
+
+        LocalDateTime syncGeneratedAt();
+    }
+
+    public record CatalogPageResult(DeviceCatalogSyncResponse data, boolean hasMore, String nextCursor, boolean cursorExpired)
+            implements KeysetPage<DeviceCatalogSyncResponse> {
+        @Override
+        public LocalDateTime syncGeneratedAt() {
+            return data.syncGeneratedAt();
+        }
+    }
 
     public static final class CatalogCursor {
         public String domain;
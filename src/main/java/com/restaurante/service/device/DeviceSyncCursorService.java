@@ -3,12 +3,11 @@ package com.restaurante.service.device;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.restaurante.dto.response.SyncErrorResponse;
 import com.restaurante.exception.BusinessException;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
@@ -84,10 +83,7 @@ public class DeviceSyncCursorService {
 
     private String sign(String payloadB64) {
         try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(new SecretKeySpec(cursorHmacSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-            byte[] raw = mac.doFinal(payloadB64.getBytes(StandardCharsets.UTF_8));
-            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+            return CryptoPrimitives.hmacSha256Base64Url("device.sync.cursor", cursorHmacSecret, payloadB64);
         } catch (Exception e) {
             throw new BusinessException("Falha ao assinar cursor.");
         }
@@ -96,24 +92,12 @@ public class DeviceSyncCursorService {
     private boolean verify(String payloadB64, String signatureB64) {
         try {
             String expected = sign(payloadB64);
-            return constantTimeEquals(expected, signatureB64);
+            return CryptoPrimitives.constantTimeEquals(expected, signatureB64);
         } catch (Exception e) {
             return false;
         }
     }
 
-    private boolean constantTimeEquals(String a, String b) {
-        if (a == null || b == null) return false;
-        byte[] x = a.getBytes(StandardCharsets.UTF_8);
-        byte[] y = b.getBytes(StandardCharsets.UTF_8);
-        if (x.length != y.length) return false;
-        int r = 0;
-        for (int i = 0; i < x.length; i++) {
-            r |= (x[i] ^ y[i]);
-        }
-        return r == 0;
-    }
-
     public static class SyncCursorException extends RuntimeException {
         private final SyncErrorResponse.SyncErrorCode code;
 
@@ -1,20 +1,14 @@
 package com.restaurante.service.device;
 
+import com.restaurante.security.crypto.CryptoPrimitives;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.util.Base64;
-
 @Service
 public class DeviceSyncEtagService {
 
     public String etagFor(String seed) {
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hash = md.digest(seed.getBytes(StandardCharsets.UTF_8));
-            String b64 = Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
-            return "\"" + b64 + "\"";
+            return "\"" + CryptoPrimitives.sha256Base64Url("device.sync.etag", seed) + "\"";
         } catch (Exception e) {
             // fallback: ainda retorna algo estável o bastante para o request, sem vazar seed
             return "\"" + Integer.toHexString(seed.hashCode()) + "\"";
@@ -0,0 +1,178 @@
+package com.restaurante.service.device;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.restaurante.dto.response.SyncEnvelope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escrita incremental do SyncEnvelope dos syncs paginados por keyset (catálogo, mesas, QR).
+ *
+ * - O envelope é o SyncEnvelope do primeiro bloco, serializado pelo ObjectMapper da aplicação: mesmos
+ *   campos, ordem e omissão de nulls que o endpoint paginado. Só o array em stream de data é estendido
+ *   com os blocos seguintes, e hasMore/nextCursor passam a ser os do último bloco.
+ * - Os itens são escritos bloco a bloco à medida que o cursor (DeviceSyncCursorService) avança;
+ *   cada bloco vem da sua própria transação read-only, logo a memória fica limitada a um bloco.
+ * - O primeiro bloco é carregado pelo chamador antes de escrever qualquer byte: erros de cursor/capability
+ *   continuam a sair como resposta HTTP normal.
+ * - Se um bloco seguinte falhar, o status 200 já foi enviado: o array é fechado com o que já foi escrito,
+ *   hasMore/nextCursor apontam para o bloco que falhou e é acrescentado um warning PARTIAL_RESPONSE.
+ *   O JSON fica válido e o cliente retoma pelo cursor, em vez de receber um corpo truncado.
+ */
+@Slf4j
+@Component
+public class DeviceSyncStreamWriter {
+
+    public record Chunk(List<?> items, boolean hasMore, String nextCursor) {}
+
+    private record Written(Chunk last, boolean interrupted) {}
+
+    @FunctionalInterface
+    public interface ChunkFetcher {
+        Chunk fetch(String cursor, int limit);
+    }
+
+    private final ObjectWriter writer;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    @Autowired
+    public DeviceSyncStreamWriter(ObjectMapper objectMapper,
+                                  @Value("${consuma.sync.stream.chunk-size:200}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Tamanho do próximo bloco: nunca maior que chunk-size nem que o que falta para o limit do pedido.
+     */
+    public int chunkSize(Integer limit) {
+        return limit == null ? chunkSize : Math.max(1, Math.min(chunkSize, limit));
+    }
+
+    /**
+     * @param first         envelope do primeiro bloco (o mesmo que o endpoint paginado devolveria)
+     * @param streamedField nome do array de data continuado em stream (ex.: produtos)
+     * @param limit         máximo de itens desta resposta (null = até ao fim); o restante fica em nextCursor
+     */
+    public void write(OutputStream out,
+                      SyncEnvelope<?> first,
+                      String streamedField,
+                      Integer limit,
+                      ChunkFetcher fetcher) throws IOException {
+        ObjectNode envelope = objectMapper.valueToTree(first);
+        Written written = new Written(new Chunk(List.of(), first.hasMore(), first.nextCursor()), false);
+        boolean warningsWritten = false;
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartObject();
+            Iterator<Map.Entry<String, JsonNode>> fields = envelope.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                switch (field.getKey()) {
+                    case "data" -> {
+                        gen.writeFieldName("data");
+                        written = writeData(gen, (ObjectNode) field.getValue(), streamedField, written.last(), limit, fetcher);
+                    }
+                    case "hasMore" -> {
+                        gen.writeBooleanField("hasMore", written.last().hasMore());
+                        if (written.last().hasMore() && written.last().nextCursor() != null) {
+                            gen.writeStringField("nextCursor", written.last().nextCursor());
+                        }
+                    }
+                    case "warnings" -> {
+                        gen.writeFieldName("warnings");
+                        writeWarnings(gen, field.getValue(), written.interrupted());
+                        warningsWritten = true;
+                    }
+                    case "nextCursor" -> {
+                        // escrito junto com hasMore, a partir do último bloco
+                    }
+                    default -> {
+                        gen.writeFieldName(field.getKey());
+                        gen.writeTree(field.getValue());
+                    }
+                }
+            }
+            if (written.interrupted() && !warningsWritten) {
+                gen.writeFieldName("warnings");
+                writeWarnings(gen, objectMapper.createArrayNode(), true);
+            }
+            gen.writeEndObject();
+        }
+        out.flush();
+    }
+
+    private void writeWarnings(JsonGenerator gen, JsonNode warnings, boolean interrupted) throws IOException {
+        gen.writeStartArray();
+        for (JsonNode warning : warnings) {
+            gen.writeTree(warning);
+        }
+        if (interrupted) {
+            writer.writeValue(gen, new SyncEnvelope.SyncWarning(SyncEnvelope.SyncWarningCode.PARTIAL_RESPONSE,
+                    "Falha ao ler o bloco seguinte; retomar a partir de nextCursor."));
+        }
+        gen.writeEndArray();
+    }
+
+    private Written writeData(JsonGenerator gen,
+                            ObjectNode data,
+                            String streamedField,
+                            Chunk first,
+                            Integer limit,
+                            ChunkFetcher fetcher) throws IOException {
+        long remaining = limit == null ? Long.MAX_VALUE : Math.max(1, limit);
+        Chunk chunk = first;
+        boolean interrupted = false;
+        gen.writeStartObject();
+        Iterator<Map.Entry<String, JsonNode>> fields = data.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            gen.writeFieldName(field.getKey());
+            if (!field.getKey().equals(streamedField)) {
+                gen.writeTree(field.getValue());
+                continue;
+            }
+            gen.writeStartArray();
+            for (JsonNode item : field.getValue()) {
+                gen.writeTree(item);
+            }
+            remaining -= field.getValue().size();
+            while (chunk.hasMore() && chunk.nextCursor() != null && remaining > 0) {
+                gen.flush();
+                Chunk next;
+                try {
+                    next = fetcher.fetch(chunk.nextCursor(), (int) Math.min(chunkSize, remaining));
+                } catch (RuntimeException e) {
+                    log.warn("Sync stream interrompido em {}: falha ao ler o bloco seguinte; resposta parcial com nextCursor",
+                            streamedField, e);
+                    chunk = new Chunk(List.of(), true, chunk.nextCursor());
+                    interrupted = true;
+                    break;
+                }
+                chunk = next;
+                for (Object item : chunk.items()) {
+                    writer.writeValue(gen, item);
+                }
+                remaining -= chunk.items().size();
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+        return new Written(chunk, interrupted);
+    }
+}
@@ -4,6 +4,7 @@ import com.restaurante.dto.response.SyncEnvelope;
 import com.restaurante.model.entity.DispositivoOperacional;
 import com.restaurante.model.entity.Instituicao;
 import com.restaurante.model.entity.Tenant;
+import com.restaurante.model.entity.TenantSyncVersion;
 import com.restaurante.model.entity.UnidadeAtendimento;
 import com.restaurante.model.entity.UnidadeProducao;
 import com.restaurante.model.enums.DeviceCapability;
@@ -11,18 +12,15 @@ import com.restaurante.repository.CategoriaProdutoRepository;
 import com.restaurante.repository.DispositivoOperacionalRepository;
 import com.restaurante.repository.InstituicaoRepository;
 import com.restaurante.repository.MesaRepository;
-import com.restaurante.repository.OperationalEventLogRepository;
 import com.restaurante.repository.ProdutoRepository;
 import com.restaurante.repository.QrCodeOperacionalRepository;
 import com.restaurante.repository.RotaProducaoCategoriaRepository;
 import com.restaurante.repository.SessaoConsumoRepository;
-import com.restaurante.repository.SubPedidoRepository;
 import com.restaurante.repository.TenantRepository;
+import com.restaurante.repository.TenantSyncVersionRepository;
 import com.restaurante.repository.UnidadeAtendimentoRepository;
 import com.restaurante.repository.UnidadeProducaoRepository;
 import com.restaurante.repository.projection.QrAggProjection;
-import com.restaurante.repository.projection.SessionOpenAggProjection;
-import com.restaurante.repository.projection.SubPedidoFilaAggProjection;
 import com.restaurante.repository.projection.SyncAggProjection;
 import com.restaurante.security.device.DevicePrincipal;
 import lombok.RequiredArgsConstructor;
@@ -31,7 +29,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -57,8 +54,7 @@ public class DeviceSyncVersionService {
 
     private final RotaProducaoCategoriaRepository rotaProducaoCategoriaRepository;
 
-    private final SubPedidoRepository subPedidoRepository;
-    private final OperationalEventLogRepository operationalEventLogRepository;
+    private final TenantSyncVersionRepository tenantSyncVersionRepository;
 
     @Value("${consuma.sync.max-incremental-age-days:7}")
     private int maxIncrementalAgeDays;
@@ -125,38 +121,15 @@ public class DeviceSyncVersionService {
         };
     }
 
-    private SessionOpenAggProjection safe(SessionOpenAggProjection p) {
-        if (p != null) return p;
-        return new SessionOpenAggProjection() {
-            @Override public Long getCount() { return 0L; }
-            @Override public LocalDateTime getMaxAbertaEm() { return null; }
-            @Override public LocalDateTime getMaxUltimaAtividadeEm() { return null; }
-            @Override public LocalDateTime getMaxUpdatedAt() { return null; }
-        };
-    }
-
-    private SubPedidoFilaAggProjection safe(SubPedidoFilaAggProjection p) {
-        if (p != null) return p;
-        return new SubPedidoFilaAggProjection() {
-            @Override public Long getCount() { return 0L; }
-            @Override public LocalDateTime getMaxUpdatedAt() { return null; }
-            @Override public LocalDateTime getMaxCreatedAt() { return null; }
-            @Override public LocalDateTime getMaxIniciadoEm() { return null; }
-            @Override public LocalDateTime getMaxProntoEm() { return null; }
-            @Override public LocalDateTime getMaxEntregueEm() { return null; }
-            @Override public Long getNullUpdatedAtCount() { return 0L; }
-        };
-    }
-
     private long nz(Long v) { return v == null ? 0L : v; }
 
-    private LocalDateTime max(LocalDateTime... values) {
-        LocalDateTime m = null;
-        for (LocalDateTime v : values) {
-            if (v == null) continue;
-            if (m == null || v.isAfter(m)) m = v;
-        }
-        return m;
+    /**
+     * Versão mantida pelos triggers de tenant_sync_version (0 enquanto o escopo nunca foi alterado).
+     */
+    private long currentVersion(Long tenantId, String domain, Long scopeId) {
+        Long v = tenantSyncVersionRepository.findVersion(tenantId, domain,
+                scopeId != null ? scopeId : TenantSyncVersion.TENANT_SCOPE);
+        return v != null ? v : 0L;
     }
 
     private String seed(String domain, Object... parts) {
@@ -252,11 +225,14 @@ public class DeviceSyncVersionService {
             warnings.add(warning(SyncEnvelope.SyncWarningCode.FULL_SYNC_RECOMMENDED, "updatedSince muito antigo; recomendado full sync."));
         }
 
-        SyncAggProjection cat = safe(categoriaProdutoRepository.computeSyncAgg(device.tenantId(), includeInactive));
-        SyncAggProjection prod = safe(produtoRepository.computeSyncAgg(device.tenantId(), includeInactive));
+        long version = currentVersion(device.tenantId(), "CATALOGO", TenantSyncVersion.TENANT_SCOPE);
 
-        boolean reliable = nz(cat.getNullUpdatedAtCount()) == 0 && nz(prod.getNullUpdatedAtCount()) == 0;
-        LocalDateTime maxTs = max(cat.getMaxUpdatedAt(), cat.getMaxCreatedAt(), prod.getMaxUpdatedAt(), prod.getMaxCreatedAt());
+        boolean reliable = true;
+        if (updatedSince != null) {
+            SyncAggProjection cat = safe(categoriaProdutoRepository.computeSyncAgg(device.tenantId(), includeInactive));
+            SyncAggProjection prod = safe(produtoRepository.computeSyncAgg(device.tenantId(), includeInactive));
+            reliable = nz(cat.getNullUpdatedAtCount()) == 0 && nz(prod.getNullUpdatedAtCount()) == 0;
+        }
 
         if (updatedSince != null && !reliable) {
             full = true;
@@ -275,18 +251,12 @@ public class DeviceSyncVersionService {
             }
         }
 
-        String syncVersion = "catalog:"
-                + nz(cat.getCount()) + ":" + (cat.getMaxUpdatedAt() != null ? cat.getMaxUpdatedAt().truncatedTo(ChronoUnit.SECONDS) : "null") + ":"
-                + nz(prod.getCount()) + ":" + (prod.getMaxUpdatedAt() != null ? prod.getMaxUpdatedAt().truncatedTo(ChronoUnit.SECONDS) : "null");
+        String syncVersion = "catalog:v" + version;
 
         String etag = etagService.etagFor(seed("CATALOGO",
                 device.tenantId(),
                 "includeInactive=" + includeInactive,
-                "catCount=" + nz(cat.getCount()),
-                "catMax=" + cat.getMaxUpdatedAt(),
-                "prodCount=" + nz(prod.getCount()),
-                "prodMax=" + prod.getMaxUpdatedAt(),
-                "maxTs=" + maxTs
+                "version=" + version
         ));
 
         return new DomainVersion("CATALOGO", syncVersion, etag, reliable, full, reason, warnings);
@@ -305,10 +275,13 @@ public class DeviceSyncVersionService {
         }
 
         Long ua = unidadeAtendimentoId != null ? unidadeAtendimentoId : device.unidadeAtendimentoId();
-        SyncAggProjection mesas = safe(mesaRepository.computeSyncAgg(device.tenantId(), ua));
-        SessionOpenAggProjection open = safe(sessaoConsumoRepository.computeOpenSessionsAgg(device.tenantId(), ua));
+        long version = currentVersion(device.tenantId(), "MESAS", ua);
 
-        boolean reliable = nz(mesas.getNullUpdatedAtCount()) == 0;
+        boolean reliable = true;
+        if (updatedSince != null) {
+            SyncAggProjection mesas = safe(mesaRepository.computeSyncAgg(device.tenantId(), ua));
+            reliable = nz(mesas.getNullUpdatedAtCount()) == 0;
+        }
         if (updatedSince != null && !reliable) {
             full = true;
             reason = SyncEnvelope.FullSyncRequiredReason.UPDATED_AT_UNRELIABLE;
@@ -330,18 +303,12 @@ public class DeviceSyncVersionService {
             }
         }
 
-        String syncVersion = "mesas:"
-                + nz(mesas.getCount()) + ":" + (mesas.getMaxUpdatedAt() != null ? mesas.getMaxUpdatedAt().truncatedTo(ChronoUnit.SECONDS) : "null")
-                + "|open:" + (open != null ? open.getCount() : 0L) + ":" + (open != null ? open.getMaxUltimaAtividadeEm() : null);
+        String syncVersion = "mesas:v" + version;
 
         String etag = etagService.etagFor(seed("MESAS",
                 device.tenantId(),
                 "ua=" + ua,
-                "mesasCount=" + nz(mesas.getCount()),
-                "mesasMax=" + mesas.getMaxUpdatedAt(),
-                "openCount=" + (open != null ? open.getCount() : 0L),
-                "openMaxAct=" + (open != null ? open.getMaxUltimaAtividadeEm() : null),
-                "openMaxAberta=" + (open != null ? open.getMaxAbertaEm() : null)
+                "version=" + version
         ));
 
         return new DomainVersion("MESAS", syncVersion, etag, reliable, full, reason, warnings);
@@ -360,8 +327,13 @@ public class DeviceSyncVersionService {
         }
 
         Long ua = device.unidadeAtendimentoId();
-        QrAggProjection qrs = safe(qrCodeOperacionalRepository.computeSyncAgg(device.tenantId(), ua));
-        boolean reliable = nz(qrs.getNullUpdatedAtCount()) == 0;
+        long version = currentVersion(device.tenantId(), "QRCODES", ua);
+
+        boolean reliable = true;
+        if (updatedSince != null) {
+            QrAggProjection qrs = safe(qrCodeOperacionalRepository.computeSyncAgg(device.tenantId(), ua));
+            reliable = nz(qrs.getNullUpdatedAtCount()) == 0;
+        }
         if (updatedSince != null && !reliable) {
             full = true;
             reason = SyncEnvelope.FullSyncRequiredReason.UPDATED_AT_UNRELIABLE;
@@ -379,13 +351,11 @@ public class DeviceSyncVersionService {
             }
         }
 
-        String syncVersion = "qrcodes:" + nz(qrs.getCount()) + ":" + (qrs.getMaxUpdatedAt() != null ? qrs.getMaxUpdatedAt().truncatedTo(ChronoUnit.SECONDS) : "null");
+        String syncVersion = "qrcodes:v" + version;
         String etag = etagService.etagFor(seed("QRCODES",
                 device.tenantId(),
                 "ua=" + ua,
-                "count=" + nz(qrs.getCount()),
-                "maxUpdated=" + qrs.getMaxUpdatedAt(),
-                "maxRevogado=" + qrs.getMaxRevogadoEm()
+                "version=" + version
         ));
 
         return new DomainVersion("QRCODES", syncVersion, etag, reliable, full, reason, warnings);
@@ -403,9 +373,14 @@ public class DeviceSyncVersionService {
             warnings.add(warning(SyncEnvelope.SyncWarningCode.FULL_SYNC_RECOMMENDED, "updatedSince muito antigo; recomendado full sync."));
         }
 
-        SyncAggProjection unidades = safe(unidadeProducaoRepository.computeSyncAgg(device.tenantId()));
-        SyncAggProjection rotas = safe(rotaProducaoCategoriaRepository.computeSyncAgg(device.tenantId()));
-        boolean reliable = nz(unidades.getNullUpdatedAtCount()) == 0 && nz(rotas.getNullUpdatedAtCount()) == 0;
+        long version = currentVersion(device.tenantId(), "PRODUCAO", TenantSyncVersion.TENANT_SCOPE);
+
+        boolean reliable = true;
+        if (updatedSince != null) {
+            SyncAggProjection unidades = safe(unidadeProducaoRepository.computeSyncAgg(device.tenantId()));
+            SyncAggProjection rotas = safe(rotaProducaoCategoriaRepository.computeSyncAgg(device.tenantId()));
+            reliable = nz(unidades.getNullUpdatedAtCount()) == 0 && nz(rotas.getNullUpdatedAtCount()) == 0;
+        }
         if (updatedSince != null && !reliable) {
             full = true;
             reason = SyncEnvelope.FullSyncRequiredReason.UPDATED_AT_UNRELIABLE;
@@ -422,20 +397,20 @@ public class DeviceSyncVersionService {
             }
         }
 
-        String syncVersion = "producao:" + nz(unidades.getCount()) + ":" + unidades.getMaxUpdatedAt()
-                + "|rotas:" + nz(rotas.getCount()) + ":" + rotas.getMaxUpdatedAt();
+        String syncVersion = "producao:v" + version;
 
         String etag = etagService.etagFor(seed("PRODUCAO",
                 device.tenantId(),
-                "unidadesCount=" + nz(unidades.getCount()),
-                "unidadesMax=" + unidades.getMaxUpdatedAt(),
-                "rotasCount=" + nz(rotas.getCount()),
-                "rotasMax=" + rotas.getMaxUpdatedAt()
+                "version=" + version
         ));
 
         return new DomainVersion("PRODUCAO", syncVersion, etag, reliable, full, reason, warnings);
     }
 
+    /**
+     * A versão da fila é por UnidadeProducao (subpedidos, eventos da fila e status financeiro dos pedidos);
+     * os filtros entram apenas na ETag. Não há incremental por updatedAt, logo reliable é sempre true.
+     */
     @Transactional(readOnly = true)
     public DomainVersion computeFila(DevicePrincipal device, Long unidadeProducaoId, com.restaurante.model.enums.StatusSubPedido status,
                                      LocalDateTime de, LocalDateTime ate, String search) {
@@ -443,13 +418,9 @@ public class DeviceSyncVersionService {
         boolean full = false;
         SyncEnvelope.FullSyncRequiredReason reason = SyncEnvelope.FullSyncRequiredReason.NONE;
 
-        SubPedidoFilaAggProjection agg = safe(subPedidoRepository.computeFilaAgg(device.tenantId(), unidadeProducaoId, status, de, ate, search));
-        boolean reliable = nz(agg.getNullUpdatedAtCount()) == 0;
-
-        LocalDateTime maxEventAt = operationalEventLogRepository.maxCreatedAtByTenantAndUnidadeProducaoAndPeriod(device.tenantId(), unidadeProducaoId, de, ate);
-        LocalDateTime maxTs = max(agg.getMaxUpdatedAt(), agg.getMaxCreatedAt(), agg.getMaxIniciadoEm(), agg.getMaxProntoEm(), agg.getMaxEntregueEm(), maxEventAt);
+        long version = currentVersion(device.tenantId(), "PRODUCAO_FILA", unidadeProducaoId);
 
-        String syncVersion = "fila:" + nz(agg.getCount()) + ":" + (maxTs != null ? maxTs.truncatedTo(ChronoUnit.SECONDS) : "null");
+        String syncVersion = "fila:v" + version;
         String etag = etagService.etagFor(seed("FILA",
                 device.tenantId(),
                 "up=" + unidadeProducaoId,
@@ -457,10 +428,9 @@ public class DeviceSyncVersionService {
                 "de=" + de,
                 "ate=" + ate,
                 "search=" + search,
-                "count=" + nz(agg.getCount()),
-                "maxTs=" + maxTs
+                "version=" + version
         ));
 
-        return new DomainVersion("PRODUCAO_FILA", syncVersion, etag, reliable, full, reason, warnings);
+        return new DomainVersion("PRODUCAO_FILA", syncVersion, etag, true, full, reason, warnings);
     }
 }
@@ -2,12 +2,10 @@ package com.restaurante.service.device;
 
 import com.restaurante.config.DeviceProperties;
 import com.restaurante.exception.BusinessException;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.Base64;
 
@@ -15,7 +13,6 @@ import java.util.Base64;
 @RequiredArgsConstructor
 public class DeviceTokenService {
 
-    private static final String HMAC_ALGO = "HmacSHA256";
     private static final String ACTIVATION_ALPHABET = "23456789ABCDEFGHJKMNPQRSTUVWXYZ";
     private static final int DEFAULT_ACTIVATION_CODE_LEN = 8;
     private static final int DEFAULT_DEVICE_TOKEN_BYTES = 32;
@@ -47,21 +44,10 @@ public class DeviceTokenService {
             throw new BusinessException("DEVICE_TOKEN_HASH_SECRET não configurado.");
         }
         try {
-            Mac mac = Mac.getInstance(HMAC_ALGO);
-            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGO));
-            byte[] out = mac.doFinal(raw.getBytes(StandardCharsets.UTF_8));
-            return toHex(out);
+            return CryptoPrimitives.hmacSha256Hex("device.token", secret, raw);
         } catch (Exception e) {
             throw new BusinessException("Falha ao gerar hash.");
         }
     }
-
-    private static String toHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
-        }
-        return sb.toString();
-    }
 }
 
@@ -35,6 +35,7 @@ import com.restaurante.repository.InstituicaoRepository;
 import com.restaurante.repository.DispositivoOperacionalRepository;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.repository.UnidadeAtendimentoRepository;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import com.restaurante.security.device.DevicePrincipal;
 import com.restaurante.service.operacional.OperationalEventLogService;
 import lombok.RequiredArgsConstructor;
@@ -46,13 +47,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -1213,12 +1212,6 @@ public class DeviceOfflineSyncService {
     }
 
     private String sha256Hex(String value) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] dig = md.digest(value.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(dig);
-        } catch (Exception e) {
-            return Integer.toHexString(value != null ? value.hashCode() : 0);
-        }
+        return CryptoPrimitives.sha256Hex("device.offline.payload", value);
     }
 }
@@ -0,0 +1,356 @@
+package com.restaurante.service.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.restaurante.util.BoundedCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache em memória (por nó) de respostas JSON já serializadas para GETs quentes e só de leitura
+ * (cardápio público por QR, discovery home/detalhe, instituição pública).
+ *
+ * Regras:
+ * - Cada entrada ocupa um "slot" (recurso + identificador, ex.: {@code public.instituicao} + código) e guarda
+ *   a ETag da versão com que foi serializada; uma ETag diferente substitui a entrada, portanto versões antigas
+ *   não se acumulam.
+ * - Fragmentos ({@link #fragment}): parte pesada e partilhada de uma resposta que varia por pedido (ex.: as
+ *   categorias do cardápio público, uma entrada por tenant + versão do catálogo e não por QR);
+ *   {@link #respondComposed} injeta-os já serializados num envelope pequeno.
+ * - Guarda os bytes UTF-8 e, acima de {@code consuma.http.encoded-cache.gzip-min-bytes}, uma cópia gzip
+ *   pré-comprimida (só se ficar menor). Brotli não é usado: não há codec no classpath.
+ * - {@link #respond} negocia {@code Accept-Encoding}, responde 304 para If-None-Match e devolve
+ *   {@code ResponseEntity<byte[]>}: o ByteArrayHttpMessageConverter copia os bytes direto para o output
+ *   stream do servlet, sem nova passagem pelo Jackson.
+ * - Limite de entradas, de tamanho por entrada e de bytes totais (identity + gzip,
+ *   {@code consuma.http.encoded-cache.max-total-bytes}); ao encher descarta as menos usadas recentemente.
+ *
+ * Métricas: {@code consuma.http.encoded_cache.requests{resource,result}},
+ * {@code consuma.http.encoded_cache.bytes_saved{resource,kind=serialization|compression}} e
+ * {@code consuma.http.encoded_cache.serialization_avoided{resource}} (segundos de serialização+gzip poupados).
+ * Hits de {@link #encoded} não entram nas métricas de serialização: o chamador já serializou o corpo.
+ */
+@Component
+public class EncodedJsonResponseCache {
+
+    static final String GZIP = "gzip";
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxEntryBytes;
+    private final int gzipMinBytes;
+    private final BoundedCache<String, EncodedJson> entries;
+    private final Map<String, ResourceMeters> meters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EncodedJsonResponseCache(
+            ObjectMapper objectMapper,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${consuma.http.encoded-cache.enabled:true}") boolean enabled,
+            @Value("${consuma.http.encoded-cache.max-entries:2000}") int maxEntries,
+            @Value("${consuma.http.encoded-cache.max-entry-bytes:2097152}") int maxEntryBytes,
+            @Value("${consuma.http.encoded-cache.max-total-bytes:67108864}") long maxTotalBytes,
+            @Value("${consuma.http.encoded-cache.gzip-min-bytes:1024}") int gzipMinBytes
+    ) {
+        this(objectMapper, meterRegistry.getIfAvailable(SimpleMeterRegistry::new), enabled, maxEntries,
+                maxEntryBytes, maxTotalBytes, gzipMinBytes, Clock.systemUTC());
+    }
+
+    EncodedJsonResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry, boolean enabled,
+                             int maxEntries, int maxEntryBytes, long maxTotalBytes, int gzipMinBytes, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled && maxEntries > 0 && maxTotalBytes > 0;
+        this.maxEntryBytes = maxEntryBytes;
+        this.gzipMinBytes = Math.max(0, gzipMinBytes);
+        this.entries = new BoundedCache<>(maxEntries, maxTotalBytes, EncodedJson::sizeBytes, 0, clock, null);
+    }
+
+    /**
+     * Cache desligado, sem métricas de registry real; para testes e fábricas construídas à mão.
+     */
+    public static EncodedJsonResponseCache uncached(ObjectMapper objectMapper) {
+        return new EncodedJsonResponseCache(objectMapper, new SimpleMeterRegistry(), false, 0, 0, 0, 1024,
+                Clock.systemUTC());
+    }
+
+    /**
+     * Devolve a representação codificada do slot para a ETag pedida; o {@code body} só é invocado
+     * (e serializado) quando o slot está vazio ou guarda outra versão.
+     */
+    public EncodedJson encode(String resource, String slot, String etag, Supplier<?> body) {
+        EncodedJson cached = lookup(resource, slot, etag, true);
+        if (cached != null) return cached;
+        long start = System.nanoTime();
+        byte[] json = serialize(body.get());
+        return store(resource, slot, etag, json, start, true);
+    }
+
+    /**
+     * Variante para chamadores que já serializaram o corpo (ex.: para calcular a ETag pelo hash do
+     * conteúdo): poupa a segunda serialização do conversor JSON e reaproveita o gzip já feito. Um hit aqui
+     * só poupa o gzip, por isso não conta em bytes_saved{kind=serialization} nem em serialization_avoided.
+     */
+    public EncodedJson encoded(String resource, String slot, String etag, byte[] json) {
+        EncodedJson cached = lookup(resource, slot, etag, false);
+        if (cached != null) return cached;
+        return store(resource, slot, etag, json, System.nanoTime(), true);
+    }
+
+    /**
+     * Valor JSON partilhado (só identity, sem gzip) guardado no slot para a {@code version} pedida; a usar
+     * com {@link #respondComposed}.
+     */
+    public EncodedJson fragment(String resource, String slot, String version, Supplier<?> value) {
+        EncodedJson cached = lookup(resource, slot, version, true);
+        if (cached != null) return cached;
+        long start = System.nanoTime();
+        byte[] json = serialize(value.get());
+        return store(resource, slot, version, json, start, false);
+    }
+
+    public ResponseEntity<byte[]> respondComposed(EncodedJson fragment, String etag, Supplier<?> envelope,
+                                                  String objectPointer, String field, HttpServletRequest request,
+                                                  HttpHeaders headers) {
+        return respondComposed(fragment, etag, envelope, objectPointer, field,
+                request.getHeader(HttpHeaders.IF_NONE_MATCH), request.getHeader(HttpHeaders.ACCEPT_ENCODING),
+                headers);
+    }
+
+    /**
+     * Resposta que varia por pedido: serializa o {@code envelope} (pequeno) e coloca o fragmento em
+     * {@code field} do objeto em {@code objectPointer} (JSON Pointer), sem voltar a serializar o fragmento.
+     * Com If-None-Match igual à {@code etag} responde 304 sem montar o corpo; o gzip é feito no pedido e só
+     * para clientes que o aceitam.
+     */
+    public ResponseEntity<byte[]> respondComposed(EncodedJson fragment, String etag, Supplier<?> envelope,
+                                                  String objectPointer, String field, String ifNoneMatch,
+                                                  String acceptEncoding, HttpHeaders headers) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        if (matches(ifNoneMatch, etag)) {
+            HttpHeaders out = new HttpHeaders();
+            if (headers != null) out.putAll(headers);
+            out.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            out.setETag(gzip ? gzipEtag(etag) : etag);
+            return new ResponseEntity<>(null, out, HttpStatus.NOT_MODIFIED);
+        }
+
+        long start = System.nanoTime();
+        JsonNode root = objectMapper.valueToTree(envelope.get());
+        if (!(root.at(objectPointer) instanceof ObjectNode target)) {
+            throw new IllegalStateException("Envelope sem objeto em " + objectPointer + ".");
+        }
+        target.putRawValue(field, new RawValue(new String(fragment.identity(), StandardCharsets.UTF_8)));
+        byte[] json = serialize(root);
+        byte[] compressed = gzip && json.length >= gzipMinBytes ? gzip(json) : null;
+        if (compressed != null && compressed.length >= json.length) compressed = null;
+        EncodedJson composed = new EncodedJson(fragment.resource(), etag, json, compressed,
+                System.nanoTime() - start);
+
+        HttpHeaders out = new HttpHeaders();
+        if (headers != null) out.putAll(headers);
+        if (composed.gzip() == null) out.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return respond(composed, null, acceptEncoding, out);
+    }
+
+    public ResponseEntity<byte[]> respond(EncodedJson encoded, HttpServletRequest request, HttpHeaders headers) {
+        return respond(encoded, request.getHeader(HttpHeaders.IF_NONE_MATCH),
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING), headers);
+    }
+
+    public ResponseEntity<byte[]> respond(EncodedJson encoded, String ifNoneMatch, String acceptEncoding,
+                                          HttpHeaders headers) {
+        HttpHeaders out = new HttpHeaders();
+        if (headers != null) out.putAll(headers);
+        if (encoded.gzip() != null) out.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        boolean gzip = encoded.gzip() != null && acceptsGzip(acceptEncoding);
+        out.setETag(gzip ? gzipEtag(encoded.etag()) : encoded.etag());
+        if (matches(ifNoneMatch, encoded.etag())) {
+            return new ResponseEntity<>(null, out, HttpStatus.NOT_MODIFIED);
+        }
+
+        out.setContentType(MediaType.APPLICATION_JSON);
+        byte[] payload = encoded.identity();
+        if (gzip) {
+            payload = encoded.gzip();
+            out.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            meters(encoded.resource()).compressionBytesSaved
+                    .increment(encoded.identity().length - encoded.gzip().length);
+        }
+        out.setContentLength(payload.length);
+        return new ResponseEntity<>(payload, out, HttpStatus.OK);
+    }
+
+    public void invalidate(String resource, String slot) {
+        entries.invalidate(key(resource, slot));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * If-None-Match casa com a ETag da versão em qualquer das codificações (identity ou gzip).
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) return false;
+        String gzipEtag = gzipEtag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String normalized = candidate.trim();
+            if (normalized.startsWith("W/")) normalized = normalized.substring(2);
+            if ("*".equals(normalized) || etag.equals(normalized) || gzipEtag.equals(normalized)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) return false;
+        boolean wildcard = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0.0;
+                    }
+                }
+            }
+            if (GZIP.equals(coding) || "x-gzip".equals(coding)) return q > 0;
+            if ("*".equals(coding)) wildcard = q > 0;
+        }
+        return wildcard;
+    }
+
+    static String gzipEtag(String etag) {
+        return etag.endsWith("\"")
+                ? etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\""
+                : etag + GZIP_ETAG_SUFFIX;
+    }
+
+    private EncodedJson lookup(String resource, String slot, String etag, boolean serializationSaved) {
+        if (!enabled) return null;
+        ResourceMeters m = meters(resource);
+        EncodedJson e = entries.get(key(resource, slot), cached -> cached.etag().equals(etag));
+        if (e == null) {
+            m.misses.increment();
+            return null;
+        }
+        m.hits.increment();
+        if (serializationSaved) {
+            m.serializationBytesSaved.increment(e.identity().length);
+            m.serializationAvoided.increment(e.encodeNanos() / 1_000_000_000.0);
+        }
+        return e;
+    }
+
+    private EncodedJson store(String resource, String slot, String etag, byte[] json, long startNanos,
+                              boolean compress) {
+        byte[] gzip = compress && json.length >= gzipMinBytes ? gzip(json) : null;
+        if (gzip != null && gzip.length >= json.length) gzip = null;
+        EncodedJson encoded = new EncodedJson(resource, etag, json, gzip, System.nanoTime() - startNanos);
+        if (!enabled || json.length > maxEntryBytes) return encoded;
+
+        entries.put(key(resource, slot), encoded);
+        return encoded;
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta JSON.", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Contadores do recurso, registados uma única vez (os recursos são poucos e fixos por chamador).
+     */
+    private ResourceMeters meters(String resource) {
+        return meters.computeIfAbsent(resource, r -> new ResourceMeters(meterRegistry, r));
+    }
+
+    private static String key(String resource, String slot) {
+        return resource + "|" + slot;
+    }
+
+    /**
+     * Representação pronta a enviar: bytes JSON (UTF-8), cópia gzip opcional e o custo original de codificação.
+     */
+    public record EncodedJson(String resource, String etag, byte[] identity, byte[] gzip, long encodeNanos) {
+
+        long sizeBytes() {
+            return identity.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    private static final class ResourceMeters {
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter serializationBytesSaved;
+        private final Counter compressionBytesSaved;
+        private final Counter serializationAvoided;
+
+        private ResourceMeters(MeterRegistry registry, String resource) {
+            this.hits = counter(registry, "requests", resource, "result", "hit");
+            this.misses = counter(registry, "requests", resource, "result", "miss");
+            this.serializationBytesSaved = counter(registry, "bytes_saved", resource, "kind", "serialization");
+            this.compressionBytesSaved = counter(registry, "bytes_saved", resource, "kind", "compression");
+            this.serializationAvoided = Counter.builder("consuma.http.encoded_cache.serialization_avoided")
+                    .baseUnit("seconds")
+                    .tag("resource", resource)
+                    .register(registry);
+        }
+
+        private static Counter counter(MeterRegistry registry, String name, String resource, String tagKey,
+                                       String tagValue) {
+            return Counter.builder("consuma.http.encoded_cache." + name)
+                    .tag("resource", resource)
+                    .tag(tagKey, tagValue)
+                    .register(registry);
+        }
+    }
+}
@@ -21,6 +21,8 @@ public interface DeviceSyncMetricsService {
 
     void recordHeartbeat(String result);
 
+    void recordDeviceAuthCache(String result);
+
     <T> T timeSync(String domain, Supplier<T> supplier);
 }
 
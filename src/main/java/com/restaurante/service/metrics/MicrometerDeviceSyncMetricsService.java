@@ -0,0 +1,113 @@
+package com.restaurante.service.metrics;
+
+import com.restaurante.dto.response.SyncEnvelope;
+import com.restaurante.dto.response.SyncErrorResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de sync de devices em Micrometer.
+ *
+ * Além dos contadores por domínio, publica consuma.device.sync.not_modified.ratio{domain}:
+ * fração das chamadas de sync respondidas com 304 (hits / (hits + misses) desde o arranque).
+ */
+@Service
+public class MicrometerDeviceSyncMetricsService implements DeviceSyncMetricsService {
+
+    private final MeterRegistry registry;
+    private final Map<String, EtagStats> etagStats = new ConcurrentHashMap<>();
+
+    public MicrometerDeviceSyncMetricsService(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
+    @Override
+    public void recordSyncRequest(String domain, String result) {
+        registry.counter("consuma.device.sync.requests", "domain", domain, "result", result).increment();
+    }
+
+    @Override
+    public void recordEtagHit(String domain) {
+        stats(domain).hits.incrementAndGet();
+        registry.counter("consuma.device.sync.etag", "domain", domain, "result", "hit").increment();
+    }
+
+    @Override
+    public void recordEtagMiss(String domain) {
+        stats(domain).misses.incrementAndGet();
+        registry.counter("consuma.device.sync.etag", "domain", domain, "result", "miss").increment();
+    }
+
+    @Override
+    public void recordFullSyncRequired(String domain, SyncEnvelope.FullSyncRequiredReason reason) {
+        registry.counter("consuma.device.sync.full_sync_required", "domain", domain, "reason", String.valueOf(reason)).increment();
+    }
+
+    @Override
+    public void recordCursorError(String domain, SyncErrorResponse.SyncErrorCode code) {
+        registry.counter("consuma.device.sync.cursor_errors", "domain", domain, "code", String.valueOf(code)).increment();
+    }
+
+    @Override
+    public void recordDeviceAuth(String result) {
+        registry.counter("consuma.device.auth", "result", result).increment();
+    }
+
+    @Override
+    public void recordHeartbeat(String result) {
+        registry.counter("consuma.device.heartbeat", "result", result).increment();
+    }
+
+    @Override
+    public void recordDeviceAuthCache(String result) {
+        registry.counter("consuma.device.auth.cache", "result", result).increment();
+    }
+
+    @Override
+    public <T> T timeSync(String domain, Supplier<T> supplier) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            return supplier.get();
+        } finally {
+            sample.stop(registry.timer("consuma.device.sync.duration", "domain", domain));
+        }
+    }
+
+    /**
+     * Fração de chamadas servidas com 304 no domínio (0 se ainda não houve chamadas).
+     */
+    public double notModifiedRatio(String domain) {
+        EtagStats s = etagStats.get(domain);
+        return s != null ? s.ratio() : 0d;
+    }
+
+    private EtagStats stats(String domain) {
+        return etagStats.computeIfAbsent(domain, d -> {
+            EtagStats s = new EtagStats();
+            Gauge.builder("consuma.device.sync.not_modified.ratio", s, EtagStats::ratio)
+                    .tag("domain", d)
+                    .register(registry);
+            return s;
+        });
+    }
+
+    private static final class EtagStats {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        double ratio() {
+            long h = hits.get();
+            long total = h + misses.get();
+            return total == 0 ? 0d : (double) h / total;
+        }
+    }
+}
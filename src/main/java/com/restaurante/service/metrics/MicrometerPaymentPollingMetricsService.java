@@ -0,0 +1,88 @@
+package com.restaurante.service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Métricas do polling de pagamentos em Micrometer.
+ *
+ * Latências com histograma (percentis p50/p95/p99 no backend):
+ * - consuma.payment.polling.gateway.latency{gateway,outcome}: round trip da consulta de status;
+ * - consuma.payment.polling.duration: um pagamento de ponta a ponta (lock + gateway + aplicação);
+ * - consuma.payment.polling.batch.duration / batch.size: uma ronda do poller.
+ */
+@Service
+@Primary
+public class MicrometerPaymentPollingMetricsService implements PaymentPollingMetricsService {
+
+    private final MeterRegistry registry;
+    private final Timer pollingTimer;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSize;
+
+    public MicrometerPaymentPollingMetricsService(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry.getIfAvailable(SimpleMeterRegistry::new);
+        this.pollingTimer = Timer.builder("consuma.payment.polling.duration")
+                .publishPercentileHistogram()
+                .register(this.registry);
+        this.batchTimer = Timer.builder("consuma.payment.polling.batch.duration")
+                .publishPercentileHistogram()
+                .register(this.registry);
+        this.batchSize = DistributionSummary.builder("consuma.payment.polling.batch.size")
+                .register(this.registry);
+    }
+
+    @Override
+    public void recordPollingAttempt(String result) {
+        registry.counter("consuma.payment.polling.attempts", "result", result).increment();
+    }
+
+    @Override
+    public void recordPollingConfirmed() {
+        registry.counter("consuma.payment.polling.outcome", "result", "CONFIRMED").increment();
+    }
+
+    @Override
+    public void recordPollingPending() {
+        registry.counter("consuma.payment.polling.outcome", "result", "PENDING").increment();
+    }
+
+    @Override
+    public void recordPollingFailed(String result) {
+        registry.counter("consuma.payment.polling.outcome", "result", "FAILED", "reason", result).increment();
+    }
+
+    @Override
+    public void recordPollingExpired() {
+        registry.counter("consuma.payment.polling.outcome", "result", "EXPIRED").increment();
+    }
+
+    @Override
+    public <T> T timePolling(Supplier<T> supplier) {
+        return pollingTimer.record(supplier);
+    }
+
+    @Override
+    public void recordGatewayLatency(String gateway, String outcome, long nanos) {
+        Timer.builder("consuma.payment.polling.gateway.latency")
+                .tag("gateway", gateway)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordBatch(int size, long nanos) {
+        batchSize.record(size);
+        batchTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
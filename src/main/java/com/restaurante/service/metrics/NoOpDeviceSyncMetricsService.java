@@ -2,11 +2,13 @@ package com.restaurante.service.metrics;
 
 import com.restaurante.dto.response.SyncEnvelope;
 import com.restaurante.dto.response.SyncErrorResponse;
-import org.springframework.stereotype.Service;
-
 import java.util.function.Supplier;
 
-@Service
+/**
+ * Implementação sem efeito, usada como fallback quando não há bean de métricas no contexto
+ * (ex.: handlers via ObjectProvider) e em testes. Não é um bean: a implementação registada é
+ * {@link MicrometerDeviceSyncMetricsService}.
+ */
 public class NoOpDeviceSyncMetricsService implements DeviceSyncMetricsService {
 
     @Override
@@ -30,6 +32,9 @@ public class NoOpDeviceSyncMetricsService implements DeviceSyncMetricsService {
     @Override
     public void recordHeartbeat(String result) { }
 
+    @Override
+    public void recordDeviceAuthCache(String result) { }
+
     @Override
     public <T> T timeSync(String domain, Supplier<T> supplier) {
         return supplier.get();
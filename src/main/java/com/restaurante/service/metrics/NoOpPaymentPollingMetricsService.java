@@ -26,5 +26,11 @@ public class NoOpPaymentPollingMetricsService implements PaymentPollingMetricsSe
     public <T> T timePolling(Supplier<T> supplier) {
         return supplier.get();
     }
+
+    @Override
+    public void recordGatewayLatency(String gateway, String outcome, long nanos) { }
+
+    @Override
+    public void recordBatch(int size, long nanos) { }
 }
 
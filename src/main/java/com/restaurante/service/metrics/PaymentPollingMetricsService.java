@@ -15,5 +15,15 @@ public interface PaymentPollingMetricsService {
     void recordPollingExpired();
 
     <T> T timePolling(Supplier<T> supplier);
+
+    /**
+     * Latência de uma consulta de status ao gateway (round trip HTTP), por resultado.
+     */
+    void recordGatewayLatency(String gateway, String outcome, long nanos);
+
+    /**
+     * Uma ronda do poller: pagamentos consultados e duração total (consultas em paralelo).
+     */
+    void recordBatch(int size, long nanos);
 }
 
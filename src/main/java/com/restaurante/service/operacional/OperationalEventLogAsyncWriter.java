@@ -0,0 +1,434 @@
+package com.restaurante.service.operacional;
+
+import com.restaurante.config.OperationalEventLogWriterProperties;
+import com.restaurante.model.entity.BaseEntity;
+import com.restaurante.model.entity.OperationalEventLog;
+import com.restaurante.model.enums.OperationalActorType;
+import com.restaurante.model.enums.OperationalEntityType;
+import com.restaurante.model.enums.OperationalEventType;
+import com.restaurante.model.enums.OperationalOrigem;
+import com.restaurante.service.operacional.event.OperationalEventLoggedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind de OperationalEventLog para tipos não críticos (transições bloqueadas, reimpressões...).
+ *
+ * - O evento só entra na fila depois do commit da transação de negócio (rollback = evento descartado,
+ *   como no caminho síncrono).
+ * - Uma thread dedicada grava em batch JDBC quando a fila atinge batch-size ou quando o evento mais antigo
+ *   espera flush-interval-millis; OperationalEventLoggedEvent é publicado dentro da transação do batch,
+ *   portanto os listeners AFTER_COMMIT continuam a receber logId.
+ * - Backpressure: fila cheia = quem submete paga o flush; sem espaço mesmo assim, grava de forma síncrona.
+ *   Essa escrita corre no afterCommit do chamador, por isso o batch usa sempre REQUIRES_NEW: com REQUIRED
+ *   juntar-se-ia à transação já confirmada e o insert perder-se-ia.
+ * - Shutdown: deixa de aceitar eventos, espera a thread e drena o restante na thread de shutdown.
+ * - Só os tipos de {@link #NON_EVIDENCE_TYPES} podem passar por aqui; asyncEventTypes é filtrado por essa
+ *   lista. Qualquer outro tipo (incluindo tipos novos) é gravado na transação de negócio.
+ */
+@Service
+@Slf4j
+public class OperationalEventLogAsyncWriter {
+
+    static final String INSERT_SQL = """
+            insert into operational_event_logs (
+                version, created_at, updated_at, created_by, modified_by,
+                tenant_id, instituicao_id, unidade_atendimento_id, pedido_id, sub_pedido_id, item_pedido_id, mesa_id, turno_id,
+                device_id, actor_user_id, actor_type, event_type, entity_type, entity_id,
+                status_anterior, status_novo, origem, motivo, metadata_json, ip, user_agent)
+            values (0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /**
+     * Únicos tipos elegíveis para escrita assíncrona: não entram em bundles de evidência
+     * (ex.: SnapshotFinanceiroEvidenceBundleService lê PEDIDO_CRIADO_DEVICE) nem são lidos por cursor de id
+     * (fila KDS/SSE: {@code id > sinceId}, onde um id gravado depois de o cursor avançar seria saltado).
+     * Um tipo só entra aqui depois de confirmado que nenhum leitor depende dele.
+     */
+    static final Set<OperationalEventType> NON_EVIDENCE_TYPES = EnumSet.of(
+            OperationalEventType.TRANSITION_BLOCKED,
+            OperationalEventType.PEDIDO_SEM_TURNO_ABERTO,
+            OperationalEventType.CONSUMO_QR_REIMPRESSO_DEVICE,
+            OperationalEventType.CONTA_REIMPRESSA_DEVICE,
+            OperationalEventType.COMPROVATIVO_ORDEM_REIMPRESSO_DEVICE
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher publisher;
+    private final AuditorAware<String> auditorProvider;
+    private final Clock clock;
+    private final boolean asyncEnabled;
+    private final Set<OperationalEventType> asyncEventTypes;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int shutdownTimeoutSeconds;
+
+    private final BlockingQueue<PendingLog> queue;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean accepting;
+    private volatile Thread writerThread;
+
+    @Autowired
+    public OperationalEventLogAsyncWriter(JdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager,
+                                          ApplicationEventPublisher publisher,
+                                          AuditorAware<String> auditorProvider,
+                                          OperationalEventLogWriterProperties props) {
+        this(jdbcTemplate, new TransactionTemplate(transactionManager), publisher, auditorProvider, Clock.systemDefaultZone(),
+                props.isAsyncEnabled(), props.getAsyncEventTypes(), props.getBatchSize(), props.getFlushIntervalMillis(),
+                props.getQueueCapacity(), props.getShutdownTimeoutSeconds());
+    }
+
+    OperationalEventLogAsyncWriter(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher publisher,
+                                   AuditorAware<String> auditorProvider,
+                                   Clock clock,
+                                   boolean asyncEnabled,
+                                   Set<OperationalEventType> asyncEventTypes,
+                                   int batchSize,
+                                   long flushIntervalMillis,
+                                   int queueCapacity,
+                                   int shutdownTimeoutSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        // enqueue/flush podem correr no afterCommit do chamador, com a transação de negócio ainda ligada
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.publisher = publisher;
+        this.auditorProvider = auditorProvider;
+        this.clock = clock;
+        this.asyncEnabled = asyncEnabled;
+        this.asyncEventTypes = EnumSet.noneOf(OperationalEventType.class);
+        if (asyncEventTypes != null) {
+            for (OperationalEventType type : asyncEventTypes) {
+                if (NON_EVIDENCE_TYPES.contains(type)) {
+                    this.asyncEventTypes.add(type);
+                } else {
+                    log.warn("Tipo {} em async-event-types ignorado: não está na lista de tipos sem valor de evidência.", type);
+                }
+            }
+        }
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(10L, flushIntervalMillis);
+        this.shutdownTimeoutSeconds = Math.max(1, shutdownTimeoutSeconds);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.accepting = asyncEnabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!asyncEnabled) return;
+        Thread t = new Thread(this::runLoop, "op-event-log-writer");
+        t.setDaemon(true);
+        writerThread = t;
+        t.start();
+    }
+
+    public boolean accepts(OperationalEventType eventType) {
+        return accepting && eventType != null && asyncEventTypes.contains(eventType);
+    }
+
+    /**
+     * Captura o log (ids das associações, auditor, createdAt) na thread do chamador e agenda a escrita
+     * para depois do commit da transação corrente (ou de imediato, se não houver transação).
+     */
+    public void submit(OperationalEventLog log) {
+        PendingLog pending = PendingLog.of(log, LocalDateTime.now(clock), auditorProvider.getCurrentAuditor().orElse(null));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(pending);
+                }
+            });
+            return;
+        }
+        enqueue(pending);
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private void enqueue(PendingLog pending) {
+        if (accepting && queue.offer(pending)) return;
+        if (accepting) {
+            // backpressure: quem encheu a fila paga o flush
+            flush();
+            if (queue.offer(pending)) return;
+        }
+        write(List.of(pending));
+    }
+
+    private void runLoop() {
+        while (accepting) {
+            try {
+                PendingLog first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                List<PendingLog> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    if (batch.size() >= batchSize) break;
+                    long waitNanos = deadline - System.nanoTime();
+                    if (waitNanos <= 0) break;
+                    PendingLog next = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                writeLocked(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Writer assíncrono de operational_event_logs falhou: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drena a fila em batches na thread do chamador. Retorna o número de eventos gravados.
+     */
+    public int flush() {
+        int written = 0;
+        List<PendingLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            written += writeLocked(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        Thread t = writerThread;
+        if (t != null) {
+            // sem interrupt: o batch em curso termina; o loop sai no próximo poll
+            try {
+                t.join(TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int drained = flush();
+        if (drained > 0) {
+            log.info("Writer de operational_event_logs drenado no shutdown ({} eventos).", drained);
+        }
+    }
+
+    private int writeLocked(List<PendingLog> batch) {
+        flushLock.lock();
+        try {
+            return write(batch);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Batch numa transação; se falhar, cada evento é tentado isoladamente para não perder o batch inteiro
+     * por uma linha inválida.
+     */
+    private int write(List<PendingLog> batch) {
+        if (batch.isEmpty()) return 0;
+        try {
+            insertAndPublish(batch);
+            return batch.size();
+        } catch (RuntimeException batchError) {
+            if (batch.size() == 1) {
+                logLost(batch.get(0), batchError);
+                return 0;
+            }
+            log.warn("Batch de operational_event_logs falhou ({} eventos), a gravar um a um: {}", batch.size(), batchError.getMessage());
+            int written = 0;
+            for (PendingLog pending : batch) {
+                try {
+                    insertAndPublish(List.of(pending));
+                    written++;
+                } catch (RuntimeException rowError) {
+                    logLost(pending, rowError);
+                }
+            }
+            return written;
+        }
+    }
+
+    private void insertAndPublish(List<PendingLog> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = insertBatch(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                publisher.publishEvent(batch.get(i).toLoggedEvent(i < ids.size() ? ids.get(i) : null));
+            }
+        });
+    }
+
+    private List<Long> insertBatch(List<PendingLog> batch) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, new String[]{"id"})) {
+                for (PendingLog p : batch) {
+                    p.bind(ps);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Long> ids = new ArrayList<>(batch.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) ids.add(keys.getLong(1));
+                }
+                return ids;
+            }
+        });
+    }
+
+    private static void logLost(PendingLog pending, RuntimeException e) {
+        log.error("operational_event_log não gravado (tenantId={}, eventType={}, entityType={}, entityId={}, createdAt={}): {}",
+                pending.tenantId(), pending.eventType(), pending.entityType(), pending.entityId(), pending.createdAt(), e.getMessage());
+    }
+
+    record PendingLog(LocalDateTime createdAt,
+                      String createdBy,
+                      Long tenantId,
+                      Long instituicaoId,
+                      Long unidadeAtendimentoId,
+                      Long pedidoId,
+                      Long subPedidoId,
+                      Long itemPedidoId,
+                      Long mesaId,
+                      Long turnoId,
+                      Long deviceId,
+                      Long actorUserId,
+                      OperationalActorType actorType,
+                      OperationalEventType eventType,
+                      OperationalEntityType entityType,
+                      Long entityId,
+                      String statusAnterior,
+                      String statusNovo,
+                      OperationalOrigem origem,
+                      String motivo,
+                      String metadataJson,
+                      String ip,
+                      String userAgent,
+                      Long unidadeProducaoId) {
+
+        static PendingLog of(OperationalEventLog log, LocalDateTime now, String auditor) {
+            Long unidadeProducaoId = log.getSubPedido() != null && log.getSubPedido().getUnidadeProducao() != null
+                    ? log.getSubPedido().getUnidadeProducao().getId()
+                    : null;
+            return new PendingLog(
+                    now,
+                    auditor,
+                    idOf(log.getTenant()),
+                    idOf(log.getInstituicao()),
+                    idOf(log.getUnidadeAtendimento()),
+                    idOf(log.getPedido()),
+                    idOf(log.getSubPedido()),
+                    idOf(log.getItemPedido()),
+                    idOf(log.getMesa()),
+                    idOf(log.getTurno()),
+                    idOf(log.getDispositivo()),
+                    idOf(log.getActorUser()),
+                    log.getActorType() != null ? log.getActorType() : OperationalActorType.SYSTEM,
+                    log.getEventType(),
+                    log.getEntityType(),
+                    log.getEntityId() != null ? log.getEntityId() : 0L,
+                    log.getStatusAnterior(),
+                    log.getStatusNovo(),
+                    log.getOrigem() != null ? log.getOrigem() : OperationalOrigem.SYSTEM,
+                    log.getMotivo(),
+                    log.getMetadataJson(),
+                    log.getIp(),
+                    log.getUserAgent(),
+                    unidadeProducaoId
+            );
+        }
+
+        void bind(PreparedStatement ps) throws SQLException {
+            Timestamp ts = Timestamp.valueOf(createdAt);
+            int i = 1;
+            ps.setTimestamp(i++, ts);
+            ps.setTimestamp(i++, ts);
+            ps.setString(i++, createdBy);
+            ps.setString(i++, createdBy);
+            setLong(ps, i++, tenantId);
+            setLong(ps, i++, instituicaoId);
+            setLong(ps, i++, unidadeAtendimentoId);
+            setLong(ps, i++, pedidoId);
+            setLong(ps, i++, subPedidoId);
+            setLong(ps, i++, itemPedidoId);
+            setLong(ps, i++, mesaId);
+            setLong(ps, i++, turnoId);
+            setLong(ps, i++, deviceId);
+            setLong(ps, i++, actorUserId);
+            ps.setString(i++, actorType.name());
+            ps.setString(i++, eventType.name());
+            ps.setString(i++, entityType.name());
+            ps.setLong(i++, entityId);
+            ps.setString(i++, statusAnterior);
+            ps.setString(i++, statusNovo);
+            ps.setString(i++, origem.name());
+            ps.setString(i++, motivo);
+            ps.setString(i++, metadataJson);
+            ps.setString(i++, ip);
+            ps.setString(i, userAgent);
+        }
+
+        OperationalEventLoggedEvent toLoggedEvent(Long logId) {
+            return new OperationalEventLoggedEvent(
+                    logId,
+                    tenantId,
+                    eventType,
+                    entityType,
+                    entityId,
+                    createdAt,
+                    origem,
+                    statusAnterior,
+                    statusNovo,
+                    motivo,
+                    metadataJson,
+                    unidadeProducaoId
+            );
+        }
+
+        private static Long idOf(BaseEntity entity) {
+            return entity != null ? entity.getId() : null;
+        }
+
+        private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+            if (value == null) {
+                ps.setNull(index, Types.BIGINT);
+            } else {
+                ps.setLong(index, value);
+            }
+        }
+    }
+}
@@ -50,6 +50,7 @@ public class OperationalEventLogService {
     private final OperationalEventLogRepository operationalEventLogRepository;
     private final ObjectMapper objectMapper;
     private final ApplicationEventPublisher publisher;
+    private final OperationalEventLogAsyncWriter asyncWriter;
 
     @Transactional
     public void logPedidoStatusChanged(Pedido pedido,
@@ -304,8 +305,7 @@ public class OperationalEventLogService {
         log.setUserAgent(userAgent);
 
         applyActor(log, origem, ip, userAgent);
-        OperationalEventLog saved = operationalEventLogRepository.save(log);
-        publishLoggedEvent(saved);
+        persist(log);
     }
 
     @Transactional
@@ -338,8 +338,7 @@ public class OperationalEventLogService {
         log.setUserAgent(userAgent);
 
         applyActor(log, origem, ip, userAgent);
-        OperationalEventLog saved = operationalEventLogRepository.save(log);
-        publishLoggedEvent(saved);
+        persist(log);
     }
 
     @Transactional
@@ -370,8 +369,7 @@ public class OperationalEventLogService {
         log.setUserAgent(userAgent);
 
         applyActor(log, origem, ip, userAgent);
-        OperationalEventLog saved = operationalEventLogRepository.save(log);
-        publishLoggedEvent(saved);
+        persist(log);
     }
 
     /**
@@ -448,8 +446,7 @@ public class OperationalEventLogService {
                                     String userAgent) {
         if (tenantId == null) throw new ResourceNotFoundException("Recurso não encontrado.");
 
-        Tenant tenant = tenantRepository.findById(tenantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado."));
+        Tenant tenant = tenantFor(tenantId, eventType);
 
         OperationalEventLog log = new OperationalEventLog();
         log.setTenant(tenant);
@@ -467,8 +464,7 @@ public class OperationalEventLogService {
         log.setUserAgent(userAgent);
 
         applyActor(log, origem, ip, userAgent);
-        OperationalEventLog saved = operationalEventLogRepository.save(log);
-        publishLoggedEvent(saved);
+        persist(log);
     }
 
     private void log(OperationalEventType eventType,
@@ -489,8 +485,7 @@ public class OperationalEventLogService {
         }
         if (tenantId == null) throw new ResourceNotFoundException("Recurso não encontrado.");
 
-        Tenant tenant = tenantRepository.findById(tenantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado."));
+        Tenant tenant = tenantFor(tenantId, eventType);
 
         OperationalEventLog log = new OperationalEventLog();
         log.setTenant(tenant);
@@ -519,8 +514,7 @@ public class OperationalEventLogService {
 
         applyActor(log, origem, ip, userAgent);
 
-        OperationalEventLog saved = operationalEventLogRepository.save(log);
-        publishLoggedEvent(saved);
+        persist(log);
     }
 
     private void logForTurno(OperationalEventType eventType,
@@ -535,8 +529,7 @@ public class OperationalEventLogService {
         Long tenantId = resolveTenantId();
         if (tenantId == null) throw new ResourceNotFoundException("Recurso não encontrado.");
 
-        Tenant tenant = tenantRepository.findById(tenantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado."));
+        Tenant tenant = tenantFor(tenantId, eventType);
 
         OperationalEventLog log = new OperationalEventLog();
         log.setTenant(tenant);
@@ -555,10 +548,31 @@ public class OperationalEventLogService {
 
         applyActor(log, origem, ip, userAgent);
 
+        persist(log);
+    }
+
+    /**
+     * Tipos não críticos com escrita assíncrona ligada vão para o writer (batch após o commit);
+     * os restantes são gravados e publicados na transação corrente.
+     */
+    private void persist(OperationalEventLog log) {
+        if (asyncWriter.accepts(log.getEventType())) {
+            asyncWriter.submit(log);
+            return;
+        }
         OperationalEventLog saved = operationalEventLogRepository.save(log);
         publishLoggedEvent(saved);
     }
 
+    private Tenant tenantFor(Long tenantId, OperationalEventType eventType) {
+        if (asyncWriter.accepts(eventType)) {
+            // o writer só precisa do id; a FK valida a existência na inserção
+            return tenantRepository.getReferenceById(tenantId);
+        }
+        return tenantRepository.findById(tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado."));
+    }
+
     private void publishLoggedEvent(OperationalEventLog saved) {
         if (saved == null || saved.getTenant() == null) return;
         publisher.publishEvent(new OperationalEventLoggedEvent(
@@ -572,7 +586,10 @@ public class OperationalEventLogService {
                 saved.getStatusAnterior(),
                 saved.getStatusNovo(),
                 saved.getMotivo(),
-                saved.getMetadataJson()
+                saved.getMetadataJson(),
+                saved.getSubPedido() != null && saved.getSubPedido().getUnidadeProducao() != null
+                        ? saved.getSubPedido().getUnidadeProducao().getId()
+                        : null
         ));
     }
 
@@ -654,8 +671,7 @@ public class OperationalEventLogService {
         log.setIp(ip);
         log.setUserAgent(userAgent);
 
-        OperationalEventLog saved = operationalEventLogRepository.save(log);
-        publishLoggedEvent(saved);
+        persist(log);
     }
 
     private Long resolveTenantId() {
@@ -695,7 +711,9 @@ public class OperationalEventLogService {
 
         TenantContext ctx = TenantContextHolderSafe.get();
         if (ctx != null && ctx.userId() != null) {
-            User user = userRepository.findById(ctx.userId()).orElse(null);
+            User user = asyncWriter.accepts(log.getEventType())
+                    ? userRepository.getReferenceById(ctx.userId())
+                    : userRepository.findById(ctx.userId()).orElse(null);
             log.setActorUser(user);
             log.setActorType(OperationalActorType.USER);
             return;
@@ -0,0 +1,149 @@
+package com.restaurante.service.operacional;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manutenção das partições mensais de operational_event_logs (Postgres, V20260815_01).
+ *
+ * - Garante partições para os próximos months-ahead meses (a partição default deve ficar vazia).
+ * - Retenção: uma partição cujo mês terminou antes do cutoff (now - retention-days) é desanexada e removida,
+ *   em vez de DELETE linha a linha. O resto da janela (mês parcial) fica para o cleanup por tenant.
+ * - Sem tabela particionada (ex.: H2 nos testes) tudo é no-op.
+ */
+@Service
+@Slf4j
+public class OperationalEventPartitionService {
+
+    static final String PARENT_TABLE = "operational_event_logs";
+    private static final Pattern PARTITION_NAME = Pattern.compile("^operational_event_logs_p(\\d{6})$");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final int retentionDays;
+    private final boolean cleanupEnabled;
+    private final int monthsAhead;
+    private volatile Boolean partitioned;
+
+    public OperationalEventPartitionService(JdbcTemplate jdbcTemplate,
+                                            @Value("${consuma.operational-events.retention-days:180}") int retentionDays,
+                                            @Value("${consuma.operational-events.cleanup-enabled:false}") boolean cleanupEnabled,
+                                            @Value("${consuma.operational-events.partition-months-ahead:3}") int monthsAhead) {
+        this(jdbcTemplate, Clock.systemDefaultZone(), retentionDays, cleanupEnabled, monthsAhead);
+    }
+
+    OperationalEventPartitionService(JdbcTemplate jdbcTemplate, Clock clock, int retentionDays, boolean cleanupEnabled, int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.retentionDays = retentionDays;
+        this.cleanupEnabled = cleanupEnabled;
+        this.monthsAhead = Math.max(1, monthsAhead);
+    }
+
+    @Scheduled(cron = "${consuma.operational-events.partition-maintenance-cron:0 20 3 * * *}")
+    public void maintain() {
+        if (!isPartitioned()) return;
+        try {
+            ensureFuturePartitions();
+            if (cleanupEnabled) dropExpiredPartitions();
+        } catch (RuntimeException e) {
+            log.warn("Manutenção de partições de operational_event_logs falhou: {}", e.getMessage());
+        }
+    }
+
+    public boolean isPartitioned() {
+        Boolean cached = partitioned;
+        if (cached != null) return cached;
+        boolean result;
+        try {
+            Integer count = jdbcTemplate.queryForObject("""
+                    select count(*)
+                      from pg_partitioned_table pt
+                      join pg_class c on c.oid = pt.partrelid
+                     where c.relname = ?
+                    """, Integer.class, PARENT_TABLE);
+            result = count != null && count > 0;
+        } catch (RuntimeException e) {
+            result = false;
+        }
+        partitioned = result;
+        return result;
+    }
+
+    /**
+     * @return número de partições criadas
+     */
+    @Transactional
+    public int ensureFuturePartitions() {
+        if (!isPartitioned()) return 0;
+        LocalDate today = LocalDate.now(clock);
+        Integer created = jdbcTemplate.queryForObject(
+                "select ensure_operational_event_log_partitions(?, ?)",
+                Integer.class,
+                Date.valueOf(today.withDayOfMonth(1)),
+                Date.valueOf(today.plusMonths(monthsAhead)));
+        return created != null ? created : 0;
+    }
+
+    /**
+     * Desanexa e remove as partições inteiramente anteriores ao cutoff de retenção.
+     *
+     * @return nomes das partições removidas
+     */
+    @Transactional
+    public List<String> dropExpiredPartitions() {
+        if (!isPartitioned()) return List.of();
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(retentionDays);
+        List<String> dropped = new ArrayList<>();
+        for (String name : listPartitions()) {
+            YearMonth month = partitionMonth(name);
+            if (month == null || !isExpired(month, cutoff)) continue;
+            // nome validado por PARTITION_NAME: seguro para interpolar no DDL
+            jdbcTemplate.execute("alter table " + PARENT_TABLE + " detach partition " + name);
+            jdbcTemplate.execute("drop table " + name);
+            dropped.add(name);
+        }
+        if (!dropped.isEmpty()) {
+            log.info("Partições de operational_event_logs removidas por retenção (cutoff={}): {}", cutoff, dropped);
+        }
+        return dropped;
+    }
+
+    List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                select c.relname
+                  from pg_inherits i
+                  join pg_class c on c.oid = i.inhrelid
+                  join pg_class p on p.oid = i.inhparent
+                 where p.relname = ?
+                 order by c.relname
+                """, String.class, PARENT_TABLE);
+    }
+
+    static YearMonth partitionMonth(String partitionName) {
+        if (partitionName == null) return null;
+        Matcher m = PARTITION_NAME.matcher(partitionName);
+        if (!m.matches()) return null;
+        return YearMonth.parse(m.group(1), PARTITION_MONTH);
+    }
+
+    static boolean isExpired(YearMonth month, LocalDateTime cutoff) {
+        return !month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff);
+    }
+}
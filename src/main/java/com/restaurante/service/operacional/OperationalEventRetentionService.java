@@ -9,6 +9,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
+/**
+ * Retenção por tenant (DELETE). Os meses inteiros fora da janela são removidos de uma vez, para todos os
+ * tenants, pelo OperationalEventPartitionService (detach + drop); aqui sobra apenas o mês parcial do cutoff.
+ */
 @Service
 @RequiredArgsConstructor
 public class OperationalEventRetentionService {
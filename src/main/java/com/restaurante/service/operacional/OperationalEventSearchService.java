@@ -0,0 +1,217 @@
+package com.restaurante.service.operacional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurante.exception.BusinessException;
+import com.restaurante.model.entity.OperationalEventLog;
+import com.restaurante.model.enums.OperationalActorType;
+import com.restaurante.model.enums.OperationalEntityType;
+import com.restaurante.model.enums.OperationalEventType;
+import com.restaurante.repository.OperationalEventLogRepository;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pesquisa keyset (createdAt desc, id desc) sobre operational_event_logs.
+ *
+ * - Cada página custa o mesmo qualquer que seja a profundidade: sem OFFSET e sem count exato.
+ * - Predicados dinâmicos (Specification): só os filtros presentes entram na query, para que o planner
+ *   escolha o índice (tenant_id, [filtro,] created_at desc, id desc) de V20260816_01 em vez de um plano
+ *   genérico com "(:x is null or ...)". O limite "createdAt <= cursorAt" repete a condição do keyset de
+ *   forma sargável.
+ * - Total aproximado: "Plan Rows" do EXPLAIN (estatísticas do planner, sem executar a query).
+ *   Fora do Postgres (ex.: H2) devolve null.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OperationalEventSearchService {
+
+    private final OperationalEventLogRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public record Keyset(LocalDateTime createdAt, Long id) {}
+
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    public record CursorPage(List<OperationalEventLog> items, boolean hasMore, String nextCursor, Long approximateTotal) {}
+
+    @Transactional(readOnly = true)
+    public CursorPage searchTenant(Long tenantId,
+                                   Long pedidoId,
+                                   Long subPedidoId,
+                                   OperationalEventType eventType,
+                                   Long actorUserId,
+                                   Long deviceId,
+                                   LocalDateTime de,
+                                   LocalDateTime ate,
+                                   String cursor,
+                                   int limit,
+                                   boolean withApproximateTotal) {
+        Filter f = new Filter(tenantId, de, ate)
+                .eq("pedido.id", "pedido_id", pedidoId)
+                .eq("subPedido.id", "sub_pedido_id", subPedidoId)
+                .eq("eventType", "event_type", eventType)
+                .eq("actorUser.id", "actor_user_id", actorUserId)
+                .eq("dispositivo.id", "device_id", deviceId);
+        return search(f, cursor, limit, withApproximateTotal);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage searchTenantExtended(Long tenantId,
+                                           OperationalEventType eventType,
+                                           OperationalEntityType entityType,
+                                           OperationalActorType actorType,
+                                           LocalDateTime de,
+                                           LocalDateTime ate,
+                                           String cursor,
+                                           int limit,
+                                           boolean withApproximateTotal) {
+        Filter f = new Filter(tenantId, de, ate)
+                .eq("eventType", "event_type", eventType)
+                .eq("entityType", "entity_type", entityType)
+                .eq("actorType", "actor_type", actorType);
+        return search(f, cursor, limit, withApproximateTotal);
+    }
+
+    private CursorPage search(Filter filter, String cursor, int limit, boolean withApproximateTotal) {
+        Keyset after = startAfter(cursor, filter.ate);
+        List<OperationalEventLog> rows = repository.findBy(filter.keysetAfter(after),
+                q -> q.sortBy(KEYSET_ORDER).limit(limit + 1).all());
+        Long approx = withApproximateTotal ? approximateCount(filter) : null;
+        return toPage(rows, limit, approx);
+    }
+
+    private CursorPage toPage(List<OperationalEventLog> rows, int limit, Long approx) {
+        boolean hasMore = rows.size() > limit;
+        List<OperationalEventLog> items = hasMore ? rows.subList(0, limit) : rows;
+        String next = null;
+        if (hasMore) {
+            OperationalEventLog last = items.get(items.size() - 1);
+            next = encodeCursor(new Keyset(last.getCreatedAt(), last.getId()));
+        }
+        return new CursorPage(items, hasMore, next, approx);
+    }
+
+    /**
+     * Sem cursor a primeira página começa logo a seguir a (ate, Long.MAX_VALUE): inclui tudo até ate.
+     */
+    private static Keyset startAfter(String cursor, LocalDateTime ate) {
+        Keyset decoded = decodeCursor(cursor);
+        if (decoded == null) return new Keyset(ate, Long.MAX_VALUE);
+        if (decoded.createdAt().isAfter(ate)) return new Keyset(ate, Long.MAX_VALUE);
+        return decoded;
+    }
+
+    static String encodeCursor(Keyset keyset) {
+        String raw = keyset.createdAt() + "|" + keyset.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Keyset decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep <= 0) throw new IllegalArgumentException();
+            return new Keyset(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Cursor de eventos operacionais inválido.");
+        }
+    }
+
+    Long approximateCount(Filter filter) {
+        try {
+            String plan = jdbcTemplate.queryForObject(
+                    "explain (format json) select 1 from operational_event_logs where " + filter.where(),
+                    String.class, filter.args().toArray());
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? Math.max(0L, rows.asLong()) : null;
+        } catch (Exception e) {
+            log.debug("Contagem aproximada de eventos operacionais indisponível: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Filtros presentes da pesquisa: predicados JPA para a página keyset e o mesmo WHERE em SQL nativo para
+     * a estimativa (só atributos/colunas fixos; valores sempre como parâmetros).
+     */
+    static final class Filter {
+        private final Long tenantId;
+        private final LocalDateTime de;
+        private final LocalDateTime ate;
+        private final Map<String, Object> equalities = new LinkedHashMap<>();
+        private final StringBuilder where = new StringBuilder("tenant_id = ? and created_at >= ? and created_at <= ?");
+        private final List<Object> args = new ArrayList<>();
+
+        Filter(Long tenantId, LocalDateTime de, LocalDateTime ate) {
+            this.tenantId = tenantId;
+            this.de = de;
+            this.ate = ate;
+            args.add(tenantId);
+            args.add(Timestamp.valueOf(de));
+            args.add(Timestamp.valueOf(ate));
+        }
+
+        Filter eq(String attribute, String column, Object value) {
+            if (value == null) return this;
+            equalities.put(attribute, value);
+            where.append(" and ").append(column).append(" = ?");
+            args.add(value instanceof Enum<?> e ? e.name() : value);
+            return this;
+        }
+
+        Specification<OperationalEventLog> keysetAfter(Keyset after) {
+            return (root, query, cb) -> {
+                Path<LocalDateTime> createdAt = root.get("createdAt");
+                Path<Long> id = root.get("id");
+                List<Predicate> predicates = new ArrayList<>();
+                predicates.add(cb.equal(root.get("tenant").get("id"), tenantId));
+                equalities.forEach((attribute, value) -> predicates.add(cb.equal(path(root, attribute), value)));
+                predicates.add(cb.greaterThanOrEqualTo(createdAt, de));
+                predicates.add(cb.lessThanOrEqualTo(createdAt, after.createdAt()));
+                predicates.add(cb.or(cb.lessThan(createdAt, after.createdAt()), cb.lessThan(id, after.id())));
+                return cb.and(predicates.toArray(Predicate[]::new));
+            };
+        }
+
+        private static Path<?> path(Root<OperationalEventLog> root, String attribute) {
+            Path<?> path = root;
+            for (String part : attribute.split("\\.")) path = path.get(part);
+            return path;
+        }
+
+        Set<String> attributes() {
+            return equalities.keySet();
+        }
+
+        String where() {
+            return where.toString();
+        }
+
+        List<Object> args() {
+            return args;
+        }
+    }
+}
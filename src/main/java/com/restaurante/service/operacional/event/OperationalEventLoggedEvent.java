@@ -20,5 +20,7 @@ public class OperationalEventLoggedEvent {
     String statusNovo;
     String motivo;
     String metadataJson;
+    /** UnidadeProducao do SubPedido associado (null se o evento não tiver SubPedido). */
+    Long unidadeProducaoId;
 }
 
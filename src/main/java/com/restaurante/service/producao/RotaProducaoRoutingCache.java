@@ -0,0 +1,110 @@
+package com.restaurante.service.producao;
+
+import com.restaurante.repository.projection.RotaProducaoRoutingProjection;
+import com.restaurante.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache em memória (por nó) da tabela de roteamento de produção de cada tenant:
+ * (instituição, categoria) → (unidade de produção, prioridade).
+ *
+ * Regras:
+ * - Uma tabela só serve enquanto a versão PRODUCAO do tenant (triggers de tenant_sync_version em
+ *   rotas_producao_categoria e unidades_producao) for a mesma com que foi montada; alterações feitas
+ *   noutro nó ou por SQL invalidam por aí.
+ * - {@link RotaProducaoService#configurarRota} e {@link RotaProducaoService#desativarRota} invalidam o
+ *   tenant imediatamente e novamente após o commit. Uma geração impede que montagens em curso
+ *   repovoem o cache com rotas anteriores à invalidação.
+ * - Guarda só ids: as unidades são carregadas (e validadas) em cada resolução.
+ * - Limite de entradas ({@code consuma.producao.routing-cache-max-entries}); ao encher descarta as
+ *   tabelas menos usadas recentemente.
+ */
+@Component
+public class RotaProducaoRoutingCache {
+
+    private final boolean enabled;
+    private final BoundedCache<Long, RoutingTable> entries;
+
+    @Autowired
+    public RotaProducaoRoutingCache(
+            @Value("${consuma.producao.routing-cache-enabled:true}") boolean enabled,
+            @Value("${consuma.producao.routing-cache-max-entries:5000}") int maxEntries
+    ) {
+        this(enabled, maxEntries, Clock.systemUTC());
+    }
+
+    RotaProducaoRoutingCache(boolean enabled, int maxEntries, Clock clock) {
+        this.enabled = enabled && maxEntries > 0;
+        this.entries = new BoundedCache<>(maxEntries, 0, clock);
+    }
+
+    public Optional<RoutingTable> get(Long tenantId, long version) {
+        if (!enabled || tenantId == null) return Optional.empty();
+        return Optional.ofNullable(entries.get(tenantId, t -> t.version() == version));
+    }
+
+    /**
+     * Geração corrente; deve ser lida antes de consultar o banco. {@link #put} descarta a tabela se
+     * alguma invalidação ocorreu entretanto.
+     */
+    public long currentGeneration() {
+        return entries.currentGeneration();
+    }
+
+    public void put(RoutingTable table, long loadedAtGeneration) {
+        if (!enabled || table == null) return;
+        entries.putIfCurrent(table.tenantId(), table, loadedAtGeneration);
+    }
+
+    public void invalidateTenant(Long tenantId) {
+        if (!enabled || tenantId == null) return;
+        entries.invalidateIfAcrossCompletion((id, table) -> tenantId.equals(id));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Rota activa de uma categoria numa instituição.
+     */
+    public record Route(Long unidadeProducaoId, int prioridade) {
+    }
+
+    /**
+     * Rotas activas do tenant por instituição e categoria. Havendo mais de uma rota activa para o mesmo
+     * par, vale a de maior prioridade (empate: menor id de unidade).
+     */
+    public record RoutingTable(Long tenantId, long version, Map<Long, Map<Long, Route>> porInstituicao) {
+
+        public static RoutingTable of(Long tenantId, long version, Collection<RotaProducaoRoutingProjection> rows) {
+            Map<Long, Map<Long, Route>> out = new HashMap<>();
+            for (RotaProducaoRoutingProjection row : rows) {
+                Route route = new Route(row.getUnidadeProducaoId(),
+                        row.getPrioridade() != null ? row.getPrioridade() : 0);
+                out.computeIfAbsent(row.getInstituicaoId(), k -> new HashMap<>())
+                        .merge(row.getCategoriaProdutoId(), route, RoutingTable::preferida);
+            }
+            out.replaceAll((k, v) -> Map.copyOf(v));
+            return new RoutingTable(tenantId, version, Map.copyOf(out));
+        }
+
+        public Optional<Route> rota(Long instituicaoId, Long categoriaProdutoId) {
+            if (instituicaoId == null || categoriaProdutoId == null) return Optional.empty();
+            return Optional.ofNullable(porInstituicao.getOrDefault(instituicaoId, Map.of()).get(categoriaProdutoId));
+        }
+
+        private static Route preferida(Route a, Route b) {
+            if (a.prioridade() != b.prioridade()) return a.prioridade() > b.prioridade() ? a : b;
+            return a.unidadeProducaoId() <= b.unidadeProducaoId() ? a : b;
+        }
+    }
+}
@@ -6,24 +6,39 @@ import com.restaurante.exception.ResourceNotFoundException;
 import com.restaurante.model.entity.CategoriaProduto;
 import com.restaurante.model.entity.Produto;
 import com.restaurante.model.entity.RotaProducaoCategoria;
+import com.restaurante.model.entity.TenantSyncVersion;
 import com.restaurante.model.entity.UnidadeProducao;
 import com.restaurante.repository.CategoriaProdutoRepository;
 import com.restaurante.repository.RotaProducaoCategoriaRepository;
+import com.restaurante.repository.TenantSyncVersionRepository;
 import com.restaurante.repository.UnidadeProducaoRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RotaProducaoService {
 
+    public static final String SYNC_DOMAIN = "PRODUCAO";
+
     private final RotaProducaoCategoriaRepository rotaRepository;
     private final CategoriaProdutoRepository categoriaProdutoRepository;
     private final UnidadeProducaoRepository unidadeProducaoRepository;
     private final UnidadeProducaoService unidadeProducaoService;
+    private final TenantSyncVersionRepository tenantSyncVersionRepository;
+    private final RotaProducaoRoutingCache routingCache;
 
     @Transactional(readOnly = true)
     public UnidadeProducao resolverUnidadeProducaoParaProduto(Long tenantId, Long instituicaoId, Produto produto) {
@@ -35,20 +50,62 @@ public class RotaProducaoService {
 
     @Transactional(readOnly = true)
     public UnidadeProducao resolverUnidadeProducaoParaCategoria(Long tenantId, Long instituicaoId, Long categoriaProdutoId) {
-        RotaProducaoCategoria rota = rotaRepository
-                .findByTenantIdAndInstituicaoIdAndCategoriaProdutoIdAndAtivoTrue(
-                        tenantId, instituicaoId, categoriaProdutoId)
-                .orElse(null);
-        if (rota != null) {
-            UnidadeProducao up = rota.getUnidadeProducao();
+        return resolverUnidadesProducaoParaCategorias(tenantId, instituicaoId, Collections.singletonList(categoriaProdutoId))
+                .get(categoriaProdutoId);
+    }
+
+    /**
+     * Resolve a unidade de produção de várias categorias de uma vez: tabela de roteamento do tenant em
+     * cache (uma leitura por PK da versão PRODUCAO), unidades roteadas numa única query e a unidade GERAL
+     * da instituição só se alguma categoria não tiver rota activa.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, UnidadeProducao> resolverUnidadesProducaoParaCategorias(
+            Long tenantId, Long instituicaoId, Collection<Long> categoriaProdutoIds) {
+        RotaProducaoRoutingCache.RoutingTable tabela = tabelaDeRoteamento(tenantId);
+
+        Map<Long, Long> unidadeIdPorCategoria = new LinkedHashMap<>();
+        Set<Long> semRota = new HashSet<>();
+        for (Long categoriaId : categoriaProdutoIds) {
+            tabela.rota(instituicaoId, categoriaId).ifPresentOrElse(
+                    rota -> unidadeIdPorCategoria.put(categoriaId, rota.unidadeProducaoId()),
+                    () -> semRota.add(categoriaId));
+        }
+
+        Map<Long, UnidadeProducao> unidades = unidadeIdPorCategoria.isEmpty()
+                ? Map.of()
+                : unidadeProducaoRepository.findAllById(new HashSet<>(unidadeIdPorCategoria.values())).stream()
+                        .collect(Collectors.toMap(UnidadeProducao::getId, Function.identity()));
+
+        Map<Long, UnidadeProducao> out = new HashMap<>();
+        unidadeIdPorCategoria.forEach((categoriaId, unidadeId) -> {
+            UnidadeProducao up = unidades.get(unidadeId);
             if (up == null || up.getTenant() == null || !up.getTenant().getId().equals(tenantId)
                     || up.getInstituicao() == null || !up.getInstituicao().getId().equals(instituicaoId)
                     || !Boolean.TRUE.equals(up.getAtivo())) {
                 throw new BusinessException("Rota de produção inválida.");
             }
-            return up;
+            out.put(categoriaId, up);
+        });
+        if (!semRota.isEmpty()) {
+            UnidadeProducao padrao = unidadeProducaoService.obterDefaultParaInstituicao(tenantId, instituicaoId);
+            semRota.forEach(categoriaId -> out.put(categoriaId, padrao));
         }
-        return unidadeProducaoService.obterDefaultParaInstituicao(tenantId, instituicaoId);
+        return out;
+    }
+
+    private RotaProducaoRoutingCache.RoutingTable tabelaDeRoteamento(Long tenantId) {
+        Long v = tenantSyncVersionRepository.findVersion(tenantId, SYNC_DOMAIN, TenantSyncVersion.TENANT_SCOPE);
+        long version = v != null ? v : 0L;
+
+        RotaProducaoRoutingCache.RoutingTable cached = routingCache.get(tenantId, version).orElse(null);
+        if (cached != null) return cached;
+
+        long generation = routingCache.currentGeneration();
+        RotaProducaoRoutingCache.RoutingTable tabela = RotaProducaoRoutingCache.RoutingTable.of(
+                tenantId, version, rotaRepository.findRoutingTable(tenantId));
+        routingCache.put(tabela, generation);
+        return tabela;
     }
 
     @Transactional
@@ -85,6 +142,7 @@ public class RotaProducaoService {
         rota.setPrioridade(prioridade != null ? prioridade : 0);
         rota.setAtualizadoEm(java.time.LocalDateTime.now());
         RotaProducaoCategoria saved = rotaRepository.saveAndFlush(rota);
+        routingCache.invalidateTenant(tenantId);
         return rotaRepository.findByIdAndTenantId(saved.getId(), tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("RotaProducaoCategoria", "id", saved.getId()));
     }
@@ -100,6 +158,8 @@ public class RotaProducaoService {
                 .orElseThrow(() -> new ResourceNotFoundException("RotaProducaoCategoria", "id", rotaId));
         rota.setAtivo(false);
         rota.setAtualizadoEm(java.time.LocalDateTime.now());
-        return rotaRepository.save(rota);
+        RotaProducaoCategoria saved = rotaRepository.save(rota);
+        routingCache.invalidateTenant(tenantId);
+        return saved;
     }
 }
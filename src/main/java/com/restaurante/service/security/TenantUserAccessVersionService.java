@@ -7,6 +7,7 @@ import com.restaurante.model.entity.User;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.repository.TenantUserAccessVersionRepository;
 import com.restaurante.repository.UserRepository;
+import com.restaurante.security.tenant.TenantAccessCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +21,7 @@ public class TenantUserAccessVersionService {
     private final TenantUserAccessVersionRepository repository;
     private final TenantRepository tenantRepository;
     private final UserRepository userRepository;
+    private final TenantAccessCache tenantAccessCache;
 
     @Transactional
     public TenantUserAccessVersion ensureExists(Long tenantId, Long userId) {
@@ -41,7 +43,10 @@ public class TenantUserAccessVersionService {
         TenantUserAccessVersion row = ensureExists(tenantId, userId);
         row.setAccessVersion(row.getAccessVersion() + 1);
         row.setPermissionsUpdatedAt(LocalDateTime.now());
-        return repository.save(row);
+        TenantUserAccessVersion saved = repository.save(row);
+        // tokens anteriores ao bump devem receber TENANT_TOKEN_STALE já no próximo request
+        tenantAccessCache.invalidateMembership(tenantId, userId);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -16,6 +16,7 @@ import com.restaurante.repository.InstituicaoRepository;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.repository.UnidadeAtendimentoRepository;
 import com.restaurante.repository.UnidadeProducaoRepository;
+import com.restaurante.security.device.DevicePrincipalCache;
 import com.restaurante.security.tenant.TenantContext;
 import com.restaurante.security.tenant.TenantGuard;
 import com.restaurante.service.TenantLimitService;
@@ -37,6 +38,7 @@ public class TenantAdminDispositivoService {
     private final TenantLimitService tenantLimitService;
     private final DeviceTokenService deviceTokenService;
     private final DeviceActivationService deviceActivationService;
+    private final DevicePrincipalCache devicePrincipalCache;
 
     private final DispositivoOperacionalRepository dispositivoOperacionalRepository;
     private final TenantRepository tenantRepository;
@@ -142,6 +144,7 @@ public class TenantAdminDispositivoService {
 
         d.setUnidadeProducao(unidadeProducao);
         dispositivoOperacionalRepository.save(d);
+        devicePrincipalCache.invalidateDevice(d.getId());
         return toDto(d);
     }
 
@@ -156,6 +159,7 @@ public class TenantAdminDispositivoService {
         d.setDeviceTokenRevokedAt(LocalDateTime.now());
         d.setDeviceTokenHash(null);
         dispositivoOperacionalRepository.save(d);
+        devicePrincipalCache.invalidateDevice(d.getId());
         return toDto(d);
     }
 
@@ -173,6 +177,7 @@ public class TenantAdminDispositivoService {
         d.setActivationCodeHash(null);
         d.setActivationCodeExpiresAt(null);
         dispositivoOperacionalRepository.save(d);
+        devicePrincipalCache.invalidateDevice(d.getId());
         return toDto(d);
     }
 
@@ -42,6 +42,7 @@ import com.restaurante.repository.TenantRepository;
 import com.restaurante.repository.TurnoOperacionalRepository;
 import com.restaurante.repository.UnidadeAtendimentoRepository;
 import com.restaurante.repository.UserRepository;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import com.restaurante.security.tenant.TenantContext;
 import com.restaurante.security.tenant.TenantGuard;
 import com.restaurante.service.PedidoNumberService;
@@ -50,11 +51,8 @@ import com.restaurante.service.SessaoConsumoService;
 import com.restaurante.service.operacional.OperationalCapabilitiesPolicy;
 import com.restaurante.service.operacional.OperationalEventLogService;
 import com.restaurante.service.producao.RotaProducaoService;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -388,8 +386,7 @@ public class TenantPdvPedidoService {
                     .forEach(item -> canonical.append(item.getProdutoId()).append(':')
                             .append(item.getQuantidade()).append(':')
                             .append(trim(item.getObservacao())).append(';'));
-            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
-                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+            return CryptoPrimitives.sha256Hex("tenant-pdv.pedido.idempotency", canonical.toString());
         } catch (Exception exception) {
             throw new IllegalStateException("Falha ao calcular hash de idempotência.", exception);
         }
@@ -10,6 +10,7 @@ import com.restaurante.model.enums.StatusSubPedido;
 import com.restaurante.model.enums.TipoPagamentoPedido;
 import com.restaurante.model.enums.TipoSessao;
 import com.restaurante.repository.*;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import com.restaurante.store.dto.StoreCarrinhoItemRequest;
 import com.restaurante.store.dto.StoreCheckoutRequest;
 import com.restaurante.store.dto.StoreOrderDTO;
@@ -24,12 +25,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 
@@ -215,8 +213,7 @@ public class StoreCheckoutService {
     private String secureQrToken(String socioId, String orderNumber, Long productId) {
         try {
             String payload = socioId + ":" + orderNumber + ":" + productId + ":" + UUID.randomUUID();
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            return HexFormat.of().formatHex(digest.digest(payload.getBytes(StandardCharsets.UTF_8)));
+            return CryptoPrimitives.sha256Hex("store.checkout.qr-token", payload);
         } catch (Exception e) {
             throw new BusinessException("Falha ao gerar token seguro do QR");
         }
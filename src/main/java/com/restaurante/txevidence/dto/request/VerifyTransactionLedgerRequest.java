@@ -8,5 +8,7 @@ import java.time.LocalDateTime;
 public class VerifyTransactionLedgerRequest {
     private LocalDateTime periodStart;
     private LocalDateTime periodEnd;
+    /** true = verificação incremental: omite o recálculo de hash/HMAC dos eventos já cobertos pelo checkpoint. */
+    private Boolean incremental;
 }
 
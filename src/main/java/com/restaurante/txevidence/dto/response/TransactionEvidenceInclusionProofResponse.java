@@ -0,0 +1,31 @@
+package com.restaurante.txevidence.dto.response;
+
+import com.restaurante.model.enums.TransactionEvidenceAlgorithm;
+import com.restaurante.txevidence.hash.TransactionEvidenceMerkleTree;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Prova de inclusão de um evento na raiz Merkle assinada do seu segmento.
+ * Verificação: subir de leafHash(eventHash) pelos passos de path até merkleRoot
+ * e validar rootSignature (HMAC de merkleRoot com keyVersion).
+ */
+@Value
+public class TransactionEvidenceInclusionProofResponse {
+    Long eventId;
+    Long ledgerSequence;
+    String eventHash;
+    Long segmentIndex;
+    Long segmentFirstSequence;
+    Long segmentLastSequence;
+    Integer leafIndex;
+    Integer leafCount;
+    String merkleRoot;
+    String keyVersion;
+    TransactionEvidenceAlgorithm algorithm;
+    String rootSignature;
+    LocalDateTime sealedAt;
+    List<TransactionEvidenceMerkleTree.ProofStep> path;
+}
@@ -0,0 +1,19 @@
+package com.restaurante.txevidence.dto.response;
+
+import com.restaurante.model.enums.TransactionEvidenceAlgorithm;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class TransactionEvidenceMerkleSegmentResponse {
+    Long segmentIndex;
+    Long firstSequence;
+    Long lastSequence;
+    Integer leafCount;
+    String merkleRoot;
+    String keyVersion;
+    TransactionEvidenceAlgorithm algorithm;
+    String rootSignature;
+    LocalDateTime sealedAt;
+}
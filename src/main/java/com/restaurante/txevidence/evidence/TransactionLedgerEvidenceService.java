@@ -5,9 +5,11 @@ import com.restaurante.model.entity.TransactionEvidenceEvent;
 import com.restaurante.model.entity.TransactionEvidenceLedgerState;
 import com.restaurante.model.entity.TransactionEvidenceVerificationRun;
 import com.restaurante.model.enums.TransactionEvidenceVerificationRunStatus;
+import com.restaurante.txevidence.dto.response.TransactionEvidenceMerkleSegmentResponse;
 import com.restaurante.txevidence.hash.TransactionEvidenceHashService;
 import com.restaurante.txevidence.repository.TransactionEvidenceEventRepository;
 import com.restaurante.txevidence.repository.TransactionEvidenceLedgerStateRepository;
+import com.restaurante.txevidence.repository.TransactionEvidenceMerkleSegmentRepository;
 import com.restaurante.txevidence.repository.TransactionEvidenceVerificationRunRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -26,6 +28,7 @@ public class TransactionLedgerEvidenceService {
     private final TransactionEvidenceEventRepository eventRepository;
     private final TransactionEvidenceLedgerStateRepository stateRepository;
     private final TransactionEvidenceVerificationRunRepository runRepository;
+    private final TransactionEvidenceMerkleSegmentRepository segmentRepository;
     private final TransactionEvidenceHashService hashService;
 
     @Transactional(readOnly = true)
@@ -63,6 +66,19 @@ public class TransactionLedgerEvidenceService {
             }
             out.setByEventType(byType);
             out.setBySourceModule(byModule);
+            out.setMerkleSegments(segmentRepository.findOverlapping(tenantId, first.getLedgerSequence(), last.getLedgerSequence())
+                    .stream()
+                    .map(seg -> new TransactionEvidenceMerkleSegmentResponse(
+                            seg.getSegmentIndex(),
+                            seg.getFirstSequence(),
+                            seg.getLastSequence(),
+                            seg.getLeafCount(),
+                            seg.getMerkleRoot(),
+                            seg.getKeyVersion(),
+                            seg.getAlgorithm(),
+                            seg.getRootSignature(),
+                            seg.getSealedAt()))
+                    .toList());
         }
 
         TransactionEvidenceLedgerState st = stateRepository.findByTenantId(tenantId).orElse(null);
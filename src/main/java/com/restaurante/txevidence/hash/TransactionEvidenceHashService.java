@@ -1,16 +1,11 @@
 package com.restaurante.txevidence.hash;
 
 import com.restaurante.model.enums.TransactionEvidenceAlgorithm;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import com.restaurante.txevidence.key.TransactionEvidenceKeyProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.util.HexFormat;
-
 @Service
 @RequiredArgsConstructor
 public class TransactionEvidenceHashService {
@@ -18,24 +13,11 @@ public class TransactionEvidenceHashService {
     private final TransactionEvidenceKeyProvider keyProvider;
 
     public String sha256Hex(String input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(String.valueOf(input).getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(digest);
-        } catch (Exception ex) {
-            throw new IllegalStateException("SHA-256 indisponível.", ex);
-        }
+        return CryptoPrimitives.sha256Hex("txevidence.hash", input);
     }
 
     public String hmacSha256Hex(String message, String secret) {
-        try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-            byte[] out = mac.doFinal(String.valueOf(message).getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(out);
-        } catch (Exception ex) {
-            throw new IllegalStateException("HMAC-SHA256 indisponível.", ex);
-        }
+        return CryptoPrimitives.hmacSha256Hex("txevidence.signature", secret, message);
     }
 
     public String canonicalPayloadHash(String canonicalJson) {
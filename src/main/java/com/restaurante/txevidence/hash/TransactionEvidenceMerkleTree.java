@@ -0,0 +1,82 @@
+package com.restaurante.txevidence.hash;
+
+import com.restaurante.security.crypto.CryptoPrimitives;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Árvore Merkle (SHA-256, hex) sobre os event_hash de um segmento do ledger.
+ *
+ * - Separação de domínio entre folha e nó interno ("leaf|" / "node|"), como no RFC 6962.
+ * - Nível com número ímpar de nós: o último sobe sem ser combinado (não é duplicado).
+ * - Prova = irmãos da folha até à raiz, com o lado (LEFT/RIGHT) em que o irmão fica.
+ */
+public final class TransactionEvidenceMerkleTree {
+
+    public enum Side { LEFT, RIGHT }
+
+    public record ProofStep(String hash, Side side) {}
+
+    private TransactionEvidenceMerkleTree() {}
+
+    public static String leafHash(String eventHash) {
+        return sha256Hex("leaf|" + eventHash);
+    }
+
+    public static String nodeHash(String left, String right) {
+        return sha256Hex("node|" + left + "|" + right);
+    }
+
+    public static String root(List<String> eventHashes) {
+        if (eventHashes == null || eventHashes.isEmpty()) throw new IllegalArgumentException("Segmento Merkle vazio.");
+        List<String> level = leaves(eventHashes);
+        while (level.size() > 1) level = parents(level);
+        return level.get(0);
+    }
+
+    public static List<ProofStep> proof(List<String> eventHashes, int leafIndex) {
+        if (eventHashes == null || leafIndex < 0 || leafIndex >= eventHashes.size()) {
+            throw new IllegalArgumentException("Folha fora do segmento.");
+        }
+        List<ProofStep> path = new ArrayList<>();
+        List<String> level = leaves(eventHashes);
+        int index = leafIndex;
+        while (level.size() > 1) {
+            int sibling = index ^ 1;
+            if (sibling < level.size()) {
+                path.add(new ProofStep(level.get(sibling), sibling < index ? Side.LEFT : Side.RIGHT));
+            }
+            level = parents(level);
+            index /= 2;
+        }
+        return path;
+    }
+
+    public static boolean verify(String eventHash, List<ProofStep> path, String expectedRoot) {
+        if (eventHash == null || path == null || expectedRoot == null) return false;
+        String h = leafHash(eventHash);
+        for (ProofStep step : path) {
+            h = step.side() == Side.LEFT ? nodeHash(step.hash(), h) : nodeHash(h, step.hash());
+        }
+        return h.equalsIgnoreCase(expectedRoot);
+    }
+
+    private static List<String> leaves(List<String> eventHashes) {
+        List<String> out = new ArrayList<>(eventHashes.size());
+        for (String h : eventHashes) out.add(leafHash(h));
+        return out;
+    }
+
+    private static List<String> parents(List<String> level) {
+        List<String> out = new ArrayList<>((level.size() + 1) / 2);
+        for (int i = 0; i < level.size(); i += 2) {
+            out.add(i + 1 < level.size() ? nodeHash(level.get(i), level.get(i + 1)) : level.get(i));
+        }
+        return out;
+    }
+
+    private static String sha256Hex(String input) {
+        return CryptoPrimitives.sha256Hex("txevidence.merkle", input);
+    }
+}
@@ -0,0 +1,34 @@
+package com.restaurante.txevidence.job;
+
+import com.restaurante.txevidence.service.TransactionEvidenceMerkleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+        prefix = "consuma.evidence.tx-ledger",
+        name = "merkle-seal-job-enabled",
+        havingValue = "true",
+        matchIfMissing = true
+)
+public class TransactionEvidenceMerkleSealJob {
+
+    private final TransactionEvidenceMerkleService merkleService;
+
+    @Scheduled(cron = "${consuma.evidence.tx-ledger.merkle-seal-job-cron:0 */10 * * * *}")
+    public void run() {
+        for (Long tenantId : merkleService.tenantsWithCompleteSegments()) {
+            try {
+                merkleService.sealPendingSegments(tenantId);
+            } catch (Exception ex) {
+                // Outro nó pode ter selado o mesmo segmento (uq_transaction_evidence_merkle_segments).
+                log.warn("TX evidence Merkle seal failed (tenantId={}): {}", tenantId, ex.getMessage());
+            }
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.restaurante.txevidence.listener;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.restaurante.model.enums.TransactionEvidenceSourceModule;
+import com.restaurante.security.crypto.CryptoPrimitives;
 import com.restaurante.service.operacional.event.OperationalEventLoggedEvent;
 import com.restaurante.txevidence.dto.TransactionEvidenceEventRequest;
 import com.restaurante.txevidence.properties.TransactionEvidenceProperties;
+import com.restaurante.txevidence.service.TransactionEvidenceAppendPipeline;
 import com.restaurante.txevidence.service.TransactionEvidenceLedgerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,8 +15,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
@@ -30,6 +30,7 @@ public class TransactionEvidenceOnOperationalEventLoggedListener {
     private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
 
     private final TransactionEvidenceLedgerService ledgerService;
+    private final TransactionEvidenceAppendPipeline appendPipeline;
     private final TransactionEvidenceProperties properties;
     private final ObjectMapper objectMapper;
 
@@ -76,6 +77,15 @@ public class TransactionEvidenceOnOperationalEventLoggedListener {
         req.setMetadataFields(Map.of("opLogId", event.getLogId()));
 
         try {
+            if (properties.isGroupCommitEnabled()) {
+                appendPipeline.submit(req).whenComplete((ev, ex) -> {
+                    if (ex != null) {
+                        log.warn("TX evidence ledger record failed (tenantId={}, opLogId={}, eventType={}): {}",
+                                event.getTenantId(), event.getLogId(), eventTypeName, ex.getMessage());
+                    }
+                });
+                return;
+            }
             ledgerService.recordEvidenceEvent(req);
         } catch (Exception ex) {
             // Do not break business flows; this listener runs AFTER_COMMIT.
@@ -179,15 +189,7 @@ public class TransactionEvidenceOnOperationalEventLoggedListener {
 
     private static String sha256HexSafe(String input) {
         if (input == null || input.isBlank()) return null;
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] dig = md.digest(input.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder(dig.length * 2);
-            for (byte b : dig) sb.append(String.format("%02x", b));
-            return sb.toString();
-        } catch (Exception e) {
-            return null;
-        }
+        return CryptoPrimitives.sha256Hex("txevidence.listener.motivo", input);
     }
 }
 
@@ -16,4 +16,28 @@ public class TransactionEvidenceProperties {
      * When present, it is used if the environment variable key is missing.
      */
     private String devHmacSecret;
+
+    /**
+     * Group commit: o listener de OperationalEventLog enfileira os pedidos por tenant e
+     * TransactionEvidenceAppendPipeline grava-os em lotes (um lock/uma atualização do estado por lote).
+     * Desligado, cada evento abre a sua própria transação REQUIRES_NEW.
+     */
+    private boolean groupCommitEnabled = false;
+    private int groupCommitMaxBatchSize = 100;
+    private int groupCommitMaxQueuePerTenant = 10000;
+    private int groupCommitThreads = 4;
+
+    /**
+     * Verificação: eventos lidos por bloco (keyset por ledgerSequence) e threads para payload/hash/HMAC
+     * (0 = número de processadores).
+     */
+    private int verificationChunkSize = 500;
+    private int verificationThreads = 0;
+
+    /**
+     * Segmentos Merkle: número de eventos por segmento (alterações só afetam segmentos ainda não selados)
+     * e job periódico que sela os segmentos completos.
+     */
+    private int merkleSegmentSize = 1024;
+    private boolean merkleSealJobEnabled = true;
 }
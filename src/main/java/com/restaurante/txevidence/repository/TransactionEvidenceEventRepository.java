@@ -7,12 +7,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TransactionEvidenceEventRepository extends JpaRepository<TransactionEvidenceEvent, Long> {
     Optional<TransactionEvidenceEvent> findByTenantIdAndId(Long tenantId, Long id);
     Optional<TransactionEvidenceEvent> findByTenantIdAndIdempotencyKey(Long tenantId, String idempotencyKey);
+    List<TransactionEvidenceEvent> findByTenantIdAndIdempotencyKeyIn(Long tenantId, Collection<String> idempotencyKeys);
     List<TransactionEvidenceEvent> findByTenantIdAndOccurredAtBetweenOrderByLedgerSequenceAsc(Long tenantId, LocalDateTime from, LocalDateTime to);
     Page<TransactionEvidenceEvent> findByTenantIdOrderByLedgerSequenceDesc(Long tenantId, Pageable pageable);
     Optional<TransactionEvidenceEvent> findTopByTenantIdOrderByLedgerSequenceDesc(Long tenantId);
@@ -20,6 +22,33 @@ public interface TransactionEvidenceEventRepository extends JpaRepository<Transa
 
     Optional<TransactionEvidenceEvent> findByTenantIdAndLedgerSequence(Long tenantId, Long ledgerSequence);
 
+    /**
+     * Keyset por ledgerSequence para a verificação em blocos (usa uq_transaction_evidence_events_seq).
+     */
+    @Query("""
+            select e from TransactionEvidenceEvent e
+            where e.tenant.id = :tenantId
+              and e.ledgerSequence > :afterSequence
+              and e.occurredAt between :occurredFrom and :occurredTo
+            order by e.ledgerSequence asc
+            """)
+    List<TransactionEvidenceEvent> findVerificationChunk(Long tenantId,
+                                                         Long afterSequence,
+                                                         LocalDateTime occurredFrom,
+                                                         LocalDateTime occurredTo,
+                                                         Pageable pageable);
+
+    /**
+     * Folhas de um segmento Merkle: event_hash pela ordem da sequência.
+     */
+    @Query("""
+            select e.eventHash from TransactionEvidenceEvent e
+            where e.tenant.id = :tenantId
+              and e.ledgerSequence between :fromSequence and :toSequence
+            order by e.ledgerSequence asc
+            """)
+    List<String> findEventHashesBetween(Long tenantId, Long fromSequence, Long toSequence);
+
     @Query("""
             select e from TransactionEvidenceEvent e
             where e.tenant.id = :tenantId
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import jakarta.persistence.LockModeType;
+import java.util.List;
 import java.util.Optional;
 
 public interface TransactionEvidenceLedgerStateRepository extends JpaRepository<TransactionEvidenceLedgerState, Long> {
@@ -15,5 +16,8 @@ public interface TransactionEvidenceLedgerStateRepository extends JpaRepository<
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select s from TransactionEvidenceLedgerState s where s.tenant.id = :tenantId")
     Optional<TransactionEvidenceLedgerState> lockByTenantId(@Param("tenantId") Long tenantId);
+
+    @Query("select s.tenant.id from TransactionEvidenceLedgerState s where s.lastSequence >= :minSequence order by s.tenant.id")
+    List<Long> findTenantIdsWithLastSequenceAtLeast(@Param("minSequence") Long minSequence);
 }
 
@@ -0,0 +1,22 @@
+package com.restaurante.txevidence.repository;
+
+import com.restaurante.model.entity.TransactionEvidenceMerkleSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TransactionEvidenceMerkleSegmentRepository extends JpaRepository<TransactionEvidenceMerkleSegment, Long> {
+    Optional<TransactionEvidenceMerkleSegment> findByTenantIdAndSegmentIndex(Long tenantId, Long segmentIndex);
+    Optional<TransactionEvidenceMerkleSegment> findTopByTenantIdOrderBySegmentIndexDesc(Long tenantId);
+
+    @Query("""
+            select s from TransactionEvidenceMerkleSegment s
+            where s.tenant.id = :tenantId
+              and s.lastSequence >= :fromSequence
+              and s.firstSequence <= :toSequence
+            order by s.segmentIndex asc
+            """)
+    List<TransactionEvidenceMerkleSegment> findOverlapping(Long tenantId, Long fromSequence, Long toSequence);
+}
@@ -0,0 +1,18 @@
+package com.restaurante.txevidence.repository;
+
+import com.restaurante.model.entity.TransactionEvidenceVerificationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+
+public interface TransactionEvidenceVerificationCheckpointRepository extends JpaRepository<TransactionEvidenceVerificationCheckpoint, Long> {
+    Optional<TransactionEvidenceVerificationCheckpoint> findByTenantId(Long tenantId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from TransactionEvidenceVerificationCheckpoint c where c.tenant.id = :tenantId")
+    Optional<TransactionEvidenceVerificationCheckpoint> lockByTenantId(@Param("tenantId") Long tenantId);
+}
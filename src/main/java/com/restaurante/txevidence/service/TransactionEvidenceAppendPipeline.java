@@ -0,0 +1,194 @@
+package com.restaurante.txevidence.service;
+
+import com.restaurante.model.entity.TransactionEvidenceEvent;
+import com.restaurante.txevidence.dto.TransactionEvidenceEventRequest;
+import com.restaurante.txevidence.properties.TransactionEvidenceProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pipeline de append (group commit) do ledger de evidência transacional.
+ *
+ * - Pedidos ficam numa fila por tenant; no máximo um drain por tenant está ativo de cada vez.
+ * - Cada drain retira até group-commit-max-batch-size pedidos e grava-os com
+ *   {@link TransactionEvidenceLedgerService#recordEvidenceBatch}: um lock e uma atualização do estado por lote.
+ *   Enquanto um lote está a ser gravado os seguintes acumulam-se, pelo que o lote cresce com a carga.
+ * - Lote rejeitado (ex.: chave de idempotência gravada em concorrência por outro nó): os pedidos são refeitos
+ *   um a um no caminho síncrono, para que um pedido inválido não descarte os restantes.
+ * - Fila do tenant cheia: o pedido é gravado de forma síncrona na thread do chamador (backpressure, sem perda).
+ * - Encerramento: novos pedidos passam a ser gravados de forma síncrona; o que ficou em fila é gravado na
+ *   thread de shutdown, incluindo filas cujo drain não terminou dentro do prazo.
+ *
+ * Estado em memória (por nó): a cadeia continua serializada pelo lock do estado do tenant na base de dados.
+ * Pedidos em fila perdem-se se o processo morrer sem shutdown ordenado; por isso o group commit é opt-in
+ * (consuma.evidence.tx-ledger.group-commit-enabled=false por omissão).
+ */
+@Service
+@Slf4j
+public class TransactionEvidenceAppendPipeline {
+
+    private final TransactionEvidenceLedgerService ledgerService;
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final int maxQueuePerTenant;
+
+    private final Map<Long, TenantQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    @Autowired
+    public TransactionEvidenceAppendPipeline(TransactionEvidenceLedgerService ledgerService,
+                                             TransactionEvidenceProperties props) {
+        this(ledgerService, newExecutor(props.getGroupCommitThreads()),
+                props.getGroupCommitMaxBatchSize(), props.getGroupCommitMaxQueuePerTenant());
+    }
+
+    TransactionEvidenceAppendPipeline(TransactionEvidenceLedgerService ledgerService,
+                                      Executor executor,
+                                      int maxBatchSize,
+                                      int maxQueuePerTenant) {
+        this.ledgerService = ledgerService;
+        this.executor = executor;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxQueuePerTenant = Math.max(1, maxQueuePerTenant);
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        AtomicInteger seq = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "tx-evidence-append-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Enfileira o pedido; o future completa com o evento gravado (ou o existente, se idempotente).
+     * Pedidos inválidos falham de imediato, sem entrar no lote.
+     */
+    public CompletableFuture<TransactionEvidenceEvent> submit(TransactionEvidenceEventRequest req) {
+        ledgerService.validateRequest(req);
+        Pending pending = new Pending(req, new CompletableFuture<>());
+        if (closed.get()) {
+            recordOne(pending);
+            return pending.future;
+        }
+        TenantQueue queue = queues.computeIfAbsent(req.getTenantId(), id -> new TenantQueue(id, maxQueuePerTenant));
+        if (!queue.pending.offer(pending)) {
+            recordOne(pending);
+            return pending.future;
+        }
+        schedule(queue);
+        return pending.future;
+    }
+
+    int queued(Long tenantId) {
+        TenantQueue queue = queues.get(tenantId);
+        return queue != null ? queue.pending.size() : 0;
+    }
+
+    private void schedule(TenantQueue queue) {
+        if (!queue.draining.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> drain(queue));
+        } catch (RejectedExecutionException ex) {
+            // Executor encerrado (shutdown): drena na thread do chamador.
+            drain(queue);
+        }
+    }
+
+    private void drain(TenantQueue queue) {
+        try {
+            List<Pending> batch = new ArrayList<>(maxBatchSize);
+            while (queue.pending.drainTo(batch, maxBatchSize) > 0) {
+                flush(queue.tenantId, batch);
+                batch.clear();
+            }
+        } finally {
+            queue.draining.set(false);
+        }
+        // Pedido enfileirado entre o último drainTo e a libertação do drain.
+        if (!queue.pending.isEmpty()) schedule(queue);
+    }
+
+    private void flush(Long tenantId, List<Pending> batch) {
+        List<TransactionEvidenceEventRequest> reqs = new ArrayList<>(batch.size());
+        for (Pending p : batch) reqs.add(p.req);
+        List<TransactionEvidenceEvent> events;
+        try {
+            events = ledgerService.recordEvidenceBatch(tenantId, reqs);
+        } catch (RuntimeException ex) {
+            log.warn("TX evidence batch rejected, retrying one by one (tenantId={}, size={}): {}",
+                    tenantId, batch.size(), ex.getMessage());
+            for (Pending p : batch) recordOne(p);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) batch.get(i).future.complete(events.get(i));
+    }
+
+    private void recordOne(Pending pending) {
+        try {
+            pending.future.complete(ledgerService.recordEvidenceEvent(pending.req));
+        } catch (RuntimeException ex) {
+            pending.future.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Grava o que ainda estiver em fila antes de encerrar o nó.
+     *
+     * Depois do prazo dos workers, todas as filas são esvaziadas nesta thread, mesmo as que continuam marcadas
+     * como draining (worker bloqueado ou tarefa nunca executada): um lote gravado em paralelo com um worker
+     * atrasado continua serializado pelo lock do estado do tenant.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed.set(true);
+        if (executor instanceof ExecutorService es) {
+            es.shutdown();
+            try {
+                if (!es.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("TX evidence append workers still running after 10s; draining queues on shutdown thread");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        for (TenantQueue queue : queues.values()) {
+            while (queue.pending.drainTo(batch, maxBatchSize) > 0) {
+                flush(queue.tenantId, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private record Pending(TransactionEvidenceEventRequest req, CompletableFuture<TransactionEvidenceEvent> future) {}
+
+    private static final class TenantQueue {
+        final Long tenantId;
+        final BlockingQueue<Pending> pending;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        TenantQueue(Long tenantId, int capacity) {
+            this.tenantId = tenantId;
+            this.pending = new LinkedBlockingQueue<>(capacity);
+        }
+    }
+}
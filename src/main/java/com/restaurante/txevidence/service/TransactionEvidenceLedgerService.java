@@ -28,7 +28,12 @@ import org.springframework.transaction.annotation.Propagation;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -49,31 +54,104 @@ public class TransactionEvidenceLedgerService {
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public TransactionEvidenceEvent recordEvidenceEvent(TransactionEvidenceEventRequest req) {
         if (!props.isEnabled()) throw new BusinessException("TRANSACTION_EVIDENCE_LEDGER_INVALID_STATE");
-        if (req == null || req.getTenantId() == null) throw new BusinessException("TRANSACTION_EVIDENCE_FORBIDDEN");
-        if (req.getIdempotencyKey() == null || req.getIdempotencyKey().isBlank()) throw new BusinessException("TRANSACTION_EVIDENCE_DUPLICATE_EVENT");
+        validateRequest(req);
 
         TransactionEvidenceEvent existing = eventRepository.findByTenantIdAndIdempotencyKey(req.getTenantId(), req.getIdempotencyKey()).orElse(null);
         if (existing != null) return existing;
 
-        TransactionEvidenceLedgerState state = stateRepository.lockByTenantId(req.getTenantId()).orElse(null);
-        if (state == null) {
-            Tenant tenant = tenantRepository.findById(req.getTenantId()).orElseThrow(() -> new BusinessException("TENANT_NOT_FOUND"));
-            state = new TransactionEvidenceLedgerState();
-            state.setTenant(tenant);
-            state.setLastSequence(0L);
-            state.setLastEventHash(null);
-            state.setLastEventId(null);
-            state.setStatus(TransactionEvidenceLedgerStateStatus.ACTIVE);
-            state = stateRepository.save(state);
-            // lock again to keep consistent behavior
-            state = stateRepository.lockByTenantId(req.getTenantId()).orElseThrow();
+        return appendLocked(req.getTenantId(), List.of(req)).get(0);
+    }
+
+    /**
+     * Group commit: grava vários pedidos do mesmo tenant numa única transação.
+     *
+     * - Um único lock do TransactionEvidenceLedgerState e uma única atualização do estado por lote.
+     * - Sequência e cadeia de hashes são atribuídas em memória, pela ordem dos pedidos.
+     * - Idempotência verificada com o lock já obtido (uma query por lote); chaves repetidas no próprio lote
+     *   devolvem o mesmo evento.
+     *
+     * @return um evento por pedido, na mesma ordem de {@code reqs}
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<TransactionEvidenceEvent> recordEvidenceBatch(Long tenantId, List<TransactionEvidenceEventRequest> reqs) {
+        if (!props.isEnabled()) throw new BusinessException("TRANSACTION_EVIDENCE_LEDGER_INVALID_STATE");
+        if (tenantId == null) throw new BusinessException("TRANSACTION_EVIDENCE_FORBIDDEN");
+        if (reqs == null || reqs.isEmpty()) return List.of();
+        for (TransactionEvidenceEventRequest req : reqs) {
+            validateRequest(req);
+            if (!tenantId.equals(req.getTenantId())) throw new BusinessException("TRANSACTION_EVIDENCE_FORBIDDEN");
         }
+        return appendLocked(tenantId, reqs);
+    }
 
+    public void validateRequest(TransactionEvidenceEventRequest req) {
+        if (req == null || req.getTenantId() == null) throw new BusinessException("TRANSACTION_EVIDENCE_FORBIDDEN");
+        if (req.getIdempotencyKey() == null || req.getIdempotencyKey().isBlank()) throw new BusinessException("TRANSACTION_EVIDENCE_DUPLICATE_EVENT");
+    }
+
+    private List<TransactionEvidenceEvent> appendLocked(Long tenantId, List<TransactionEvidenceEventRequest> reqs) {
+        TransactionEvidenceLedgerState state = lockOrCreateState(tenantId);
         if (state.getStatus() != TransactionEvidenceLedgerStateStatus.ACTIVE) throw new BusinessException("TRANSACTION_EVIDENCE_LEDGER_INVALID_STATE");
 
-        long nextSeq = (state.getLastSequence() != null ? state.getLastSequence() : 0L) + 1;
+        Set<String> keys = new LinkedHashSet<>();
+        for (TransactionEvidenceEventRequest req : reqs) keys.add(req.getIdempotencyKey());
+        Map<String, TransactionEvidenceEvent> byKey = new HashMap<>();
+        for (TransactionEvidenceEvent ev : eventRepository.findByTenantIdAndIdempotencyKeyIn(tenantId, keys)) {
+            byKey.put(ev.getIdempotencyKey(), ev);
+        }
+
+        long seq = state.getLastSequence() != null ? state.getLastSequence() : 0L;
         String prevHash = state.getLastEventHash() != null ? state.getLastEventHash() : GENESIS_HASH;
+        String keyVersion = keyProvider.activeKeyVersion();
+
+        List<TransactionEvidenceEvent> created = new ArrayList<>();
+        List<TransactionEvidenceEvent> out = new ArrayList<>(reqs.size());
+        for (TransactionEvidenceEventRequest req : reqs) {
+            TransactionEvidenceEvent ev = byKey.get(req.getIdempotencyKey());
+            if (ev == null) {
+                ev = buildEvent(state.getTenant(), req, ++seq, prevHash, keyVersion);
+                prevHash = ev.getEventHash();
+                byKey.put(req.getIdempotencyKey(), ev);
+                created.add(ev);
+            }
+            out.add(ev);
+        }
+        if (created.isEmpty()) return out;
+
+        eventRepository.saveAll(created);
 
+        TransactionEvidenceEvent last = created.get(created.size() - 1);
+        state.setLastSequence(last.getLedgerSequence());
+        state.setLastEventHash(last.getEventHash());
+        state.setLastEventId(last.getId());
+        state.setLastRecordedAt(last.getRecordedAt());
+        stateRepository.save(state);
+
+        for (TransactionEvidenceEvent ev : created) logRecorded(tenantId, ev);
+        return out;
+    }
+
+    private TransactionEvidenceLedgerState lockOrCreateState(Long tenantId) {
+        TransactionEvidenceLedgerState state = stateRepository.lockByTenantId(tenantId).orElse(null);
+        if (state != null) return state;
+
+        Tenant tenant = tenantRepository.findById(tenantId).orElseThrow(() -> new BusinessException("TENANT_NOT_FOUND"));
+        state = new TransactionEvidenceLedgerState();
+        state.setTenant(tenant);
+        state.setLastSequence(0L);
+        state.setLastEventHash(null);
+        state.setLastEventId(null);
+        state.setStatus(TransactionEvidenceLedgerStateStatus.ACTIVE);
+        stateRepository.save(state);
+        // lock again to keep consistent behavior
+        return stateRepository.lockByTenantId(tenantId).orElseThrow();
+    }
+
+    private TransactionEvidenceEvent buildEvent(Tenant tenant,
+                                                TransactionEvidenceEventRequest req,
+                                                long nextSeq,
+                                                String prevHash,
+                                                String keyVersion) {
         LocalDateTime occurredAt = req.getOccurredAt() != null ? req.getOccurredAt() : LocalDateTime.now();
 
         Map<String, Object> payloadFields = req.getPayloadFields();
@@ -89,7 +167,6 @@ public class TransactionEvidenceLedgerService {
         String canonicalJson = payload.toCanonicalJsonString();
         String payloadHash = hashService.canonicalPayloadHash(canonicalJson);
 
-        String keyVersion = keyProvider.activeKeyVersion();
         String occurredAtUtc = occurredAt.atOffset(ZoneOffset.UTC).toString();
         String eventHash = hashService.eventHash(
                 req.getTenantId(),
@@ -107,7 +184,7 @@ public class TransactionEvidenceLedgerService {
         var sig = hashService.signEvent(eventHash, keyVersion, TransactionEvidenceAlgorithm.SHA256_HMAC);
 
         TransactionEvidenceEvent ev = new TransactionEvidenceEvent();
-        ev.setTenant(state.getTenant());
+        ev.setTenant(tenant);
         ev.setLedgerSequence(nextSeq);
         ev.setEventType(req.getEventType());
         ev.setSourceModule(req.getSourceModule());
@@ -128,24 +205,19 @@ public class TransactionEvidenceLedgerService {
         ev.setStatus(TransactionEvidenceEventStatus.RECORDED);
         ev.setVerificationStatus(TransactionEvidenceVerificationStatus.NOT_VERIFIED);
         ev.setMetadataJson(req.getMetadataFields() != null ? toJson(req.getMetadataFields()) : null);
+        return ev;
+    }
 
-        ev = eventRepository.save(ev);
-
-        state.setLastSequence(nextSeq);
-        state.setLastEventHash(ev.getEventHash());
-        state.setLastEventId(ev.getId());
-        state.setLastRecordedAt(ev.getRecordedAt());
-        stateRepository.save(state);
-
+    private void logRecorded(Long tenantId, TransactionEvidenceEvent ev) {
         operationalEventLogService.logGenericForTenant(
-                req.getTenantId(),
+                tenantId,
                 OperationalEventType.TRANSACTION_EVIDENCE_EVENT_RECORDED,
                 OperationalEntityType.TRANSACTION_EVIDENCE_EVENT,
                 ev.getId(),
                 OperationalOrigem.SYSTEM,
                 "Transaction evidence event recorded",
                 Map.of(
-                        "tenantId", req.getTenantId(),
+                        "tenantId", tenantId,
                         "eventId", ev.getId(),
                         "ledgerSequence", ev.getLedgerSequence(),
                         "eventType", ev.getEventType(),
@@ -156,8 +228,6 @@ public class TransactionEvidenceLedgerService {
                 null,
                 null
         );
-
-        return ev;
     }
 
     private String toJson(Map<String, Object> m) {
@@ -0,0 +1,143 @@
+package com.restaurante.txevidence.service;
+
+import com.restaurante.exception.BusinessException;
+import com.restaurante.model.entity.TransactionEvidenceEvent;
+import com.restaurante.model.entity.TransactionEvidenceLedgerState;
+import com.restaurante.model.entity.TransactionEvidenceMerkleSegment;
+import com.restaurante.model.enums.TransactionEvidenceAlgorithm;
+import com.restaurante.txevidence.dto.response.TransactionEvidenceInclusionProofResponse;
+import com.restaurante.txevidence.hash.TransactionEvidenceHashService;
+import com.restaurante.txevidence.hash.TransactionEvidenceMerkleTree;
+import com.restaurante.txevidence.key.TransactionEvidenceKeyProvider;
+import com.restaurante.txevidence.properties.TransactionEvidenceProperties;
+import com.restaurante.txevidence.repository.TransactionEvidenceEventRepository;
+import com.restaurante.txevidence.repository.TransactionEvidenceLedgerStateRepository;
+import com.restaurante.txevidence.repository.TransactionEvidenceMerkleSegmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Segmentos Merkle do ledger de evidência transacional.
+ *
+ * - Selo: cada segmento completo (merkle-segment-size eventos contíguos) recebe uma raiz Merkle
+ *   sobre os event_hash, assinada com a chave ativa do TransactionEvidenceKeyProvider.
+ *   Não toca no lock de TransactionEvidenceLedgerState: eventos até lastSequence já estão gravados.
+ * - Prova de inclusão: irmãos da folha até à raiz (O(log n) hashes), em vez de uma fatia da cadeia.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionEvidenceMerkleService {
+
+    private final TransactionEvidenceProperties props;
+    private final TransactionEvidenceLedgerStateRepository stateRepository;
+    private final TransactionEvidenceEventRepository eventRepository;
+    private final TransactionEvidenceMerkleSegmentRepository segmentRepository;
+    private final TransactionEvidenceKeyProvider keyProvider;
+    private final TransactionEvidenceHashService hashService;
+
+    /**
+     * Sela todos os segmentos completos ainda não selados do tenant.
+     *
+     * @return número de segmentos selados
+     */
+    @Transactional
+    public int sealPendingSegments(Long tenantId) {
+        if (tenantId == null) throw new BusinessException("TRANSACTION_EVIDENCE_FORBIDDEN");
+        TransactionEvidenceLedgerState state = stateRepository.findByTenantId(tenantId).orElse(null);
+        if (state == null || state.getLastSequence() == null) return 0;
+
+        int size = Math.max(1, props.getMerkleSegmentSize());
+        TransactionEvidenceMerkleSegment last = segmentRepository.findTopByTenantIdOrderBySegmentIndexDesc(tenantId).orElse(null);
+        long nextIndex = last != null ? last.getSegmentIndex() + 1 : 0L;
+        long nextFirst = last != null ? last.getLastSequence() + 1 : 1L;
+
+        int sealed = 0;
+        while (nextFirst + size - 1 <= state.getLastSequence()) {
+            long nextLast = nextFirst + size - 1;
+            List<String> leaves = eventRepository.findEventHashesBetween(tenantId, nextFirst, nextLast);
+            if (leaves.size() != size) {
+                // Buraco na sequência: fica para a verificação do ledger; não se sela um segmento incompleto.
+                log.warn("TX evidence Merkle seal skipped (tenantId={}, segment={}, expected={}, found={})",
+                        tenantId, nextIndex, size, leaves.size());
+                break;
+            }
+            String root = TransactionEvidenceMerkleTree.root(leaves);
+            String keyVersion = keyProvider.activeKeyVersion();
+            var sig = hashService.signEvent(root, keyVersion, TransactionEvidenceAlgorithm.SHA256_HMAC);
+
+            TransactionEvidenceMerkleSegment seg = new TransactionEvidenceMerkleSegment();
+            seg.setTenant(state.getTenant());
+            seg.setSegmentIndex(nextIndex);
+            seg.setFirstSequence(nextFirst);
+            seg.setLastSequence(nextLast);
+            seg.setLeafCount(size);
+            seg.setMerkleRoot(root);
+            seg.setKeyVersion(sig.keyVersion());
+            seg.setAlgorithm(sig.algorithm());
+            seg.setRootSignature(sig.signatureHex());
+            seg.setSealedAt(LocalDateTime.now());
+            segmentRepository.save(seg);
+
+            sealed++;
+            nextIndex++;
+            nextFirst = nextLast + 1;
+        }
+        return sealed;
+    }
+
+    public List<Long> tenantsWithCompleteSegments() {
+        return stateRepository.findTenantIdsWithLastSequenceAtLeast((long) Math.max(1, props.getMerkleSegmentSize()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransactionEvidenceMerkleSegment> segmentsCovering(Long tenantId, Long fromSequence, Long toSequence) {
+        if (tenantId == null || fromSequence == null || toSequence == null) return List.of();
+        return segmentRepository.findOverlapping(tenantId, fromSequence, toSequence);
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionEvidenceInclusionProofResponse inclusionProof(Long tenantId, Long eventId) {
+        TransactionEvidenceEvent ev = eventRepository.findByTenantIdAndId(tenantId, eventId)
+                .orElseThrow(() -> new BusinessException("TRANSACTION_EVIDENCE_EVENT_NOT_FOUND"));
+        Long seq = ev.getLedgerSequence();
+        TransactionEvidenceMerkleSegment seg = segmentRepository.findOverlapping(tenantId, seq, seq).stream()
+                .findFirst()
+                .orElseThrow(() -> new BusinessException("TRANSACTION_EVIDENCE_MERKLE_SEGMENT_NOT_SEALED"));
+
+        List<String> leaves = eventRepository.findEventHashesBetween(tenantId, seg.getFirstSequence(), seg.getLastSequence());
+        int leafIndex = (int) (seq - seg.getFirstSequence());
+        List<TransactionEvidenceMerkleTree.ProofStep> path = TransactionEvidenceMerkleTree.proof(leaves, leafIndex);
+
+        return new TransactionEvidenceInclusionProofResponse(
+                ev.getId(),
+                seq,
+                ev.getEventHash(),
+                seg.getSegmentIndex(),
+                seg.getFirstSequence(),
+                seg.getLastSequence(),
+                leafIndex,
+                seg.getLeafCount(),
+                seg.getMerkleRoot(),
+                seg.getKeyVersion(),
+                seg.getAlgorithm(),
+                seg.getRootSignature(),
+                seg.getSealedAt(),
+                path
+        );
+    }
+
+    /**
+     * Verificação completa de uma prova: caminho até à raiz e assinatura da raiz.
+     */
+    public boolean verifyInclusionProof(TransactionEvidenceInclusionProofResponse proof) {
+        if (proof == null) return false;
+        return TransactionEvidenceMerkleTree.verify(proof.getEventHash(), proof.getPath(), proof.getMerkleRoot())
+                && hashService.verifyEventSignature(proof.getMerkleRoot(), proof.getRootSignature(), proof.getKeyVersion(), proof.getAlgorithm());
+    }
+}
@@ -2,6 +2,7 @@ package com.restaurante.txevidence.service;
 
 import com.restaurante.exception.BusinessException;
 import com.restaurante.model.entity.TransactionEvidenceEvent;
+import com.restaurante.model.entity.TransactionEvidenceVerificationCheckpoint;
 import com.restaurante.model.entity.TransactionEvidenceVerificationIssue;
 import com.restaurante.model.entity.TransactionEvidenceVerificationRun;
 import com.restaurante.model.entity.Tenant;
@@ -10,10 +11,14 @@ import com.restaurante.model.enums.TransactionEvidenceVerificationRunStatus;
 import com.restaurante.model.enums.TransactionEvidenceVerificationStatus;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.txevidence.hash.TransactionEvidenceHashService;
+import com.restaurante.txevidence.properties.TransactionEvidenceProperties;
 import com.restaurante.txevidence.repository.TransactionEvidenceEventRepository;
+import com.restaurante.txevidence.repository.TransactionEvidenceVerificationCheckpointRepository;
 import com.restaurante.txevidence.repository.TransactionEvidenceVerificationIssueRepository;
 import com.restaurante.txevidence.repository.TransactionEvidenceVerificationRunRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,19 +26,69 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+/**
+ * Verificação do ledger de evidência transacional.
+ *
+ * - Eventos lidos em blocos por keyset (ledgerSequence), com flush/clear do contexto de persistência
+ *   a cada bloco: a memória fica limitada a um bloco, independentemente do período.
+ * - Payload hash, event hash e HMAC de cada bloco são recalculados em paralelo; sequência e ligação
+ *   previousEventHash são verificadas em ordem na thread da execução.
+ * - Por omissão a verificação é completa. Checkpoint por tenant (verifiedUpToSequence): uma execução
+ *   incremental (opt-in) continua a percorrer todos os eventos do período, com sequência e ligação verificadas
+ *   e o event_hash do evento do checkpoint comparado com o guardado; só o recálculo de hash/HMAC é omitido
+ *   nos eventos já cobertos pelo checkpoint. Um issue em evento já coberto apaga o checkpoint.
+ */
 @Service
-@RequiredArgsConstructor
 public class TransactionEvidenceVerificationService {
 
     private final TenantRepository tenantRepository;
     private final TransactionEvidenceEventRepository eventRepository;
     private final TransactionEvidenceVerificationRunRepository runRepository;
     private final TransactionEvidenceVerificationIssueRepository issueRepository;
+    private final TransactionEvidenceVerificationCheckpointRepository checkpointRepository;
     private final TransactionEvidenceHashService hashService;
+    private final EntityManager entityManager;
+    private final Executor workers;
+    private final int chunkSize;
 
+    @Autowired
+    public TransactionEvidenceVerificationService(TenantRepository tenantRepository,
+                                                  TransactionEvidenceEventRepository eventRepository,
+                                                  TransactionEvidenceVerificationRunRepository runRepository,
+                                                  TransactionEvidenceVerificationIssueRepository issueRepository,
+                                                  TransactionEvidenceVerificationCheckpointRepository checkpointRepository,
+                                                  TransactionEvidenceHashService hashService,
+                                                  EntityManager entityManager,
+                                                  TransactionEvidenceVerificationWorkers workers,
+                                                  TransactionEvidenceProperties props) {
+        this.tenantRepository = tenantRepository;
+        this.eventRepository = eventRepository;
+        this.runRepository = runRepository;
+        this.issueRepository = issueRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.hashService = hashService;
+        this.entityManager = entityManager;
+        this.workers = workers.executor();
+        this.chunkSize = Math.max(1, props.getVerificationChunkSize());
+    }
+
+    /**
+     * Verificação completa de todos os eventos do período.
+     */
     @Transactional
     public TransactionEvidenceVerificationRun verifyTenantLedger(Long tenantId, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        return verifyTenantLedger(tenantId, periodStart, periodEnd, false);
+    }
+
+    /**
+     * @param incremental true omite o recálculo de hash/HMAC dos eventos cobertos pelo checkpoint; todos os
+     *                    eventos do período continuam a ser verificados quanto a sequência e cadeia
+     */
+    @Transactional
+    public TransactionEvidenceVerificationRun verifyTenantLedger(Long tenantId, LocalDateTime periodStart, LocalDateTime periodEnd, boolean incremental) {
         if (tenantId == null) throw new BusinessException("TRANSACTION_EVIDENCE_FORBIDDEN");
         if (periodStart == null || periodEnd == null || periodEnd.isBefore(periodStart)) {
             throw new BusinessException("TRANSACTION_EVIDENCE_VERIFICATION_FAILED");
@@ -48,79 +103,184 @@ public class TransactionEvidenceVerificationService {
         run.setStatus(TransactionEvidenceVerificationRunStatus.RUNNING);
         run = runRepository.save(run);
 
-        List<TransactionEvidenceEvent> events = eventRepository.findByTenantIdAndOccurredAtBetweenOrderByLedgerSequenceAsc(
-                tenantId, periodStart, periodEnd
+        TransactionEvidenceVerificationCheckpoint checkpoint = checkpointRepository.findByTenantId(tenantId).orElse(null);
+        Long checkpointSeq = checkpoint != null ? checkpoint.getVerifiedUpToSequence() : null;
+        String checkpointHash = checkpoint != null ? checkpoint.getVerifiedUpToHash() : null;
+        long trustedUpTo = incremental && checkpointSeq != null ? checkpointSeq : 0L;
+
+        Verification v = new Verification(run, tenant, checkpointSeq, checkpointHash);
+        long cursor = 0L;
+        while (true) {
+            List<TransactionEvidenceEvent> chunk = eventRepository.findVerificationChunk(
+                    tenantId, cursor, periodStart, periodEnd, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) break;
+
+            List<CompletableFuture<CryptoCheck>> crypto = new ArrayList<>(chunk.size());
+            for (TransactionEvidenceEvent ev : chunk) {
+                Long seq = ev.getLedgerSequence();
+                crypto.add(seq != null && seq <= trustedUpTo
+                        ? CompletableFuture.completedFuture(CryptoCheck.TRUSTED)
+                        : CompletableFuture.supplyAsync(() -> verifyCrypto(tenantId, ev), workers));
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                v.check(chunk.get(i), crypto.get(i).join());
+            }
+
+            issueRepository.saveAll(v.issues);
+            v.issues.clear();
+            cursor = chunk.get(chunk.size() - 1).getLedgerSequence();
+            entityManager.flush();
+            entityManager.clear();
+            if (chunk.size() < chunkSize) break;
+        }
+
+        updateCheckpoint(tenantId, v);
+
+        run.setCheckedEventsCount(v.checked);
+        run.setInvalidEventsCount(v.invalid);
+        run.setBrokenChainCount(v.brokenChain);
+        run.setSequenceGapCount(v.seqGap);
+        run.setFinishedAt(LocalDateTime.now());
+        run.setStatus((v.invalid == 0 && v.brokenChain == 0 && v.seqGap == 0) ? TransactionEvidenceVerificationRunStatus.VALID : TransactionEvidenceVerificationRunStatus.INVALID);
+        return runRepository.save(run);
+    }
+
+    private void updateCheckpoint(Long tenantId, Verification v) {
+        TransactionEvidenceVerificationCheckpoint cp = checkpointRepository.lockByTenantId(tenantId).orElse(null);
+        if (cp != null && v.firstIssueSeq != null && v.firstIssueSeq <= cp.getVerifiedUpToSequence()) {
+            checkpointRepository.delete(cp);
+            return;
+        }
+        if (v.verifiedUpTo == null) return;
+        if (cp != null && cp.getVerifiedUpToSequence() >= v.verifiedUpTo) return;
+        if (cp == null) {
+            cp = new TransactionEvidenceVerificationCheckpoint();
+            cp.setTenant(v.tenant);
+        }
+        cp.setVerifiedUpToSequence(v.verifiedUpTo);
+        cp.setVerifiedUpToHash(v.verifiedUpToHash);
+        cp.setLastVerificationRunId(v.run.getId());
+        cp.setVerifiedAt(LocalDateTime.now());
+        checkpointRepository.save(cp);
+    }
+
+    private CryptoCheck verifyCrypto(Long tenantId, TransactionEvidenceEvent ev) {
+        String computedPayloadHash = hashService.canonicalPayloadHash(ev.getCanonicalPayloadJson());
+        boolean payloadOk = computedPayloadHash.equalsIgnoreCase(ev.getCanonicalPayloadHash());
+
+        String occurredAtUtc = ev.getOccurredAt() != null ? ev.getOccurredAt().atOffset(ZoneOffset.UTC).toString() : null;
+        String computedEventHash = hashService.eventHash(
+                tenantId,
+                ev.getLedgerSequence(),
+                ev.getEventType(),
+                ev.getSourceModule() != null ? ev.getSourceModule().name() : null,
+                ev.getSourceEntityType(),
+                ev.getSourceEntityId(),
+                occurredAtUtc,
+                computedPayloadHash,
+                ev.getPreviousEventHash(),
+                ev.getKeyVersion()
         );
+        boolean eventHashOk = computedEventHash.equalsIgnoreCase(ev.getEventHash());
+        boolean signatureOk = hashService.verifyEventSignature(computedEventHash, ev.getHmacSignature(), ev.getKeyVersion(), ev.getAlgorithm());
+        return new CryptoCheck(payloadOk, eventHashOk, signatureOk);
+    }
+
+    private record CryptoCheck(boolean payloadOk, boolean eventHashOk, boolean signatureOk) {
+        static final CryptoCheck TRUSTED = new CryptoCheck(true, true, true);
+    }
 
-        int checked = 0;
-        int invalid = 0;
-        int brokenChain = 0;
-        int seqGap = 0;
-        List<TransactionEvidenceVerificationIssue> issues = new ArrayList<>();
+    /**
+     * Estado da verificação em ordem (sequência, cadeia, contadores e prefixo válido para o checkpoint).
+     */
+    private final class Verification {
+        final TransactionEvidenceVerificationRun run;
+        final Tenant tenant;
+        final Long checkpointSeq;
+        final String checkpointHash;
+        final List<TransactionEvidenceVerificationIssue> issues = new ArrayList<>();
 
-        Long expectedSeq = null;
-        TransactionEvidenceEvent prev = null;
+        int checked;
+        int invalid;
+        int brokenChain;
+        int seqGap;
+
+        Long expectedSeq;
+        String prevHash;
+        boolean first = true;
+        boolean contiguous;
+        Long verifiedUpTo;
+        String verifiedUpToHash;
+        Long firstIssueSeq;
+
+        Verification(TransactionEvidenceVerificationRun run, Tenant tenant, Long checkpointSeq, String checkpointHash) {
+            this.run = run;
+            this.tenant = tenant;
+            this.checkpointSeq = checkpointSeq;
+            this.checkpointHash = checkpointHash;
+        }
 
-        for (TransactionEvidenceEvent ev : events) {
+        void check(TransactionEvidenceEvent ev, CryptoCheck crypto) {
             checked++;
+            int issuesBefore = issues.size();
+            Long seq = ev.getLedgerSequence();
 
-            if (expectedSeq == null) expectedSeq = ev.getLedgerSequence();
+            if (first) {
+                first = false;
+                // O prefixo verificado só avança se o período começar no evento 1 ou dentro/logo após o checkpoint.
+                contiguous = seq != null && (seq == 1L || (checkpointSeq != null && seq <= checkpointSeq + 1));
+                if (seq != null && seq > 1) {
+                    prevHash = eventRepository.findByTenantIdAndLedgerSequence(tenant.getId(), seq - 1)
+                            .map(TransactionEvidenceEvent::getEventHash)
+                            .orElse(null);
+                    if (checkpointSeq != null && checkpointSeq == seq - 1 && !checkpointHash.equals(prevHash)) {
+                        brokenChain++;
+                        issues.add(issue(run, tenant, ev, checkpointSeq, TransactionEvidenceVerificationIssueType.BROKEN_CHAIN,
+                                "Checkpoint anchor mismatch. expected=" + checkpointHash + ", actual=" + prevHash));
+                        markIssue(checkpointSeq);
+                    }
+                }
+            }
 
-            if (ev.getLedgerSequence() == null || !ev.getLedgerSequence().equals(expectedSeq)) {
-                seqGap++;
-                issues.add(issue(run, tenant, ev, ev.getLedgerSequence(), TransactionEvidenceVerificationIssueType.SEQUENCE_GAP,
-                        "Sequence gap detected. expected=" + expectedSeq + ", actual=" + ev.getLedgerSequence()));
-                expectedSeq = ev.getLedgerSequence() != null ? ev.getLedgerSequence() : expectedSeq;
+            if (checkpointSeq != null && seq != null && seq.equals(checkpointSeq) && !checkpointHash.equals(ev.getEventHash())) {
+                brokenChain++;
+                issues.add(issue(run, tenant, ev, seq, TransactionEvidenceVerificationIssueType.BROKEN_CHAIN,
+                        "Checkpoint anchor mismatch. expected=" + checkpointHash + ", actual=" + ev.getEventHash()));
             }
 
-            TransactionEvidenceEvent prevActual = prev;
-            if (prevActual == null && ev.getLedgerSequence() != null && ev.getLedgerSequence() > 1) {
-                prevActual = eventRepository.findByTenantIdAndLedgerSequence(tenantId, ev.getLedgerSequence() - 1).orElse(null);
+            if (expectedSeq == null) expectedSeq = seq;
+
+            if (seq == null || !seq.equals(expectedSeq)) {
+                seqGap++;
+                issues.add(issue(run, tenant, ev, seq, TransactionEvidenceVerificationIssueType.SEQUENCE_GAP,
+                        "Sequence gap detected. expected=" + expectedSeq + ", actual=" + seq));
+                expectedSeq = seq != null ? seq : expectedSeq;
             }
 
-            String expectedPrevHash = prevActual != null ? prevActual.getEventHash() : TransactionEvidenceLedgerService.GENESIS_HASH;
-            if (ev.getLedgerSequence() != null && ev.getLedgerSequence() == 1L) {
+            String expectedPrevHash = prevHash != null ? prevHash : TransactionEvidenceLedgerService.GENESIS_HASH;
+            if (seq != null && seq == 1L) {
                 expectedPrevHash = TransactionEvidenceLedgerService.GENESIS_HASH;
             }
-            if (expectedPrevHash != null && ev.getPreviousEventHash() != null && !expectedPrevHash.equals(ev.getPreviousEventHash())) {
+            if (ev.getPreviousEventHash() != null && !expectedPrevHash.equals(ev.getPreviousEventHash())) {
                 brokenChain++;
-                issues.add(issue(run, tenant, ev, ev.getLedgerSequence(), TransactionEvidenceVerificationIssueType.BROKEN_CHAIN,
+                issues.add(issue(run, tenant, ev, seq, TransactionEvidenceVerificationIssueType.BROKEN_CHAIN,
                         "Previous hash mismatch. expected=" + expectedPrevHash + ", actual=" + ev.getPreviousEventHash()));
             }
 
             boolean thisValid = true;
-
-            String canonicalJson = ev.getCanonicalPayloadJson();
-            String computedPayloadHash = hashService.canonicalPayloadHash(canonicalJson);
-            if (!computedPayloadHash.equalsIgnoreCase(ev.getCanonicalPayloadHash())) {
+            if (!crypto.payloadOk()) {
                 thisValid = false;
-                issues.add(issue(run, tenant, ev, ev.getLedgerSequence(), TransactionEvidenceVerificationIssueType.HASH_MISMATCH,
+                issues.add(issue(run, tenant, ev, seq, TransactionEvidenceVerificationIssueType.HASH_MISMATCH,
                         "Canonical payload hash mismatch."));
             }
-
-            String occurredAtUtc = ev.getOccurredAt() != null ? ev.getOccurredAt().atOffset(ZoneOffset.UTC).toString() : null;
-            String computedEventHash = hashService.eventHash(
-                    tenantId,
-                    ev.getLedgerSequence(),
-                    ev.getEventType(),
-                    ev.getSourceModule() != null ? ev.getSourceModule().name() : null,
-                    ev.getSourceEntityType(),
-                    ev.getSourceEntityId(),
-                    occurredAtUtc,
-                    computedPayloadHash,
-                    ev.getPreviousEventHash(),
-                    ev.getKeyVersion()
-            );
-            if (!computedEventHash.equalsIgnoreCase(ev.getEventHash())) {
+            if (!crypto.eventHashOk()) {
                 thisValid = false;
-                issues.add(issue(run, tenant, ev, ev.getLedgerSequence(), TransactionEvidenceVerificationIssueType.HASH_MISMATCH,
+                issues.add(issue(run, tenant, ev, seq, TransactionEvidenceVerificationIssueType.HASH_MISMATCH,
                         "Event hash mismatch."));
             }
-
-            boolean sigOk = hashService.verifyEventSignature(computedEventHash, ev.getHmacSignature(), ev.getKeyVersion(), ev.getAlgorithm());
-            if (!sigOk) {
+            if (!crypto.signatureOk()) {
                 thisValid = false;
-                issues.add(issue(run, tenant, ev, ev.getLedgerSequence(), TransactionEvidenceVerificationIssueType.SIGNATURE_MISMATCH,
+                issues.add(issue(run, tenant, ev, seq, TransactionEvidenceVerificationIssueType.SIGNATURE_MISMATCH,
                         "Signature mismatch or key unavailable."));
             }
 
@@ -129,19 +289,21 @@ public class TransactionEvidenceVerificationService {
             ev.setVerificationStatus(thisValid ? TransactionEvidenceVerificationStatus.VALID : TransactionEvidenceVerificationStatus.INVALID_HASH);
             // Note: do not persist per-event status changes in MVP to keep append-only semantics.
 
-            prev = ev;
+            if (issues.size() > issuesBefore) {
+                markIssue(seq);
+            } else if (contiguous) {
+                verifiedUpTo = seq;
+                verifiedUpToHash = ev.getEventHash();
+            }
+
+            prevHash = ev.getEventHash();
             expectedSeq = expectedSeq + 1;
         }
 
-        issueRepository.saveAll(issues);
-
-        run.setCheckedEventsCount(checked);
-        run.setInvalidEventsCount(invalid);
-        run.setBrokenChainCount(brokenChain);
-        run.setSequenceGapCount(seqGap);
-        run.setFinishedAt(LocalDateTime.now());
-        run.setStatus((invalid == 0 && brokenChain == 0 && seqGap == 0) ? TransactionEvidenceVerificationRunStatus.VALID : TransactionEvidenceVerificationRunStatus.INVALID);
-        return runRepository.save(run);
+        private void markIssue(Long seq) {
+            contiguous = false;
+            if (seq != null && (firstIssueSeq == null || seq < firstIssueSeq)) firstIssueSeq = seq;
+        }
     }
 
     private static TransactionEvidenceVerificationIssue issue(TransactionEvidenceVerificationRun run,
@@ -161,4 +323,3 @@ public class TransactionEvidenceVerificationService {
         return i;
     }
 }
-
@@ -0,0 +1,45 @@
+package com.restaurante.txevidence.service;
+
+import com.restaurante.txevidence.properties.TransactionEvidenceProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Pool de threads da verificação do ledger (payload hash, event hash e HMAC por bloco).
+ *
+ * Exposto como componente e não como bean {@link Executor}: um bean desse tipo substituiria o executor
+ * por omissão do Spring Boot usado pelos métodos @Async. O pool é encerrado com o contexto, aguardando
+ * as tarefas em curso.
+ */
+@Component
+public class TransactionEvidenceVerificationWorkers implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor;
+
+    public TransactionEvidenceVerificationWorkers(TransactionEvidenceProperties props) {
+        int threads = props.getVerificationThreads() > 0
+                ? props.getVerificationThreads()
+                : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor e = new ThreadPoolTaskExecutor();
+        e.setCorePoolSize(Math.max(1, threads));
+        e.setMaxPoolSize(Math.max(1, threads));
+        e.setThreadNamePrefix("tx-evidence-verify-");
+        e.setDaemon(true);
+        e.setWaitForTasksToCompleteOnShutdown(true);
+        e.setAwaitTerminationSeconds(30);
+        e.initialize();
+        this.executor = e;
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
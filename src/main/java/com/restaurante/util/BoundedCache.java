@@ -0,0 +1,243 @@
+package com.restaurante.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Mapa em memória (por nó) limitado em número de entradas, com TTL opcional e descarte LRU; base comum
+ * dos caches de leitura (principals de dispositivo, claims JWT, acesso de tenant, cardápio público,
+ * respostas codificadas, índice de pesquisa, roteamento de produção).
+ *
+ * Regras:
+ * - {@code ttlMillis <= 0} desliga o TTL; {@link #put(Object, Object, long)} aceita um prazo próprio por
+ *   entrada (ex.: nunca além do exp de um JWT).
+ * - Ao encher, remove expirados e, se ainda faltar espaço, ~10% das entradas menos usadas recentemente.
+ * - Peso opcional ({@code weigher} + {@code maxWeight}, ex.: bytes): acima do teto remove as entradas menos
+ *   usadas recentemente até voltar a caber.
+ * - Geração: {@link #currentGeneration()} deve ser lida antes de carregar do banco; {@link #putIfCurrent}
+ *   descarta o valor se alguma invalidação ocorreu entretanto, para que uma carga em curso não repovoe o
+ *   cache com estado anterior à invalidação.
+ * - {@link #invalidateIfAcrossCompletion} remove já e novamente no fim da transação corrente (se houver).
+ */
+public final class BoundedCache<K, V> {
+
+    /**
+     * Motivo de remoção, para métricas dos caches que as publicam.
+     */
+    public enum Removal { EXPIRED, EVICTED, INVALIDATED }
+
+    public interface RemovalListener {
+        void onRemoval(Removal cause, int count);
+    }
+
+    private static final RemovalListener NO_LISTENER = (cause, count) -> { };
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final RemovalListener listener;
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final Map<K, Node<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong totalWeight = new AtomicLong();
+
+    public BoundedCache(int maxEntries, long ttlMillis, Clock clock) {
+        this(maxEntries, ttlMillis, clock, NO_LISTENER);
+    }
+
+    public BoundedCache(int maxEntries, long ttlMillis, Clock clock, RemovalListener listener) {
+        this(maxEntries, 0, null, ttlMillis, clock, listener);
+    }
+
+    /**
+     * {@code maxWeight <= 0} (ou sem {@code weigher}) desliga o limite por peso.
+     */
+    public BoundedCache(int maxEntries, long maxWeight, ToLongFunction<? super V> weigher, long ttlMillis,
+                        Clock clock, RemovalListener listener) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.listener = listener != null ? listener : NO_LISTENER;
+        this.weigher = weigher != null ? weigher : v -> 0L;
+        this.maxWeight = weigher != null && maxWeight > 0 ? maxWeight : Long.MAX_VALUE;
+    }
+
+    /**
+     * Valor ainda válido da chave (ou null); marca o acesso para o LRU.
+     */
+    public V get(K key) {
+        return get(key, v -> true);
+    }
+
+    /**
+     * Como {@link #get(Object)}, mas descarta a entrada se o valor já não servir (ex.: outra versão).
+     */
+    public V get(K key, Predicate<? super V> valid) {
+        if (key == null) return null;
+        Node<V> node = entries.get(key);
+        if (node == null) return null;
+        long now = clock.millis();
+        if (node.expiresAtMillis <= now) {
+            if (remove(key, node)) listener.onRemoval(Removal.EXPIRED, 1);
+            return null;
+        }
+        if (!valid.test(node.value)) {
+            remove(key, node);
+            return null;
+        }
+        node.lastAccessMillis = now;
+        return node.value;
+    }
+
+    public long currentGeneration() {
+        return invalidations.get();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlMillis > 0 ? clock.millis() + ttlMillis : Long.MAX_VALUE);
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (key == null || value == null) return;
+        long now = clock.millis();
+        if (expiresAtMillis <= now) return;
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evict(now);
+        }
+        Node<V> node = new Node<>(value, expiresAtMillis, now, Math.max(0L, weigher.applyAsLong(value)));
+        Node<V> previous = entries.put(key, node);
+        long weight = totalWeight.addAndGet(node.weight - (previous != null ? previous.weight : 0L));
+        if (weight > maxWeight) {
+            evictByWeight();
+        }
+    }
+
+    /**
+     * Guarda o valor só se nenhuma invalidação ocorreu desde {@code loadedAtGeneration}.
+     */
+    public boolean putIfCurrent(K key, V value, long loadedAtGeneration) {
+        if (invalidations.get() != loadedAtGeneration) return false;
+        put(key, value);
+        return true;
+    }
+
+    public void invalidate(K key) {
+        if (key == null) return;
+        invalidations.incrementAndGet();
+        Node<V> removed = entries.remove(key);
+        if (removed != null) {
+            totalWeight.addAndGet(-removed.weight);
+            listener.onRemoval(Removal.INVALIDATED, 1);
+        }
+    }
+
+    public void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        invalidations.incrementAndGet();
+        int removed = removeIf((k, n) -> predicate.test(k, n.value));
+        if (removed > 0) listener.onRemoval(Removal.INVALIDATED, removed);
+    }
+
+    /**
+     * Remove já e, havendo sincronização de transação activa, novamente após commit/rollback: um request
+     * concorrente que leia o estado anterior ao commit não fica no cache.
+     */
+    public void invalidateIfAcrossCompletion(BiPredicate<? super K, ? super V> predicate) {
+        invalidateIf(predicate);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateIf(predicate);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        removeIf((k, n) -> true);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Soma dos pesos das entradas presentes (0 sem {@code weigher}).
+     */
+    public long weight() {
+        return totalWeight.get();
+    }
+
+    private boolean remove(K key, Node<V> node) {
+        if (!entries.remove(key, node)) return false;
+        totalWeight.addAndGet(-node.weight);
+        return true;
+    }
+
+    private int removeIf(BiPredicate<? super K, Node<V>> predicate) {
+        int removed = 0;
+        for (Map.Entry<K, Node<V>> e : entries.entrySet()) {
+            if (predicate.test(e.getKey(), e.getValue()) && remove(e.getKey(), e.getValue())) removed++;
+        }
+        return removed;
+    }
+
+    private void evictByWeight() {
+        long now = clock.millis();
+        int expired = removeIf((k, n) -> n.expiresAtMillis <= now);
+        if (expired > 0) listener.onRemoval(Removal.EXPIRED, expired);
+        if (totalWeight.get() <= maxWeight) return;
+        int evicted = 0;
+        for (Map.Entry<K, Node<V>> e : lruOrder()) {
+            if (totalWeight.get() <= maxWeight) break;
+            if (remove(e.getKey(), e.getValue())) evicted++;
+        }
+        if (evicted > 0) listener.onRemoval(Removal.EVICTED, evicted);
+    }
+
+    private List<Map.Entry<K, Node<V>>> lruOrder() {
+        return entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(en -> en.getValue().lastAccessMillis))
+                .toList();
+    }
+
+    private void evict(long now) {
+        int expired = removeIf((k, n) -> n.expiresAtMillis <= now);
+        if (expired > 0) listener.onRemoval(Removal.EXPIRED, expired);
+        int overflow = entries.size() - maxEntries + 1;
+        if (overflow <= 0) return;
+        int toRemove = Math.max(overflow, maxEntries / 10);
+        int evicted = 0;
+        List<Map.Entry<K, Node<V>>> lru = lruOrder();
+        for (Map.Entry<K, Node<V>> e : lru.subList(0, Math.min(toRemove, lru.size()))) {
+            if (remove(e.getKey(), e.getValue())) evicted++;
+        }
+        if (evicted > 0) listener.onRemoval(Removal.EVICTED, evicted);
+    }
+
+    private static final class Node<V> {
+        private final V value;
+        private final long expiresAtMillis;
+        private final long weight;
+        private volatile long lastAccessMillis;
+
+        private Node(V value, long expiresAtMillis, long now, long weight) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+            this.lastAccessMillis = now;
+            this.weight = weight;
+        }
+    }
+}
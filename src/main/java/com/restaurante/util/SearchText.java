@@ -0,0 +1,59 @@
+package com.restaurante.util;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização e similaridade de texto para pesquisa por nome (merchants, produtos).
+ *
+ * {@link #normalize} remove acentos (NFD sem marcas combinantes), passa a minúsculas e colapsa
+ * pontuação/espaços: "Café  Açúcar!" → "cafe acucar". É a mesma forma gravada em
+ * {@code merchant_discovery_projection.search_name} e usada pelo índice de catálogo em memória.
+ *
+ * Os trigramas seguem a convenção do {@code pg_trgm}: cada palavra é prefixada com dois espaços e
+ * sufixada com um, para que prefixos de palavra pesem mais que trechos no meio.
+ */
+public final class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchText() {
+    }
+
+    public static String normalize(String value) {
+        if (value == null) return "";
+        String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Trigramas de um texto já normalizado.
+     */
+    public static Set<String> trigrams(String normalized) {
+        Set<String> out = new LinkedHashSet<>();
+        if (normalized == null || normalized.isEmpty()) return out;
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                out.add(padded.substring(i, i + 3));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Similaridade de trigramas (coeficiente de Jaccard, como {@code similarity()} do pg_trgm), entre 0 e 1.
+     */
+    public static double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) return 0d;
+        int shared = 0;
+        for (String gram : a) {
+            if (b.contains(gram)) shared++;
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+}
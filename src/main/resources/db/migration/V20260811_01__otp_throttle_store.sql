@@ -0,0 +1,23 @@
+-- OTP throttling store partilhado (consuma.otp.throttle-store=postgres).
+-- Contadores por janela fixa; a leitura combina janela corrente + anterior (janela deslizante aproximada).
+
+CREATE TABLE otp_throttle_counters (
+    throttle_key  varchar(200) NOT NULL,
+    window_millis bigint       NOT NULL,
+    window_index  bigint       NOT NULL,
+    hits          integer      NOT NULL,
+    expires_at    timestamptz  NOT NULL,
+    CONSTRAINT pk_otp_throttle_counters PRIMARY KEY (throttle_key, window_millis, window_index)
+);
+
+CREATE INDEX idx_otp_throttle_counters_expires_at ON otp_throttle_counters (expires_at);
+
+-- Bloqueio de reenvio por challenge (tenant/telefone/purpose/sessão) até blocked_until.
+CREATE TABLE otp_resend_blocks (
+    challenge_key varchar(200) NOT NULL,
+    code          varchar(64)  NOT NULL,
+    blocked_until timestamptz  NOT NULL,
+    CONSTRAINT pk_otp_resend_blocks PRIMARY KEY (challenge_key)
+);
+
+CREATE INDEX idx_otp_resend_blocks_blocked_until ON otp_resend_blocks (blocked_until);
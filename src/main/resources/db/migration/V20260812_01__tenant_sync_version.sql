@@ -0,0 +1,184 @@
+-- Versões de sync mantidas por (tenant, domínio, escopo), lidas por PK em DeviceSyncVersionService
+-- em vez de count/max(updatedAt) sobre catálogo, mesas, QR, produção e fila.
+--
+-- scope_id: 0 = tenant inteiro; >0 = unidade_atendimento_id (MESAS/QRCODES) ou unidade_producao_id (PRODUCAO_FILA).
+--
+-- Os triggers de linha apenas acumulam as chaves afetadas na transação (GUC local consuma.sync_bumps).
+-- O incremento acontece num único constraint trigger DEFERRED, no commit, por ordem de chave:
+-- o lock da linha de versão fica retido só durante o commit e a ordem fixa evita deadlocks entre
+-- transações que tocam várias unidades (ex.: pedido com subpedidos em cozinha e bar).
+
+CREATE TABLE tenant_sync_version (
+    tenant_id  bigint      NOT NULL,
+    domain     varchar(40) NOT NULL,
+    scope_id   bigint      NOT NULL DEFAULT 0,
+    version    bigint      NOT NULL,
+    updated_at timestamptz NOT NULL DEFAULT now(),
+    CONSTRAINT pk_tenant_sync_version PRIMARY KEY (tenant_id, domain, scope_id)
+);
+
+-- Uma linha por transação com bumps pendentes; apagada no próprio commit.
+CREATE UNLOGGED TABLE tenant_sync_version_flush (
+    txid bigint NOT NULL,
+    CONSTRAINT pk_tenant_sync_version_flush PRIMARY KEY (txid)
+);
+
+CREATE OR REPLACE FUNCTION enqueue_tenant_sync_bump(p_tenant_id bigint, p_domain varchar, p_scope_id bigint)
+RETURNS void AS $$
+DECLARE
+    v_pending text := coalesce(current_setting('consuma.sync_bumps', true), '');
+    v_entry text;
+BEGIN
+    IF p_tenant_id IS NULL THEN
+        RETURN;
+    END IF;
+    v_entry := p_tenant_id || ':' || p_domain || ':' || coalesce(p_scope_id, 0);
+    IF v_pending = '' THEN
+        PERFORM set_config('consuma.sync_bumps', v_entry, true);
+        INSERT INTO tenant_sync_version_flush (txid) VALUES (txid_current()) ON CONFLICT DO NOTHING;
+    ELSIF position(',' || v_entry || ',' in ',' || v_pending || ',') = 0 THEN
+        PERFORM set_config('consuma.sync_bumps', v_pending || ',' || v_entry, true);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION flush_tenant_sync_bumps()
+RETURNS trigger AS $$
+DECLARE
+    r record;
+BEGIN
+    FOR r IN
+        SELECT DISTINCT split_part(e, ':', 1)::bigint AS tenant_id,
+                        split_part(e, ':', 2)         AS domain,
+                        split_part(e, ':', 3)::bigint AS scope_id
+          FROM unnest(string_to_array(coalesce(current_setting('consuma.sync_bumps', true), ''), ',')) AS e
+         WHERE e <> ''
+         ORDER BY 1, 2, 3
+    LOOP
+        INSERT INTO tenant_sync_version (tenant_id, domain, scope_id, version, updated_at)
+        VALUES (r.tenant_id, r.domain, r.scope_id, 1, now())
+        ON CONFLICT (tenant_id, domain, scope_id)
+        DO UPDATE SET version = tenant_sync_version.version + 1, updated_at = now();
+    END LOOP;
+    PERFORM set_config('consuma.sync_bumps', '', true);
+    DELETE FROM tenant_sync_version_flush WHERE txid = NEW.txid;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE CONSTRAINT TRIGGER trg_tenant_sync_version_flush
+AFTER INSERT ON tenant_sync_version_flush
+DEFERRABLE INITIALLY DEFERRED
+FOR EACH ROW EXECUTE FUNCTION flush_tenant_sync_bumps();
+
+-- Trigger genérico: TG_ARGV[0] = domínio; TG_ARGV[1] = coluna de escopo (opcional);
+-- TG_ARGV[2] = 'true' para também versionar o tenant inteiro quando há coluna de escopo.
+CREATE OR REPLACE FUNCTION enqueue_tenant_sync_bump_row(p_row jsonb, p_domain varchar, p_scope_column text, p_tenant_wide boolean)
+RETURNS void AS $$
+DECLARE
+    v_tenant_id bigint := (p_row ->> 'tenant_id')::bigint;
+    v_scope_id bigint;
+BEGIN
+    IF p_scope_column IS NULL THEN
+        PERFORM enqueue_tenant_sync_bump(v_tenant_id, p_domain, 0);
+        RETURN;
+    END IF;
+    IF p_tenant_wide THEN
+        PERFORM enqueue_tenant_sync_bump(v_tenant_id, p_domain, 0);
+    END IF;
+    v_scope_id := (p_row ->> p_scope_column)::bigint;
+    IF v_scope_id IS NOT NULL THEN
+        PERFORM enqueue_tenant_sync_bump(v_tenant_id, p_domain, v_scope_id);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION trg_tenant_sync_version_bump()
+RETURNS trigger AS $$
+DECLARE
+    v_scope_column text := CASE WHEN TG_NARGS > 1 THEN TG_ARGV[1] END;
+    v_tenant_wide boolean := CASE WHEN TG_NARGS > 2 THEN TG_ARGV[2]::boolean ELSE false END;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM enqueue_tenant_sync_bump_row(to_jsonb(NEW), TG_ARGV[0], v_scope_column, v_tenant_wide);
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM enqueue_tenant_sync_bump_row(to_jsonb(OLD), TG_ARGV[0], v_scope_column, v_tenant_wide);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- CATALOGO (tenant)
+CREATE TRIGGER trg_categoria_produtos_sync_version
+AFTER INSERT OR UPDATE OR DELETE ON categoria_produtos
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('CATALOGO');
+
+CREATE TRIGGER trg_produtos_sync_version
+AFTER INSERT OR UPDATE OR DELETE ON produtos
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('CATALOGO');
+
+-- MESAS (unidade de atendimento + tenant)
+CREATE TRIGGER trg_mesas_sync_version
+AFTER INSERT OR UPDATE OR DELETE ON mesas
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('MESAS', 'unidade_atendimento_id', 'true');
+
+CREATE TRIGGER trg_sessoes_consumo_sync_version
+AFTER INSERT OR UPDATE OR DELETE ON sessoes_consumo
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('MESAS', 'unidade_atendimento_id', 'true');
+
+-- QRCODES (unidade de atendimento + tenant)
+CREATE TRIGGER trg_qr_codes_operacionais_sync_version
+AFTER INSERT OR UPDATE OR DELETE ON qr_codes_operacionais
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('QRCODES', 'unidade_atendimento_id', 'true');
+
+-- PRODUCAO (tenant)
+CREATE TRIGGER trg_unidades_producao_sync_version
+AFTER INSERT OR UPDATE OR DELETE ON unidades_producao
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('PRODUCAO');
+
+CREATE TRIGGER trg_rotas_producao_categoria_sync_version
+AFTER INSERT OR UPDATE OR DELETE ON rotas_producao_categoria
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('PRODUCAO');
+
+-- PRODUCAO_FILA (unidade de produção)
+CREATE TRIGGER trg_sub_pedidos_sync_version
+AFTER INSERT OR UPDATE OR DELETE ON sub_pedidos
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('PRODUCAO_FILA', 'unidade_producao_id');
+
+-- Eventos da fila (ex.: SUBPEDIDO_STATUS_CHANGED) também entram na versão da unidade do subpedido.
+CREATE OR REPLACE FUNCTION trg_operational_event_logs_fila_sync_version()
+RETURNS trigger AS $$
+BEGIN
+    IF NEW.sub_pedido_id IS NOT NULL THEN
+        PERFORM enqueue_tenant_sync_bump(NEW.tenant_id, 'PRODUCAO_FILA', sp.unidade_producao_id)
+           FROM sub_pedidos sp
+          WHERE sp.id = NEW.sub_pedido_id
+            AND sp.unidade_producao_id IS NOT NULL;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_operational_event_logs_fila_sync_version
+AFTER INSERT ON operational_event_logs
+FOR EACH ROW EXECUTE FUNCTION trg_operational_event_logs_fila_sync_version();
+
+-- A fila exclui pedidos PENDENTE_PAGAMENTO: a mudança de status financeiro altera a fila das unidades envolvidas.
+CREATE OR REPLACE FUNCTION trg_pedidos_fila_sync_version()
+RETURNS trigger AS $$
+BEGIN
+    PERFORM enqueue_tenant_sync_bump(sp.tenant_id, 'PRODUCAO_FILA', sp.unidade_producao_id)
+       FROM (SELECT DISTINCT tenant_id, unidade_producao_id
+               FROM sub_pedidos
+              WHERE pedido_id = NEW.id
+                AND unidade_producao_id IS NOT NULL) sp;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_pedidos_fila_sync_version
+AFTER UPDATE OF status_financeiro ON pedidos
+FOR EACH ROW
+WHEN (OLD.status_financeiro IS DISTINCT FROM NEW.status_financeiro)
+EXECUTE FUNCTION trg_pedidos_fila_sync_version();
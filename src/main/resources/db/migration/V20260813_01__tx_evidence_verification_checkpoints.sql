@@ -0,0 +1,18 @@
+-- Checkpoint de verificação do ledger de evidência transacional, por tenant.
+-- verified_up_to_sequence: maior N tal que os eventos 1..N foram verificados (payload, hash, HMAC e cadeia) sem issues.
+-- verified_up_to_hash: event_hash do evento N no momento da verificação (âncora da execução seguinte).
+
+create table if not exists transaction_evidence_verification_checkpoints (
+    id bigserial primary key,
+    tenant_id bigint not null references tenants(id),
+    verified_up_to_sequence bigint not null,
+    verified_up_to_hash varchar(128) not null,
+    last_verification_run_id bigint null references transaction_evidence_verification_runs(id),
+    verified_at timestamp with time zone not null,
+    created_at timestamp with time zone not null default now(),
+    updated_at timestamp with time zone null,
+    created_by varchar(100),
+    modified_by varchar(100),
+    version bigint not null default 0,
+    constraint uq_transaction_evidence_verification_checkpoints unique (tenant_id)
+);
@@ -0,0 +1,26 @@
+-- Raízes Merkle por segmento fixo do ledger de evidência transacional (por tenant).
+-- Segmentos contíguos: o segmento k+1 começa em last_sequence(k)+1; folhas = event_hash pela ordem da sequência.
+-- merkle_root é assinado (HMAC) com a chave ativa no momento do selo: provas de inclusão O(log n).
+
+create table if not exists transaction_evidence_merkle_segments (
+    id bigserial primary key,
+    tenant_id bigint not null references tenants(id),
+    segment_index bigint not null,
+    first_sequence bigint not null,
+    last_sequence bigint not null,
+    leaf_count integer not null,
+    merkle_root varchar(128) not null,
+    key_version varchar(40) not null,
+    algorithm varchar(40) not null,
+    root_signature varchar(256) not null,
+    sealed_at timestamp with time zone not null,
+    created_at timestamp with time zone not null default now(),
+    updated_at timestamp with time zone null,
+    created_by varchar(100),
+    modified_by varchar(100),
+    version bigint not null default 0,
+    constraint uq_transaction_evidence_merkle_segments unique (tenant_id, segment_index)
+);
+
+create index if not exists idx_transaction_evidence_merkle_segments_seq
+    on transaction_evidence_merkle_segments (tenant_id, first_sequence, last_sequence);
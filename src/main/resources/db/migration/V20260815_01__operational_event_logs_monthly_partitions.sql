@@ -0,0 +1,121 @@
+-- operational_event_logs passa a ser particionada por mês (RANGE em created_at).
+--
+-- - PK (id, created_at): a chave de partição tem de fazer parte da PK; id continua a vir da mesma sequence.
+-- - Partições operational_event_logs_pYYYYMM, criadas por ensure_operational_event_log_partitions(from, to)
+--   (idempotente; o job de manutenção mantém sempre alguns meses à frente).
+-- - operational_event_logs_default apanha linhas fora das partições criadas; deve ficar vazia.
+-- - Retenção: partições inteiras são desanexadas e removidas (sem DELETE em massa nem bloat).
+
+ALTER SEQUENCE operational_event_logs_id_seq OWNED BY NONE;
+
+DROP TRIGGER IF EXISTS trg_operational_event_logs_fila_sync_version ON operational_event_logs;
+ALTER TABLE operational_event_logs RENAME TO operational_event_logs_unpartitioned;
+ALTER INDEX IF EXISTS operational_event_logs_pkey RENAME TO operational_event_logs_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_operational_event_tenant;
+DROP INDEX IF EXISTS idx_operational_event_tenant_created_at;
+DROP INDEX IF EXISTS idx_operational_event_tenant_pedido;
+DROP INDEX IF EXISTS idx_operational_event_tenant_sub_pedido;
+DROP INDEX IF EXISTS idx_operational_event_tenant_event_type;
+DROP INDEX IF EXISTS idx_operational_event_tenant_actor_user;
+DROP INDEX IF EXISTS idx_operational_event_tenant_device;
+DROP INDEX IF EXISTS idx_operational_event_tenant_turno;
+
+create table operational_event_logs (
+    id bigint not null default nextval('operational_event_logs_id_seq'),
+    version bigint,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    created_by varchar(100),
+    modified_by varchar(100),
+
+    tenant_id bigint not null,
+    instituicao_id bigint,
+    unidade_atendimento_id bigint,
+
+    pedido_id bigint,
+    sub_pedido_id bigint,
+    item_pedido_id bigint,
+    mesa_id bigint,
+    turno_id bigint,
+
+    device_id bigint,
+    actor_user_id bigint,
+    actor_type varchar(30) not null,
+
+    event_type varchar(60) not null,
+    entity_type varchar(30) not null,
+    entity_id bigint not null,
+
+    status_anterior varchar(60),
+    status_novo varchar(60),
+
+    origem varchar(40) not null,
+    motivo varchar(500),
+    metadata_json text,
+
+    ip varchar(64),
+    user_agent varchar(255),
+
+    constraint operational_event_logs_pkey primary key (id, created_at),
+    constraint fk_operational_event_tenant foreign key (tenant_id) references tenants (id),
+    constraint fk_operational_event_instituicao foreign key (instituicao_id) references instituicoes (id),
+    constraint fk_operational_event_unidade foreign key (unidade_atendimento_id) references unidades_atendimento (id),
+    constraint fk_operational_event_pedido foreign key (pedido_id) references pedidos (id),
+    constraint fk_operational_event_sub_pedido foreign key (sub_pedido_id) references sub_pedidos (id),
+    constraint fk_operational_event_item_pedido foreign key (item_pedido_id) references itens_pedido (id),
+    constraint fk_operational_event_mesa foreign key (mesa_id) references mesas (id),
+    constraint fk_operational_event_turno foreign key (turno_id) references turnos_operacionais (id),
+    constraint fk_operational_event_device foreign key (device_id) references dispositivos_operacionais (id),
+    constraint fk_operational_event_actor_user foreign key (actor_user_id) references users (id)
+) partition by range (created_at);
+
+CREATE OR REPLACE FUNCTION ensure_operational_event_log_partitions(p_from date, p_to date)
+RETURNS integer AS $$
+DECLARE
+    m date := date_trunc('month', p_from)::date;
+    part text;
+    created integer := 0;
+BEGIN
+    WHILE m <= p_to LOOP
+        part := 'operational_event_logs_p' || to_char(m, 'YYYYMM');
+        IF to_regclass(part) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF operational_event_logs FOR VALUES FROM (%L) TO (%L)',
+                           part, m::timestamp, (m + interval '1 month')::timestamp);
+            created := created + 1;
+        END IF;
+        m := (m + interval '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT ensure_operational_event_log_partitions(
+        coalesce((select min(created_at) from operational_event_logs_unpartitioned), now())::date,
+        (now() + interval '3 months')::date);
+
+create table operational_event_logs_default partition of operational_event_logs default;
+
+insert into operational_event_logs (
+    id, version, created_at, updated_at, created_by, modified_by,
+    tenant_id, instituicao_id, unidade_atendimento_id, pedido_id, sub_pedido_id, item_pedido_id, mesa_id, turno_id,
+    device_id, actor_user_id, actor_type, event_type, entity_type, entity_id,
+    status_anterior, status_novo, origem, motivo, metadata_json, ip, user_agent)
+select
+    id, version, created_at, updated_at, created_by, modified_by,
+    tenant_id, instituicao_id, unidade_atendimento_id, pedido_id, sub_pedido_id, item_pedido_id, mesa_id, turno_id,
+    device_id, actor_user_id, actor_type, event_type, entity_type, entity_id,
+    status_anterior, status_novo, origem, motivo, metadata_json, ip, user_agent
+from operational_event_logs_unpartitioned;
+
+drop table operational_event_logs_unpartitioned;
+
+ALTER SEQUENCE operational_event_logs_id_seq OWNED BY operational_event_logs.id;
+
+-- Índices no pai: criados em todas as partições (atuais e futuras). Os índices de pesquisa por tenant
+-- (created_at, pedido, subpedido, ator, device, tipos) são criados já no formato keyset por
+-- V20260816_01__operational_event_logs_keyset_indexes; aqui fica só o que essa migração não cobre.
+create index if not exists idx_operational_event_tenant_turno on operational_event_logs (tenant_id, turno_id);
+
+CREATE TRIGGER trg_operational_event_logs_fila_sync_version
+AFTER INSERT ON operational_event_logs
+FOR EACH ROW EXECUTE FUNCTION trg_operational_event_logs_fila_sync_version();
@@ -0,0 +1,40 @@
+-- Índices para a pesquisa keyset (created_at desc, id desc) de operational_event_logs.
+--
+-- - Um índice por combinação de filtro usada pelas pesquisas do tenant/plataforma: igualdade no filtro,
+--   depois (created_at desc, id desc) para a página seguir o índice sem sort nem OFFSET.
+-- - Colunas opcionais (pedido, subpedido, ator, device) em índices parciais "is not null": a maioria dos
+--   eventos não tem todas estas referências e o índice fica bem mais pequeno.
+-- - Substituem os índices (tenant_id, coluna) da tabela não particionada, removidos em
+--   V20260815_01__operational_event_logs_monthly_partitions (que não os recria no pai particionado).
+-- - Criados no pai particionado: o Postgres cria o índice correspondente em cada partição.
+
+create index if not exists idx_operational_event_tenant_created_id
+    on operational_event_logs (tenant_id, created_at desc, id desc);
+
+create index if not exists idx_operational_event_tenant_pedido_created_id
+    on operational_event_logs (tenant_id, pedido_id, created_at desc, id desc)
+    where pedido_id is not null;
+
+create index if not exists idx_operational_event_tenant_sub_pedido_created_id
+    on operational_event_logs (tenant_id, sub_pedido_id, created_at desc, id desc)
+    where sub_pedido_id is not null;
+
+create index if not exists idx_operational_event_tenant_actor_user_created_id
+    on operational_event_logs (tenant_id, actor_user_id, created_at desc, id desc)
+    where actor_user_id is not null;
+
+create index if not exists idx_operational_event_tenant_device_created_id
+    on operational_event_logs (tenant_id, device_id, created_at desc, id desc)
+    where device_id is not null;
+
+create index if not exists idx_operational_event_tenant_event_type_created_id
+    on operational_event_logs (tenant_id, event_type, created_at desc, id desc);
+
+create index if not exists idx_operational_event_tenant_entity_type_created_id
+    on operational_event_logs (tenant_id, entity_type, created_at desc, id desc);
+
+create index if not exists idx_operational_event_tenant_actor_type_created_id
+    on operational_event_logs (tenant_id, actor_type, created_at desc, id desc);
+
+-- Estatísticas frescas: a contagem aproximada das pesquisas vem das estimativas do planner.
+analyze operational_event_logs;
@@ -0,0 +1,37 @@
+-- CARDAPIO_PUBLICO (tenant): versão do snapshot do cardápio público por QR, lida por PK em
+-- PublicCardapioSnapshotService a cada scan. Reaproveita a infraestrutura de V20260812_01
+-- (bumps acumulados na transação e aplicados no commit).
+--
+-- Cobre tudo o que entra no snapshot: categorias, produtos, imagens, configuração do cardápio
+-- (publicado, banner, máximo de itens) e o telefone de contacto do tenant.
+
+CREATE TRIGGER trg_categoria_produtos_cardapio_publico_version
+AFTER INSERT OR UPDATE OR DELETE ON categoria_produtos
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('CARDAPIO_PUBLICO');
+
+CREATE TRIGGER trg_produtos_cardapio_publico_version
+AFTER INSERT OR UPDATE OR DELETE ON produtos
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('CARDAPIO_PUBLICO');
+
+CREATE TRIGGER trg_produto_imagens_cardapio_publico_version
+AFTER INSERT OR UPDATE OR DELETE ON produto_imagens
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('CARDAPIO_PUBLICO');
+
+CREATE TRIGGER trg_tenant_cardapio_configs_cardapio_publico_version
+AFTER INSERT OR UPDATE OR DELETE ON tenant_cardapio_configs
+FOR EACH ROW EXECUTE FUNCTION trg_tenant_sync_version_bump('CARDAPIO_PUBLICO');
+
+-- tenants não tem tenant_id: o escopo é o próprio id.
+CREATE OR REPLACE FUNCTION trg_tenants_cardapio_publico_version()
+RETURNS trigger AS $$
+BEGIN
+    PERFORM enqueue_tenant_sync_bump(NEW.id, 'CARDAPIO_PUBLICO', 0);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_tenants_cardapio_publico_version
+AFTER UPDATE OF telefone ON tenants
+FOR EACH ROW
+WHEN (OLD.telefone IS DISTINCT FROM NEW.telefone)
+EXECUTE FUNCTION trg_tenants_cardapio_publico_version();
@@ -0,0 +1,61 @@
+-- Read model do Discovery Android: uma linha por merchant publicamente elegível.
+-- As consultas públicas (home/search/detail) passam a ler só esta tabela, ordenada por índice,
+-- em vez de juntar tenants/cardápio/conta/subscrição e contar produtos por merchant a cada pedido.
+--
+-- Mantida pela aplicação (MerchantDiscoveryPublicationService): refresh do tenant após o commit de
+-- escritas em tenants, cardápio, produtos, categorias, conta, subscrição e perfil fiscal, mais uma
+-- reconciliação periódica completa. Apagar o tenant apaga a linha.
+
+CREATE TABLE IF NOT EXISTS merchant_discovery_projection (
+    tenant_id                 bigint       NOT NULL PRIMARY KEY REFERENCES tenants(id) ON DELETE CASCADE,
+    merchant_public_id        uuid         NOT NULL,
+    name                      varchar(160) NOT NULL,
+    sort_name                 varchar(160) NOT NULL,
+    slug                      varchar(80)  NOT NULL,
+    municipality              varchar(120),
+    catalog_published         boolean      NOT NULL,
+    active_catalog_item_count bigint       NOT NULL,
+    refreshed_at              timestamp    NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_merchant_discovery_projection_public_id
+    ON merchant_discovery_projection (merchant_public_id);
+
+CREATE INDEX IF NOT EXISTS idx_merchant_discovery_projection_order
+    ON merchant_discovery_projection (sort_name, merchant_public_id);
+
+CREATE INDEX IF NOT EXISTS idx_merchant_discovery_projection_municipality
+    ON merchant_discovery_projection (municipality, sort_name, merchant_public_id);
+
+-- Carga inicial com a mesma política de elegibilidade de MerchantDiscoveryPublicationPolicy.
+INSERT INTO merchant_discovery_projection (
+    tenant_id, merchant_public_id, name, sort_name, slug, municipality,
+    catalog_published, active_catalog_item_count, refreshed_at)
+SELECT t.id,
+       t.merchant_public_id,
+       t.nome,
+       lower(t.nome),
+       t.slug,
+       lower(fiscal.municipality),
+       cardapio.cardapio_publicado,
+       (SELECT count(p.id)
+          FROM produtos p
+          JOIN categoria_produtos c ON c.id = p.categoria_produto_id
+         WHERE p.tenant_id = t.id
+           AND p.ativo = true
+           AND p.disponivel = true
+           AND c.ativo = true),
+       now()
+  FROM tenants t
+  JOIN tenant_cardapio_configs cardapio ON cardapio.tenant_id = t.id
+  LEFT JOIN business_accounts account ON account.id = t.business_account_id
+  LEFT JOIN tenant_fiscal_profiles fiscal ON fiscal.tenant_id = t.id
+ WHERE t.discovery_published = true
+   AND t.estado = 'ATIVO'
+   AND cardapio.cardapio_publicado = true
+   AND trim(t.nome) <> ''
+   AND length(trim(t.nome)) <= 120
+   AND (account.id IS NULL OR (
+         account.estado = 'ATIVA'
+         AND EXISTS (SELECT 1 FROM subscricoes s WHERE s.tenant_id = t.id AND s.estado = 'ATIVA')))
+ON CONFLICT (tenant_id) DO NOTHING;
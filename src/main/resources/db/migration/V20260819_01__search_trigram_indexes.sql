@@ -0,0 +1,32 @@
+-- Pesquisa por nome insensível a acentos e a maiúsculas.
+--
+-- Discovery Android: merchant_discovery_projection.search_name guarda o nome normalizado pela aplicação
+-- (SearchText: sem acentos, minúsculas, pontuação colapsada). A pesquisa usa LIKE '%termo%' sobre essa
+-- coluna; o índice GIN de trigramas evita o scan sequencial à medida que o read model cresce.
+-- A carga abaixo usa unaccent(); a reconciliação do read model reescreve qualquer linha em que a
+-- normalização da aplicação difira.
+--
+-- Cardápio: a pesquisa pública de produtos corre sobre um índice em memória por tenant; quando este está
+-- desligado, o fallback em banco filtra upper(nome) LIKE '%termo%', coberto pelo índice de trigramas.
+--
+-- Privilégios: CREATE EXTENSION exige que o role da migração (spring.flyway.user) seja superuser ou, em
+-- PostgreSQL 13+, tenha CREATE na base de dados (pg_trgm e unaccent são extensões "trusted"). Em ambientes
+-- geridos onde esse role não o tem, um DBA deve criar as duas extensões antes do deploy; os IF NOT EXISTS
+-- tornam então estas linhas inócuas.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+ALTER TABLE merchant_discovery_projection ADD COLUMN IF NOT EXISTS search_name varchar(160);
+
+UPDATE merchant_discovery_projection
+   SET search_name = btrim(regexp_replace(lower(unaccent(name)), '[^[:alnum:]]+', ' ', 'g'))
+ WHERE search_name IS NULL;
+
+ALTER TABLE merchant_discovery_projection ALTER COLUMN search_name SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_merchant_discovery_projection_search_trgm
+    ON merchant_discovery_projection USING gin (search_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_produtos_nome_trgm
+    ON produtos USING gin (upper(nome) gin_trgm_ops);
@@ -1,7 +1,9 @@
 package com.restaurante.android.discovery.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -10,9 +12,7 @@ import com.restaurante.android.discovery.dto.AndroidMerchantAvailability;
 import com.restaurante.android.discovery.repository.AndroidDiscoveryMerchantProjection;
 import com.restaurante.android.discovery.repository.AndroidDiscoveryReadRepository;
 import com.restaurante.android.discovery.validation.ValidatedDiscoveryQuery;
-import com.restaurante.model.enums.BusinessAccountEstado;
-import com.restaurante.model.enums.SubscricaoEstado;
-import com.restaurante.model.enums.TenantEstado;
+import java.time.Clock;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +22,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 @ExtendWith(MockitoExtension.class)
 class AndroidDiscoveryServiceTest {
@@ -30,11 +31,13 @@ class AndroidDiscoveryServiceTest {
     @Mock AndroidDiscoveryMerchantProjection alpha;
     @Mock AndroidDiscoveryMerchantProjection beta;
 
+    private AndroidDiscoveryHomeSnapshot homeSnapshot;
     private AndroidDiscoveryService service;
 
     @BeforeEach
     void setUp() {
-        service = new AndroidDiscoveryService(repository, new MerchantDiscoveryPublicationPolicy());
+        homeSnapshot = new AndroidDiscoveryHomeSnapshot(30, 3, Clock.systemUTC());
+        service = new AndroidDiscoveryService(repository, homeSnapshot);
     }
 
     @Test
@@ -44,14 +47,8 @@ class AndroidDiscoveryServiceTest {
         projection(alpha, alphaId, " Alpha ", true, 2L);
         projection(beta, betaId, "Beta", true, 0L);
         PageRequest pageable = PageRequest.of(0, 2);
-        when(repository.findPublicMerchants(
-                        TenantEstado.ATIVO,
-                        BusinessAccountEstado.ATIVA,
-                        SubscricaoEstado.ATIVA,
-                        "",
-                        "luanda",
-                        pageable))
-                .thenReturn(new PageImpl<>(List.of(alpha, beta), pageable, 3));
+        when(repository.findHomeMerchants("luanda", pageable))
+                .thenReturn(new SliceImpl<>(List.of(alpha, beta), pageable, true));
 
         var home = service.home(query("", "Luanda", 0, 2));
 
@@ -74,16 +71,12 @@ class AndroidDiscoveryServiceTest {
     }
 
     @Test
-    void homeAndSearchUseTheSameEligibilityQueryAndPreserveAnEmptyHome() {
+    void searchReadsTheProjectionAndHomePreservesAnEmptyFeed() {
         PageRequest pageable = PageRequest.of(3, 7);
-        when(repository.findPublicMerchants(
-                        TenantEstado.ATIVO,
-                        BusinessAccountEstado.ATIVA,
-                        SubscricaoEstado.ATIVA,
-                        "",
-                        null,
-                        pageable))
+        when(repository.findPublicMerchants("", null, pageable))
                 .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+        when(repository.findHomeMerchants(null, PageRequest.of(0, 3)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 3), false));
         ValidatedDiscoveryQuery query = query("", null, 3, 7);
 
         var home = service.home(query);
@@ -94,13 +87,81 @@ class AndroidDiscoveryServiceTest {
         assertThat(search.merchants()).isEmpty();
         assertThat(search.page()).isEqualTo(3);
         assertThat(search.pageSize()).isEqualTo(7);
-        verify(repository, times(2)).findPublicMerchants(
-                eq(TenantEstado.ATIVO),
-                eq(BusinessAccountEstado.ATIVA),
-                eq(SubscricaoEstado.ATIVA),
-                eq(""),
-                eq(null),
-                eq(pageable));
+        verify(repository, times(1)).findPublicMerchants(eq(""), eq(null), eq(pageable));
+    }
+
+    @Test
+    void searchTermsAreAccentInsensitiveAndRelevanceUsesTheRankedQuery() {
+        PageRequest pageable = PageRequest.of(0, 20);
+        UUID alphaId = UUID.fromString("11111111-1111-4111-8111-111111111111");
+        projection(alpha, alphaId, "Café Central", true, 4L);
+        when(repository.findRankedMerchants("cafe central", null, pageable))
+                .thenReturn(new PageImpl<>(List.of(alpha), pageable, 1));
+        when(repository.findPublicMerchants("cafe central", null, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        var ranked = service.search(new ValidatedDiscoveryQuery(
+                "  CAFÉ   Central!", null, null, null, 0, 20, "RELEVANCE"));
+        var byName = service.search(query("Café central", null, 0, 20));
+
+        assertThat(ranked.merchants()).extracting(item -> item.merchantId()).containsExactly(alphaId);
+        assertThat(ranked.totalCount()).isEqualTo(1);
+        assertThat(byName.merchants()).isEmpty();
+        verify(repository, times(1)).findRankedMerchants(any(), any(), any());
+        verify(repository, times(1)).findPublicMerchants(any(), any(), any());
+    }
+
+    @Test
+    void termsWithoutSearchableCharactersReturnNoMerchants() {
+        var result = service.search(query("!!!", null, 0, 20));
+
+        assertThat(result.merchants()).isEmpty();
+        assertThat(result.totalCount()).isZero();
+        verify(repository, never()).findPublicMerchants(any(), any(), any());
+        verify(repository, never()).findRankedMerchants(any(), any(), any());
+    }
+
+    @Test
+    void unfilteredHomeIsServedFromTheSnapshotUntilInvalidated() {
+        UUID alphaId = UUID.fromString("11111111-1111-4111-8111-111111111111");
+        UUID betaId = UUID.fromString("22222222-2222-4222-8222-222222222222");
+        projection(alpha, alphaId, "Alpha", true, 1L);
+        projection(beta, betaId, "Beta", true, 1L);
+        PageRequest snapshotPage = PageRequest.of(0, 3);
+        when(repository.findHomeMerchants(null, snapshotPage))
+                .thenReturn(new SliceImpl<>(List.of(alpha, beta), snapshotPage, false));
+
+        var first = service.home(query("", null, 0, 1));
+        var second = service.home(query("", null, 1, 1));
+        homeSnapshot.invalidate();
+        var afterInvalidation = service.home(query("", null, 0, 5));
+
+        assertThat(first.recommended().items()).extracting(item -> item.merchantId()).containsExactly(alphaId);
+        assertThat(first.recommended().hasMore()).isTrue();
+        assertThat(second.recommended().items()).extracting(item -> item.merchantId()).containsExactly(betaId);
+        assertThat(second.recommended().hasMore()).isFalse();
+        assertThat(afterInvalidation.recommended().items()).hasSize(2);
+        verify(repository, times(2)).findHomeMerchants(null, snapshotPage);
+    }
+
+    @Test
+    void pagesBeyondATruncatedSnapshotFallBackToTheDatabase() {
+        PageRequest snapshotPage = PageRequest.of(0, 3);
+        when(repository.findHomeMerchants(null, snapshotPage))
+                .thenReturn(new SliceImpl<>(List.of(alpha, beta, alpha), snapshotPage, true));
+        projection(alpha, UUID.fromString("11111111-1111-4111-8111-111111111111"), "Alpha", true, 1L);
+        projection(beta, UUID.fromString("22222222-2222-4222-8222-222222222222"), "Beta", true, 1L);
+        PageRequest beyond = PageRequest.of(1, 2);
+        when(repository.findHomeMerchants(null, beyond))
+                .thenReturn(new SliceImpl<>(List.of(beta), beyond, false));
+
+        var inside = service.home(query("", null, 0, 3));
+        var outside = service.home(query("", null, 1, 2));
+
+        assertThat(inside.recommended().items()).hasSize(3);
+        assertThat(inside.recommended().hasMore()).isTrue();
+        assertThat(outside.recommended().items()).hasSize(1);
+        verify(repository, never()).findPublicMerchants(any(), any(), any());
     }
 
     private void projection(
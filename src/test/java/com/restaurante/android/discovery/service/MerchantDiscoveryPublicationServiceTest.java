@@ -0,0 +1,169 @@
+package com.restaurante.android.discovery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.restaurante.android.discovery.repository.MerchantDiscoveryProjectionRepository;
+import com.restaurante.android.discovery.repository.MerchantDiscoverySource;
+import com.restaurante.model.entity.MerchantDiscoveryProjection;
+import com.restaurante.model.entity.Tenant;
+import com.restaurante.model.enums.BusinessAccountEstado;
+import com.restaurante.model.enums.SubscricaoEstado;
+import com.restaurante.model.enums.TenantEstado;
+import com.restaurante.repository.TenantRepository;
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MerchantDiscoveryPublicationServiceTest {
+
+    private static final UUID ALPHA_ID = UUID.fromString("11111111-1111-4111-8111-111111111111");
+
+    @Mock TenantRepository tenants;
+    @Mock MerchantDiscoveryProjectionRepository projections;
+    @Mock MerchantDiscoverySource alpha;
+
+    private MerchantDiscoveryPublicationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MerchantDiscoveryPublicationService(
+                tenants, projections, new MerchantDiscoveryPublicationPolicy(),
+                new AndroidDiscoveryHomeSnapshot(30, 100, Clock.systemUTC()));
+    }
+
+    @Test
+    void refreshInsertsNewlyEligibleAndDeletesNoLongerEligibleRows() {
+        source(alpha, 1L, "Alpha", 3L);
+        when(projections.findEligibleSources(
+                        any(TenantEstado.class), any(BusinessAccountEstado.class), any(SubscricaoEstado.class),
+                        anyCollection()))
+                .thenReturn(List.of(alpha));
+        when(projections.findAllById(anyCollection())).thenReturn(List.of(row(2L, "Beta", 1L)));
+
+        service.refreshTenants(Set.of(1L, 2L), Set.of());
+
+        ArgumentCaptor<MerchantDiscoveryProjection> saved = ArgumentCaptor.forClass(MerchantDiscoveryProjection.class);
+        verify(projections).upsert(saved.capture());
+        assertThat(saved.getValue()).satisfies(row -> {
+            assertThat(row.getTenantId()).isEqualTo(1L);
+            assertThat(row.getMerchantPublicId()).isEqualTo(ALPHA_ID);
+            assertThat(row.getSortName()).isEqualTo("alpha");
+            assertThat(row.getSearchName()).isEqualTo("alpha");
+            assertThat(row.getActiveCatalogItemCount()).isEqualTo(3L);
+            assertThat(row.getRefreshedAt()).isNotNull();
+        });
+        verify(projections).deleteAllByIdInBatch(List.of(2L));
+    }
+
+    @Test
+    void unchangedRowsAreNotRewritten() {
+        source(alpha, 1L, "Alpha", 3L);
+        when(projections.findEligibleSources(
+                        any(TenantEstado.class), any(BusinessAccountEstado.class), any(SubscricaoEstado.class)))
+                .thenReturn(List.of(alpha));
+        MerchantDiscoveryProjection current = row(1L, "Alpha", 3L);
+        current.setMerchantPublicId(ALPHA_ID);
+        when(projections.tryLockReconcile()).thenReturn(true);
+        when(projections.findAll()).thenReturn(List.of(current));
+
+        service.reconcile();
+
+        verify(projections, never()).upsert(any(MerchantDiscoveryProjection.class));
+        verify(projections, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void businessAccountChangesRefreshEveryTenantOfTheAccount() {
+        when(projections.findTenantIdsByBusinessAccountIds(Set.of(9L))).thenReturn(List.of(4L, 5L));
+        when(projections.findEligibleSources(
+                        any(TenantEstado.class), any(BusinessAccountEstado.class), any(SubscricaoEstado.class),
+                        anyCollection()))
+                .thenReturn(List.of());
+        when(projections.findAllById(Set.of(4L, 5L))).thenReturn(List.of());
+
+        service.refreshTenants(Set.of(), Set.of(9L));
+
+        verify(projections).findAllById(Set.of(4L, 5L));
+        verify(projections, never()).upsert(any(MerchantDiscoveryProjection.class));
+    }
+
+    @Test
+    void optInOnlyPersistsTheTenantAndLeavesTheRefreshToTheAfterCommitListener() {
+        Tenant tenant = new Tenant();
+        tenant.setId(1L);
+        when(tenants.findById(1L)).thenReturn(Optional.of(tenant));
+
+        service.setPublished(1L, true);
+
+        assertThat(tenant.isDiscoveryPublished()).isTrue();
+        verify(tenants).saveAndFlush(tenant);
+        verifyNoInteractions(projections);
+    }
+
+    @Test
+    void reconcileIsSkippedWhileAnotherNodeHoldsTheLock() {
+        when(projections.tryLockReconcile()).thenReturn(false);
+
+        service.reconcile();
+
+        verify(projections, never()).findAll();
+        verify(projections, never()).upsert(any(MerchantDiscoveryProjection.class));
+    }
+
+    @Test
+    void changedRowsAreUpsertedWithoutTouchingTheLoadedEntity() {
+        source(alpha, 1L, "Alpha", 5L);
+        when(projections.tryLockReconcile()).thenReturn(true);
+        when(projections.findEligibleSources(
+                        any(TenantEstado.class), any(BusinessAccountEstado.class), any(SubscricaoEstado.class)))
+                .thenReturn(List.of(alpha));
+        MerchantDiscoveryProjection current = row(1L, "Alpha", 3L);
+        current.setMerchantPublicId(ALPHA_ID);
+        when(projections.findAll()).thenReturn(List.of(current));
+
+        service.reconcile();
+
+        ArgumentCaptor<MerchantDiscoveryProjection> saved = ArgumentCaptor.forClass(MerchantDiscoveryProjection.class);
+        verify(projections).upsert(saved.capture());
+        assertThat(saved.getValue()).isNotSameAs(current);
+        assertThat(saved.getValue().getActiveCatalogItemCount()).isEqualTo(5L);
+        assertThat(current.getActiveCatalogItemCount()).isEqualTo(3L);
+    }
+
+    private static void source(MerchantDiscoverySource source, long tenantId, String name, long count) {
+        when(source.getTenantId()).thenReturn(tenantId);
+        when(source.getMerchantId()).thenReturn(ALPHA_ID);
+        when(source.getName()).thenReturn(name);
+        when(source.getSortName()).thenReturn(name.toLowerCase());
+        when(source.getSlug()).thenReturn(name.toLowerCase());
+        when(source.getMunicipality()).thenReturn(null);
+        when(source.getCatalogPublished()).thenReturn(true);
+        when(source.getActiveCatalogItemCount()).thenReturn(count);
+    }
+
+    private static MerchantDiscoveryProjection row(long tenantId, String name, long count) {
+        MerchantDiscoveryProjection row = new MerchantDiscoveryProjection(tenantId);
+        row.setName(name);
+        row.setSortName(name.toLowerCase());
+        row.setSearchName(name.toLowerCase());
+        row.setSlug(name.toLowerCase());
+        row.setCatalogPublished(true);
+        row.setActiveCatalogItemCount(count);
+        return row;
+    }
+}
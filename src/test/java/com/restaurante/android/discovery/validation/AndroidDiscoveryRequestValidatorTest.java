@@ -26,6 +26,15 @@ class AndroidDiscoveryRequestValidatorTest {
         assertThat(result.sort()).isEqualTo("NAME");
     }
 
+    @Test
+    void relevanceSortIsAcceptedOnlyForSearch() {
+        assertThat(validator.search(searchWith("sort", "relevance")).sort()).isEqualTo("RELEVANCE");
+        assertThatThrownBy(() -> validator.home(requestWith("sort", "RELEVANCE")))
+                .isInstanceOf(AndroidPublicApiException.class)
+                .satisfies(error -> assertThat(((AndroidPublicApiException) error).getCode())
+                        .isEqualTo(AndroidPublicErrorCode.SORT_NOT_SUPPORTED));
+    }
+
     @Test
     void rejectsUnknownRepeatedAndOutOfBoundsParameters() {
         assertInvalid(requestWith("unknown", "x"), "UNKNOWN_PARAMETER");
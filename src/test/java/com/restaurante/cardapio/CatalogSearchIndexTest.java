@@ -0,0 +1,124 @@
+package com.restaurante.cardapio;
+
+import com.restaurante.repository.projection.ProdutoSearchProjection;
+import com.restaurante.service.cardapio.CatalogSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSearchIndexTest {
+
+    private static final Long TENANT_ID = 7L;
+
+    private final CatalogSearchIndex index = new CatalogSearchIndex(true, 100, 600);
+
+    @Test
+    void ignoresAccentsAndRanksExactAndPrefixMatchesFirst() {
+        CatalogSearchIndex.TenantIndex catalog = CatalogSearchIndex.TenantIndex.of(List.of(
+                row(1L, "Bolo de Café", "Sobremesas"),
+                row(2L, "Café", "Bebidas quentes"),
+                row(3L, "Café com Leite", "Bebidas quentes"),
+                row(4L, "Água", "Bebidas")));
+
+        assertThat(catalog.search("cafe")).containsExactly(2L, 3L, 1L);
+        assertThat(catalog.search("  CAFÉ ")).containsExactly(2L, 3L, 1L);
+        assertThat(catalog.search("agua")).containsExactly(4L);
+        assertThat(catalog.search("")).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void toleratesTyposAndRanksCategoryOnlyMatchesBelowNameMatches() {
+        CatalogSearchIndex.TenantIndex catalog = CatalogSearchIndex.TenantIndex.of(List.of(
+                row(1L, "Frango grelhado", "Pratos"),
+                row(2L, "Sumo de laranja", "Sumos naturais"),
+                row(3L, "Sumol", "Refrigerantes")));
+
+        assertThat(catalog.search("frango grelado")).containsExactly(1L);
+        assertThat(catalog.search("sumo")).containsExactly(2L, 3L);
+        assertThat(catalog.search("naturais")).containsExactly(2L);
+        assertThat(catalog.search("xyz")).isEmpty();
+    }
+
+    @Test
+    void productChangesAreAppliedIncrementallyOnTheNextSearch() {
+        List<ProdutoSearchProjection> catalog = new ArrayList<>(List.of(row(1L, "Pizza", "Pratos")));
+        AtomicInteger fullLoads = new AtomicInteger();
+        List<Set<Long>> reloads = new ArrayList<>();
+
+        assertThat(search(1L, catalog, fullLoads, reloads, "pizza")).containsExactly(1L);
+
+        catalog.add(row(2L, "Pizza Margherita", "Pratos"));
+        catalog.set(0, row(1L, "Piza", "Pratos"));
+        index.produtoAlterado(TENANT_ID, 1L);
+        index.produtoAlterado(TENANT_ID, 2L);
+
+        assertThat(search(2L, catalog, fullLoads, reloads, "pizza")).containsExactly(2L, 1L);
+        assertThat(fullLoads).hasValue(1);
+        assertThat(reloads).containsExactly(Set.of(1L, 2L));
+    }
+
+    @Test
+    void versionChangeWithoutLocalChangesRebuildsTheIndex() {
+        List<ProdutoSearchProjection> catalog = new ArrayList<>(List.of(row(1L, "Pizza", "Pratos")));
+        AtomicInteger fullLoads = new AtomicInteger();
+        List<Set<Long>> reloads = new ArrayList<>();
+
+        search(1L, catalog, fullLoads, reloads, "pizza");
+        search(1L, catalog, fullLoads, reloads, "pizza");
+        catalog.clear();
+        assertThat(search(2L, catalog, fullLoads, reloads, "pizza")).isEmpty();
+
+        assertThat(fullLoads).hasValue(2);
+        assertThat(reloads).isEmpty();
+    }
+
+    @Test
+    void categoryInvalidationDropsTheTenantIndex() {
+        List<ProdutoSearchProjection> catalog = List.of(row(1L, "Pizza", "Pratos"));
+        AtomicInteger fullLoads = new AtomicInteger();
+
+        search(1L, catalog, fullLoads, new ArrayList<>(), "pizza");
+        index.invalidateTenant(TENANT_ID);
+        search(1L, catalog, fullLoads, new ArrayList<>(), "pizza");
+
+        assertThat(fullLoads).hasValue(2);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private List<Long> search(long version, List<ProdutoSearchProjection> catalog, AtomicInteger fullLoads,
+                              List<Set<Long>> reloads, String termo) {
+        return index.index(TENANT_ID, version,
+                () -> {
+                    fullLoads.incrementAndGet();
+                    return List.copyOf(catalog);
+                },
+                ids -> {
+                    reloads.add(ids);
+                    return catalog.stream().filter(r -> ids.contains(r.getId())).toList();
+                }).search(termo);
+    }
+
+    private static ProdutoSearchProjection row(Long id, String nome, String categoria) {
+        return new ProdutoSearchProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getNome() {
+                return nome;
+            }
+
+            @Override
+            public String getCategoriaNome() {
+                return categoria;
+            }
+        };
+    }
+}
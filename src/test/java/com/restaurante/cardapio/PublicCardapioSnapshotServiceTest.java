@@ -0,0 +1,149 @@
+package com.restaurante.cardapio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurante.dto.response.QrPublicContext;
+import com.restaurante.model.entity.CategoriaProduto;
+import com.restaurante.model.entity.Produto;
+import com.restaurante.model.entity.ProdutoImagem;
+import com.restaurante.model.entity.Tenant;
+import com.restaurante.repository.CategoriaProdutoRepository;
+import com.restaurante.repository.ProdutoImagemRepository;
+import com.restaurante.repository.ProdutoRepository;
+import com.restaurante.repository.TenantCardapioConfigRepository;
+import com.restaurante.repository.TenantRepository;
+import com.restaurante.repository.TenantSyncVersionRepository;
+import com.restaurante.service.TenantCardapioConfigService;
+import com.restaurante.service.cardapio.PublicCardapioCache;
+import com.restaurante.service.cardapio.PublicCardapioSnapshot;
+import com.restaurante.service.cardapio.PublicCardapioSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PublicCardapioSnapshotServiceTest {
+
+    private static final Long TENANT_ID = 7L;
+
+    private final TenantRepository tenantRepository = mock(TenantRepository.class);
+    private final TenantCardapioConfigRepository configRepository = mock(TenantCardapioConfigRepository.class);
+    private final TenantCardapioConfigService configService = mock(TenantCardapioConfigService.class);
+    private final CategoriaProdutoRepository categoriaRepository = mock(CategoriaProdutoRepository.class);
+    private final ProdutoRepository produtoRepository = mock(ProdutoRepository.class);
+    private final ProdutoImagemRepository imagemRepository = mock(ProdutoImagemRepository.class);
+    private final TenantSyncVersionRepository versionRepository = mock(TenantSyncVersionRepository.class);
+    private final PublicCardapioCache cache = new PublicCardapioCache(true, 100);
+    private final PublicCardapioSnapshotService service = new PublicCardapioSnapshotService(
+            tenantRepository, configRepository, configService, categoriaRepository, produtoRepository,
+            imagemRepository, versionRepository, cache, new ObjectMapper());
+
+    private Tenant tenant;
+    private List<Produto> produtos;
+
+    @BeforeEach
+    void setUp() {
+        tenant = new Tenant();
+        tenant.setId(TENANT_ID);
+        tenant.setTelefone("923000000");
+        CategoriaProduto bebidas = new CategoriaProduto();
+        bebidas.setId(1L);
+        bebidas.setNome("Bebidas");
+        produtos = IntStream.rangeClosed(1, 20).mapToObj(i -> produto(100L + i, "Produto " + i, bebidas)).toList();
+
+        when(tenantRepository.findById(TENANT_ID)).thenReturn(Optional.of(tenant));
+        when(configRepository.findByTenantId(TENANT_ID)).thenReturn(Optional.empty());
+        when(configService.isPublicado(TENANT_ID)).thenReturn(true);
+        when(categoriaRepository.findByTenantIdAndAtivoTrueOrderByOrdemAsc(TENANT_ID)).thenReturn(List.of(bebidas));
+        when(produtoRepository.findByTenantIdAndDisponivelTrueAndAtivoTrue(TENANT_ID)).thenReturn(produtos);
+        when(imagemRepository.findByTenantIdAndProdutoIdInOrderByProdutoIdAscOrdemAsc(eq(TENANT_ID), any()))
+                .thenReturn(IntStream.rangeClosed(1, 6).mapToObj(i -> imagem(i, produtos.get(0))).toList());
+        when(versionRepository.findVersion(eq(TENANT_ID), anyString(), anyLong())).thenReturn(3L);
+    }
+
+    @Test
+    void buildsWithOneImageQueryForAllProducts() {
+        PublicCardapioSnapshot snapshot = service.snapshot(TENANT_ID);
+
+        assertThat(snapshot.categorias()).hasSize(1);
+        assertThat(snapshot.categorias().get(0).getProdutos()).hasSize(20);
+        assertThat(snapshot.categorias().get(0).getProdutos().get(0).getImagens()).hasSize(4);
+        verify(imagemRepository, times(1)).findByTenantIdAndProdutoIdInOrderByProdutoIdAscOrdemAsc(eq(TENANT_ID), any());
+        verify(imagemRepository, never()).findByProdutoIdOrderByOrdemAsc(any());
+    }
+
+    @Test
+    void servesFromCacheWhileCatalogVersionIsUnchanged() {
+        PublicCardapioSnapshot first = service.snapshot(TENANT_ID);
+        PublicCardapioSnapshot second = service.snapshot(TENANT_ID);
+
+        assertThat(second).isSameAs(first);
+        verify(produtoRepository, times(1)).findByTenantIdAndDisponivelTrueAndAtivoTrue(TENANT_ID);
+    }
+
+    @Test
+    void rebuildsWhenCatalogVersionChangesOrTenantIsInvalidated() {
+        PublicCardapioSnapshot first = service.snapshot(TENANT_ID);
+
+        when(versionRepository.findVersion(eq(TENANT_ID), anyString(), anyLong())).thenReturn(4L);
+        PublicCardapioSnapshot afterBump = service.snapshot(TENANT_ID);
+        cache.invalidateTenant(TENANT_ID);
+        PublicCardapioSnapshot afterLocalWrite = service.snapshot(TENANT_ID);
+
+        assertThat(afterBump).isNotSameAs(first);
+        assertThat(afterBump.catalogVersion()).isEqualTo(4L);
+        assertThat(afterLocalWrite).isNotSameAs(afterBump);
+        verify(produtoRepository, times(3)).findByTenantIdAndDisponivelTrueAndAtivoTrue(TENANT_ID);
+    }
+
+    @Test
+    void etagIsStableForSameContentAndDiffersPerQrContext() {
+        PublicCardapioSnapshot snapshot = service.snapshot(TENANT_ID);
+        cache.invalidateTenant(TENANT_ID);
+        PublicCardapioSnapshot rebuilt = service.snapshot(TENANT_ID);
+
+        QrPublicContext mesa1 = ctx(1);
+        QrPublicContext mesa2 = ctx(2);
+
+        assertThat(service.etagFor(snapshot, mesa1)).isEqualTo(service.etagFor(rebuilt, ctx(1)));
+        assertThat(service.etagFor(snapshot, mesa1)).isNotEqualTo(service.etagFor(snapshot, mesa2));
+        assertThat(service.etagFor(snapshot, mesa1)).startsWith("\"").endsWith("\"");
+    }
+
+    private static Produto produto(Long id, String nome, CategoriaProduto categoria) {
+        Produto p = new Produto();
+        p.setId(id);
+        p.setNome(nome);
+        p.setCategoriaProduto(categoria);
+        p.setDisponivel(true);
+        return p;
+    }
+
+    private static ProdutoImagem imagem(int ordem, Produto produto) {
+        ProdutoImagem img = new ProdutoImagem();
+        img.setId((long) ordem);
+        img.setProduto(produto);
+        img.setOrdem(ordem);
+        img.setUrl("https://cdn/img-" + ordem + ".jpg");
+        return img;
+    }
+
+    private static QrPublicContext ctx(int mesaNumero) {
+        QrPublicContext ctx = new QrPublicContext();
+        ctx.setTenantId(TENANT_ID);
+        ctx.setMesaNumero(mesaNumero);
+        return ctx;
+    }
+}
@@ -0,0 +1,81 @@
+package com.restaurante.consumo.identificacao.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryOtpThrottleStoreTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-01T10:00:00Z"));
+    private final InMemoryOtpThrottleStore store = new InMemoryOtpThrottleStore(1_000, clock);
+    private final Duration hour = Duration.ofHours(1);
+
+    @Test
+    void slidingCountDecaysAcrossWindowBoundary() {
+        for (int i = 0; i < 4; i++) store.increment("phone:1:923", hour);
+        assertThat(store.recentCount("phone:1:923", hour)).isEqualTo(4);
+
+        clock.advance(Duration.ofMinutes(90));
+        // metade da janela anterior ainda sobrepõe a janela deslizante
+        assertThat(store.recentCount("phone:1:923", hour)).isEqualTo(2);
+
+        clock.advance(Duration.ofHours(2));
+        assertThat(store.recentCount("phone:1:923", hour)).isZero();
+    }
+
+    @Test
+    void resendBlockHoldsUntilInstantAndCanBeReleased() {
+        store.blockResend("1:923:IDENTIFICAR_SESSAO:null", "OTP_RESEND_TOO_SOON", clock.instant().plusSeconds(60));
+        assertThat(store.resendBlock("1:923:IDENTIFICAR_SESSAO:null")).contains("OTP_RESEND_TOO_SOON");
+
+        store.releaseResend("1:923:IDENTIFICAR_SESSAO:null");
+        assertThat(store.resendBlock("1:923:IDENTIFICAR_SESSAO:null")).isEmpty();
+
+        store.blockResend("k", "OTP_RESEND_TOO_SOON", clock.instant().plusSeconds(60));
+        clock.advance(Duration.ofSeconds(61));
+        assertThat(store.resendBlock("k")).isEmpty();
+    }
+
+    @Test
+    void purgeDropsStaleCounters() {
+        store.increment("ip:1:10.0.0.1", hour);
+        clock.advance(Duration.ofHours(3));
+
+        store.purgeExpired();
+
+        assertThat(store.trackedCounters()).isZero();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
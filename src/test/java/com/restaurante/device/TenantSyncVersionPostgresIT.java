@@ -0,0 +1,116 @@
+package com.restaurante.device;
+
+import com.restaurante.model.entity.TenantSyncVersion;
+import com.restaurante.repository.TenantSyncVersionRepository;
+import com.restaurante.testsupport.PostgresTestcontainersConfig;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * V20260812_01: os triggers de linha só acumulam chaves no GUC local consuma.sync_bumps; o incremento
+ * acontece uma única vez por chave, no commit, pelo constraint trigger deferred.
+ */
+@SpringBootTest
+@ActiveProfiles("it-postgres")
+class TenantSyncVersionPostgresIT extends PostgresTestcontainersConfig {
+
+    @Autowired JdbcTemplate jdbc;
+    @Autowired TransactionTemplate tx;
+    @Autowired TenantSyncVersionRepository versions;
+
+    @Test
+    void variasLinhasNaMesmaTransacaoIncrementamUmaVezNoCommit() {
+        long tenantId = tenant();
+
+        tx.executeWithoutResult(status -> {
+            long categoria = category(tenantId, "a");
+            category(tenantId, "b");
+            jdbc.update("update categoria_produtos set ordem = 1 where id = ?", categoria);
+
+            assertThat(catalogVersion(tenantId)).isNull();
+            assertThat(jdbc.queryForObject("select current_setting('consuma.sync_bumps', true)", String.class)
+                    .split(","))
+                    .containsExactlyInAnyOrder(tenantId + ":CATALOGO:0", tenantId + ":CARDAPIO_PUBLICO:0");
+            assertThat(pendingFlushes()).isEqualTo(1);
+        });
+
+        assertThat(catalogVersion(tenantId)).isEqualTo(1L);
+        assertThat(versions.findVersion(tenantId, "CARDAPIO_PUBLICO", TenantSyncVersion.TENANT_SCOPE)).isEqualTo(1L);
+        assertThat(pendingFlushes()).isZero();
+
+        tx.executeWithoutResult(status -> category(tenantId, "c"));
+        assertThat(catalogVersion(tenantId)).isEqualTo(2L);
+    }
+
+    @Test
+    void rollbackNaoIncrementaNemDeixaFlushPendente() {
+        long tenantId = tenant();
+        tx.executeWithoutResult(status -> category(tenantId, "a"));
+
+        tx.executeWithoutResult(status -> {
+            category(tenantId, "b");
+            status.setRollbackOnly();
+        });
+
+        assertThat(catalogVersion(tenantId)).isEqualTo(1L);
+        assertThat(pendingFlushes()).isZero();
+    }
+
+    @Test
+    void chavesDeVariosEscoposSaoIncrementadasUmaVezCada() {
+        long tenantId = tenant();
+
+        tx.executeWithoutResult(status -> {
+            for (long scope : List.of(20L, 10L, 20L, 10L)) {
+                jdbc.queryForList("select enqueue_tenant_sync_bump(?, 'PRODUCAO_FILA', ?)", tenantId, scope);
+            }
+            jdbc.queryForList("select enqueue_tenant_sync_bump(?, 'MESAS', 0)", tenantId);
+        });
+
+        assertThat(versions.findVersion(tenantId, "PRODUCAO_FILA", 10L)).isEqualTo(1L);
+        assertThat(versions.findVersion(tenantId, "PRODUCAO_FILA", 20L)).isEqualTo(1L);
+        assertThat(versions.findVersion(tenantId, "MESAS", TenantSyncVersion.TENANT_SCOPE)).isEqualTo(1L);
+        assertThat(versions.findVersion(tenantId, "PRODUCAO_FILA", TenantSyncVersion.TENANT_SCOPE)).isNull();
+
+        tx.executeWithoutResult(status ->
+                jdbc.queryForList("select enqueue_tenant_sync_bump(?, 'PRODUCAO_FILA', 10)", tenantId));
+        assertThat(versions.findVersion(tenantId, "PRODUCAO_FILA", 10L)).isEqualTo(2L);
+        assertThat(versions.findVersion(tenantId, "PRODUCAO_FILA", 20L)).isEqualTo(1L);
+    }
+
+    private Long catalogVersion(long tenantId) {
+        return versions.findVersion(tenantId, "CATALOGO", TenantSyncVersion.TENANT_SCOPE);
+    }
+
+    private long pendingFlushes() {
+        return jdbc.queryForObject("select count(*) from tenant_sync_version_flush", Long.class);
+    }
+
+    private long tenant() {
+        String suffix = suffix();
+        return jdbc.queryForObject("insert into tenants "
+                        + "(version,created_at,nome,slug,tenant_code,tipo,estado,merchant_public_id,discovery_published) "
+                        + "values (0,current_timestamp,?,?,?,'RESTAURANTE','ATIVO',?,false) returning id",
+                Long.class, "Sync " + suffix, "sync-" + suffix,
+                "S" + suffix.substring(0, 8).toUpperCase(), UUID.randomUUID());
+    }
+
+    private long category(long tenantId, String label) {
+        return jdbc.queryForObject("insert into categoria_produtos "
+                        + "(version,created_at,tenant_id,nome,slug,ordem,ativo,public_id) "
+                        + "values (0,current_timestamp,?,?,?,0,true,?) returning id",
+                Long.class, tenantId, "Categoria " + label, label + "-" + suffix(), UUID.randomUUID());
+    }
+
+    private static String suffix() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    }
+}
@@ -0,0 +1,127 @@
+package com.restaurante.financeiro.polling;
+
+import com.restaurante.config.PaymentPollingProperties;
+import com.restaurante.financeiro.enums.PagamentoPollingStatus;
+import com.restaurante.financeiro.repository.PagamentoGatewayRepository;
+import com.restaurante.model.entity.Pagamento;
+import com.restaurante.service.metrics.PaymentPollingMetricsService;
+import com.restaurante.service.operacional.OperationalEventLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PagamentoGatewayPollingServiceTest {
+
+    private final PaymentPollingProperties props = new PaymentPollingProperties();
+    private final PagamentoGatewayRepository repository = mock(PagamentoGatewayRepository.class);
+    private final PaymentGatewayStatusPort statusPort = mock(PaymentGatewayStatusPort.class);
+    private final PaymentPollingMetricsService metrics = mock(PaymentPollingMetricsService.class);
+    private PagamentoGatewayPollingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private PagamentoGatewayPollingService newService() {
+        ObjectProvider<PaymentPollingMetricsService> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(metrics);
+        when(metrics.timePolling(any())).thenAnswer(inv -> ((Supplier<?>) inv.getArgument(0)).get());
+        service = new PagamentoGatewayPollingService(props, repository, statusPort,
+                mock(PagamentoConfirmacaoService.class), mock(OperationalEventLogService.class), provider);
+        return service;
+    }
+
+    @Test
+    void pollBatchRunsGatewayCallsConcurrentlyUpToTheCap() {
+        props.setMaxConcurrency(4);
+        props.setBatchSize(16);
+        List<Long> ids = LongStream.rangeClosed(1, 16).boxed().toList();
+        Map<Long, Pagamento> pagamentos = new ConcurrentHashMap<>();
+        for (Long id : ids) {
+            Pagamento p = new Pagamento();
+            p.setId(id);
+            p.setGatewayChargeId("charge-" + id);
+            p.setExternalReference("ref-" + id);
+            pagamentos.put(id, p);
+        }
+        when(repository.findEligibleIdsForPolling(any(), any(), any(), anyInt(), anyInt())).thenReturn(ids);
+        when(repository.findForUpdateById(anyLong())).thenAnswer(inv -> Optional.ofNullable(pagamentos.get(inv.<Long>getArgument(0))));
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(statusPort.consultarStatus(anyString(), anyString())).thenAnswer(inv -> {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+            return GatewayPaymentStatusResponse.builder().status(GatewayPaymentStatus.PENDING).build();
+        });
+
+        long start = System.nanoTime();
+        int polled = newService().pollBatch();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(polled).isEqualTo(16);
+        assertThat(maxInFlight.get()).isBetween(2, 4);
+        // 16 × 50 ms em série seriam ≥ 800 ms; com 4 em paralelo ~200 ms.
+        assertThat(elapsedMs).isLessThan(700);
+        assertThat(pagamentos.values()).allSatisfy(p -> {
+            assertThat(p.getPollingStatus()).isEqualTo(PagamentoPollingStatus.ELIGIBLE);
+            assertThat(p.getNextPollingAttemptAt()).isNotNull();
+        });
+        verify(metrics).recordBatch(org.mockito.ArgumentMatchers.eq(16), anyLong());
+    }
+
+    @Test
+    void backoffGrowsFromInitialSecondsAndIsCapped() {
+        assertThat(PagamentoGatewayPollingService.backoffSeconds(1, 10, 2, 30)).isEqualTo(10);
+        assertThat(PagamentoGatewayPollingService.backoffSeconds(2, 10, 2, 30)).isEqualTo(20);
+        assertThat(PagamentoGatewayPollingService.backoffSeconds(4, 10, 2, 30)).isEqualTo(80);
+        assertThat(PagamentoGatewayPollingService.backoffSeconds(20, 10, 2, 30)).isEqualTo(1800);
+    }
+
+    @Test
+    void nextDueAtIsTheEarliestOfScheduledAndNewPayments() {
+        props.setInitialDelayMinutes(2);
+        LocalDateTime scheduled = LocalDateTime.now().plusMinutes(5);
+        LocalDateTime createdAt = LocalDateTime.now();
+        when(repository.findPollingDueBounds(anyInt(), any())).thenReturn(List.<Object[]>of(new Object[]{scheduled, createdAt}));
+
+        assertThat(newService().nextDueAt()).isEqualTo(createdAt.plusMinutes(2));
+    }
+
+    @Test
+    void jobSchedulesNextRoundAtDueTimeWithinBounds() {
+        props.setMinIntervalMs(1_000);
+        props.setFixedDelayMs(60_000);
+        PagamentoGatewayPollingJob job = new PagamentoGatewayPollingJob(props, mock(PagamentoGatewayPollingService.class));
+        Instant last = Instant.parse("2026-10-16T10:00:00Z");
+
+        assertThat(job.nextExecution(last, last.plusSeconds(7), false)).isEqualTo(last.plusSeconds(7));
+        assertThat(job.nextExecution(last, last.minusSeconds(5), false)).isEqualTo(last.plusSeconds(1));
+        assertThat(job.nextExecution(last, last.plusSeconds(600), false)).isEqualTo(last.plusSeconds(60));
+        assertThat(job.nextExecution(last, null, false)).isEqualTo(last.plusSeconds(60));
+        assertThat(job.nextExecution(last, null, true)).isEqualTo(last.plusSeconds(1));
+    }
+}
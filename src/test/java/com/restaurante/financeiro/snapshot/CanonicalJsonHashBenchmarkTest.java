@@ -0,0 +1,84 @@
+package com.restaurante.financeiro.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark manual: hash canônico de um snapshot de turno grande, implementação anterior vs escrita numa passagem.
+ *
+ * Como rodar (manual):
+ * - mvn -q -Dtest=CanonicalJsonHashBenchmarkTest -DexcludedGroups= test
+ * - -Dconsuma.bench.pedidos=20000 para ajustar o tamanho do snapshot.
+ */
+@Tag("manual")
+class CanonicalJsonHashBenchmarkTest {
+
+    private static final int PEDIDOS = Integer.getInteger("consuma.bench.pedidos", 5000);
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CanonicalJsonHashService service = new CanonicalJsonHashService(objectMapper);
+    private final LegacyCanonicalJsonHash legacy = new LegacyCanonicalJsonHash(objectMapper);
+
+    @Test
+    void comparesLegacyAndStreamingOnALargeTurnoSnapshot() throws Exception {
+        ObjectNode snapshot = turnoSnapshot(PEDIDOS);
+        List<String> excluded = List.of("integridade");
+        assertThat(service.hashHexCanonical("SHA-256", snapshot, excluded)).isEqualTo(legacy.hashHex("SHA-256", snapshot, excluded));
+
+        for (int i = 0; i < WARMUP; i++) {
+            legacy.hashHex("SHA-256", snapshot, excluded);
+            service.hashHexCanonical("SHA-256", snapshot, excluded);
+        }
+
+        long legacyNanos = 0;
+        long streamingNanos = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long t0 = System.nanoTime();
+            legacy.hashHex("SHA-256", snapshot, excluded);
+            long t1 = System.nanoTime();
+            service.hashHexCanonical("SHA-256", snapshot, excluded);
+            long t2 = System.nanoTime();
+            legacyNanos += t1 - t0;
+            streamingNanos += t2 - t1;
+        }
+
+        System.out.printf("canonical hash (%d pedidos): legacy=%.2f ms/op, streaming=%.2f ms/op%n",
+                PEDIDOS, legacyNanos / 1e6 / ITERATIONS, streamingNanos / 1e6 / ITERATIONS);
+    }
+
+    private ObjectNode turnoSnapshot(int pedidos) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("turnoId", 1L);
+        root.put("tenantId", 1L);
+        root.put("abertoEm", "2026-05-25T18:00:00");
+        root.put("fechadoEm", "2026-05-26T04:00:00");
+        ArrayNode lista = root.putArray("pedidos");
+        for (int i = 0; i < pedidos; i++) {
+            ObjectNode p = lista.addObject();
+            p.put("numero", "P-" + i);
+            p.put("total", new BigDecimal(i % 997 + ".50"));
+            p.put("status", "FINALIZADO");
+            p.put("mesa", "M" + (i % 40));
+            ArrayNode itens = p.putArray("itens");
+            for (int j = 0; j < 3; j++) {
+                ObjectNode it = itens.addObject();
+                it.put("produtoId", (long) (i * 3 + j));
+                it.put("quantidade", j + 1);
+                it.put("precoUnitario", new BigDecimal("1500.00"));
+            }
+        }
+        root.putObject("totais").put("total", new BigDecimal("123456789.25"));
+        root.putObject("integridade").put("snapshotHash", "x");
+        return root;
+    }
+}
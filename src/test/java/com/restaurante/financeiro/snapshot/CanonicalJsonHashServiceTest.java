@@ -0,0 +1,93 @@
+package com.restaurante.financeiro.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CanonicalJsonHashServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final CanonicalJsonHashService service = new CanonicalJsonHashService(objectMapper);
+    private final LegacyCanonicalJsonHash legacy = new LegacyCanonicalJsonHash(objectMapper);
+
+    @Test
+    void producesTheSameBytesAndHashAsThePreviousImplementation() throws Exception {
+        ObjectNode root = sample();
+        List<String> excluded = List.of("integridade");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeCanonical(out, root, excluded);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(legacy.canonicalJson(root, excluded));
+        assertThat(service.hashHexCanonical("SHA-256", root, excluded)).isEqualTo(legacy.hashHex("SHA-256", root, excluded));
+        assertThat(service.hashHexCanonical("SHA-512", root, List.of())).isEqualTo(legacy.hashHex("SHA-512", root, List.of()));
+        assertThat(root.has("integridade")).isTrue();
+    }
+
+    @Test
+    void normalizesFloatingPointLikeTheOldRoundTrip() throws Exception {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("a", new BigDecimal("12.50"));
+        root.put("b", new BigDecimal("1E+3"));
+        root.put("c", new BigDecimal("100"));
+        root.put("d", 0.1f);
+        root.put("e", Double.NaN);
+        root.put("f", new BigInteger("123456789012345678901234567890"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeCanonical(out, root, null);
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo(legacy.canonicalJson(root, null))
+                .isEqualTo("{\"a\":12.5,\"b\":1000.0,\"c\":100,\"d\":0.1,\"e\":\"NaN\",\"f\":123456789012345678901234567890}");
+    }
+
+    @Test
+    void pojoAndTreeHashTheSame() throws Exception {
+        Map<String, Object> pojo = new LinkedHashMap<>();
+        pojo.put("z", List.of(3, 2, 1));
+        pojo.put("valor", new BigDecimal("5000.00"));
+        pojo.put("em", LocalDateTime.of(2026, 5, 25, 10, 0));
+        pojo.put("integridade", Map.of("hash", "x"));
+
+        assertThat(service.hashHexCanonicalValue("SHA-256", pojo, List.of("integridade")))
+                .isEqualTo(legacy.hashHex("SHA-256", objectMapper.valueToTree(pojo), List.of("integridade")));
+    }
+
+    private ObjectNode sample() {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("turnoId", 42L);
+        root.put("fechadoEm", "2026-05-25T23:59:00");
+        root.put("descrição", "Caixa — turno noite \"VIP\"\n");
+        root.putNull("observacao");
+        root.put("ativo", true);
+        root.putArray("vazio");
+        ObjectNode totais = root.putObject("totais");
+        totais.put("total", new BigDecimal("152300.50"));
+        totais.put("taxa", 0.14);
+        totais.put("itens", 1200);
+        ArrayNode pagamentos = root.putArray("pagamentos");
+        for (int i = 0; i < 5; i++) {
+            ObjectNode p = pagamentos.addObject();
+            p.put("valor", new BigDecimal(i + ".10"));
+            p.put("metodo", i % 2 == 0 ? "TPA" : "DINHEIRO");
+            p.put("id", (long) i);
+            p.putArray("tags").add("b").add("a");
+        }
+        root.putObject("integridade").put("snapshotHash", "abc");
+        return root;
+    }
+}
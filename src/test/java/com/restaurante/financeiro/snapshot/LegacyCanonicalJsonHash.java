@@ -0,0 +1,59 @@
+package com.restaurante.financeiro.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Implementação anterior de CanonicalJsonHashService (cópia + árvore ordenada + String),
+ * mantida como referência de bytes para os testes de paridade e o benchmark.
+ */
+final class LegacyCanonicalJsonHash {
+
+    private final ObjectMapper objectMapper;
+
+    LegacyCanonicalJsonHash(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    String canonicalJson(JsonNode node, List<String> excludedTopLevelKeys) throws Exception {
+        JsonNode copy = node == null ? null : objectMapper.readTree(objectMapper.writeValueAsBytes(node));
+        if (copy instanceof ObjectNode on && excludedTopLevelKeys != null) {
+            for (String k : excludedTopLevelKeys) on.remove(k);
+        }
+        ObjectMapper canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        return canonicalMapper.writeValueAsString(canonicalize(copy));
+    }
+
+    String hashHex(String algorithm, JsonNode node, List<String> excludedTopLevelKeys) throws Exception {
+        byte[] bytes = canonicalJson(node, excludedTopLevelKeys).getBytes(StandardCharsets.UTF_8);
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(bytes));
+    }
+
+    private JsonNode canonicalize(JsonNode node) {
+        if (node == null) return null;
+        if (node.isObject()) {
+            ObjectNode out = objectMapper.createObjectNode();
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+            for (String name : names) out.set(name, canonicalize(node.get(name)));
+            return out;
+        }
+        if (node.isArray()) {
+            ArrayNode out = objectMapper.createArrayNode();
+            for (JsonNode el : node) out.add(canonicalize(el));
+            return out;
+        }
+        return node;
+    }
+}
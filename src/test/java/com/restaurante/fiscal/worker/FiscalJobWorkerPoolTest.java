@@ -0,0 +1,178 @@
+package com.restaurante.fiscal.worker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiscalJobWorkerPoolTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private FiscalJobWorkerPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) pool.stop(2_000L);
+    }
+
+    @Test
+    void drainsQueueConcurrentlyWithoutWaitingForTicks() throws Exception {
+        FakeQueue queue = new FakeQueue(30);
+        for (long tenant = 1; tenant <= 4; tenant++) queue.add(tenant, 10);
+        pool = new FiscalJobWorkerPool("test", queue, 4, 60_000L, registry, Clock.systemDefaultZone());
+
+        pool.start();
+
+        assertThat(queue.drained.await(5, TimeUnit.SECONDS)).isTrue();
+        pool.stop(2_000L);
+        assertThat(queue.maxInFlight.get()).isBetween(2, 4);
+        assertThat(registry.get("consuma.fiscal.queue.processed").tag("queue", "test").counter().count()).isEqualTo(40.0);
+    }
+
+    @Test
+    void busyTenantDoesNotStarveOthers() {
+        FakeQueue queue = new FakeQueue(0);
+        queue.add(1L, 50);
+        queue.add(2L, 1);
+        queue.add(3L, 1);
+        pool = new FiscalJobWorkerPool("test", queue, 1, 60_000L, registry, Clock.systemDefaultZone());
+
+        Thread self = Thread.currentThread();
+        Long last = null;
+        List<Long> served = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            last = pool.runOne(self, last);
+            served.add(last);
+        }
+
+        // o tenant 1 está à frente da fila, mas não é servido duas vezes seguidas enquanto há outros
+        assertThat(served).containsExactly(1L, 2L, 1L, 3L);
+    }
+
+    @Test
+    void fallsBackToAvoidedTenantWhenItIsTheOnlyOneWithWork() {
+        FakeQueue queue = new FakeQueue(0);
+        queue.add(1L, 3);
+        pool = new FiscalJobWorkerPool("test", queue, 1, 60_000L, registry, Clock.systemDefaultZone());
+
+        Thread self = Thread.currentThread();
+        assertThat(pool.runOne(self, 1L)).isEqualTo(1L);
+        assertThat(pool.runOne(self, 1L)).isEqualTo(1L);
+        assertThat(queue.remaining()).isEqualTo(1);
+    }
+
+    @Test
+    void interruptedWorkerExitsAloneAndThePoolKeepsDraining() throws Exception {
+        FakeQueue queue = new FakeQueue(0);
+        pool = new FiscalJobWorkerPool("interrupt", queue, 2, 60_000L, registry, Clock.systemDefaultZone());
+        pool.start();
+        Thread first = worker("interrupt-worker-0");
+        Thread second = worker("interrupt-worker-1");
+
+        first.interrupt();
+        first.join(2_000L);
+
+        assertThat(first.isAlive()).isFalse();
+        assertThat(second.isAlive()).isTrue();
+        assertThat(pool.isRunning()).isTrue();
+
+        queue.add(1L, 3);
+        pool.wakeUp();
+        assertThat(queue.drained.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void queueStatsAreReadFromAggregateRow() {
+        LocalDateTime oldest = LocalDateTime.of(2026, 10, 16, 8, 0);
+
+        var stats = FiscalJobWorkerPool.QueueStats.of(List.<Object[]>of(new Object[]{12L, oldest}));
+
+        assertThat(stats.depth()).isEqualTo(12L);
+        assertThat(stats.oldestDueAt()).isEqualTo(oldest);
+        assertThat(FiscalJobWorkerPool.QueueStats.of(List.of()).depth()).isZero();
+        assertThat(FiscalJobWorkerPool.notInParam(Set.of())).containsExactly(-1L);
+    }
+
+    private static Thread worker(String name) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            for (Thread t : Thread.getAllStackTraces().keySet()) {
+                if (t.getName().equals(name)) return t;
+            }
+            Thread.sleep(10L);
+        }
+        throw new AssertionError("worker não encontrado: " + name);
+    }
+
+    /**
+     * Fila em memória: por tenant, ordem de inserção (o primeiro tenant é o "mais antigo").
+     */
+    private static final class FakeQueue implements FiscalJobWorkerPool.Queue {
+
+        private final Map<Long, Integer> pending = new LinkedHashMap<>();
+        private final long workMillis;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private CountDownLatch drained = new CountDownLatch(0);
+
+        FakeQueue(long workMillis) {
+            this.workMillis = workMillis;
+        }
+
+        synchronized void add(long tenantId, int jobs) {
+            pending.merge(tenantId, jobs, Integer::sum);
+            drained = new CountDownLatch(remaining());
+        }
+
+        synchronized int remaining() {
+            return pending.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        @Override
+        public Long processNext(Set<Long> avoidTenantIds, LongConsumer onClaimed) {
+            Long tenant = claim(avoidTenantIds);
+            if (tenant == null) return null;
+            onClaimed.accept(tenant);
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                if (workMillis > 0) Thread.sleep(workMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                drained.countDown();
+            }
+            return tenant;
+        }
+
+        private synchronized Long claim(Set<Long> avoidTenantIds) {
+            Iterator<Map.Entry<Long, Integer>> it = pending.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Integer> e = it.next();
+                if (avoidTenantIds.contains(e.getKey())) continue;
+                if (e.getValue() <= 1) it.remove(); else e.setValue(e.getValue() - 1);
+                return e.getKey();
+            }
+            return null;
+        }
+
+        @Override
+        public synchronized FiscalJobWorkerPool.QueueStats stats() {
+            return new FiscalJobWorkerPool.QueueStats(remaining(), null);
+        }
+    }
+}
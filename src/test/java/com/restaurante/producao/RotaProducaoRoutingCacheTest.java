@@ -0,0 +1,74 @@
+package com.restaurante.producao;
+
+import com.restaurante.repository.projection.RotaProducaoRoutingProjection;
+import com.restaurante.service.producao.RotaProducaoRoutingCache;
+import com.restaurante.service.producao.RotaProducaoRoutingCache.RoutingTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RotaProducaoRoutingCacheTest {
+
+    private static final Long TENANT_ID = 7L;
+
+    private final RotaProducaoRoutingCache cache = new RotaProducaoRoutingCache(true, 100);
+
+    @Test
+    void routingTableKeepsHighestPriorityRoutePerInstitutionAndCategory() {
+        RoutingTable tabela = RoutingTable.of(TENANT_ID, 1L, List.of(
+                row(1L, 10L, 101L, 0),
+                row(1L, 10L, 102L, 5),
+                row(1L, 11L, 104L, 1),
+                row(1L, 11L, 103L, 1),
+                row(2L, 10L, 201L, 0)));
+
+        assertThat(tabela.rota(1L, 10L)).map(RotaProducaoRoutingCache.Route::unidadeProducaoId).contains(102L);
+        assertThat(tabela.rota(1L, 11L)).map(RotaProducaoRoutingCache.Route::unidadeProducaoId).contains(103L);
+        assertThat(tabela.rota(2L, 10L)).map(RotaProducaoRoutingCache.Route::unidadeProducaoId).contains(201L);
+        assertThat(tabela.rota(2L, 11L)).isEmpty();
+        assertThat(tabela.rota(null, 10L)).isEmpty();
+        assertThat(tabela.rota(1L, null)).isEmpty();
+    }
+
+    @Test
+    void cachedTableServesOnlyItsVersionAndInvalidationDiscardsInFlightLoads() {
+        long generation = cache.currentGeneration();
+        cache.put(RoutingTable.of(TENANT_ID, 3L, List.of(row(1L, 10L, 101L, 0))), generation);
+
+        assertThat(cache.get(TENANT_ID, 3L)).isPresent();
+        assertThat(cache.get(TENANT_ID, 4L)).isEmpty();
+        assertThat(cache.size()).isZero();
+
+        long staleGeneration = cache.currentGeneration();
+        cache.invalidateTenant(TENANT_ID);
+        cache.put(RoutingTable.of(TENANT_ID, 4L, List.of(row(1L, 10L, 101L, 0))), staleGeneration);
+
+        assertThat(cache.get(TENANT_ID, 4L)).isEmpty();
+    }
+
+    private static RotaProducaoRoutingProjection row(Long instituicaoId, Long categoriaId, Long unidadeId, Integer prioridade) {
+        return new RotaProducaoRoutingProjection() {
+            @Override
+            public Long getInstituicaoId() {
+                return instituicaoId;
+            }
+
+            @Override
+            public Long getCategoriaProdutoId() {
+                return categoriaId;
+            }
+
+            @Override
+            public Long getUnidadeProducaoId() {
+                return unidadeId;
+            }
+
+            @Override
+            public Integer getPrioridade() {
+                return prioridade;
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package com.restaurante.producao;
+
+import com.restaurante.exception.BusinessException;
+import com.restaurante.model.entity.Instituicao;
+import com.restaurante.model.entity.Tenant;
+import com.restaurante.model.entity.TenantSyncVersion;
+import com.restaurante.model.entity.UnidadeProducao;
+import com.restaurante.repository.CategoriaProdutoRepository;
+import com.restaurante.repository.RotaProducaoCategoriaRepository;
+import com.restaurante.repository.TenantSyncVersionRepository;
+import com.restaurante.repository.UnidadeProducaoRepository;
+import com.restaurante.repository.projection.RotaProducaoRoutingProjection;
+import com.restaurante.service.producao.RotaProducaoRoutingCache;
+import com.restaurante.service.producao.RotaProducaoService;
+import com.restaurante.service.producao.UnidadeProducaoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RotaProducaoServiceTest {
+
+    private static final Long TENANT_ID = 7L;
+    private static final Long INSTITUICAO_ID = 1L;
+
+    private final RotaProducaoCategoriaRepository rotaRepository = mock(RotaProducaoCategoriaRepository.class);
+    private final UnidadeProducaoRepository unidadeProducaoRepository = mock(UnidadeProducaoRepository.class);
+    private final UnidadeProducaoService unidadeProducaoService = mock(UnidadeProducaoService.class);
+    private final TenantSyncVersionRepository tenantSyncVersionRepository = mock(TenantSyncVersionRepository.class);
+    private final RotaProducaoService service = new RotaProducaoService(
+            rotaRepository, mock(CategoriaProdutoRepository.class), unidadeProducaoRepository,
+            unidadeProducaoService, tenantSyncVersionRepository, new RotaProducaoRoutingCache(true, 100));
+
+    private final UnidadeProducao geral = unidade(100L, INSTITUICAO_ID, true);
+
+    @BeforeEach
+    void versao() {
+        when(tenantSyncVersionRepository.findVersion(TENANT_ID, RotaProducaoService.SYNC_DOMAIN,
+                TenantSyncVersion.TENANT_SCOPE)).thenReturn(1L);
+        when(unidadeProducaoService.obterDefaultParaInstituicao(TENANT_ID, INSTITUICAO_ID)).thenReturn(geral);
+    }
+
+    @Test
+    void categoriasSemRotaUsamAUnidadeGeralDaInstituicao() {
+        when(rotaRepository.findRoutingTable(TENANT_ID)).thenReturn(List.of());
+
+        Map<Long, UnidadeProducao> out = service.resolverUnidadesProducaoParaCategorias(
+                TENANT_ID, INSTITUICAO_ID, List.of(10L, 11L));
+
+        assertThat(out).containsOnlyKeys(10L, 11L);
+        assertThat(out.values()).allSatisfy(up -> assertThat(up).isSameAs(geral));
+        verify(unidadeProducaoService, times(1)).obterDefaultParaInstituicao(TENANT_ID, INSTITUICAO_ID);
+        verify(unidadeProducaoRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void rotaParaUnidadeInactivaDeOutraInstituicaoOuInexistenteERejeitada() {
+        when(rotaRepository.findRoutingTable(TENANT_ID)).thenReturn(List.of(
+                row(INSTITUICAO_ID, 10L, 101L),
+                row(INSTITUICAO_ID, 11L, 102L),
+                row(INSTITUICAO_ID, 12L, 103L)));
+        when(unidadeProducaoRepository.findAllById(Set.of(101L)))
+                .thenReturn(List.of(unidade(101L, INSTITUICAO_ID, false)));
+        when(unidadeProducaoRepository.findAllById(Set.of(102L)))
+                .thenReturn(List.of(unidade(102L, 2L, true)));
+        when(unidadeProducaoRepository.findAllById(Set.of(103L))).thenReturn(List.of());
+
+        for (Long categoriaId : List.of(10L, 11L, 12L)) {
+            assertThatThrownBy(() -> service.resolverUnidadesProducaoParaCategorias(
+                    TENANT_ID, INSTITUICAO_ID, List.of(categoriaId)))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessage("Rota de produção inválida.");
+        }
+        verify(unidadeProducaoService, never()).obterDefaultParaInstituicao(any(), any());
+    }
+
+    @Test
+    void categoriasComESemRotaNoMesmoPedidoResolvemNumaSoPassagem() {
+        UnidadeProducao bar = unidade(101L, INSTITUICAO_ID, true);
+        when(rotaRepository.findRoutingTable(TENANT_ID)).thenReturn(List.of(row(INSTITUICAO_ID, 10L, 101L)));
+        when(unidadeProducaoRepository.findAllById(Set.of(101L))).thenReturn(List.of(bar));
+
+        Map<Long, UnidadeProducao> out = service.resolverUnidadesProducaoParaCategorias(
+                TENANT_ID, INSTITUICAO_ID, List.of(10L, 11L, 12L));
+
+        assertThat(out).containsEntry(10L, bar).containsEntry(11L, geral).containsEntry(12L, geral);
+        verify(unidadeProducaoRepository, times(1)).findAllById(any());
+        verify(unidadeProducaoService, times(1)).obterDefaultParaInstituicao(TENANT_ID, INSTITUICAO_ID);
+        verify(rotaRepository, times(1)).findRoutingTable(TENANT_ID);
+    }
+
+    private static UnidadeProducao unidade(Long id, Long instituicaoId, boolean ativo) {
+        Tenant tenant = new Tenant();
+        tenant.setId(TENANT_ID);
+        Instituicao instituicao = new Instituicao();
+        instituicao.setId(instituicaoId);
+        UnidadeProducao up = new UnidadeProducao();
+        up.setId(id);
+        up.setTenant(tenant);
+        up.setInstituicao(instituicao);
+        up.setAtivo(ativo);
+        return up;
+    }
+
+    private static RotaProducaoRoutingProjection row(Long instituicaoId, Long categoriaId, Long unidadeId) {
+        return new RotaProducaoRoutingProjection() {
+            @Override
+            public Long getInstituicaoId() {
+                return instituicaoId;
+            }
+
+            @Override
+            public Long getCategoriaProdutoId() {
+                return categoriaId;
+            }
+
+            @Override
+            public Long getUnidadeProducaoId() {
+                return unidadeId;
+            }
+
+            @Override
+            public Integer getPrioridade() {
+                return 0;
+            }
+        };
+    }
+}
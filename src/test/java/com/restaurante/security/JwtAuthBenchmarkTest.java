@@ -0,0 +1,84 @@
+package com.restaurante.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark manual da autenticação JWT por request:
+ * - legacy: N parses por request (validateToken, requiresPasswordChange, hasModernClaims, username,
+ *   TenantResolver e JwtAuthenticationFactory), cada um a reconstruir chave e parser;
+ * - parseVerified: um único parse verificado por request, sem cache;
+ * - cache: parseVerified com o cache de claims ligado (hit).
+ *
+ * Como rodar (manual):
+ * - mvn -q -Dtest=JwtAuthBenchmarkTest -DexcludedGroups= test
+ */
+@Tag("manual")
+class JwtAuthBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+    private static final int LEGACY_PARSES_PER_REQUEST = 6;
+    private static final String SECRET = "bench-secret-0123456789abcdef0123456789abcdef";
+
+    @Test
+    void comparesRepeatedParsingWithSingleVerificationAndClaimsCache() {
+        JwtTokenProvider uncached = provider(false);
+        JwtTokenProvider cached = provider(true);
+        String token = uncached.generateToken("bench@restaurante.ao", "ROLE_ADMIN", "Bench", 42L, "ACCESS");
+
+        assertThat(legacy(token)).isEqualTo("bench@restaurante.ao");
+        assertThat(uncached.parseVerified(token).orElseThrow().subject()).isEqualTo("bench@restaurante.ao");
+        assertThat(cached.parseVerified(token).orElseThrow().subject()).isEqualTo("bench@restaurante.ao");
+
+        double legacyNs = nanosPerOp(() -> legacy(token));
+        double verifiedNs = nanosPerOp(() -> uncached.parseVerified(token).orElseThrow().subject());
+        double cachedNs = nanosPerOp(() -> cached.parseVerified(token).orElseThrow().subject());
+        System.out.printf("%-28s %9.0f ns/request%n", "legacy (re-parse x" + LEGACY_PARSES_PER_REQUEST + ")", legacyNs);
+        System.out.printf("%-28s %9.0f ns/request%n", "parseVerified (sem cache)", verifiedNs);
+        System.out.printf("%-28s %9.0f ns/request%n", "parseVerified (cache hit)", cachedNs);
+    }
+
+    private static double nanosPerOp(Supplier<String> op) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) sink += op.get().length();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) sink += op.get().length();
+        long elapsed = System.nanoTime() - t0;
+        assertThat(sink).isPositive();
+        return (double) elapsed / ITERATIONS;
+    }
+
+    private static String legacy(String token) {
+        String subject = null;
+        for (int i = 0; i < LEGACY_PARSES_PER_REQUEST; i++) {
+            Claims claims = Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            subject = claims.getSubject();
+        }
+        return subject;
+    }
+
+    private static JwtTokenProvider provider(boolean cacheEnabled) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "claimsCacheEnabled", cacheEnabled);
+        ReflectionTestUtils.setField(provider, "claimsCacheTtlSeconds", 300);
+        ReflectionTestUtils.setField(provider, "claimsCacheMaxEntries", 100);
+        provider.init();
+        return provider;
+    }
+}
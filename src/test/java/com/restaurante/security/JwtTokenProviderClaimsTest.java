@@ -0,0 +1,88 @@
+package com.restaurante.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderClaimsTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Test
+    void parseVerifiedExposesClaimsUsedByTheFilter() {
+        JwtTokenProvider provider = provider(true);
+        String token = provider.generateToken("ana", "ROLE_USER", null, 7L, "GLOBAL");
+
+        VerifiedJwtClaims claims = provider.parseVerified(token).orElseThrow();
+
+        assertThat(claims.subject()).isEqualTo("ana");
+        assertThat(claims.userId()).isEqualTo(7L);
+        assertThat(claims.tokenType()).isEqualTo("GLOBAL");
+        assertThat(claims.hasModernClaims()).isTrue();
+        assertThat(claims.requiresPasswordChange()).isFalse();
+    }
+
+    @Test
+    void hotTokenReusesVerifiedClaims() {
+        JwtTokenProvider provider = provider(true);
+        String token = provider.generateToken("ana", "ROLE_USER", null, 7L, "GLOBAL");
+
+        assertThat(provider.verify(token)).isSameAs(provider.verify(token));
+    }
+
+    @Test
+    void disabledCacheStillVerifiesEveryCall() {
+        JwtTokenProvider provider = provider(false);
+        String token = provider.generateToken("ana", "ROLE_USER", null, 7L, "GLOBAL");
+
+        assertThat(provider.verify(token)).isNotSameAs(provider.verify(token));
+    }
+
+    @Test
+    void invalidSignatureIsRejected() {
+        JwtTokenProvider provider = provider(true);
+        String forged = Jwts.builder()
+                .subject("ana")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("outro-segredo-com-pelo-menos-32-bytes!!".getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThat(provider.parseVerified(forged)).isEmpty();
+        assertThat(provider.parseVerified("lixo")).isEmpty();
+    }
+
+    @Test
+    void cacheEntryNeverOutlivesTokenExpiration() {
+        Instant now = Instant.parse("2026-10-01T10:00:00Z");
+        VerifiedJwtClaimsCache cache = new VerifiedJwtClaimsCache(true, 300, 10, Clock.fixed(now, ZoneOffset.UTC));
+        VerifiedJwtClaims expired = new VerifiedJwtClaims(Jwts.claims()
+                .subject("ana")
+                .expiration(Date.from(now.minusSeconds(1)))
+                .build());
+
+        cache.put("d1", expired);
+
+        assertThat(cache.get("d1")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static JwtTokenProvider provider(boolean cacheEnabled) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "claimsCacheEnabled", cacheEnabled);
+        ReflectionTestUtils.setField(provider, "claimsCacheTtlSeconds", 300);
+        ReflectionTestUtils.setField(provider, "claimsCacheMaxEntries", 100);
+        provider.init();
+        return provider;
+    }
+}
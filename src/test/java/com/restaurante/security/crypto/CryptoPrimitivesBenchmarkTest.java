@@ -0,0 +1,97 @@
+package com.restaurante.security.crypto;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark manual: getInstance/init por chamada (implementação anterior) vs CryptoPrimitives,
+ * com o formato de entrada de cada call-site.
+ *
+ * Como rodar (manual):
+ * - mvn -q -Dtest=CryptoPrimitivesBenchmarkTest -DexcludedGroups= test
+ */
+@Tag("manual")
+class CryptoPrimitivesBenchmarkTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+    private static final String SECRET = "bench-secret-0123456789abcdef0123456789abcdef";
+
+    private record CallSite(String name, boolean hmac, String input) {}
+
+    private static final List<CallSite> CALL_SITES = List.of(
+            new CallSite("device.token", true, "dGhpcy1pcy1hLWRldmljZS10b2tlbi0zMi1ieXRlcy1sb25n"),
+            new CallSite("device.sync.cursor", true, "eyJ1cGRhdGVkQWZ0ZXIiOiIyMDI2LTA1LTI1VDEwOjAwOjAwIiwiaWQiOjQyfQ"),
+            new CallSite("device.sync.etag", false, "tenant=1|domain=produtos|version=42|count=350"),
+            new CallSite("txevidence.hash", false, "tenantId=1|seq=42|eventType=PAGAMENTO_CONFIRMADO|sourceModule=PAGAMENTO|sourceEntityType=Pagamento|sourceEntityId=9|occurredAt=2026-05-25T10:00:00Z|payloadHash=ab|previousHash=cd|keyVersion=1"),
+            new CallSite("txevidence.signature", true, "5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843"),
+            new CallSite("txevidence.merkle", false, "node|5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843|ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"),
+            new CallSite("billing.usage-event", false, "tenantId=1|metricCode=PEDIDOS|sourceEntityType=Pedido|sourceEntityId=9|idempotencyKey=k|occurredAt=2026-05-25T10:00|quantity=1|amount=1500.00|currency=AOA"),
+            new CallSite("financeiro.snapshot.signature", true, "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"),
+            new CallSite("appypay.callback", true, "{\"merchantTransactionId\":\"OP-123\",\"status\":\"Success\",\"amount\":1500.00,\"reference\":\"9912345\"}"),
+            new CallSite("public-qr.order.idempotency", false, "qr=abc|itens=1:2,5:1|obs=sem cebola"),
+            new CallSite("device.pedido.idempotency", false, "tenant=1|device=7|clientRequestId=c-1|mesa=3|itens=10:2:;11:1:sem gelo;"),
+            new CallSite("device.pagamento.idempotency", false, "tenant=1|device=7|pedidoId=9|metodo=APPYPAY_GPO|telefone=923000000|returnUrl="),
+            new CallSite("device.ordem-pagamento.idempotency", false, "1|7|42|c-1|CASH|1500.00|ref|obs"),
+            new CallSite("device.offline.payload", false, "{\"clientRequestId\":\"c-1\",\"itens\":[{\"produtoId\":10,\"quantidade\":2}]}"),
+            new CallSite("store.checkout.qr-token", false, "socio-1:ORD-20260525100000-042:10:2f1e0c4a-8d7b-4e52-9a63-0b1c2d3e4f50"),
+            new CallSite("tenant-pdv.pedido.idempotency", false, "1|5|2|3|CASH|c-1||10:2:;11:1:;"),
+            new CallSite("ordem-pagamento.idempotency", false, "1|5|42|c-1|CASH|ref|obs|1500")
+    );
+
+    @Test
+    void comparesPerCallInstancesWithPooledPrimitives() throws Exception {
+        for (CallSite cs : CALL_SITES) {
+            assertThat(pooled(cs)).isEqualTo(legacy(cs));
+        }
+        for (CallSite cs : CALL_SITES) {
+            double legacyNs = nanosPerOp(() -> legacyUnchecked(cs));
+            double pooledNs = nanosPerOp(() -> pooled(cs));
+            System.out.printf("%-36s legacy=%7.0f ns/op  pooled=%7.0f ns/op%n", cs.name(), legacyNs, pooledNs);
+        }
+    }
+
+    private static double nanosPerOp(Supplier<String> op) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) sink += op.get().length();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) sink += op.get().length();
+        long elapsed = System.nanoTime() - t0;
+        assertThat(sink).isPositive();
+        return (double) elapsed / ITERATIONS;
+    }
+
+    private static String pooled(CallSite cs) {
+        return cs.hmac()
+                ? CryptoPrimitives.hmacSha256Hex(cs.name(), SECRET, cs.input())
+                : CryptoPrimitives.sha256Hex(cs.name(), cs.input());
+    }
+
+    private static String legacyUnchecked(CallSite cs) {
+        try {
+            return legacy(cs);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String legacy(CallSite cs) throws Exception {
+        byte[] input = cs.input().getBytes(StandardCharsets.UTF_8);
+        if (cs.hmac()) {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(input));
+        }
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(input));
+    }
+}
@@ -0,0 +1,103 @@
+package com.restaurante.security.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CryptoPrimitivesTest {
+
+    @Test
+    void sha256MatchesKnownVector() {
+        assertThat(CryptoPrimitives.sha256Hex("test", "abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(CryptoPrimitives.sha256Base64Url("test", "abc"))
+                .isEqualTo(Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        HexFormat.of().parseHex("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad")));
+    }
+
+    @Test
+    void hmacMatchesRfc4231AndReusedMacsKeepTheirKeys() throws Exception {
+        String expected = "5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843";
+        for (int i = 0; i < 3; i++) {
+            assertThat(CryptoPrimitives.hmacSha256Hex("test", "Jefe", "what do ya want for nothing?")).isEqualTo(expected);
+            assertThat(CryptoPrimitives.hmacSha256Hex("test", "other-key", "what do ya want for nothing?"))
+                    .isEqualTo(jdkHmacHex("other-key", "what do ya want for nothing?"));
+        }
+        for (int k = 0; k < 40; k++) {
+            assertThat(CryptoPrimitives.hmacSha256Hex("test", "k" + k, "msg")).isEqualTo(jdkHmacHex("k" + k, "msg"));
+        }
+        assertThat(CryptoPrimitives.hmacSha256Hex("test", "Jefe", "what do ya want for nothing?")).isEqualTo(expected);
+    }
+
+    @Test
+    void rejectsMissingSecret() {
+        assertThatThrownBy(() -> CryptoPrimitives.hmacSha256Hex("test", "", "x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CryptoPrimitives.hmacSha256Hex("test", null, "x")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentCallersGetTheSameResults() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int seed = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        String msg = "m" + seed + "-" + i;
+                        String secret = "s" + (i % 3);
+                        if (!CryptoPrimitives.hmacSha256Hex("test.concurrent", secret, msg).equals(jdkHmacHex(secret, msg))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> f : futures) assertThat(f.get()).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(CryptoPrimitives.callSiteStats().get("test.concurrent").operations()).isEqualTo(8 * 500);
+    }
+
+    @Test
+    void virtualThreadCallersShareThePooledInstances() throws Exception {
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 2_000; t++) {
+                String msg = "v" + t;
+                futures.add(pool.submit(() -> CryptoPrimitives.hmacSha256Hex("test.virtual", "vs", msg).equals(jdkHmacHex("vs", msg))
+                        && CryptoPrimitives.sha256Hex("test.virtual", msg).equals(
+                                HexFormat.of().formatHex(java.security.MessageDigest.getInstance("SHA-256")
+                                        .digest(msg.getBytes(StandardCharsets.UTF_8))))));
+            }
+            for (Future<Boolean> f : futures) assertThat(f.get()).isTrue();
+        }
+    }
+
+    @Test
+    void hexAndConstantTimeEquals() {
+        assertThat(CryptoPrimitives.hex(new byte[]{0, 15, (byte) 0xAB, (byte) 0xFF})).isEqualTo("000fabff");
+        assertThat(CryptoPrimitives.constantTimeEquals("abc", "abc")).isTrue();
+        assertThat(CryptoPrimitives.constantTimeEquals("abc", "abd")).isFalse();
+        assertThat(CryptoPrimitives.constantTimeEquals(null, "abc")).isFalse();
+    }
+
+    private static String jdkHmacHex(String secret, String message) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(message.getBytes(StandardCharsets.UTF_8)));
+    }
+}
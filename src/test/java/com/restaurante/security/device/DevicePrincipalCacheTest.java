@@ -0,0 +1,109 @@
+package com.restaurante.security.device;
+
+import com.restaurante.model.enums.DeviceCapability;
+import com.restaurante.model.enums.DispositivoStatus;
+import com.restaurante.model.enums.DispositivoTipo;
+import com.restaurante.service.metrics.NoOpDeviceSyncMetricsService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DevicePrincipalCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-01T10:00:00Z"));
+
+    @Test
+    void hitUntilTtlExpires() {
+        DevicePrincipalCache cache = new DevicePrincipalCache(true, 30, 100, clock, new NoOpDeviceSyncMetricsService());
+        cache.put("h1", principal(1L, 10L), cache.currentGeneration());
+
+        assertThat(cache.get("h1")).isPresent();
+        clock.advance(Duration.ofSeconds(31));
+        assertThat(cache.get("h1")).isEmpty();
+    }
+
+    @Test
+    void invalidateDeviceAndTenantRemoveOnlyMatchingEntries() {
+        DevicePrincipalCache cache = new DevicePrincipalCache(true, 30, 100, clock, new NoOpDeviceSyncMetricsService());
+        cache.put("h1", principal(1L, 10L), cache.currentGeneration());
+        cache.put("h2", principal(2L, 10L), cache.currentGeneration());
+        cache.put("h3", principal(3L, 20L), cache.currentGeneration());
+
+        cache.invalidateDevice(1L);
+        assertThat(cache.get("h1")).isEmpty();
+        assertThat(cache.get("h2")).isPresent();
+
+        cache.invalidateTenant(10L);
+        assertThat(cache.get("h2")).isEmpty();
+        assertThat(cache.get("h3")).isPresent();
+    }
+
+    @Test
+    void putIsDiscardedWhenInvalidationHappenedDuringLoad() {
+        DevicePrincipalCache cache = new DevicePrincipalCache(true, 30, 100, clock, new NoOpDeviceSyncMetricsService());
+        long generation = cache.currentGeneration();
+
+        cache.invalidateDevice(1L);
+        cache.put("h1", principal(1L, 10L), generation);
+
+        assertThat(cache.get("h1")).isEmpty();
+    }
+
+    @Test
+    void staysBoundedByMaxEntries() {
+        DevicePrincipalCache cache = new DevicePrincipalCache(true, 30, 10, clock, new NoOpDeviceSyncMetricsService());
+        for (long i = 0; i < 50; i++) {
+            cache.put("h" + i, principal(i, 10L), cache.currentGeneration());
+            clock.advance(Duration.ofMillis(1));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.get("h49")).isPresent();
+    }
+
+    @Test
+    void disabledCacheNeverStores() {
+        DevicePrincipalCache cache = new DevicePrincipalCache(false, 30, 100, clock, new NoOpDeviceSyncMetricsService());
+        cache.put("h1", principal(1L, 10L), cache.currentGeneration());
+
+        assertThat(cache.get("h1")).isEmpty();
+    }
+
+    private static DevicePrincipal principal(Long deviceId, Long tenantId) {
+        return new DevicePrincipal(deviceId, "POS-" + deviceId, tenantId, "T" + tenantId, 1L, null, null,
+                DispositivoTipo.POS, DispositivoStatus.ATIVO, List.of(DeviceCapability.values()[0]), 1);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
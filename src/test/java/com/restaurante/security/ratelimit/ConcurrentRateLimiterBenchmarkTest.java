@@ -0,0 +1,118 @@
+package com.restaurante.security.ratelimit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark manual de contenção: limiter anterior do discovery (synchronized sobre LinkedHashMap com
+ * removeIf na virada do minuto) vs {@link ConcurrentRateLimiter}, com N threads e chaves por endereço.
+ *
+ * JMH não faz parte do build; o harness abaixo aquece, mede ops/s por configuração e imprime a tabela.
+ *
+ * Como rodar (manual):
+ * - mvn -q -Dtest=ConcurrentRateLimiterBenchmarkTest -DexcludedGroups= test
+ */
+@Tag("manual")
+class ConcurrentRateLimiterBenchmarkTest {
+
+    private static final int KEYS = 5_000;
+    private static final int OPS_PER_THREAD = 200_000;
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    @Test
+    void comparesSynchronizedLimiterWithConcurrentLimiterUnderContention() throws Exception {
+        for (int threads : THREADS) {
+            SynchronizedFixedWindow legacy = new SynchronizedFixedWindow(1_000_000, 10_000, Clock.systemUTC());
+            ConcurrentRateLimiter concurrent = new ConcurrentRateLimiter(
+                    RateLimitMode.FIXED_WINDOW, 1_000_000, Duration.ofMinutes(1), 10_000, Clock.systemUTC());
+
+            run(threads, legacy::acquire);
+            run(threads, k -> concurrent.acquire(k).allowed());
+            double legacyOps = run(threads, legacy::acquire);
+            double concurrentOps = run(threads, k -> concurrent.acquire(k).allowed());
+
+            System.out.printf("threads=%-3d synchronized=%,12.0f ops/s  concurrent=%,12.0f ops/s%n",
+                    threads, legacyOps, concurrentOps);
+        }
+    }
+
+    private static double run(int threads, Predicate<String> acquire) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong allowed = new AtomicLong();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int seed = t;
+                pool.submit(() -> {
+                    start.await();
+                    long local = 0;
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        if (acquire.test("search|10.0." + ((seed * 7919 + i) % KEYS))) local++;
+                    }
+                    allowed.addAndGet(local);
+                    return null;
+                });
+            }
+            long t0 = System.nanoTime();
+            start.countDown();
+            pool.shutdown();
+            assertThat(pool.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+            long elapsed = System.nanoTime() - t0;
+            assertThat(allowed.get()).isPositive();
+            return (double) threads * OPS_PER_THREAD / (elapsed / 1_000_000_000.0);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Implementação anterior de AndroidDiscoveryRateLimiter (referência do benchmark).
+     */
+    private static final class SynchronizedFixedWindow {
+        private final int limit;
+        private final int maxKeys;
+        private final Clock clock;
+        private final Map<String, long[]> windows = new LinkedHashMap<>(128, 0.75f, true);
+
+        private SynchronizedFixedWindow(int limit, int maxKeys, Clock clock) {
+            this.limit = limit;
+            this.maxKeys = maxKeys;
+            this.clock = clock;
+        }
+
+        synchronized boolean acquire(String key) {
+            long minute = Math.floorDiv(Instant.now(clock).getEpochSecond(), 60);
+            long[] current = windows.get(key);
+            if (current == null || current[0] != minute) {
+                windows.entrySet().removeIf(e -> e.getValue()[0] < minute);
+                current = new long[]{minute, 0};
+            }
+            if (current[1] >= limit) {
+                windows.put(key, current);
+                return false;
+            }
+            windows.put(key, new long[]{minute, current[1] + 1});
+            Iterator<String> keys = windows.keySet().iterator();
+            while (windows.size() > maxKeys && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+            return true;
+        }
+    }
+}
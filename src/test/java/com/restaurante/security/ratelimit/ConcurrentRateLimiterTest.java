@@ -0,0 +1,149 @@
+package com.restaurante.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentRateLimiterTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-01T10:00:10Z"));
+
+    @Test
+    void fixedWindowResetsAtWindowBoundary() {
+        ConcurrentRateLimiter limiter = new ConcurrentRateLimiter(RateLimitMode.FIXED_WINDOW, 2, Duration.ofMinutes(1), 100, clock);
+
+        assertThat(limiter.acquire("k").allowed()).isTrue();
+        assertThat(limiter.acquire("k").remaining()).isZero();
+        RateLimitDecision denied = limiter.acquire("k");
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.retryAfterSeconds()).isEqualTo(50);
+
+        clock.advance(Duration.ofSeconds(50));
+        assertThat(limiter.acquire("k").allowed()).isTrue();
+    }
+
+    @Test
+    void slidingWindowWeighsPreviousWindow() {
+        ConcurrentRateLimiter limiter = new ConcurrentRateLimiter(RateLimitMode.SLIDING_WINDOW, 10, Duration.ofMinutes(1), 100, clock);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.acquire("k").allowed()).isTrue();
+        }
+        assertThat(limiter.acquire("k").allowed()).isFalse();
+
+        // 10:01:10 -> 5/6 da janela anterior ainda conta (~8.3), restam ~1 pedido
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(limiter.acquire("k").allowed()).isTrue();
+        RateLimitDecision denied = limiter.acquire("k");
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.retryAfterSeconds()).isPositive();
+    }
+
+    @Test
+    void recordAndCountShareTheSlidingEstimateWithoutEnforcingTheLimit() {
+        ConcurrentRateLimiter limiter = new ConcurrentRateLimiter(RateLimitMode.SLIDING_WINDOW, 2, Duration.ofMinutes(1), 100, clock);
+        for (int i = 0; i < 6; i++) {
+            limiter.record("k");
+        }
+        assertThat(limiter.count("k")).isEqualTo(6);
+        assertThat(limiter.acquire("k").allowed()).isFalse();
+
+        // 10:01:10 -> 5/6 da janela anterior: ceil(6 * 5/6) = 5
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(limiter.count("k")).isEqualTo(5);
+        assertThat(limiter.count("outra")).isZero();
+    }
+
+    @Test
+    void tokenBucketRefillsContinuously() {
+        ConcurrentRateLimiter limiter = new ConcurrentRateLimiter(RateLimitMode.TOKEN_BUCKET, 60, Duration.ofMinutes(1), 100, clock);
+        for (int i = 0; i < 60; i++) {
+            assertThat(limiter.acquire("k").allowed()).isTrue();
+        }
+        RateLimitDecision denied = limiter.acquire("k");
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.retryAfterSeconds()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(limiter.acquire("k").allowed()).isTrue();
+        assertThat(limiter.acquire("k").allowed()).isFalse();
+    }
+
+    @Test
+    void idleKeysExpireThroughTimingWheelAndKeyCountStaysBounded() {
+        ConcurrentRateLimiter limiter = new ConcurrentRateLimiter(RateLimitMode.FIXED_WINDOW, 5, Duration.ofMinutes(1), 50, clock);
+        for (int i = 0; i < 200; i++) {
+            limiter.acquire("ip-" + i);
+        }
+        assertThat(limiter.trackedKeys()).isLessThanOrEqualTo(50);
+
+        clock.advance(Duration.ofMinutes(3));
+        limiter.acquire("fresh");
+        assertThat(limiter.trackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    void contendedKeyNeverAdmitsMoreThanTheLimit() throws Exception {
+        ConcurrentRateLimiter limiter = new ConcurrentRateLimiter(
+                RateLimitMode.FIXED_WINDOW, 1000, Duration.ofMinutes(1), 100, Clock.fixed(Instant.parse("2026-10-01T10:00:10Z"), ZoneOffset.UTC));
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int allowed = 0;
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.acquire("hot").allowed()) allowed++;
+                }
+                return allowed;
+            }));
+        }
+        start.countDown();
+        int total = 0;
+        for (Future<Integer> f : results) total += f.get(10, TimeUnit.SECONDS);
+        pool.shutdownNow();
+
+        assertThat(total).isEqualTo(1000);
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
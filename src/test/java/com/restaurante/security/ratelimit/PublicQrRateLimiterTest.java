@@ -0,0 +1,50 @@
+package com.restaurante.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PublicQrRateLimiterTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-01T10:00:10Z"), ZoneOffset.UTC);
+
+    @Test
+    void writesHaveTheirOwnLowerBudgetPerRemoteAddress() {
+        PublicQrRateLimiter limiter = new PublicQrRateLimiter(true, 5, 2, 100, clock);
+        MockHttpServletRequest a = request("10.0.0.1");
+        MockHttpServletRequest b = request("10.0.0.2");
+
+        limiter.checkWrite(a, "pedidos");
+        limiter.checkWrite(a, "pedidos");
+        assertThatThrownBy(() -> limiter.checkWrite(a, "pedidos"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getHeaders().getFirst(HttpHeaders.RETRY_AFTER))
+                        .isEqualTo("30"));
+
+        limiter.checkWrite(b, "pedidos");
+        limiter.checkRead(a, "cardapio");
+    }
+
+    @Test
+    void disabledLimiterNeverRejects() {
+        PublicQrRateLimiter limiter = new PublicQrRateLimiter(false, 1, 1, 100, clock);
+        MockHttpServletRequest a = request("10.0.0.1");
+
+        for (int i = 0; i < 10; i++) {
+            limiter.checkWrite(a, "pedidos");
+        }
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/public/q/t/pedidos");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
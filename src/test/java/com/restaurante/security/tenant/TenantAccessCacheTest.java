@@ -0,0 +1,59 @@
+package com.restaurante.security.tenant;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantAccessCacheTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-01T10:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void accessVersionBumpInvalidatesOnlyThatMembership() {
+        TenantAccessCache cache = new TenantAccessCache(true, 30, 100, clock);
+        cache.put(1L, 10L, new TenantAccessCache.Access("T1", 3), cache.currentGeneration());
+        cache.put(1L, 11L, new TenantAccessCache.Access("T1", 1), cache.currentGeneration());
+
+        cache.invalidateMembership(1L, 10L);
+
+        assertThat(cache.get(1L, 10L)).isEmpty();
+        assertThat(cache.get(1L, 11L)).map(TenantAccessCache.Access::accessVersion).contains(1);
+    }
+
+    @Test
+    void tenantInvalidationDropsAllMembershipsOfTenant() {
+        TenantAccessCache cache = new TenantAccessCache(true, 30, 100, clock);
+        cache.put(1L, 10L, new TenantAccessCache.Access("T1", 1), cache.currentGeneration());
+        cache.put(2L, 10L, new TenantAccessCache.Access("T2", 1), cache.currentGeneration());
+
+        cache.invalidateTenant(1L);
+
+        assertThat(cache.get(1L, 10L)).isEmpty();
+        assertThat(cache.get(2L, 10L)).isPresent();
+    }
+
+    @Test
+    void loadStartedBeforeBumpIsNotCached() {
+        TenantAccessCache cache = new TenantAccessCache(true, 30, 100, clock);
+        long generation = cache.currentGeneration();
+
+        cache.invalidateMembership(1L, 10L);
+        cache.put(1L, 10L, new TenantAccessCache.Access("T1", 1), generation);
+
+        assertThat(cache.get(1L, 10L)).isEmpty();
+    }
+
+    @Test
+    void staysBoundedByMaxEntries() {
+        TenantAccessCache cache = new TenantAccessCache(true, 30, 10, clock);
+        for (long u = 0; u < 50; u++) {
+            cache.put(1L, u, new TenantAccessCache.Access("T1", 1), cache.currentGeneration());
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+    }
+}
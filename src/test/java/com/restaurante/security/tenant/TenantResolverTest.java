@@ -71,7 +71,8 @@ class TenantResolverTest {
                     @Override public TenantUserAccessVersionRepository getIfAvailable() { return tenantUserAccessVersionRepository; }
                     @Override public TenantUserAccessVersionRepository getIfUnique() { return tenantUserAccessVersionRepository; }
                 },
-                operationalEligibility
+                operationalEligibility,
+                TenantAccessCache.disabled()
         );
     }
 
@@ -0,0 +1,82 @@
+package com.restaurante.service.device;
+
+import com.restaurante.model.enums.DeviceCapability;
+import com.restaurante.model.enums.DispositivoStatus;
+import com.restaurante.model.enums.DispositivoTipo;
+import com.restaurante.repository.OperationalEventLogRepository;
+import com.restaurante.security.device.DevicePrincipal;
+import com.restaurante.service.operacional.OperationalCapabilitiesPolicy;
+import com.restaurante.service.producao.ProducaoKdsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeviceFilaDiffServiceTest {
+
+    private final OperationalEventLogRepository repository = mock(OperationalEventLogRepository.class);
+    private final DeviceFilaDiffService service = new DeviceFilaDiffService(
+            repository, mock(ProducaoKdsService.class), mock(OperationalCapabilitiesPolicy.class));
+
+    @BeforeEach
+    void limits() {
+        ReflectionTestUtils.setField(service, "defaultLimit", 200);
+        ReflectionTestUtils.setField(service, "maxLimit", 1000);
+        ReflectionTestUtils.setField(service, "lookbackHours", 72);
+    }
+
+    @Test
+    void idleUnitKeepsItsCursorBeyondTheLookbackWindow() {
+        LocalDateTime cursorAt = LocalDateTime.now().minusDays(10);
+        when(repository.existsByIdAndTenantAndUnidadeProducao(eq(500L), eq(7L), eq(3L), any())).thenReturn(false);
+        when(repository.findFilaEventCreatedAt(500L, 7L, 3L)).thenReturn(Optional.of(cursorAt));
+        when(repository.findFilaEventsAfter(eq(7L), eq(3L), eq(500L), any(), any(), any())).thenReturn(List.of());
+        when(repository.maxIdByTenantAndUnidadeProducao(eq(7L), eq(3L), any())).thenReturn(null);
+
+        DeviceFilaDiffService.DiffResult result = service.diff(device(), 500L, 50);
+
+        assertThat(result.fullSyncRequired()).isFalse();
+        assertThat(result.data().lastEventId()).isEqualTo(500L);
+        ArgumentCaptor<LocalDateTime> createdFrom = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).countFilaEventsAfter(eq(7L), eq(3L), eq(500L), createdFrom.capture(), any());
+        assertThat(createdFrom.getValue()).isBefore(cursorAt);
+    }
+
+    @Test
+    void unknownCursorStillRequestsFullSync() {
+        when(repository.existsByIdAndTenantAndUnidadeProducao(anyLong(), anyLong(), anyLong(), any())).thenReturn(false);
+        when(repository.findFilaEventCreatedAt(900L, 7L, 3L)).thenReturn(Optional.empty());
+        when(repository.maxIdByTenantAndUnidadeProducao(eq(7L), eq(3L), any())).thenReturn(null);
+        when(repository.maxIdByTenantAndUnidadeProducaoAllTime(7L, 3L)).thenReturn(450L);
+
+        DeviceFilaDiffService.DiffResult result = service.diff(device(), 900L, 50);
+
+        assertThat(result.fullSyncRequired()).isTrue();
+        assertThat(result.data().lastEventId()).isEqualTo(450L);
+    }
+
+    @Test
+    void currentCursorFallsBackToTheLastEventOutsideTheWindow() {
+        when(repository.maxIdByTenantAndUnidadeProducao(eq(7L), eq(3L), any())).thenReturn(null);
+        when(repository.maxIdByTenantAndUnidadeProducaoAllTime(7L, 3L)).thenReturn(450L);
+
+        assertThat(service.currentCursor(device())).isEqualTo(450L);
+    }
+
+    private static DevicePrincipal device() {
+        return new DevicePrincipal(1L, "KDS-1", 7L, "t7", 1L, 2L, 3L,
+                DispositivoTipo.KDS, DispositivoStatus.ATIVO, List.of(DeviceCapability.VIEW_PRODUCTION), 1);
+    }
+}
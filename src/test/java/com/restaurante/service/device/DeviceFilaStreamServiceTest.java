@@ -0,0 +1,163 @@
+package com.restaurante.service.device;
+
+import com.restaurante.dto.response.DeviceFilaDiffSyncResponse;
+import com.restaurante.dto.response.DeviceFilaEventSyncItem;
+import com.restaurante.dto.response.SyncEnvelope;
+import com.restaurante.model.enums.DeviceCapability;
+import com.restaurante.model.enums.DispositivoStatus;
+import com.restaurante.model.enums.DispositivoTipo;
+import com.restaurante.model.enums.OperationalEntityType;
+import com.restaurante.model.enums.OperationalEventType;
+import com.restaurante.model.enums.OperationalOrigem;
+import com.restaurante.security.device.DevicePrincipal;
+import com.restaurante.security.device.DevicePrincipalInvalidatedEvent;
+import com.restaurante.service.metrics.NoOpDeviceSyncMetricsService;
+import com.restaurante.service.operacional.event.OperationalEventLoggedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeviceFilaStreamServiceTest {
+
+    private final DeviceFilaDiffService diffService = mock(DeviceFilaDiffService.class);
+    private final DeviceAuthService authService = mock(DeviceAuthService.class);
+    private final DeviceFilaStreamService service = new DeviceFilaStreamService(
+            diffService, authService, new NoOpDeviceSyncMetricsService(), Runnable::run, 60, 10, 200);
+
+    @BeforeEach
+    void authorizeByDefault() {
+        when(authService.isStillAuthorized(any())).thenReturn(true);
+    }
+
+    @Test
+    void resumesFromCursorAndThenOnlyPushesNewEvents() {
+        DevicePrincipal kds = device(1L);
+        when(diffService.diff(any(), eq(10L), anyInt())).thenReturn(page(11L, 12L));
+        when(diffService.diff(any(), eq(12L), anyInt())).thenReturn(empty(12L));
+
+        service.subscribe(kds, 10L);
+
+        verify(diffService, times(1)).diff(kds, 10L, 200);
+        assertThat(service.subscriberCount(7L, 3L)).isEqualTo(1);
+
+        when(diffService.diff(any(), eq(12L), anyInt())).thenReturn(page(13L));
+        when(diffService.diff(any(), eq(13L), anyInt())).thenReturn(empty(13L));
+        service.onOperationalEventLogged(logged(OperationalEventType.SUBPEDIDO_STATUS_CHANGED, 3L));
+        service.onOperationalEventLogged(logged(OperationalEventType.SUBPEDIDO_STATUS_CHANGED, 3L));
+
+        verify(diffService, times(2)).diff(kds, 12L, 200);
+        verify(diffService, times(1)).diff(kds, 13L, 200);
+        verify(diffService, times(1)).diff(any(), eq(10L), anyInt());
+    }
+
+    @Test
+    void subscribersOnTheSameCursorShareOneDiffPerEvent() {
+        when(diffService.currentCursor(any())).thenReturn(20L);
+        when(diffService.diff(any(), eq(20L), anyInt())).thenReturn(empty(20L));
+        service.subscribe(device(1L), null);
+        service.subscribe(device(2L), null);
+        assertThat(service.subscriberCount(7L, 3L)).isEqualTo(2);
+
+        verify(diffService, times(4)).diff(any(), eq(20L), anyInt());
+
+        when(diffService.diff(any(), eq(20L), anyInt())).thenReturn(page(21L));
+        when(diffService.diff(any(), eq(21L), anyInt())).thenReturn(empty(21L));
+        service.onOperationalEventLogged(logged(OperationalEventType.PEDIDO_STATUS_CHANGED, 3L));
+        service.onOperationalEventLogged(logged(OperationalEventType.PEDIDO_STATUS_CHANGED, 3L));
+
+        verify(diffService, times(5)).diff(any(), eq(20L), anyInt());
+        verify(diffService, times(1)).diff(any(), eq(21L), anyInt());
+    }
+
+    @Test
+    void ignoresEventsFromOtherUnitsAndNonQueueTypes() {
+        when(diffService.diff(any(), eq(5L), anyInt())).thenReturn(empty(5L));
+        service.subscribe(device(1L), 5L);
+        verify(diffService, times(2)).diff(any(), eq(5L), anyInt());
+
+        service.onOperationalEventLogged(logged(OperationalEventType.SUBPEDIDO_STATUS_CHANGED, 99L));
+        service.onOperationalEventLogged(logged(OperationalEventType.PEDIDO_CRIADO, 3L));
+
+        verify(diffService, times(2)).diff(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void invalidatedPrincipalsLoseTheirStreams() {
+        when(diffService.diff(any(), eq(5L), anyInt())).thenReturn(empty(5L));
+        service.subscribe(device(1L), 5L);
+        service.subscribe(device(2L), 5L);
+
+        service.onDevicePrincipalInvalidated(new DevicePrincipalInvalidatedEvent(null, 1L));
+        assertThat(service.subscriberCount(7L, 3L)).isEqualTo(1);
+
+        service.onDevicePrincipalInvalidated(new DevicePrincipalInvalidatedEvent(7L, null));
+        assertThat(service.subscriberCount(7L, 3L)).isZero();
+    }
+
+    @Test
+    void principalIsRecheckedBeforePushAndRevokedDevicesAreDropped() {
+        DevicePrincipal revoked = device(1L);
+        when(diffService.diff(any(), eq(5L), anyInt())).thenReturn(empty(5L));
+        service.subscribe(revoked, 5L);
+        service.subscribe(device(2L), 5L);
+        when(authService.isStillAuthorized(revoked)).thenReturn(false);
+
+        when(diffService.diff(any(), eq(5L), anyInt())).thenReturn(page(6L));
+        when(diffService.diff(any(), eq(6L), anyInt())).thenReturn(empty(6L));
+        service.redrain();
+
+        assertThat(service.subscriberCount(7L, 3L)).isEqualTo(1);
+        verify(authService, times(1)).isStillAuthorized(revoked);
+    }
+
+    @Test
+    void unknownCursorRequestsFullSyncWithoutRegistering() {
+        DeviceFilaDiffSyncResponse resp = new DeviceFilaDiffSyncResponse(LocalDateTime.now(), 50L, false, List.of(), List.of(), List.of(), List.of());
+        when(diffService.diff(any(), eq(999L), anyInt())).thenReturn(new DeviceFilaDiffService.DiffResult(
+                resp, true, SyncEnvelope.FullSyncRequiredReason.VERSION_MISMATCH, List.of()));
+
+        service.subscribe(device(1L), 999L);
+
+        assertThat(service.subscriberCount(7L, 3L)).isZero();
+        verify(diffService, never()).diff(any(), eq(50L), anyInt());
+    }
+
+    private static DevicePrincipal device(Long id) {
+        return new DevicePrincipal(id, "KDS-" + id, 7L, "t7", 1L, 2L, 3L,
+                DispositivoTipo.KDS, DispositivoStatus.ATIVO, List.of(DeviceCapability.VIEW_PRODUCTION), 1);
+    }
+
+    private static OperationalEventLoggedEvent logged(OperationalEventType type, Long unidadeProducaoId) {
+        return new OperationalEventLoggedEvent(1L, 7L, type, OperationalEntityType.SUBPEDIDO, 1L,
+                LocalDateTime.now(), OperationalOrigem.SYSTEM, null, null, null, null, unidadeProducaoId);
+    }
+
+    private static DeviceFilaDiffService.DiffResult page(Long... eventIds) {
+        List<DeviceFilaEventSyncItem> eventos = java.util.Arrays.stream(eventIds)
+                .map(id -> new DeviceFilaEventSyncItem(id, OperationalEventType.SUBPEDIDO_STATUS_CHANGED,
+                        OperationalEntityType.SUBPEDIDO, 1L, 1L, 1L, null, null, OperationalOrigem.SYSTEM, LocalDateTime.now()))
+                .toList();
+        DeviceFilaDiffSyncResponse resp = new DeviceFilaDiffSyncResponse(LocalDateTime.now(), eventIds[eventIds.length - 1],
+                false, eventos, List.of(1L), List.of(), List.of());
+        return new DeviceFilaDiffService.DiffResult(resp, false, SyncEnvelope.FullSyncRequiredReason.NONE, List.of());
+    }
+
+    private static DeviceFilaDiffService.DiffResult empty(Long lastEventId) {
+        DeviceFilaDiffSyncResponse resp = new DeviceFilaDiffSyncResponse(LocalDateTime.now(), lastEventId, false,
+                List.of(), List.of(), List.of(), List.of());
+        return new DeviceFilaDiffService.DiffResult(resp, false, SyncEnvelope.FullSyncRequiredReason.NONE, List.of());
+    }
+}
@@ -0,0 +1,90 @@
+package com.restaurante.service.device;
+
+import com.restaurante.service.metrics.NoOpDeviceSyncMetricsService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class DeviceHeartbeatAggregatorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-01T10:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalescesRepeatedSeenEventsIntoOneBatchRowPerDevice() {
+        DeviceHeartbeatAggregator aggregator = new DeviceHeartbeatAggregator(
+                jdbcTemplate, new NoOpDeviceSyncMetricsService(), clock, true, 15_000L, 1000);
+
+        for (int i = 0; i < 20; i++) {
+            aggregator.recordAuth(1L);
+            aggregator.recordHeartbeat(1L, "10.0.0.1", "kds/1.0", null);
+            aggregator.recordAuth(2L);
+        }
+        verify(jdbcTemplate, never()).batchUpdate(any(String.class), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(aggregator.pendingCount()).isEqualTo(2);
+
+        assertThat(aggregator.flush()).isEqualTo(2);
+
+        ArgumentCaptor<Collection<Map.Entry<Long, DeviceHeartbeatAggregator.PendingSeen>>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(DeviceHeartbeatAggregator.UPDATE_SQL), rows.capture(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        DeviceHeartbeatAggregator.PendingSeen device1 = rows.getValue().stream()
+                .filter(e -> e.getKey() == 1L).findFirst().orElseThrow().getValue();
+        assertThat(device1.heartbeatAt()).isNotNull();
+        assertThat(device1.authAt()).isNotNull();
+        assertThat(device1.ip()).isEqualTo("10.0.0.1");
+        assertThat(aggregator.pendingCount()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fullBufferFlushesImmediately() {
+        DeviceHeartbeatAggregator aggregator = new DeviceHeartbeatAggregator(
+                jdbcTemplate, new NoOpDeviceSyncMetricsService(), clock, true, 15_000L, 3);
+
+        aggregator.recordAuth(1L);
+        aggregator.recordAuth(2L);
+        aggregator.recordAuth(3L);
+
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(DeviceHeartbeatAggregator.UPDATE_SQL), any(Collection.class), eq(3), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(aggregator.pendingCount()).isZero();
+    }
+
+    @Test
+    void flushIntervalNeverExceedsHalfTheStaleThreshold() {
+        assertThat(DeviceHeartbeatAggregator.effectiveFlushIntervalMillis(15, 5)).isEqualTo(15_000L);
+        assertThat(DeviceHeartbeatAggregator.effectiveFlushIntervalMillis(600, 5)).isEqualTo(150_000L);
+        assertThat(DeviceHeartbeatAggregator.effectiveFlushIntervalMillis(600, 1)).isEqualTo(30_000L);
+    }
+
+    @Test
+    void latestTimestampWinsWhenMerging() {
+        var older = new DeviceHeartbeatAggregator.PendingSeen(
+                java.time.LocalDateTime.parse("2026-10-01T10:00:05"), null, "a", null, "1.0");
+        var newer = new DeviceHeartbeatAggregator.PendingSeen(
+                java.time.LocalDateTime.parse("2026-10-01T10:00:01"), null, null, "ua", null);
+
+        var merged = older.merge(newer);
+
+        assertThat(merged.heartbeatAt()).isEqualTo(java.time.LocalDateTime.parse("2026-10-01T10:00:05"));
+        assertThat(merged.ip()).isEqualTo("a");
+        assertThat(merged.userAgent()).isEqualTo("ua");
+        assertThat(merged.appVersion()).isEqualTo("1.0");
+    }
+}
@@ -0,0 +1,120 @@
+package com.restaurante.service.device;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.restaurante.dto.response.DeviceCatalogSyncResponse;
+import com.restaurante.dto.response.DeviceMesasSyncResponse;
+import com.restaurante.dto.response.SyncEnvelope;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeviceSyncStreamWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private final DeviceSyncStreamWriter writer = new DeviceSyncStreamWriter(mapper, 2);
+    private final LocalDateTime now = LocalDateTime.of(2026, 5, 18, 10, 0);
+
+    @Test
+    void streamedCatalogMatchesMaterializedEnvelope() throws Exception {
+        List<DeviceCatalogSyncResponse.DeviceCategoriaSyncItem> cats =
+                List.of(new DeviceCatalogSyncResponse.DeviceCategoriaSyncItem(1L, "Bebidas", "bebidas", true, now));
+        List<DeviceCatalogSyncResponse.DeviceProdutoSyncItem> produtos = LongStream.rangeClosed(1, 5).mapToObj(this::produto).toList();
+        List<String> cursors = new ArrayList<>();
+
+        String streamed = write(cats, produtos, null, cursors);
+
+        SyncEnvelope<DeviceCatalogSyncResponse> expected = SyncEnvelope.incremental(
+                new DeviceCatalogSyncResponse(now, cats, produtos), now, "catalog:v3", "\"e\"", false,
+                SyncEnvelope.FullSyncRequiredReason.NONE, false, null, List.of());
+        assertThat(mapper.readTree(streamed)).isEqualTo(mapper.readTree(mapper.writeValueAsString(expected)));
+        assertThat(cursors).containsExactly("c2", "c4");
+    }
+
+    @Test
+    void limitStopsStreamAndHandsBackTheKeysetCursor() throws Exception {
+        List<DeviceCatalogSyncResponse.DeviceProdutoSyncItem> produtos = LongStream.rangeClosed(1, 5).mapToObj(this::produto).toList();
+        List<String> cursors = new ArrayList<>();
+
+        String streamed = write(List.of(), produtos, 4, cursors);
+
+        var json = mapper.readTree(streamed);
+        assertThat(json.at("/data/produtos").size()).isEqualTo(4);
+        assertThat(json.at("/hasMore").asBoolean()).isTrue();
+        assertThat(json.at("/nextCursor").asText()).isEqualTo("c4");
+        assertThat(cursors).containsExactly("c2");
+    }
+
+    @Test
+    void chunkFailureAfterFirstBytesEndsWithValidJsonAndResumeCursor() throws Exception {
+        List<DeviceCatalogSyncResponse.DeviceProdutoSyncItem> produtos = LongStream.rangeClosed(1, 6).mapToObj(this::produto).toList();
+        SyncEnvelope<DeviceCatalogSyncResponse> first = SyncEnvelope.incremental(
+                new DeviceCatalogSyncResponse(now, List.of(), produtos.subList(0, 2)), now, "catalog:v3", "\"e\"", false,
+                SyncEnvelope.FullSyncRequiredReason.NONE, true, "c2", null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.write(out, first, "produtos", null, (cursor, size) -> {
+            if (cursor.equals("c4")) throw new IllegalStateException("db down");
+            return page(produtos, Integer.parseInt(cursor.substring(1)), size);
+        });
+
+        var json = mapper.readTree(out.toString());
+        assertThat(json.at("/data/produtos").size()).isEqualTo(4);
+        assertThat(json.at("/hasMore").asBoolean()).isTrue();
+        assertThat(json.at("/nextCursor").asText()).isEqualTo("c4");
+        assertThat(json.at("/warnings/0/code").asText()).isEqualTo("PARTIAL_RESPONSE");
+    }
+
+    @Test
+    void nullFieldsAreOmittedLikeTheRegularEndpoint() throws Exception {
+        var mesa = new DeviceMesasSyncResponse.DeviceMesaSyncItem(1L, 2L, 3, "M3", "DISPONIVEL", true, null, null, now);
+        SyncEnvelope<DeviceMesasSyncResponse> expected = SyncEnvelope.incremental(
+                new DeviceMesasSyncResponse(now, List.of(mesa)), now, "mesas:v1", null, false, null, false, null, List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.write(out, expected, "mesas", null, (c, l) -> { throw new AssertionError("sem próxima página"); });
+
+        assertThat(out.toString()).isEqualTo(mapper.writeValueAsString(expected));
+    }
+
+    private String write(List<DeviceCatalogSyncResponse.DeviceCategoriaSyncItem> cats,
+                         List<DeviceCatalogSyncResponse.DeviceProdutoSyncItem> produtos,
+                         Integer limit,
+                         List<String> cursors) throws Exception {
+        int firstSize = writer.chunkSize(limit);
+        boolean hasMore = firstSize < produtos.size();
+        SyncEnvelope<DeviceCatalogSyncResponse> first = SyncEnvelope.incremental(
+                new DeviceCatalogSyncResponse(now, cats, produtos.subList(0, Math.min(firstSize, produtos.size()))),
+                now, "catalog:v3", "\"e\"", false, SyncEnvelope.FullSyncRequiredReason.NONE,
+                hasMore, hasMore ? "c" + firstSize : null, List.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(out, first, "produtos", limit, (cursor, size) -> {
+            cursors.add(cursor);
+            int from = Integer.parseInt(cursor.substring(1));
+            return page(produtos, from, size);
+        });
+        return out.toString();
+    }
+
+    private DeviceSyncStreamWriter.Chunk page(List<DeviceCatalogSyncResponse.DeviceProdutoSyncItem> all, int from, int size) {
+        int to = Math.min(all.size(), from + size);
+        boolean hasMore = to < all.size();
+        return new DeviceSyncStreamWriter.Chunk(all.subList(from, to), hasMore, hasMore ? "c" + to : null);
+    }
+
+    private DeviceCatalogSyncResponse.DeviceProdutoSyncItem produto(long id) {
+        return new DeviceCatalogSyncResponse.DeviceProdutoSyncItem(id, "P" + id, "Produto " + id, null, 1L, "Bebidas",
+                "100.00", true, true, null, now);
+    }
+}
@@ -0,0 +1,170 @@
+package com.restaurante.service.device;
+
+import com.restaurante.dto.response.SyncEnvelope;
+import com.restaurante.model.entity.TenantSyncVersion;
+import com.restaurante.model.enums.DispositivoStatus;
+import com.restaurante.model.enums.DispositivoTipo;
+import com.restaurante.repository.CategoriaProdutoRepository;
+import com.restaurante.repository.DispositivoOperacionalRepository;
+import com.restaurante.repository.InstituicaoRepository;
+import com.restaurante.repository.MesaRepository;
+import com.restaurante.repository.ProdutoRepository;
+import com.restaurante.repository.QrCodeOperacionalRepository;
+import com.restaurante.repository.RotaProducaoCategoriaRepository;
+import com.restaurante.repository.SessaoConsumoRepository;
+import com.restaurante.repository.TenantRepository;
+import com.restaurante.repository.TenantSyncVersionRepository;
+import com.restaurante.repository.UnidadeAtendimentoRepository;
+import com.restaurante.repository.UnidadeProducaoRepository;
+import com.restaurante.repository.projection.SyncAggProjection;
+import com.restaurante.security.device.DevicePrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeviceSyncVersionServiceTest {
+
+    private static final Long TENANT_ID = 7L;
+    private static final Long UA_ID = 30L;
+
+    private final CategoriaProdutoRepository categorias = mock(CategoriaProdutoRepository.class);
+    private final ProdutoRepository produtos = mock(ProdutoRepository.class);
+    private final MesaRepository mesas = mock(MesaRepository.class);
+    private final SessaoConsumoRepository sessoes = mock(SessaoConsumoRepository.class);
+    private final TenantSyncVersionRepository versions = mock(TenantSyncVersionRepository.class);
+
+    private final DeviceSyncVersionService service = new DeviceSyncVersionService(
+            new DeviceSyncEtagService(),
+            mock(TenantRepository.class),
+            mock(InstituicaoRepository.class),
+            mock(UnidadeAtendimentoRepository.class),
+            mock(UnidadeProducaoRepository.class),
+            mock(DispositivoOperacionalRepository.class),
+            categorias,
+            produtos,
+            mesas,
+            sessoes,
+            mock(QrCodeOperacionalRepository.class),
+            mock(RotaProducaoCategoriaRepository.class),
+            versions);
+
+    private final DevicePrincipal device = new DevicePrincipal(
+            1L, "POS-1", TENANT_ID, "T7", 10L, UA_ID, null,
+            DispositivoTipo.POS, DispositivoStatus.ATIVO, List.of(), 1);
+
+    @BeforeEach
+    void limites() {
+        ReflectionTestUtils.setField(service, "maxIncrementalAgeDays", 7);
+        ReflectionTestUtils.setField(service, "maxIncrementalChanges", 1000L);
+        ReflectionTestUtils.setField(service, "catalogMaxIncrementalChanges", 1000L);
+        ReflectionTestUtils.setField(service, "mesasMaxIncrementalChanges", 500L);
+        ReflectionTestUtils.setField(service, "qrCodesMaxIncrementalChanges", 500L);
+        ReflectionTestUtils.setField(service, "producaoMaxIncrementalChanges", 500L);
+        ReflectionTestUtils.setField(service, "filaMaxIncrementalChanges", 1000L);
+        when(versions.findVersion(TENANT_ID, "CATALOGO", TenantSyncVersion.TENANT_SCOPE)).thenReturn(3L);
+        when(categorias.computeSyncAgg(TENANT_ID, false)).thenReturn(agg(0));
+        when(produtos.computeSyncAgg(TENANT_ID, false)).thenReturn(agg(0));
+    }
+
+    @Test
+    void catalogoIncrementalRecenteUsaAVersaoDaTabela() {
+        when(categorias.countByTenantIdAndUpdatedAtAfter(any(), any())).thenReturn(10L);
+        when(produtos.countByTenantIdAndUpdatedAtAfter(any(), any())).thenReturn(20L);
+
+        DeviceSyncVersionService.DomainVersion v = service.computeCatalog(device, false, LocalDateTime.now().minusHours(1));
+
+        assertThat(v.syncVersion()).isEqualTo("catalog:v3");
+        assertThat(v.fullSyncRequired()).isFalse();
+        assertThat(v.fullSyncReason()).isEqualTo(SyncEnvelope.FullSyncRequiredReason.NONE);
+        assertThat(v.reliable()).isTrue();
+        assertThat(v.warnings()).isEmpty();
+    }
+
+    @Test
+    void catalogoExigeFullSyncQuandoUpdatedSinceEMuitoAntigo() {
+        DeviceSyncVersionService.DomainVersion v = service.computeCatalog(device, false, LocalDateTime.now().minusDays(8));
+
+        assertThat(v.fullSyncRequired()).isTrue();
+        assertThat(v.fullSyncReason()).isEqualTo(SyncEnvelope.FullSyncRequiredReason.CLIENT_TOO_OLD);
+        verify(categorias, never()).countByTenantIdAndUpdatedAtAfter(any(), any());
+    }
+
+    @Test
+    void catalogoExigeFullSyncQuandoHaRegistosSemUpdatedAt() {
+        when(produtos.computeSyncAgg(TENANT_ID, false)).thenReturn(agg(2));
+
+        DeviceSyncVersionService.DomainVersion v = service.computeCatalog(device, false, LocalDateTime.now().minusHours(1));
+
+        assertThat(v.reliable()).isFalse();
+        assertThat(v.fullSyncRequired()).isTrue();
+        assertThat(v.fullSyncReason()).isEqualTo(SyncEnvelope.FullSyncRequiredReason.UPDATED_AT_UNRELIABLE);
+        assertThat(v.warnings()).extracting(SyncEnvelope.SyncWarning::code)
+                .containsExactly(SyncEnvelope.SyncWarningCode.UPDATED_SINCE_UNRELIABLE);
+    }
+
+    @Test
+    void catalogoExigeFullSyncQuandoHaAlteracoesDemais() {
+        when(categorias.countByTenantIdAndUpdatedAtAfter(any(), any())).thenReturn(600L);
+        when(produtos.countByTenantIdAndUpdatedAtAfter(any(), any())).thenReturn(401L);
+
+        DeviceSyncVersionService.DomainVersion v = service.computeCatalog(device, false, LocalDateTime.now().minusHours(1));
+
+        assertThat(v.fullSyncRequired()).isTrue();
+        assertThat(v.fullSyncReason()).isEqualTo(SyncEnvelope.FullSyncRequiredReason.TOO_MANY_CHANGES);
+    }
+
+    @Test
+    void etagDoCatalogoMudaComAVersao() {
+        String antes = service.computeCatalog(device, false, null).etag();
+        when(versions.findVersion(TENANT_ID, "CATALOGO", TenantSyncVersion.TENANT_SCOPE)).thenReturn(4L);
+
+        DeviceSyncVersionService.DomainVersion depois = service.computeCatalog(device, false, null);
+
+        assertThat(depois.syncVersion()).isEqualTo("catalog:v4");
+        assertThat(depois.etag()).isNotEqualTo(antes);
+    }
+
+    @Test
+    void mesasUsamOEscopoDaUnidadeDeAtendimentoEOLimiteProprio() {
+        when(versions.findVersion(TENANT_ID, "MESAS", UA_ID)).thenReturn(9L);
+        when(mesas.computeSyncAgg(TENANT_ID, UA_ID)).thenReturn(agg(0));
+        when(mesas.countByTenantIdAndUnidadeAtendimentoIdAndUpdatedAtAfter(any(), any(), any())).thenReturn(300L);
+        when(sessoes.countByTenantIdAndUnidadeAtendimentoIdAndUpdatedAtAfter(any(), any(), any())).thenReturn(201L);
+
+        DeviceSyncVersionService.DomainVersion v = service.computeMesas(device, null, LocalDateTime.now().minusHours(1));
+
+        assertThat(v.syncVersion()).isEqualTo("mesas:v9");
+        assertThat(v.fullSyncReason()).isEqualTo(SyncEnvelope.FullSyncRequiredReason.TOO_MANY_CHANGES);
+        verify(mesas, never()).countByTenantIdAndUpdatedAtAfter(anyLong(), any());
+    }
+
+    @Test
+    void filaSemLinhaDeVersaoComecaEmZero() {
+        when(versions.findVersion(TENANT_ID, "PRODUCAO_FILA", 50L)).thenReturn(null);
+
+        DeviceSyncVersionService.DomainVersion v = service.computeFila(device, 50L, null, null, null, null);
+
+        assertThat(v.syncVersion()).isEqualTo("fila:v0");
+        assertThat(v.fullSyncRequired()).isFalse();
+    }
+
+    private static SyncAggProjection agg(long nullUpdatedAt) {
+        return new SyncAggProjection() {
+            @Override public Long getCount() { return 5L; }
+            @Override public LocalDateTime getMaxUpdatedAt() { return null; }
+            @Override public LocalDateTime getMaxCreatedAt() { return null; }
+            @Override public Long getNullUpdatedAtCount() { return nullUpdatedAt; }
+        };
+    }
+}
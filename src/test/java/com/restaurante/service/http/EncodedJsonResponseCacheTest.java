@@ -0,0 +1,150 @@
+package com.restaurante.service.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncodedJsonResponseCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EncodedJsonResponseCache cache = new EncodedJsonResponseCache(
+            new ObjectMapper(), registry, true, 10, 1_000_000, 10_000_000, 256, Clock.systemUTC());
+    private final AtomicInteger serializations = new AtomicInteger();
+
+    @Test
+    void serializesOncePerSlotVersionAndRebuildsWhenEtagChanges() {
+        var first = cache.encode("public.cardapio", "qr-1", "\"v1\"", () -> body("a"));
+        var second = cache.encode("public.cardapio", "qr-1", "\"v1\"", () -> body("a"));
+        var bumped = cache.encode("public.cardapio", "qr-1", "\"v2\"", () -> body("b"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(bumped).isNotSameAs(first);
+        assertThat(serializations.get()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(registry.get("consuma.http.encoded_cache.requests")
+                .tags("resource", "public.cardapio", "result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("consuma.http.encoded_cache.bytes_saved")
+                .tags("resource", "public.cardapio", "kind", "serialization").counter().count())
+                .isEqualTo(first.identity().length);
+    }
+
+    @Test
+    void preSerializedHitsReuseTheGzipWithoutClaimingSerializationSavings() {
+        byte[] json = "{\"value\":\"a\"}".getBytes(StandardCharsets.UTF_8);
+        var first = cache.encoded("discovery.home", "q", "\"h1\"", json);
+        var second = cache.encoded("discovery.home", "q", "\"h1\"", json.clone());
+
+        assertThat(second).isSameAs(first);
+        assertThat(registry.get("consuma.http.encoded_cache.requests")
+                .tags("resource", "discovery.home", "result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("consuma.http.encoded_cache.bytes_saved")
+                .tags("resource", "discovery.home", "kind", "serialization").counter().count()).isZero();
+        assertThat(registry.get("consuma.http.encoded_cache.serialization_avoided")
+                .tags("resource", "discovery.home").counter().count()).isZero();
+    }
+
+    @Test
+    void negotiatesGzipAndKeepsIdentityForClientsWithoutIt() throws IOException {
+        var encoded = cache.encode("public.cardapio", "qr-1", "\"v1\"", () -> body("x".repeat(2_000)));
+
+        ResponseEntity<byte[]> plain = cache.respond(encoded, null, null, new HttpHeaders());
+        ResponseEntity<byte[]> gzip = cache.respond(encoded, null, "br;q=1.0, gzip;q=0.8", new HttpHeaders());
+        ResponseEntity<byte[]> refused = cache.respond(encoded, null, "*, gzip;q=0", new HttpHeaders());
+
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(plain.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(plain.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeaders().getETag()).isEqualTo("\"v1-gzip\"");
+        assertThat(gzip.getBody().length).isLessThan(plain.getBody().length);
+        assertThat(gunzip(gzip.getBody())).isEqualTo(new String(plain.getBody(), StandardCharsets.UTF_8));
+        assertThat(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    void answers304ForEitherEncodingOfTheSameVersion() {
+        var encoded = cache.encode("public.instituicao", "ativa", "\"v1\"", () -> body("x".repeat(2_000)));
+
+        assertThat(cache.respond(encoded, "\"v1\"", null, null).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(cache.respond(encoded, "W/\"v1-gzip\"", "gzip", null).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(cache.respond(encoded, "\"v0\"", null, null).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(cache.respond(encoded, "\"v1\"", null, null).getBody()).isNull();
+    }
+
+    @Test
+    void smallBodiesAreNotCompressedAndDisabledCacheStillEncodes() {
+        var small = cache.encode("public.instituicao", "ativa", "\"v1\"", () -> body("a"));
+        EncodedJsonResponseCache disabled = EncodedJsonResponseCache.uncached(new ObjectMapper());
+        disabled.encode("public.instituicao", "ativa", "\"v1\"", () -> body("a"));
+        disabled.encode("public.instituicao", "ativa", "\"v1\"", () -> body("a"));
+
+        assertThat(small.gzip()).isNull();
+        assertThat(cache.respond(small, null, "gzip", null).getHeaders().getVary()).isEmpty();
+        assertThat(disabled.size()).isZero();
+        assertThat(serializations.get()).isEqualTo(3);
+    }
+
+    @Test
+    void composedResponsesShareOneFragmentPerTenantVersion() throws IOException {
+        var first = cache.fragment("public.cardapio", "7", "3:abc", () -> List.of(body("x".repeat(2_000))));
+        var second = cache.fragment("public.cardapio", "7", "3:abc", () -> List.of(body("y")));
+
+        ResponseEntity<byte[]> qr1 = cache.respondComposed(second, "\"e1\"",
+                () -> Map.of("data", Map.of("qr", "1")), "/data", "categorias", null, "gzip", null);
+        ResponseEntity<byte[]> qr2 = cache.respondComposed(second, "\"e2\"",
+                () -> Map.of("data", Map.of("qr", "2")), "/data", "categorias", null, null, null);
+        ResponseEntity<byte[]> notModified = cache.respondComposed(second, "\"e2\"",
+                () -> { throw new AssertionError("envelope montado para 304"); },
+                "/data", "categorias", "\"e2\"", null, null);
+
+        assertThat(second).isSameAs(first);
+        assertThat(serializations.get()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(qr1.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        var mapper = new ObjectMapper();
+        assertThat(mapper.readTree(gunzip(qr1.getBody())).at("/data/categorias/0/value").asText())
+                .isEqualTo("x".repeat(2_000));
+        assertThat(mapper.readTree(qr2.getBody()).at("/data/qr").asText()).isEqualTo("2");
+        assertThat(mapper.readTree(qr2.getBody()).at("/data/categorias").size()).isEqualTo(1);
+        assertThat(qr2.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void totalBytesCapEvictsLeastRecentlyUsedEntries() {
+        EncodedJsonResponseCache small = new EncodedJsonResponseCache(
+                new ObjectMapper(), registry, true, 10, 1_000_000, 2_500, 1_000_000, Clock.systemUTC());
+        small.encode("public.instituicao", "a", "\"v1\"", () -> body("a".repeat(1_000)));
+        small.encode("public.instituicao", "b", "\"v1\"", () -> body("b".repeat(1_000)));
+        small.encode("public.instituicao", "c", "\"v1\"", () -> body("c".repeat(1_000)));
+
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(registry.find("consuma.http.encoded_cache.requests").counters()).hasSize(2);
+    }
+
+    private Map<String, String> body(String value) {
+        serializations.incrementAndGet();
+        return Map.of("value", value);
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.restaurante.service.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MicrometerDeviceSyncMetricsServiceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reportsNotModifiedRatioPerDomain() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(registry);
+        MicrometerDeviceSyncMetricsService metrics = new MicrometerDeviceSyncMetricsService(provider);
+
+        metrics.recordEtagHit("CATALOGO");
+        metrics.recordEtagHit("CATALOGO");
+        metrics.recordEtagHit("CATALOGO");
+        metrics.recordEtagMiss("CATALOGO");
+        metrics.recordEtagMiss("MESAS");
+
+        assertThat(metrics.notModifiedRatio("CATALOGO")).isEqualTo(0.75d);
+        assertThat(metrics.notModifiedRatio("MESAS")).isZero();
+        assertThat(metrics.notModifiedRatio("QRCODES")).isZero();
+        assertThat(registry.get("consuma.device.sync.not_modified.ratio").tag("domain", "CATALOGO").gauge().value())
+                .isEqualTo(0.75d);
+    }
+}
@@ -0,0 +1,202 @@
+package com.restaurante.service.operacional;
+
+import com.restaurante.config.OperationalEventLogWriterProperties;
+import com.restaurante.model.entity.OperationalEventLog;
+import com.restaurante.model.entity.Tenant;
+import com.restaurante.model.enums.OperationalEntityType;
+import com.restaurante.model.enums.OperationalEventType;
+import com.restaurante.model.enums.OperationalOrigem;
+import com.restaurante.service.operacional.event.OperationalEventLoggedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OperationalEventLogAsyncWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    private final AuditorAware<String> auditor = () -> Optional.of("kds-1");
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-01T10:00:00Z"), ZoneOffset.UTC);
+    private final AtomicLong nextId = new AtomicLong(100);
+    private final AtomicInteger batches = new AtomicInteger();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onlyConfiguredNonCriticalTypesAreAccepted() {
+        OperationalEventLogAsyncWriter writer = writer(true, 10, EnumSet.of(
+                OperationalEventType.TRANSITION_BLOCKED,
+                OperationalEventType.PAGAMENTO_CONFIRMADO_POR_POLLING,
+                OperationalEventType.TURNO_FECHADO));
+
+        assertThat(writer.accepts(OperationalEventType.TRANSITION_BLOCKED)).isTrue();
+        assertThat(writer.accepts(OperationalEventType.CONTA_REIMPRESSA_DEVICE)).isFalse();
+        assertThat(writer.accepts(OperationalEventType.PAGAMENTO_CONFIRMADO_POR_POLLING)).isFalse();
+        assertThat(writer.accepts(OperationalEventType.TURNO_FECHADO)).isFalse();
+        assertThat(writer(false, 10, EnumSet.of(OperationalEventType.TRANSITION_BLOCKED))
+                .accepts(OperationalEventType.TRANSITION_BLOCKED)).isFalse();
+    }
+
+    @Test
+    void evidenceAndCursorTypesStaySynchronousEvenWhenConfigured() {
+        OperationalEventLogAsyncWriter writer = writer(true, 10, EnumSet.of(
+                OperationalEventType.PEDIDO_CRIADO,
+                OperationalEventType.PEDIDO_STATUS_CHANGED,
+                OperationalEventType.SUBPEDIDO_STATUS_CHANGED,
+                OperationalEventType.PEDIDO_CRIADO_DEVICE));
+
+        assertThat(writer.accepts(OperationalEventType.PEDIDO_CRIADO)).isFalse();
+        assertThat(writer.accepts(OperationalEventType.PEDIDO_STATUS_CHANGED)).isFalse();
+        assertThat(writer.accepts(OperationalEventType.SUBPEDIDO_STATUS_CHANGED)).isFalse();
+        assertThat(writer.accepts(OperationalEventType.PEDIDO_CRIADO_DEVICE)).isFalse();
+    }
+
+    @Test
+    void defaultAsyncTypesAreAllOnTheNonEvidenceAllowList() {
+        assertThat(OperationalEventLogAsyncWriter.NON_EVIDENCE_TYPES)
+                .containsAll(new OperationalEventLogWriterProperties().getAsyncEventTypes())
+                .doesNotContain(OperationalEventType.PEDIDO_CRIADO_DEVICE);
+    }
+
+    @Test
+    void writesFromAfterCommitRunInANewTransaction() {
+        stubInserts();
+        PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+        OperationalEventLogAsyncWriter writer = new OperationalEventLogAsyncWriter(jdbcTemplate, new TransactionTemplate(txManager),
+                publisher, auditor, clock, true, EnumSet.of(OperationalEventType.TRANSITION_BLOCKED), 50, 60_000L, 1, 1);
+        writer.submit(log(1L));
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.submit(log(2L));
+        TransactionSynchronizationManager.getSynchronizations().get(0).afterCommit();
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(txManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getPropagationBehavior()).isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    void flushWritesOneBatchAndPublishesEventsWithGeneratedIds() {
+        stubInserts();
+        OperationalEventLogAsyncWriter writer = writer(true, 10, EnumSet.of(OperationalEventType.TRANSITION_BLOCKED));
+
+        writer.submit(log(7L));
+        writer.submit(log(8L));
+        verify(jdbcTemplate, never()).execute(any(ConnectionCallback.class));
+        assertThat(writer.pendingCount()).isEqualTo(2);
+
+        assertThat(writer.flush()).isEqualTo(2);
+
+        assertThat(batches.get()).isEqualTo(1);
+        ArgumentCaptor<OperationalEventLoggedEvent> events = ArgumentCaptor.forClass(OperationalEventLoggedEvent.class);
+        verify(publisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(OperationalEventLoggedEvent::getLogId).containsExactly(100L, 101L);
+        assertThat(events.getAllValues()).extracting(OperationalEventLoggedEvent::getEntityId).containsExactly(7L, 8L);
+        assertThat(events.getAllValues().get(0).getTenantId()).isEqualTo(1L);
+        assertThat(writer.pendingCount()).isZero();
+    }
+
+    @Test
+    void eventsAreQueuedOnlyAfterTheBusinessTransactionCommits() {
+        OperationalEventLogAsyncWriter writer = writer(true, 10, EnumSet.of(OperationalEventType.TRANSITION_BLOCKED));
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.submit(log(1L));
+        assertThat(writer.pendingCount()).isZero();
+
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(syncs).hasSize(1);
+        syncs.get(0).afterCommit();
+        assertThat(writer.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueueMakesTheSubmitterFlush() {
+        stubInserts();
+        OperationalEventLogAsyncWriter writer = writer(true, 2, EnumSet.of(OperationalEventType.TRANSITION_BLOCKED));
+
+        writer.submit(log(1L));
+        writer.submit(log(2L));
+        writer.submit(log(3L));
+
+        assertThat(batches.get()).isEqualTo(1);
+        verify(publisher, times(2)).publishEvent(any(OperationalEventLoggedEvent.class));
+        assertThat(writer.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRow() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenThrow(new IllegalStateException("fk"))
+                .thenThrow(new IllegalStateException("fk"))
+                .thenReturn(List.of(200L));
+        OperationalEventLogAsyncWriter writer = writer(true, 10, EnumSet.of(OperationalEventType.TRANSITION_BLOCKED));
+
+        writer.submit(log(1L));
+        writer.submit(log(2L));
+
+        assertThat(writer.flush()).isEqualTo(1);
+        verify(jdbcTemplate, times(3)).execute(any(ConnectionCallback.class));
+        verify(publisher, times(1)).publishEvent(any(OperationalEventLoggedEvent.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubInserts() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(inv -> {
+            batches.incrementAndGet();
+            // o callback real liga a PreparedStatement; aqui só interessa o número de linhas do batch
+            return LongStream.range(0, 2).map(i -> nextId.getAndIncrement()).boxed().toList();
+        });
+    }
+
+    private OperationalEventLogAsyncWriter writer(boolean enabled, int capacity, EnumSet<OperationalEventType> types) {
+        return new OperationalEventLogAsyncWriter(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                publisher, auditor, clock, enabled, types, 50, 60_000L, capacity, 1);
+    }
+
+    private static OperationalEventLog log(Long entityId) {
+        Tenant tenant = new Tenant();
+        tenant.setId(1L);
+        OperationalEventLog log = new OperationalEventLog();
+        log.setTenant(tenant);
+        log.setEventType(OperationalEventType.TRANSITION_BLOCKED);
+        log.setEntityType(OperationalEntityType.SUBPEDIDO);
+        log.setEntityId(entityId);
+        log.setOrigem(OperationalOrigem.DEVICE_KDS);
+        log.setStatusAnterior("PENDENTE");
+        log.setStatusNovo("EM_PREPARACAO");
+        return log;
+    }
+}
@@ -0,0 +1,77 @@
+package com.restaurante.service.operacional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OperationalEventPartitionServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-16T10:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void partitionMonthParsesOnlyMonthlyPartitionNames() {
+        assertThat(OperationalEventPartitionService.partitionMonth("operational_event_logs_p202604")).isEqualTo(YearMonth.of(2026, 4));
+        assertThat(OperationalEventPartitionService.partitionMonth("operational_event_logs_default")).isNull();
+        assertThat(OperationalEventPartitionService.partitionMonth("operational_event_logs_p202604; drop table x")).isNull();
+        assertThat(OperationalEventPartitionService.partitionMonth(null)).isNull();
+    }
+
+    @Test
+    void monthExpiresOnlyWhenItEndsBeforeCutoff() {
+        LocalDateTime cutoff = LocalDateTime.of(2026, 4, 19, 10, 0);
+        assertThat(OperationalEventPartitionService.isExpired(YearMonth.of(2026, 3), cutoff)).isTrue();
+        assertThat(OperationalEventPartitionService.isExpired(YearMonth.of(2026, 4), cutoff)).isFalse();
+    }
+
+    @Test
+    void dropsOnlyExpiredMonthlyPartitions() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        when(jdbc.queryForObject(anyString(), eq(Integer.class), eq(OperationalEventPartitionService.PARENT_TABLE))).thenReturn(1);
+        when(jdbc.queryForList(anyString(), eq(String.class), eq(OperationalEventPartitionService.PARENT_TABLE))).thenReturn(List.of(
+                "operational_event_logs_default",
+                "operational_event_logs_p202603",
+                "operational_event_logs_p202604",
+                "operational_event_logs_p202605"
+        ));
+        OperationalEventPartitionService service = new OperationalEventPartitionService(jdbc, CLOCK, 180, true, 3);
+
+        List<String> dropped = service.dropExpiredPartitions();
+
+        assertThat(dropped).containsExactly("operational_event_logs_p202603");
+        verify(jdbc).execute("alter table operational_event_logs detach partition operational_event_logs_p202603");
+        verify(jdbc).execute("drop table operational_event_logs_p202603");
+        verify(jdbc, never()).execute("drop table operational_event_logs_p202604");
+        verify(jdbc, never()).execute("drop table operational_event_logs_default");
+    }
+
+    @Test
+    void noopWhenTableIsNotPartitioned() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        when(jdbc.queryForObject(anyString(), eq(Integer.class), eq(OperationalEventPartitionService.PARENT_TABLE)))
+                .thenThrow(new BadSqlGrammarException("partitioned", "select", new SQLException("no pg_partitioned_table")));
+        OperationalEventPartitionService service = new OperationalEventPartitionService(jdbc, CLOCK, 180, true, 3);
+
+        service.maintain();
+
+        assertThat(service.isPartitioned()).isFalse();
+        verify(jdbc, never()).queryForList(anyString(), eq(String.class), any());
+        verify(jdbc, never()).execute(anyString());
+    }
+}
@@ -0,0 +1,105 @@
+package com.restaurante.service.operacional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurante.exception.BusinessException;
+import com.restaurante.model.entity.OperationalEventLog;
+import com.restaurante.model.enums.OperationalEventType;
+import com.restaurante.repository.OperationalEventLogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OperationalEventSearchServiceTest {
+
+    private static final LocalDateTime DE = LocalDateTime.of(2026, 9, 1, 0, 0);
+    private static final LocalDateTime ATE = LocalDateTime.of(2026, 10, 1, 0, 0);
+
+    private final OperationalEventLogRepository repository = mock(OperationalEventLogRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final OperationalEventSearchService service =
+            new OperationalEventSearchService(repository, jdbcTemplate, new ObjectMapper());
+
+    @Test
+    void cursorRoundTrips() {
+        var keyset = new OperationalEventSearchService.Keyset(LocalDateTime.of(2026, 9, 15, 12, 30, 1, 123456000), 42L);
+        String cursor = OperationalEventSearchService.encodeCursor(keyset);
+
+        assertThat(OperationalEventSearchService.decodeCursor(cursor)).isEqualTo(keyset);
+        assertThat(OperationalEventSearchService.decodeCursor(null)).isNull();
+        assertThatThrownBy(() -> OperationalEventSearchService.decodeCursor("not-a-cursor"))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void firstPageStartsAtUpperBoundAndReturnsCursorOfLastItem() {
+        List<OperationalEventLog> rows = List.of(
+                event(3L, ATE.minusMinutes(1)),
+                event(2L, ATE.minusMinutes(2)),
+                event(1L, ATE.minusMinutes(3))
+        );
+        when(repository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        var page = service.searchTenant(7L, null, null, null, null, null, DE, ATE, null, 2, false);
+
+        assertThat(page.items()).extracting(OperationalEventLog::getId).containsExactly(3L, 2L);
+        assertThat(page.hasMore()).isTrue();
+        assertThat(OperationalEventSearchService.decodeCursor(page.nextCursor()))
+                .isEqualTo(new OperationalEventSearchService.Keyset(ATE.minusMinutes(2), 2L));
+        assertThat(page.approximateTotal()).isNull();
+    }
+
+    @Test
+    void nextPageContinuesAfterCursor() {
+        var after = new OperationalEventSearchService.Keyset(ATE.minusMinutes(2), 2L);
+        when(repository.findBy(any(Specification.class), any())).thenReturn(List.of(event(1L, ATE.minusMinutes(3))));
+
+        var page = service.searchTenantExtended(7L, null, null, null, DE, ATE,
+                OperationalEventSearchService.encodeCursor(after), 2, false);
+
+        assertThat(page.items()).extracting(OperationalEventLog::getId).containsExactly(1L);
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void approximateTotalComesFromPlannerEstimate() {
+        when(repository.findBy(any(Specification.class), any())).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn("[{\"Plan\": {\"Node Type\": \"Append\", \"Plan Rows\": 1234}}]");
+
+        var page = service.searchTenantExtended(7L, null, null, null, DE, ATE, null, 20, true);
+
+        assertThat(page.approximateTotal()).isEqualTo(1234L);
+    }
+
+    @Test
+    void onlyProvidedFiltersBecomePredicates() {
+        var filter = new OperationalEventSearchService.Filter(7L, DE, ATE)
+                .eq("pedido.id", "pedido_id", 11L)
+                .eq("subPedido.id", "sub_pedido_id", null)
+                .eq("eventType", "event_type", OperationalEventType.PEDIDO_CRIADO)
+                .eq("dispositivo.id", "device_id", null);
+
+        assertThat(filter.attributes()).containsExactly("pedido.id", "eventType");
+        assertThat(filter.where()).isEqualTo("tenant_id = ? and created_at >= ? and created_at <= ? and pedido_id = ? and event_type = ?");
+        assertThat(filter.args()).endsWith(11L, "PEDIDO_CRIADO");
+    }
+
+    private static OperationalEventLog event(Long id, LocalDateTime createdAt) {
+        OperationalEventLog e = new OperationalEventLog();
+        e.setId(id);
+        e.setCreatedAt(createdAt);
+        return e;
+    }
+}
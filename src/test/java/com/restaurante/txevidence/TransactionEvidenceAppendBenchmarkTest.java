@@ -0,0 +1,132 @@
+package com.restaurante.txevidence;
+
+import com.restaurante.model.entity.Tenant;
+import com.restaurante.model.entity.TransactionEvidenceEvent;
+import com.restaurante.model.enums.TenantEstado;
+import com.restaurante.model.enums.TenantTipo;
+import com.restaurante.model.enums.TransactionEvidenceSourceModule;
+import com.restaurante.repository.TenantRepository;
+import com.restaurante.txevidence.dto.TransactionEvidenceEventRequest;
+import com.restaurante.txevidence.repository.TransactionEvidenceEventRepository;
+import com.restaurante.txevidence.service.TransactionEvidenceAppendPipeline;
+import com.restaurante.txevidence.service.TransactionEvidenceLedgerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark manual do append do ledger: REQUIRES_NEW por evento vs group commit (TransactionEvidenceAppendPipeline).
+ *
+ * Como rodar (manual):
+ * - mvn -q -Dtest=TransactionEvidenceAppendBenchmarkTest -DexcludedGroups= test
+ * - Contra PostgreSQL, acrescentar -Dspring.profiles.active=it-postgres (números do H2 servem só de comparação relativa).
+ *
+ * Imprime eventos/s de cada modo e valida que a cadeia (sequência + previousEventHash) fica contínua.
+ */
+@Tag("manual")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "consuma.evidence.tx-ledger.enabled=true",
+        "consuma.evidence.tx-ledger.key-version=1",
+        "consuma.evidence.tx-ledger.dev-hmac-secret=test-secret"
+})
+class TransactionEvidenceAppendBenchmarkTest {
+
+    private static final int EVENTS = Integer.getInteger("consuma.bench.events", 2000);
+    private static final int PRODUCERS = Integer.getInteger("consuma.bench.producers", 8);
+
+    @Autowired private TenantRepository tenantRepository;
+    @Autowired private TransactionEvidenceLedgerService ledgerService;
+    @Autowired private TransactionEvidenceAppendPipeline appendPipeline;
+    @Autowired private TransactionEvidenceEventRepository eventRepository;
+
+    @Test
+    void comparesPerEventTransactionsWithGroupCommit() throws Exception {
+        Tenant syncTenant = criarTenant();
+        double syncRate = run(syncTenant, ledgerService::recordEvidenceEvent);
+
+        Tenant batchTenant = criarTenant();
+        List<CompletableFuture<TransactionEvidenceEvent>> futures = new ArrayList<>();
+        double batchRate = run(batchTenant, req -> {
+            CompletableFuture<TransactionEvidenceEvent> f = appendPipeline.submit(req);
+            synchronized (futures) {
+                futures.add(f);
+            }
+        }, () -> CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join());
+
+        System.out.printf("tx-evidence append: sync=%.0f ev/s, group-commit=%.0f ev/s (%d eventos, %d produtores)%n",
+                syncRate, batchRate, EVENTS, PRODUCERS);
+
+        assertChain(syncTenant.getId());
+        assertChain(batchTenant.getId());
+    }
+
+    private double run(Tenant tenant, Consumer<TransactionEvidenceEventRequest> append) throws Exception {
+        return run(tenant, append, () -> {});
+    }
+
+    private double run(Tenant tenant, Consumer<TransactionEvidenceEventRequest> append, Runnable await) throws Exception {
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            TransactionEvidenceEventRequest req = req(tenant.getId(), i);
+            producers.execute(() -> append.accept(req));
+        }
+        producers.shutdown();
+        assertThat(producers.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        await.run();
+        long elapsed = System.nanoTime() - start;
+        return EVENTS / (elapsed / 1_000_000_000.0);
+    }
+
+    private void assertChain(Long tenantId) {
+        List<TransactionEvidenceEvent> events = eventRepository.findByTenantIdAndOccurredAtBetweenOrderByLedgerSequenceAsc(
+                tenantId, LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2027, 1, 1, 0, 0));
+        assertThat(events).hasSize(EVENTS);
+        String prev = TransactionEvidenceLedgerService.GENESIS_HASH;
+        for (int i = 0; i < events.size(); i++) {
+            assertThat(events.get(i).getLedgerSequence()).isEqualTo(i + 1L);
+            assertThat(events.get(i).getPreviousEventHash()).isEqualTo(prev);
+            prev = events.get(i).getEventHash();
+        }
+    }
+
+    private static TransactionEvidenceEventRequest req(Long tenantId, int i) {
+        TransactionEvidenceEventRequest r = new TransactionEvidenceEventRequest();
+        r.setTenantId(tenantId);
+        r.setEventType("PAYMENT_CONFIRMED");
+        r.setSourceModule(TransactionEvidenceSourceModule.PAYMENT);
+        r.setSourceEntityType("PAGAMENTO");
+        r.setSourceEntityId((long) i);
+        r.setOccurredAt(LocalDateTime.of(2026, 5, 25, 10, 0).plusSeconds(i));
+        r.setIdempotencyKey("tenant:" + tenantId + ":bench:" + i);
+        r.setPayloadFields(Map.of("n", i));
+        return r;
+    }
+
+    private Tenant criarTenant() {
+        Tenant t = new Tenant();
+        t.setNome("Tenant TXE BENCH");
+        t.setSlug("tenant-txe-bench-" + System.nanoTime());
+        t.setTenantCode("TXB" + (System.nanoTime() % 100000));
+        t.setTipo(TenantTipo.RESTAURANTE);
+        t.setEstado(TenantEstado.ATIVO);
+        return tenantRepository.saveAndFlush(t);
+    }
+}
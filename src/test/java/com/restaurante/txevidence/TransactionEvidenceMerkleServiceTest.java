@@ -0,0 +1,101 @@
+package com.restaurante.txevidence;
+
+import com.restaurante.exception.BusinessException;
+import com.restaurante.model.entity.Tenant;
+import com.restaurante.model.entity.TransactionEvidenceEvent;
+import com.restaurante.model.enums.TenantEstado;
+import com.restaurante.model.enums.TenantTipo;
+import com.restaurante.model.enums.TransactionEvidenceSourceModule;
+import com.restaurante.repository.TenantRepository;
+import com.restaurante.txevidence.dto.TransactionEvidenceEventRequest;
+import com.restaurante.txevidence.dto.response.TransactionEvidenceInclusionProofResponse;
+import com.restaurante.txevidence.repository.TransactionEvidenceEventRepository;
+import com.restaurante.txevidence.service.TransactionEvidenceLedgerService;
+import com.restaurante.txevidence.service.TransactionEvidenceMerkleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "consuma.evidence.tx-ledger.enabled=true",
+        "consuma.evidence.tx-ledger.key-version=1",
+        "consuma.evidence.tx-ledger.dev-hmac-secret=test-secret",
+        "consuma.evidence.tx-ledger.merkle-segment-size=4",
+        "consuma.evidence.tx-ledger.merkle-seal-job-enabled=false"
+})
+public class TransactionEvidenceMerkleServiceTest {
+
+    @Autowired private TenantRepository tenantRepository;
+    @Autowired private TransactionEvidenceLedgerService ledgerService;
+    @Autowired private TransactionEvidenceMerkleService merkleService;
+    @Autowired private TransactionEvidenceEventRepository eventRepository;
+
+    @Test
+    void sealsCompleteSegmentsAndProvesInclusion() {
+        Tenant tenant = criarTenant();
+        List<TransactionEvidenceEvent> events = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) events.add(ledgerService.recordEvidenceEvent(req(tenant.getId(), i)));
+
+        assertThat(merkleService.sealPendingSegments(tenant.getId())).isEqualTo(2);
+        assertThat(merkleService.sealPendingSegments(tenant.getId())).isZero();
+
+        TransactionEvidenceInclusionProofResponse proof = merkleService.inclusionProof(tenant.getId(), events.get(5).getId());
+        assertThat(proof.getSegmentIndex()).isEqualTo(1L);
+        assertThat(proof.getLeafIndex()).isEqualTo(1);
+        assertThat(proof.getPath()).hasSize(2);
+        assertThat(merkleService.verifyInclusionProof(proof)).isTrue();
+
+        assertThatThrownBy(() -> merkleService.inclusionProof(tenant.getId(), events.get(9).getId()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("TRANSACTION_EVIDENCE_MERKLE_SEGMENT_NOT_SEALED");
+    }
+
+    @Test
+    void tamperedEventNoLongerMatchesTheSealedRoot() {
+        Tenant tenant = criarTenant();
+        List<TransactionEvidenceEvent> events = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) events.add(ledgerService.recordEvidenceEvent(req(tenant.getId(), i)));
+        merkleService.sealPendingSegments(tenant.getId());
+
+        TransactionEvidenceEvent e2 = events.get(1);
+        e2.setEventHash("TAMPERED");
+        eventRepository.saveAndFlush(e2);
+
+        assertThat(merkleService.verifyInclusionProof(merkleService.inclusionProof(tenant.getId(), e2.getId()))).isFalse();
+    }
+
+    private TransactionEvidenceEventRequest req(Long tenantId, int i) {
+        TransactionEvidenceEventRequest r = new TransactionEvidenceEventRequest();
+        r.setTenantId(tenantId);
+        r.setEventType("PAGAMENTO_CONFIRMADO_POR_POLLING");
+        r.setSourceModule(TransactionEvidenceSourceModule.PAYMENT);
+        r.setSourceEntityType("PAGAMENTO");
+        r.setSourceEntityId((long) i);
+        r.setOccurredAt(LocalDateTime.of(2026, 5, 25, 9, 0).plusMinutes(i));
+        r.setIdempotencyKey("tenant:" + tenantId + ":merkle:" + i);
+        r.setPayloadFields(Map.of("entityId", i));
+        return r;
+    }
+
+    private Tenant criarTenant() {
+        Tenant t = new Tenant();
+        t.setNome("Tenant TXE MERKLE");
+        t.setSlug("tenant-txe-merkle-" + System.nanoTime());
+        t.setTenantCode("TXM" + (System.nanoTime() % 100000));
+        t.setTipo(TenantTipo.RESTAURANTE);
+        t.setEstado(TenantEstado.ATIVO);
+        return tenantRepository.saveAndFlush(t);
+    }
+}
@@ -0,0 +1,45 @@
+package com.restaurante.txevidence;
+
+import com.restaurante.txevidence.hash.TransactionEvidenceMerkleTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransactionEvidenceMerkleTreeTest {
+
+    @Test
+    void everyLeafHasALogarithmicProofAgainstTheRoot() {
+        for (int size : new int[]{1, 2, 5, 8, 13}) {
+            List<String> leaves = leaves(size);
+            String root = TransactionEvidenceMerkleTree.root(leaves);
+            for (int i = 0; i < size; i++) {
+                var path = TransactionEvidenceMerkleTree.proof(leaves, i);
+                assertThat(path.size()).isLessThanOrEqualTo(32 - Integer.numberOfLeadingZeros(Math.max(1, size - 1)));
+                assertThat(TransactionEvidenceMerkleTree.verify(leaves.get(i), path, root)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void proofFailsForTamperedLeafOrWrongPosition() {
+        List<String> leaves = leaves(8);
+        String root = TransactionEvidenceMerkleTree.root(leaves);
+        var path = TransactionEvidenceMerkleTree.proof(leaves, 3);
+
+        assertThat(TransactionEvidenceMerkleTree.verify("tampered", path, root)).isFalse();
+        assertThat(TransactionEvidenceMerkleTree.verify(leaves.get(4), path, root)).isFalse();
+
+        List<String> changed = new ArrayList<>(leaves);
+        changed.set(6, "tampered");
+        assertThat(TransactionEvidenceMerkleTree.root(changed)).isNotEqualTo(root);
+    }
+
+    private static List<String> leaves(int n) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < n; i++) out.add("event-hash-" + i);
+        return out;
+    }
+}
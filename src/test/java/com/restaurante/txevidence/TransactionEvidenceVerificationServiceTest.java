@@ -10,6 +10,7 @@ import com.restaurante.model.enums.TransactionEvidenceVerificationRunStatus;
 import com.restaurante.repository.TenantRepository;
 import com.restaurante.txevidence.dto.TransactionEvidenceEventRequest;
 import com.restaurante.txevidence.repository.TransactionEvidenceEventRepository;
+import com.restaurante.txevidence.repository.TransactionEvidenceVerificationCheckpointRepository;
 import com.restaurante.txevidence.repository.TransactionEvidenceVerificationIssueRepository;
 import com.restaurante.txevidence.service.TransactionEvidenceLedgerService;
 import com.restaurante.txevidence.service.TransactionEvidenceVerificationService;
@@ -38,6 +39,7 @@ public class TransactionEvidenceVerificationServiceTest {
     @Autowired private TransactionEvidenceVerificationService verificationService;
     @Autowired private TransactionEvidenceEventRepository eventRepository;
     @Autowired private TransactionEvidenceVerificationIssueRepository issueRepository;
+    @Autowired private TransactionEvidenceVerificationCheckpointRepository checkpointRepository;
 
     @Test
     void detectsBrokenChain() {
@@ -57,6 +59,67 @@ public class TransactionEvidenceVerificationServiceTest {
         assertThat(issueRepository.findByTenantIdAndVerificationRun_IdOrderByIdAsc(tenant.getId(), run.getId())).isNotEmpty();
     }
 
+    @Test
+    void incrementalRunsStillCoverTheWholePeriodAndAdvanceTheCheckpoint() {
+        Tenant tenant = criarTenant();
+        LocalDateTime base = LocalDateTime.of(2026, 5, 25, 9, 0);
+        for (int i = 1; i <= 3; i++) {
+            ledgerService.recordEvidenceEvent(req(tenant.getId(), "PAGAMENTO", (long) i, base.plusMinutes(i), "c" + i));
+        }
+
+        TransactionEvidenceVerificationRun first = verificationService.verifyTenantLedger(tenant.getId(), base, base.plusHours(1));
+        assertThat(first.getStatus()).isEqualTo(TransactionEvidenceVerificationRunStatus.VALID);
+        assertThat(first.getCheckedEventsCount()).isEqualTo(3);
+        assertThat(checkpointRepository.findByTenantId(tenant.getId()).orElseThrow().getVerifiedUpToSequence()).isEqualTo(3L);
+
+        ledgerService.recordEvidenceEvent(req(tenant.getId(), "PAGAMENTO", 4L, base.plusMinutes(4), "c4"));
+        ledgerService.recordEvidenceEvent(req(tenant.getId(), "PAGAMENTO", 5L, base.plusMinutes(5), "c5"));
+
+        TransactionEvidenceVerificationRun second = verificationService.verifyTenantLedger(tenant.getId(), base, base.plusHours(1), true);
+        assertThat(second.getStatus()).isEqualTo(TransactionEvidenceVerificationRunStatus.VALID);
+        assertThat(second.getCheckedEventsCount()).isEqualTo(5);
+        assertThat(checkpointRepository.findByTenantId(tenant.getId()).orElseThrow().getVerifiedUpToSequence()).isEqualTo(5L);
+
+        TransactionEvidenceVerificationRun beforeCheckpoint = verificationService.verifyTenantLedger(
+                tenant.getId(), base, base.plusMinutes(2).plusSeconds(30), true);
+        assertThat(beforeCheckpoint.getCheckedEventsCount()).isEqualTo(2);
+    }
+
+    @Test
+    void incrementalRunsDetectTamperingOfTheCheckpointedEvent() {
+        Tenant tenant = criarTenant();
+        LocalDateTime base = LocalDateTime.of(2026, 5, 25, 9, 0);
+        ledgerService.recordEvidenceEvent(req(tenant.getId(), "PAGAMENTO", 1L, base.plusMinutes(1), "b1"));
+        TransactionEvidenceEvent e2 = ledgerService.recordEvidenceEvent(req(tenant.getId(), "PAGAMENTO", 2L, base.plusMinutes(2), "b2"));
+        verificationService.verifyTenantLedger(tenant.getId(), base, base.plusHours(1));
+
+        e2.setEventHash("TAMPERED");
+        eventRepository.saveAndFlush(e2);
+
+        TransactionEvidenceVerificationRun run = verificationService.verifyTenantLedger(tenant.getId(), base, base.plusMinutes(3), true);
+        assertThat(run.getStatus()).isEqualTo(TransactionEvidenceVerificationRunStatus.INVALID);
+        assertThat(run.getCheckedEventsCount()).isEqualTo(2);
+        assertThat(checkpointRepository.findByTenantId(tenant.getId())).isEmpty();
+    }
+
+    @Test
+    void tamperingBeforeTheCheckpointIsDetectedThroughTheAnchorAndResetsIt() {
+        Tenant tenant = criarTenant();
+        LocalDateTime base = LocalDateTime.of(2026, 5, 25, 9, 0);
+        ledgerService.recordEvidenceEvent(req(tenant.getId(), "PAGAMENTO", 1L, base.plusMinutes(1), "a1"));
+        TransactionEvidenceEvent e2 = ledgerService.recordEvidenceEvent(req(tenant.getId(), "PAGAMENTO", 2L, base.plusMinutes(2), "a2"));
+        verificationService.verifyTenantLedger(tenant.getId(), base, base.plusHours(1));
+
+        e2.setEventHash("TAMPERED");
+        eventRepository.saveAndFlush(e2);
+        ledgerService.recordEvidenceEvent(req(tenant.getId(), "PAGAMENTO", 3L, base.plusMinutes(3), "a3"));
+
+        TransactionEvidenceVerificationRun run = verificationService.verifyTenantLedger(tenant.getId(), base, base.plusHours(1));
+        assertThat(run.getStatus()).isEqualTo(TransactionEvidenceVerificationRunStatus.INVALID);
+        assertThat(run.getBrokenChainCount()).isGreaterThan(0);
+        assertThat(checkpointRepository.findByTenantId(tenant.getId())).isEmpty();
+    }
+
     private TransactionEvidenceEventRequest req(Long tenantId, String entityType, Long entityId, LocalDateTime occurredAt, String idem) {
         TransactionEvidenceEventRequest r = new TransactionEvidenceEventRequest();
         r.setTenantId(tenantId);
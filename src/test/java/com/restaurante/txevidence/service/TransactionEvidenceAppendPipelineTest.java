@@ -0,0 +1,119 @@
+package com.restaurante.txevidence.service;
+
+import com.restaurante.exception.BusinessException;
+import com.restaurante.model.entity.TransactionEvidenceEvent;
+import com.restaurante.txevidence.dto.TransactionEvidenceEventRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionEvidenceAppendPipelineTest {
+
+    private final TransactionEvidenceLedgerService ledgerService = mock(TransactionEvidenceLedgerService.class);
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final TransactionEvidenceAppendPipeline pipeline =
+            new TransactionEvidenceAppendPipeline(ledgerService, tasks::add, 2, 3);
+
+    @Test
+    void requestsQueuedWhileDrainIsPendingAreWrittenInOrderedBatches() {
+        when(ledgerService.recordEvidenceBatch(eq(1L), anyList())).thenAnswer(inv -> {
+            List<TransactionEvidenceEventRequest> reqs = inv.getArgument(1);
+            return reqs.stream().map(r -> event(r.getIdempotencyKey())).toList();
+        });
+
+        CompletableFuture<TransactionEvidenceEvent> f1 = pipeline.submit(req(1L, "a"));
+        CompletableFuture<TransactionEvidenceEvent> f2 = pipeline.submit(req(1L, "b"));
+        CompletableFuture<TransactionEvidenceEvent> f3 = pipeline.submit(req(1L, "c"));
+        assertThat(tasks).hasSize(1);
+        assertThat(pipeline.queued(1L)).isEqualTo(3);
+
+        tasks.poll().run();
+
+        verify(ledgerService, times(2)).recordEvidenceBatch(eq(1L), anyList());
+        verify(ledgerService, never()).recordEvidenceEvent(any());
+        assertThat(f1.join().getIdempotencyKey()).isEqualTo("a");
+        assertThat(f2.join().getIdempotencyKey()).isEqualTo("b");
+        assertThat(f3.join().getIdempotencyKey()).isEqualTo("c");
+        assertThat(pipeline.queued(1L)).isZero();
+    }
+
+    @Test
+    void rejectedBatchIsRetriedOneByOneSoOnlyTheFailingRequestFails() {
+        when(ledgerService.recordEvidenceBatch(eq(1L), anyList())).thenThrow(new RuntimeException("duplicate key"));
+        TransactionEvidenceEventRequest ok = req(1L, "ok");
+        TransactionEvidenceEventRequest bad = req(1L, "bad");
+        when(ledgerService.recordEvidenceEvent(ok)).thenReturn(event("ok"));
+        when(ledgerService.recordEvidenceEvent(bad)).thenThrow(new BusinessException("TRANSACTION_EVIDENCE_LEDGER_INVALID_STATE"));
+
+        CompletableFuture<TransactionEvidenceEvent> fOk = pipeline.submit(ok);
+        CompletableFuture<TransactionEvidenceEvent> fBad = pipeline.submit(bad);
+        tasks.poll().run();
+
+        assertThat(fOk.join().getIdempotencyKey()).isEqualTo("ok");
+        assertThat(fBad).isCompletedExceptionally();
+    }
+
+    @Test
+    void fullTenantQueueFallsBackToSynchronousWrite() {
+        TransactionEvidenceEventRequest overflow = req(1L, "d");
+        when(ledgerService.recordEvidenceEvent(overflow)).thenReturn(event("d"));
+
+        pipeline.submit(req(1L, "a"));
+        pipeline.submit(req(1L, "b"));
+        pipeline.submit(req(1L, "c"));
+        CompletableFuture<TransactionEvidenceEvent> f = pipeline.submit(overflow);
+
+        assertThat(f.join().getIdempotencyKey()).isEqualTo("d");
+        assertThat(pipeline.queued(1L)).isEqualTo(3);
+        assertThat(pipeline.queued(2L)).isZero();
+    }
+
+    @Test
+    void shutdownDrainsQueuesWhoseDrainNeverRanAndWritesLaterRequestsSynchronously() {
+        when(ledgerService.recordEvidenceBatch(eq(1L), anyList())).thenAnswer(inv -> {
+            List<TransactionEvidenceEventRequest> reqs = inv.getArgument(1);
+            return reqs.stream().map(r -> event(r.getIdempotencyKey())).toList();
+        });
+        TransactionEvidenceEventRequest late = req(1L, "late");
+        when(ledgerService.recordEvidenceEvent(late)).thenReturn(event("late"));
+
+        CompletableFuture<TransactionEvidenceEvent> f1 = pipeline.submit(req(1L, "a"));
+        CompletableFuture<TransactionEvidenceEvent> f2 = pipeline.submit(req(1L, "b"));
+        assertThat(tasks).hasSize(1);
+
+        pipeline.shutdown();
+
+        assertThat(f1.join().getIdempotencyKey()).isEqualTo("a");
+        assertThat(f2.join().getIdempotencyKey()).isEqualTo("b");
+        assertThat(pipeline.queued(1L)).isZero();
+        assertThat(pipeline.submit(late).join().getIdempotencyKey()).isEqualTo("late");
+        assertThat(pipeline.queued(1L)).isZero();
+    }
+
+    private static TransactionEvidenceEventRequest req(Long tenantId, String key) {
+        TransactionEvidenceEventRequest r = new TransactionEvidenceEventRequest();
+        r.setTenantId(tenantId);
+        r.setIdempotencyKey(key);
+        r.setEventType("PAYMENT_CONFIRMED");
+        return r;
+    }
+
+    private static TransactionEvidenceEvent event(String key) {
+        TransactionEvidenceEvent ev = new TransactionEvidenceEvent();
+        ev.setIdempotencyKey(key);
+        return ev;
+    }
+}
@@ -0,0 +1,118 @@
+package com.restaurante.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-01T10:00:00Z"));
+
+    @Test
+    void expiresByTtlOrPerEntryDeadline() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, 30_000, clock);
+        cache.put("a", "1");
+        cache.put("b", "2", clock.millis() + 5_000);
+
+        clock.advance(Duration.ofSeconds(6));
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        List<BoundedCache.Removal> removals = new ArrayList<>();
+        BoundedCache<Integer, String> cache = new BoundedCache<>(10, 0, clock, (cause, count) -> removals.add(cause));
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "v" + i);
+            clock.advance(Duration.ofMillis(1));
+        }
+        cache.get(0);
+        clock.advance(Duration.ofMillis(1));
+
+        cache.put(10, "v10");
+
+        assertThat(cache.size()).isEqualTo(10);
+        assertThat(cache.get(0)).isEqualTo("v0");
+        assertThat(cache.get(1)).isNull();
+        assertThat(removals).containsExactly(BoundedCache.Removal.EVICTED);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedUntilTotalWeightFits() {
+        List<BoundedCache.Removal> removals = new ArrayList<>();
+        BoundedCache<String, String> cache = new BoundedCache<>(100, 10, String::length, 0, clock,
+                (cause, count) -> removals.add(cause));
+        cache.put("a", "xxxx");
+        clock.advance(Duration.ofMillis(1));
+        cache.put("b", "xxxx");
+        clock.advance(Duration.ofMillis(1));
+        cache.get("a");
+        clock.advance(Duration.ofMillis(1));
+
+        cache.put("c", "xxxx");
+
+        assertThat(cache.get("a")).isEqualTo("xxxx");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("xxxx");
+        assertThat(cache.weight()).isEqualTo(8);
+        assertThat(removals).containsExactly(BoundedCache.Removal.EVICTED);
+
+        cache.put("a", "xx");
+        cache.invalidate("c");
+        assertThat(cache.weight()).isEqualTo(2);
+        cache.invalidateAll();
+        assertThat(cache.weight()).isZero();
+    }
+
+    @Test
+    void staleValuesAndLoadsStartedBeforeAnInvalidationAreDropped() {
+        BoundedCache<Long, Long> cache = new BoundedCache<>(10, 0, clock);
+        cache.put(1L, 3L);
+        assertThat(cache.get(1L, v -> v == 4L)).isNull();
+        assertThat(cache.size()).isZero();
+
+        long generation = cache.currentGeneration();
+        cache.invalidateIf((k, v) -> k == 2L);
+        assertThat(cache.putIfCurrent(1L, 4L, generation)).isFalse();
+        assertThat(cache.putIfCurrent(1L, 4L, cache.currentGeneration())).isTrue();
+        assertThat(cache.get(1L)).isEqualTo(4L);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}